@@ -0,0 +1,229 @@
+package com.vnstock.kbs.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic payloads shaped like recorded KBS responses.
+ */
+public final class Fixtures {
+    
+    /** Roughly every symbol listed on HOSE, HNX and UPCoM. */
+    public static final int FULL_MARKET_SYMBOLS = 1_600;
+    
+    /** Five years of 250 trading days with 225 one-minute bars each. */
+    public static final int FIVE_YEARS_OF_MINUTE_BARS = 5 * 250 * 225;
+    
+    private static final DateTimeFormatter BAR_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter TRADE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MATCH_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final ZoneId VIETNAM = ZoneId.of("Asia/Ho_Chi_Minh");
+    
+    private Fixtures() {
+        // Prevent instantiation
+    }
+    
+    /**
+     * Builds a {@code /stocks/{symbol}/data_1P} body with the given number of 1-minute bars,
+     * following the HOSE session (09:15-11:30, 13:00-14:45).
+     */
+    public static byte[] minuteHistory(String symbol, int bars) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(bars * 80 + 64);
+        json.append("{\"symbol\":\"").append(symbol).append("\",\"data_1P\":[");
+        
+        LocalDateTime time = LocalDate.of(2020, 1, 2).atTime(9, 15);
+        long close = 68_500;
+        for (int i = 0; i < bars; i++) {
+            long open = close;
+            close = Math.max(1_000, open + (random.nextInt(11) - 5) * 100L);
+            long high = Math.max(open, close) + random.nextInt(3) * 100L;
+            long low = Math.min(open, close) - random.nextInt(3) * 100L;
+            long volume = 100L * (1 + random.nextInt(5_000));
+            
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"t\":\"").append(time.format(BAR_TIME))
+                .append("\",\"o\":").append(open)
+                .append(",\"h\":").append(high)
+                .append(",\"l\":").append(low)
+                .append(",\"c\":").append(close)
+                .append(",\"v\":").append(volume)
+                .append('}');
+            time = nextMinute(time);
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Generates distinct three-letter symbols, e.g. {@code AAA, AAB, ...}.
+     */
+    public static List<String> symbols(int count) {
+        List<String> symbols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            symbols.add(new String(new char[] {
+                (char) ('A' + i / 676 % 26), (char) ('A' + i / 26 % 26), (char) ('A' + i % 26)
+            }));
+        }
+        return symbols;
+    }
+    
+    /**
+     * Builds a {@code /stock/iss} body with every column populated for the given symbols.
+     */
+    public static byte[] priceBoard(List<String> symbols) {
+        Random random = new Random(42);
+        long timestamp = LocalDate.of(2024, 6, 14).atTime(14, 45).atZone(VIETNAM).toInstant().toEpochMilli();
+        StringBuilder json = new StringBuilder(symbols.size() * 700 + 2);
+        json.append('[');
+        for (int i = 0; i < symbols.size(); i++) {
+            long reference = 1_000L * (5 + random.nextInt(150));
+            long tick = reference < 10_000 ? 10 : reference < 50_000 ? 50 : 100;
+            long ceiling = reference * 107 / 100 / tick * tick;
+            long floor = (reference * 93 + 99) / 100 / tick * tick;
+            long close = reference + (random.nextInt(13) - 6) * tick;
+            long volume = 100L * random.nextInt(200_000);
+            
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"SB\":\"").append(symbols.get(i))
+                .append("\",\"t\":").append(timestamp)
+                .append(",\"EX\":\"").append(i % 3 == 0 ? "HOSE" : i % 3 == 1 ? "HNX" : "UPCOM")
+                .append("\",\"CL\":").append(ceiling)
+                .append(",\"FL\":").append(floor)
+                .append(",\"RE\":").append(reference)
+                .append(",\"OP\":").append(reference + tick)
+                .append(",\"HI\":").append(Math.max(close, reference) + tick)
+                .append(",\"LO\":").append(Math.min(close, reference) - tick)
+                .append(",\"CP\":").append(close)
+                .append(",\"AP\":").append(close)
+                .append(",\"TT\":").append(random.nextInt(5_000))
+                .append(",\"TV\":").append(volume * close)
+                .append(",\"CH\":").append(close - reference)
+                .append(",\"CHP\":").append(Math.round((close - reference) * 10_000.0 / reference) / 100.0);
+            for (int level = 1; level <= 3; level++) {
+                json.append(",\"B").append(level).append("\":\"").append(close - level * tick)
+                    .append("\",\"V").append(level).append("\":").append(100L * random.nextInt(1_000));
+            }
+            for (int level = 1; level <= 3; level++) {
+                json.append(",\"S").append(level).append("\":\"").append(close + level * tick)
+                    .append("\",\"U").append(level).append("\":").append(100L * random.nextInt(1_000));
+            }
+            json.append(",\"FB\":").append(100L * random.nextInt(10_000))
+                .append(",\"FR\":").append(100L * random.nextInt(10_000))
+                .append(",\"FC\":").append(random.nextInt(200))
+                .append(",\"FS\":").append(random.nextInt(200))
+                .append(",\"PTQ\":").append(100L * random.nextInt(1_000))
+                .append(",\"PTV\":").append(100L * random.nextInt(1_000) * close)
+                .append(",\"TLQ\":").append(1_000_000L * (1 + random.nextInt(5_000)))
+                .append(",\"LS\":").append(1_000_000L * (1 + random.nextInt(5_000)))
+                .append(",\"FO\":").append(random.nextInt(4_900) / 100.0)
+                .append('}');
+        }
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Builds a {@code /kbsv-stock-data-store/stock/finance-info/{symbol}} body for
+     * eight quarters, with {@code items} rows under {@code contentKey}.
+     */
+    public static byte[] financialReport(String contentKey, int items) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(items * 220 + 1_024);
+        json.append("{\"Audit\":[{\"AuditedStatusCode\":\"1\",\"Description\":\"Đã kiểm toán\"},")
+            .append("{\"AuditedStatusCode\":\"2\",\"Description\":\"Chưa kiểm toán\"}],")
+            .append("\"Unit\":[{\"UnitCode\":\"1000\",\"Description\":\"Nghìn đồng\"}],")
+            .append("\"Head\":[");
+        for (int i = 0; i < 8; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int quarter = 4 - i % 4;
+            json.append("{\"YearPeriod\":").append(2024 - i / 4)
+                .append(",\"TermName\":\"Quý ").append(quarter)
+                .append("\",\"TermNameEN\":\"Quarter ").append(quarter)
+                .append("\",\"AuditedStatus\":\"").append(quarter == 4 ? 1 : 2)
+                .append("\"}");
+        }
+        json.append("],\"Content\":{\"").append(contentKey).append("\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"Name\":\"Chỉ tiêu tài chính số ").append(i + 1)
+                .append("\",\"NameEn\":\"Financial item ").append(i + 1)
+                .append("\",\"Unit\":\"VND\",\"Levels\":").append(1 + i % 4)
+                .append(",\"ID\":").append(1_000 + i);
+            for (int value = 1; value <= 4; value++) {
+                json.append(",\"Value").append(value).append("\":")
+                    .append(random.nextLong(1_000_000_000_000L) / 100.0);
+            }
+            json.append('}');
+        }
+        json.append("]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Builds a {@code /trade/history/{symbol}} body with the given number of matches.
+     */
+    public static byte[] intradayTrades(String symbol, int trades) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(trades * 200 + 16);
+        json.append("{\"data\":[");
+        
+        LocalDateTime time = LocalDate.of(2024, 6, 14).atTime(14, 29, 59);
+        long price = 68_500;
+        long accumulatedVolume = 0;
+        long accumulatedValue = 0;
+        for (int i = 0; i < trades; i++) {
+            long change = (random.nextInt(3) - 1) * 100L;
+            price += change;
+            long volume = 100L * (1 + random.nextInt(200));
+            accumulatedVolume += volume;
+            accumulatedValue += volume * price;
+            
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"t\":\"").append(time.format(TRADE_TIME)).append(':').append(random.nextInt(100))
+                .append("\",\"TD\":\"14/06/2024\",\"SB\":\"").append(symbol)
+                .append("\",\"FT\":\"").append(time.format(MATCH_TIME))
+                .append("\",\"LC\":\"").append(random.nextBoolean() ? 'B' : 'S')
+                .append("\",\"FMP\":").append(price)
+                .append(",\"FCV\":").append(change)
+                .append(",\"FV\":").append(volume)
+                .append(",\"AVO\":").append(accumulatedVolume)
+                .append(",\"AVA\":").append(accumulatedValue)
+                .append('}');
+            time = time.minusSeconds(random.nextInt(3));
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static LocalDateTime nextMinute(LocalDateTime time) {
+        LocalDateTime next = time.plusMinutes(1);
+        if (next.getHour() == 11 && next.getMinute() > 30) {
+            return next.withHour(13).withMinute(0);
+        }
+        if (next.getHour() == 14 && next.getMinute() > 45) {
+            LocalDate day = next.toLocalDate().plusDays(1);
+            while (day.getDayOfWeek().getValue() > 5) {
+                day = day.plusDays(1);
+            }
+            return day.atTime(9, 15);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,158 @@
+package com.vnstock.kbs.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnstock.kbs.indicator.BollingerBands;
+import com.vnstock.kbs.indicator.ExponentialMovingAverage;
+import com.vnstock.kbs.indicator.IndicatorBatch;
+import com.vnstock.kbs.indicator.IndicatorValues;
+import com.vnstock.kbs.indicator.Macd;
+import com.vnstock.kbs.indicator.RelativeStrengthIndex;
+import com.vnstock.kbs.indicator.SimpleMovingAverage;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.PriceSeries;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per bar of SMA(20), EMA(20) and RSI(14) computed the way callers used
+ * to, with {@code BigDecimal} over {@code List<HistoricalPrice>} and the SMA
+ * window summed again for every bar, against the streaming indicators over a
+ * {@link PriceSeries}. Scores are per bar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class IndicatorBenchmark {
+    
+    /** One trading month of 1-minute bars. */
+    private static final int BARS = 4_725;
+    private static final int SMA_PERIOD = 20;
+    private static final int EMA_PERIOD = 20;
+    private static final int RSI_PERIOD = 14;
+    private static final MathContext CONTEXT = MathContext.DECIMAL64;
+    
+    private List<HistoricalPrice> prices;
+    private PriceSeries series;
+    private IndicatorBatch batch;
+    private IndicatorBatch fullBatch;
+    private SimpleMovingAverage liveSma;
+    private ExponentialMovingAverage liveEma;
+    private RelativeStrengthIndex liveRsi;
+    
+    @Setup
+    public void setUp() throws IOException {
+        JsonNode bars = new ObjectMapper().readTree(Fixtures.minuteHistory("VNM", BARS)).get("data_1P");
+        prices = new ArrayList<>(BARS);
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1m", BARS);
+        for (int i = 0; i < BARS; i++) {
+            JsonNode bar = bars.get(i);
+            LocalDateTime time = LocalDateTime.parse(bar.get("t").asText().replace(' ', 'T'));
+            long open = bar.get("o").asLong();
+            long high = bar.get("h").asLong();
+            long low = bar.get("l").asLong();
+            long close = bar.get("c").asLong();
+            long volume = bar.get("v").asLong();
+            prices.add(HistoricalPrice.fromRaw(time, open, high, low, close, volume));
+            builder.add(PriceSeries.toEpochMinute(time), open, high, low, close, volume);
+        }
+        series = builder.build();
+        
+        batch = IndicatorBatch.builder()
+            .add("sma", () -> new SimpleMovingAverage(SMA_PERIOD))
+            .add("ema", () -> new ExponentialMovingAverage(EMA_PERIOD))
+            .add("rsi", () -> new RelativeStrengthIndex(RSI_PERIOD))
+            .build();
+        fullBatch = IndicatorBatch.builder()
+            .add("sma", () -> new SimpleMovingAverage(SMA_PERIOD))
+            .add("ema", () -> new ExponentialMovingAverage(EMA_PERIOD))
+            .add("rsi", () -> new RelativeStrengthIndex(RSI_PERIOD))
+            .add("macd", Macd::new)
+            .add("bb", () -> new BollingerBands(20, 2))
+            .build();
+        
+        liveSma = new SimpleMovingAverage(SMA_PERIOD);
+        liveEma = new ExponentialMovingAverage(EMA_PERIOD);
+        liveRsi = new RelativeStrengthIndex(RSI_PERIOD);
+        liveSma.addAll(series);
+        liveEma.addAll(series);
+        liveRsi.addAll(series);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public void bigDecimalSmaEmaRsi(Blackhole blackhole) {
+        BigDecimal smaPeriod = BigDecimal.valueOf(SMA_PERIOD);
+        BigDecimal alpha = BigDecimal.valueOf(2).divide(BigDecimal.valueOf(EMA_PERIOD + 1), CONTEXT);
+        BigDecimal rsiPeriod = BigDecimal.valueOf(RSI_PERIOD);
+        BigDecimal hundred = BigDecimal.valueOf(100);
+        BigDecimal ema = null;
+        BigDecimal averageGain = BigDecimal.ZERO;
+        BigDecimal averageLoss = BigDecimal.ZERO;
+        for (int i = 0; i < prices.size(); i++) {
+            BigDecimal close = prices.get(i).close();
+            if (i + 1 >= SMA_PERIOD) {
+                BigDecimal sum = BigDecimal.ZERO;
+                for (int j = i + 1 - SMA_PERIOD; j <= i; j++) {
+                    sum = sum.add(prices.get(j).close());
+                }
+                blackhole.consume(sum.divide(smaPeriod, CONTEXT));
+            }
+            
+            ema = ema == null ? close : ema.add(alpha.multiply(close.subtract(ema), CONTEXT), CONTEXT);
+            blackhole.consume(ema);
+            
+            if (i > 0) {
+                BigDecimal change = close.subtract(prices.get(i - 1).close());
+                BigDecimal gain = change.signum() > 0 ? change : BigDecimal.ZERO;
+                BigDecimal loss = change.signum() < 0 ? change.negate() : BigDecimal.ZERO;
+                averageGain = averageGain.multiply(rsiPeriod.subtract(BigDecimal.ONE)).add(gain).divide(rsiPeriod, CONTEXT);
+                averageLoss = averageLoss.multiply(rsiPeriod.subtract(BigDecimal.ONE)).add(loss).divide(rsiPeriod, CONTEXT);
+                if (averageLoss.signum() > 0) {
+                    BigDecimal strength = averageGain.divide(averageLoss, CONTEXT);
+                    blackhole.consume(hundred.subtract(hundred.divide(BigDecimal.ONE.add(strength), CONTEXT)));
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public IndicatorValues streamingSmaEmaRsi() {
+        return batch.compute(series);
+    }
+    
+    /** SMA, EMA, RSI, MACD and Bollinger bands: seven output columns. */
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public IndicatorValues streamingFiveIndicators() {
+        return fullBatch.compute(series);
+    }
+    
+    /** Refreshing the live bar, as on every trade: one update of each of three indicators. */
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public void streamingLiveUpdate(Blackhole blackhole) {
+        long open = series.open(BARS - 1);
+        long high = series.high(BARS - 1);
+        long low = series.low(BARS - 1);
+        for (int i = 0; i < BARS; i++) {
+            long close = series.close(i);
+            liveSma.update(open, high, low, close, i);
+            liveEma.update(open, high, low, close, i);
+            liveRsi.update(open, high, low, close, i);
+            blackhole.consume(liveSma.value() + liveEma.value() + liveRsi.value());
+        }
+    }
+}
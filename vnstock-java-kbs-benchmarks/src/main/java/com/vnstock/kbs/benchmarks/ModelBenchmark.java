@@ -0,0 +1,161 @@
+package com.vnstock.kbs.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.IntradayTrade;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import com.vnstock.kbs.model.PriceSeries;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of the model normalization helpers that run for every
+ * decoded bar, match and price board row, and of resampling 1-minute bars.
+ * Scores are per record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ModelBenchmark {
+    
+    /** One trading month of 1-minute bars. */
+    private static final int BARS = 4_725;
+    private static final int TRADES = 10_000;
+    
+    private LocalDateTime[] times;
+    private long[] open;
+    private long[] high;
+    private long[] low;
+    private long[] close;
+    private long[] volume;
+    private PriceSeries minuteSeries;
+    private List<IntradayTrade> trades;
+    private List<PriceBoardEntry> board;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        
+        JsonNode bars = objectMapper.readTree(Fixtures.minuteHistory("VNM", BARS)).get("data_1P");
+        times = new LocalDateTime[BARS];
+        open = new long[BARS];
+        high = new long[BARS];
+        low = new long[BARS];
+        close = new long[BARS];
+        volume = new long[BARS];
+        for (int i = 0; i < BARS; i++) {
+            JsonNode bar = bars.get(i);
+            times[i] = LocalDateTime.parse(bar.get("t").asText().replace(' ', 'T'));
+            open[i] = bar.get("o").asLong();
+            high[i] = bar.get("h").asLong();
+            low[i] = bar.get("l").asLong();
+            close[i] = bar.get("c").asLong();
+            volume[i] = bar.get("v").asLong();
+        }
+        PriceSeries.Builder series = PriceSeries.builder("VNM", "1m", BARS);
+        for (int i = 0; i < BARS; i++) {
+            series.add(PriceSeries.toEpochMinute(times[i]), open[i], high[i], low[i], close[i], volume[i]);
+        }
+        minuteSeries = series.build();
+        
+        trades = objectMapper.readValue(
+            objectMapper.readTree(Fixtures.intradayTrades("VNM", TRADES)).get("data").traverse(objectMapper),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, IntradayTrade.class)
+        );
+        board = objectMapper.readValue(
+            Fixtures.priceBoard(Fixtures.symbols(Fixtures.FULL_MARKET_SYMBOLS)),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, PriceBoardEntry.class)
+        );
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public void historicalPriceFromRaw(Blackhole blackhole) {
+        for (int i = 0; i < BARS; i++) {
+            blackhole.consume(HistoricalPrice.fromRaw(times[i], open[i], high[i], low[i], close[i], volume[i]));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public PriceSeries resampleMinuteToHour() {
+        return minuteSeries.resample("1h");
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BARS)
+    public PriceSeries resampleMinuteToDay() {
+        return minuteSeries.resample("1d");
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public void intradayParsedTimestamp(Blackhole blackhole) {
+        for (IntradayTrade trade : trades) {
+            blackhole.consume(trade.parsedTimestamp());
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TRADES)
+    public void intradayEpochMillis(Blackhole blackhole) {
+        for (IntradayTrade trade : trades) {
+            blackhole.consume(trade.epochMillis());
+        }
+    }
+    
+    /** All fourteen normalized price accessors of one row. */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.FULL_MARKET_SYMBOLS)
+    public void priceBoardNormalizedAccessors(Blackhole blackhole) {
+        for (PriceBoardEntry entry : board) {
+            blackhole.consume(entry.normalizedCeilingPrice());
+            blackhole.consume(entry.normalizedFloorPrice());
+            blackhole.consume(entry.normalizedReferencePrice());
+            blackhole.consume(entry.normalizedOpenPrice());
+            blackhole.consume(entry.normalizedHighPrice());
+            blackhole.consume(entry.normalizedLowPrice());
+            blackhole.consume(entry.normalizedClosePrice());
+            blackhole.consume(entry.normalizedAveragePrice());
+            blackhole.consume(entry.normalizedBidPrice1());
+            blackhole.consume(entry.normalizedBidPrice2());
+            blackhole.consume(entry.normalizedBidPrice3());
+            blackhole.consume(entry.normalizedAskPrice1());
+            blackhole.consume(entry.normalizedAskPrice2());
+            blackhole.consume(entry.normalizedAskPrice3());
+        }
+    }
+    
+    /** The fourteen prices of one row as raw fixed-point values. */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.FULL_MARKET_SYMBOLS)
+    public void priceBoardRawPrices(Blackhole blackhole) {
+        for (PriceBoardEntry entry : board) {
+            blackhole.consume(entry.ceilingPrice());
+            blackhole.consume(entry.floorPrice());
+            blackhole.consume(entry.referencePrice());
+            blackhole.consume(entry.openPrice());
+            blackhole.consume(entry.highPrice());
+            blackhole.consume(entry.lowPrice());
+            blackhole.consume(entry.closePrice());
+            blackhole.consume(entry.averagePrice());
+            blackhole.consume(entry.rawBidPrice1());
+            blackhole.consume(entry.rawBidPrice2());
+            blackhole.consume(entry.rawBidPrice3());
+            blackhole.consume(entry.rawAskPrice1());
+            blackhole.consume(entry.rawAskPrice2());
+            blackhole.consume(entry.rawAskPrice3());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.vnstock.kbs.benchmarks;
+
+import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.client.ReplayTransport;
+import com.vnstock.kbs.config.HistoryChunkingConfig;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.config.PriceBoardChunkingConfig;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.IntradayTrade;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import com.vnstock.kbs.model.PriceSeries;
+import com.vnstock.kbs.service.FinanceService;
+import com.vnstock.kbs.service.QuoteService;
+import com.vnstock.kbs.service.TradingService;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end decoding of realistic payloads through the public services:
+ * Jackson deserialization of the service response types plus the
+ * service-level conversion (e.g. {@code HistoricalPrice.fromRaw}).
+ * 
+ * Responses are served from memory by {@link ReplayTransport}, so no network
+ * time is included. Run with {@code -prof gc} to see bytes/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx2g"})
+public class ServiceDecodeBenchmark {
+    
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String SYMBOL = "VNM";
+    private static final LocalDate HISTORY_START = LocalDate.of(2020, 1, 2);
+    private static final LocalDate HISTORY_END = LocalDate.of(2024, 12, 31);
+    private static final int INTRADAY_PAGE_SIZE = 10_000;
+    private static final int BALANCE_SHEET_ITEMS = 120;
+    
+    private Path directory;
+    private ReplayTransport transport;
+    private KbsHttpClient httpClient;
+    private QuoteService quoteService;
+    private TradingService tradingService;
+    private FinanceService financeService;
+    private List<String> fullMarket;
+    
+    @Setup
+    public void setUp() throws IOException {
+        KbsConfig defaults = new KbsConfig();
+        fullMarket = Fixtures.symbols(Fixtures.FULL_MARKET_SYMBOLS);
+        
+        directory = Files.createTempDirectory("kbs-fixtures");
+        record(get(defaults.baseUrlIis() + "/stocks/" + SYMBOL + "/data_1P"
+                + "?sdate=02-01-2020&edate=31-12-2024"),
+            Fixtures.minuteHistory(SYMBOL, Fixtures.FIVE_YEARS_OF_MINUTE_BARS));
+        record(get(defaults.baseUrlIis() + "/trade/history/" + SYMBOL
+                + "?page=1&limit=" + INTRADAY_PAGE_SIZE),
+            Fixtures.intradayTrades(SYMBOL, INTRADAY_PAGE_SIZE));
+        record(new Request.Builder()
+                .url(defaults.baseUrlIis() + "/stock/iss")
+                .post(RequestBody.create("{\"code\":\"" + String.join(",", fullMarket) + "\"}", JSON))
+                .build(),
+            Fixtures.priceBoard(fullMarket));
+        record(get(defaults.baseUrlSas() + "/kbsv-stock-data-store/stock/finance-info/" + SYMBOL
+                + "?type=CDKT&termtype=2&page=1&pageSize=8&unit=1000&languageid=" + defaults.language()),
+            Fixtures.financialReport("Cân đối kế toán", BALANCE_SHEET_ITEMS));
+        
+        transport = ReplayTransport.builder().directory(directory).build();
+        // One history and one board request, matching the recordings, so each decode is measured as a whole
+        KbsConfig config = KbsConfig.builder()
+            .transport(transport)
+            .historyChunking(HistoryChunkingConfig.disabled())
+            .priceBoardChunking(PriceBoardChunkingConfig.disabled())
+            .build();
+        httpClient = new KbsHttpClient(config);
+        quoteService = new QuoteService(SYMBOL, httpClient, config);
+        tradingService = new TradingService(httpClient, config);
+        financeService = new FinanceService(SYMBOL, httpClient, config);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        transport.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+    
+    /** Five years of 1-minute bars (about 20 MB of JSON). */
+    @Benchmark
+    public List<HistoricalPrice> minuteHistory() {
+        return quoteService.getHistory(HISTORY_START, HISTORY_END, "1m");
+    }
+    
+    /** The same bars decoded into a columnar {@link PriceSeries}. */
+    @Benchmark
+    public PriceSeries minuteHistorySeries() {
+        return quoteService.getHistorySeries(HISTORY_START, HISTORY_END, "1m");
+    }
+    
+    /** A full-market price board with every column populated. */
+    @Benchmark
+    public List<PriceBoardEntry> fullMarketPriceBoard() {
+        return tradingService.getPriceBoard(fullMarket);
+    }
+    
+    /** Eight quarters of a balance sheet. */
+    @Benchmark
+    public FinanceService.FinancialReport balanceSheet() {
+        return financeService.getBalanceSheet("quarter");
+    }
+    
+    /** One large page of intraday matches. */
+    @Benchmark
+    public List<IntradayTrade> intradayPage() {
+        return quoteService.getIntraday(1, INTRADAY_PAGE_SIZE);
+    }
+    
+    private static Request get(String url) {
+        return new Request.Builder().url(url).build();
+    }
+    
+    private void record(Request request, byte[] body) throws IOException {
+        ReplayTransport.write(directory, request, 200, JSON, body);
+    }
+}
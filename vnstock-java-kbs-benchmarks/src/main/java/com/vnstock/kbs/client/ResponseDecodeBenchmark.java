@@ -0,0 +1,100 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnstock.kbs.benchmarks.Fixtures;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares buffering a response into a String before parsing with streaming
+ * it through {@link KbsHttpClient#decodeBody}.
+ * 
+ * Run with {@code -prof gc} to see the allocation difference in bytes/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ResponseDecodeBenchmark {
+    
+    /** One trading day, one month and one year of 1-minute bars. */
+    @Param({"225", "4725", "56250"})
+    public int bars;
+    
+    private ObjectMapper objectMapper;
+    private JavaType responseType;
+    private ResponseDecoder<HistoricalResponse> decoder;
+    private byte[] payload;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        responseType = objectMapper.constructType(HistoricalResponse.class);
+        decoder = parser -> objectMapper.readValue(parser, responseType);
+        payload = Fixtures.minuteHistory("VNM", bars);
+    }
+    
+    @Benchmark
+    public HistoricalResponse bufferedString() throws IOException {
+        String responseBody = body().string();
+        return objectMapper.readValue(responseBody, responseType);
+    }
+    
+    @Benchmark
+    public HistoricalResponse streamingParser() throws IOException {
+        return KbsHttpClient.decodeBody(objectMapper, body(), decoder);
+    }
+    
+    /**
+     * A body that reads from a stream the way a network response does, instead of
+     * from a pre-filled okio Buffer.
+     */
+    private ResponseBody body() {
+        return new ResponseBody() {
+            private final BufferedSource source = Okio.buffer(Okio.source(new ByteArrayInputStream(payload)));
+            
+            @Override
+            public MediaType contentType() {
+                return MediaType.parse("application/json; charset=utf-8");
+            }
+            
+            @Override
+            public long contentLength() {
+                return payload.length;
+            }
+            
+            @Override
+            public BufferedSource source() {
+                return source;
+            }
+        };
+    }
+    
+    public static class HistoricalResponse {
+        public String symbol;
+        @JsonProperty("data_1P") public List<Bar> data1P;
+    }
+    
+    public static class Bar {
+        public String t;
+        public long o;
+        public long h;
+        public long l;
+        public long c;
+        public long v;
+    }
+}
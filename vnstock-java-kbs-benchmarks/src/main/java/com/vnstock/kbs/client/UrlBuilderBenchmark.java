@@ -0,0 +1,53 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.KbsConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link KbsHttpClient#buildUrlWithParams} for the parameter sets the
+ * services send on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class UrlBuilderBenchmark {
+    
+    private String historyUrl;
+    private Map<String, String> historyParams;
+    private String financeUrl;
+    private Map<String, String> financeParams;
+    
+    @Setup
+    public void setUp() {
+        historyUrl = KbsConfig.DEFAULT_BASE_URL_IIS + "/stocks/VNM/data_day";
+        historyParams = Map.of("sdate", "01-01-2024", "edate", "31-12-2024");
+        
+        financeUrl = KbsConfig.DEFAULT_BASE_URL_SAS + "/kbsv-stock-data-store/stock/finance-info/VNM";
+        financeParams = new LinkedHashMap<>();
+        financeParams.put("type", "CDKT");
+        financeParams.put("termtype", "2");
+        financeParams.put("page", "1");
+        financeParams.put("pageSize", "8");
+        financeParams.put("unit", "1000");
+        financeParams.put("languageid", "1");
+    }
+    
+    /** QuoteService.getHistory: two parameters. */
+    @Benchmark
+    public String history() {
+        return KbsHttpClient.buildUrlWithParams(historyUrl, historyParams);
+    }
+    
+    /** FinanceService reports: six parameters. */
+    @Benchmark
+    public String finance() {
+        return KbsHttpClient.buildUrlWithParams(financeUrl, financeParams);
+    }
+}
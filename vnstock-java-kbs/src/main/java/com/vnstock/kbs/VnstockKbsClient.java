@@ -4,6 +4,8 @@ import com.vnstock.kbs.client.KbsHttpClient;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.service.*;
 
+import java.util.List;
+
 /**
  * Main entry point for VNStock KBS Java library.
  * 
@@ -21,6 +23,7 @@ import com.vnstock.kbs.service.*;
  * // Quote operations
  * var history = client.quote("VNM").getHistory(start, end, "1d");
  * var intraday = client.quote("VNM").getIntraday(1, 100);
+ * var basket = client.quotes(List.of("VNM", "ACB", "FPT")).getHistory(start, end, "1d");
  * 
  * // Company operations
  * var profile = client.company("VNM").getOverview();
@@ -32,6 +35,11 @@ import com.vnstock.kbs.service.*;
  * 
  * // Trading operations
  * var board = client.trading().getPriceBoard(List.of("VNM", "ACB"));
+ * var subscription = client.trading().subscribe(List.of("VNM", "ACB"), delta -> ...);
+ * 
+ * // Non-blocking variants return CompletableFuture
+ * client.quote("VNM").getHistoryAsync(start, end, "1d")
+ *     .thenAccept(bars -> System.out.println(bars.size()));
  * </pre>
  */
 public class VnstockKbsClient {
@@ -83,6 +91,15 @@ public class VnstockKbsClient {
         return new QuoteService(symbol, httpClient, config);
     }
     
+    /**
+     * Get quote service for many symbols, fetched concurrently on the shared HTTP client.
+     * 
+     * @param symbols Stock symbols (e.g., the VN100 constituents)
+     */
+    public BulkQuoteService quotes(List<String> symbols) {
+        return new BulkQuoteService(symbols, httpClient, config);
+    }
+    
     /**
      * Get company service for a specific symbol.
      * 
@@ -122,10 +139,20 @@ public class VnstockKbsClient {
         return config;
     }
     
+    /**
+     * Get the shared HTTP client, e.g. to inspect its coalescing counters.
+     */
+    public KbsHttpClient getHttpClient() {
+        return httpClient;
+    }
+    
     /**
      * Closes the client and releases resources.
      */
     public void close() {
+        if (tradingService != null) {
+            tradingService.closeSubscriptions();
+        }
         httpClient.close();
     }
 }
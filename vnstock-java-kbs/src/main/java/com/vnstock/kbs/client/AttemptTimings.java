@@ -0,0 +1,151 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.metrics.AttemptMetrics;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Timestamps of one HTTP exchange, attached to the OkHttp request as a tag.
+ * 
+ * With {@link OkHttpTransport}, the {@link #INTERCEPTOR} marks when the dispatcher
+ * starts the call and the {@link #EVENT_LISTENER_FACTORY} marks connection and
+ * response events; other transports call the {@code mark*} methods themselves.
+ * {@link #meter} measures body reads so that JSON parse time can be separated
+ * from network time even though the body is parsed while it streams in.
+ */
+final class AttemptTimings {
+    
+    static final Interceptor INTERCEPTOR = chain -> {
+        AttemptTimings timings = chain.request().tag(AttemptTimings.class);
+        if (timings != null) {
+            timings.markStarted();
+        }
+        return chain.proceed(chain.request());
+    };
+    
+    static final EventListener.Factory EVENT_LISTENER_FACTORY = call -> {
+        AttemptTimings timings = call.request().tag(AttemptTimings.class);
+        return timings != null ? timings.new Listener() : EventListener.NONE;
+    };
+    
+    final long enqueuedAt = System.nanoTime();
+    volatile int statusCode = -1;
+    private volatile long startedAt;
+    private volatile long connectionAcquiredAt;
+    private volatile long firstByteAt;
+    private volatile long bodyReadNanos;
+    private volatile long payloadBytes;
+    private volatile long decodeNanos;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    
+    /**
+     * Marks that the transport started executing the request (end of queueing).
+     */
+    void markStarted() {
+        startedAt = System.nanoTime();
+    }
+    
+    /**
+     * Marks that a connection was acquired; only the first call counts.
+     */
+    void markConnectionAcquired() {
+        if (connectionAcquiredAt == 0) {
+            connectionAcquiredAt = System.nanoTime();
+        }
+    }
+    
+    /**
+     * Marks the arrival of the first response byte.
+     */
+    void markFirstByte() {
+        firstByteAt = System.nanoTime();
+    }
+    
+    /**
+     * Wraps a response body stream to count bytes and time spent blocked in reads.
+     */
+    InputStream meter(InputStream in) {
+        return new FilterInputStream(in) {
+            
+            @Override
+            public int read() throws IOException {
+                long start = System.nanoTime();
+                int b = super.read();
+                bodyReadNanos += System.nanoTime() - start;
+                if (b >= 0) {
+                    payloadBytes++;
+                }
+                return b;
+            }
+            
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                int n = super.read(buffer, offset, length);
+                bodyReadNanos += System.nanoTime() - start;
+                if (n > 0) {
+                    payloadBytes += n;
+                }
+                return n;
+            }
+        };
+    }
+    
+    /**
+     * Records the total decode time (body reads plus parsing).
+     */
+    void decoded(long nanos) {
+        decodeNanos = nanos;
+    }
+    
+    /**
+     * Records a body that was read in one go, without parsing.
+     */
+    void bodyRead(long nanos, long bytes) {
+        bodyReadNanos = nanos;
+        payloadBytes = bytes;
+    }
+    
+    /**
+     * @return the metrics, or null if they were already taken for this attempt
+     */
+    AttemptMetrics toMetrics(KbsEndpoint endpoint, int attempt) {
+        if (!recorded.compareAndSet(false, true)) {
+            return null;
+        }
+        long started = startedAt;
+        long acquired = connectionAcquiredAt;
+        long firstByte = firstByteAt;
+        return new AttemptMetrics(
+            endpoint,
+            attempt,
+            statusCode,
+            started > 0 ? started - enqueuedAt : 0,
+            started > 0 && acquired > 0 ? acquired - started : 0,
+            acquired > 0 && firstByte > 0 ? firstByte - acquired : 0,
+            bodyReadNanos,
+            Math.max(0, decodeNanos - bodyReadNanos),
+            payloadBytes
+        );
+    }
+    
+    private final class Listener extends EventListener {
+        
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            markConnectionAcquired();
+        }
+        
+        @Override
+        public void responseHeadersStart(Call call) {
+            markFirstByte();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.vnstock.kbs.client;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CompletableFuture whose cancellation reaches the underlying HTTP call.
+ * 
+ * Dependent stages created from this future share the same cancel hook, so
+ * cancelling the result of {@code thenApply} on an async service call also
+ * aborts the in-flight request.
+ */
+public class CancellableFuture<T> extends CompletableFuture<T> {
+    
+    private final Runnable onCancel;
+    
+    public CancellableFuture(Runnable onCancel) {
+        this.onCancel = Objects.requireNonNull(onCancel, "onCancel cannot be null");
+    }
+    
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new CancellableFuture<>(onCancel);
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            onCancel.run();
+        }
+        return cancelled;
+    }
+}
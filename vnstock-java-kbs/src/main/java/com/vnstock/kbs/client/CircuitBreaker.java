@@ -0,0 +1,153 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.CircuitBreakerConfig;
+import com.vnstock.kbs.exception.KbsCircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker of one endpoint family, with a count-based sliding window.
+ * 
+ * Every attempt first {@link #acquire acquires} a permit and later reports its
+ * outcome with the returned permit. Permits carry the generation of the state
+ * they were issued in, so outcomes of attempts started before a state change
+ * do not count towards the new state.
+ */
+final class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    private final KbsEndpoint endpoint;
+    private final CircuitBreakerConfig config;
+    private final boolean[] window;
+    
+    private CircuitState state = CircuitState.CLOSED;
+    private long generation;
+    private long openedAt;
+    
+    // Sliding window of the closed state
+    private int position;
+    private int recorded;
+    private int failures;
+    
+    // Trial calls of the half-open state
+    private int trialsIssued;
+    private int trialSuccesses;
+    
+    CircuitBreaker(KbsEndpoint endpoint, CircuitBreakerConfig config) {
+        this.endpoint = endpoint;
+        this.config = config;
+        this.window = new boolean[config.windowSize()];
+    }
+    
+    /**
+     * Acquires a permit for one attempt.
+     * 
+     * @return the permit to pass to {@link #onSuccess}, {@link #onFailure} or {@link #release}
+     * @throws KbsCircuitOpenException if the circuit rejects the attempt
+     */
+    synchronized long acquire(long now) {
+        if (state == CircuitState.OPEN) {
+            long remaining = config.openDuration().toNanos() - (now - openedAt);
+            if (remaining > 0) {
+                throw new KbsCircuitOpenException(
+                    "Circuit breaker is open for " + endpoint,
+                    endpoint.name(),
+                    Duration.ofNanos(remaining)
+                );
+            }
+            transition(CircuitState.HALF_OPEN, now);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialsIssued >= config.halfOpenCalls()) {
+                throw new KbsCircuitOpenException(
+                    "Circuit breaker is half-open for " + endpoint + " and all trial calls are in flight",
+                    endpoint.name(),
+                    Duration.ZERO
+                );
+            }
+            trialsIssued++;
+        }
+        return generation;
+    }
+    
+    synchronized void onSuccess(long permit, long now) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (++trialSuccesses >= config.halfOpenCalls()) {
+                transition(CircuitState.CLOSED, now);
+            }
+        } else if (state == CircuitState.CLOSED) {
+            record(false, now);
+        }
+    }
+    
+    synchronized void onFailure(long permit, long now) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            transition(CircuitState.OPEN, now);
+        } else if (state == CircuitState.CLOSED) {
+            record(true, now);
+        }
+    }
+    
+    /**
+     * Returns a permit whose attempt ended without an outcome (e.g. it was cancelled).
+     */
+    synchronized void release(long permit) {
+        if (permit == generation && state == CircuitState.HALF_OPEN && trialsIssued > 0) {
+            trialsIssued--;
+        }
+    }
+    
+    synchronized CircuitState state(long now) {
+        if (state == CircuitState.OPEN && now - openedAt >= config.openDuration().toNanos()) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+    
+    private void record(boolean failure, long now) {
+        if (recorded == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+        
+        if (recorded >= config.minimumCalls()
+                && failures >= config.failureRateThreshold() * recorded) {
+            transition(CircuitState.OPEN, now);
+        }
+    }
+    
+    private void transition(CircuitState next, long now) {
+        if (next == CircuitState.OPEN) {
+            logger.warn("Circuit breaker for {} opened after {}/{} failed attempts", endpoint, failures, recorded);
+        } else {
+            logger.info("Circuit breaker for {} is now {}", endpoint, next);
+        }
+        state = next;
+        generation++;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        trialsIssued = 0;
+        trialSuccesses = 0;
+        if (next == CircuitState.OPEN) {
+            openedAt = now;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.vnstock.kbs.client;
+
+/**
+ * State of an endpoint's circuit breaker.
+ */
+public enum CircuitState {
+    /** Requests flow normally while failures are counted. */
+    CLOSED,
+    /** Requests fail fast with {@code KbsCircuitOpenException}. */
+    OPEN,
+    /** A limited number of trial requests probe whether the endpoint recovered. */
+    HALF_OPEN
+}
@@ -0,0 +1,18 @@
+package com.vnstock.kbs.client;
+
+/**
+ * Counters for single-flight GET coalescing.
+ * 
+ * @param hits Requests served by joining an identical in-flight request
+ * @param misses Requests that went upstream
+ */
+public record CoalescingStats(long hits, long misses) {
+    
+    /**
+     * Fraction of GET requests that did not reach KBS.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
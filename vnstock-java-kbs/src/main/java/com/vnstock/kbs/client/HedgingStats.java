@@ -0,0 +1,18 @@
+package com.vnstock.kbs.client;
+
+/**
+ * Counters for hedged requests.
+ * 
+ * @param requests Requests to hedge-eligible endpoints
+ * @param hedges Duplicate requests actually sent
+ * @param hedgeWins Requests answered first by the duplicate
+ */
+public record HedgingStats(long requests, long hedges, long hedgeWins) {
+    
+    /**
+     * Fraction of eligible requests that were duplicated.
+     */
+    public double hedgeRatio() {
+        return requests == 0 ? 0.0 : (double) hedges / requests;
+    }
+}
@@ -0,0 +1,95 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.KbsConfig;
+
+/**
+ * Endpoint families of the KBS API.
+ * 
+ * Requests are classified from their URL so that rate limits, circuit
+ * breakers and metrics can be keyed per family instead of per raw URL.
+ */
+public enum KbsEndpoint {
+    
+    STOCK_SEARCH(Server.IIS, "/stock/search/data"),
+    PRICE_BOARD(Server.IIS, "/stock/iss"),
+    STOCK_HISTORY(Server.IIS, "/stocks/{symbol}/data_{interval}"),
+    INDEX_HISTORY(Server.IIS, "/index/{symbol}/data_{interval}"),
+    INDEX_STOCKS(Server.IIS, "/index/{group}/stocks"),
+    TRADE_HISTORY(Server.IIS, "/trade/history/{symbol}"),
+    SECTOR(Server.IIS, "/sector/{resource}"),
+    STOCK_INFO(Server.IIS, "/stockinfo/{resource}/{symbol}"),
+    FINANCE_INFO(Server.SAS, "/kbsv-stock-data-store/stock/finance-info/{symbol}"),
+    OTHER_IIS(Server.IIS, "/*"),
+    OTHER_SAS(Server.SAS, "/*"),
+    OTHER(Server.OTHER, "*");
+    
+    /**
+     * KBS backend server hosting an endpoint.
+     */
+    public enum Server {
+        IIS,
+        SAS,
+        OTHER
+    }
+    
+    private final Server server;
+    private final String template;
+    
+    KbsEndpoint(Server server, String template) {
+        this.server = server;
+        this.template = template;
+    }
+    
+    /**
+     * Server hosting this endpoint family.
+     */
+    public Server server() {
+        return server;
+    }
+    
+    /**
+     * Path template relative to the server base URL, e.g. {@code /trade/history/{symbol}}.
+     */
+    public String template() {
+        return template;
+    }
+    
+    /**
+     * Classifies a request URL (with or without query string).
+     */
+    public static KbsEndpoint classify(String url, KbsConfig config) {
+        int query = url.indexOf('?');
+        String path = query >= 0 ? url.substring(0, query) : url;
+        
+        if (path.startsWith(config.baseUrlSas())) {
+            return path.contains("/finance-info/") ? FINANCE_INFO : OTHER_SAS;
+        }
+        if (!path.startsWith(config.baseUrlIis())) {
+            return OTHER;
+        }
+        
+        String relative = path.substring(config.baseUrlIis().length());
+        if (relative.startsWith("/stock/iss")) {
+            return PRICE_BOARD;
+        }
+        if (relative.startsWith("/stock/search/")) {
+            return STOCK_SEARCH;
+        }
+        if (relative.startsWith("/stocks/")) {
+            return STOCK_HISTORY;
+        }
+        if (relative.startsWith("/index/")) {
+            return relative.endsWith("/stocks") ? INDEX_STOCKS : INDEX_HISTORY;
+        }
+        if (relative.startsWith("/trade/history/")) {
+            return TRADE_HISTORY;
+        }
+        if (relative.startsWith("/sector/")) {
+            return SECTOR;
+        }
+        if (relative.startsWith("/stockinfo/")) {
+            return STOCK_INFO;
+        }
+        return OTHER_IIS;
+    }
+}
@@ -0,0 +1,85 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.exception.KbsCircuitOpenException;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Helpers for bridging the async client API and blocking callers.
+ */
+public final class KbsFutures {
+    
+    private KbsFutures() {
+        // Prevent instantiation
+    }
+    
+    /**
+     * Waits for the future and rethrows failures as {@link KbsApiException}.
+     * Interrupting the waiting thread cancels the request.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new KbsApiException("Request interrupted", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw toKbsApiException(e);
+        }
+    }
+    
+    /**
+     * Strips the {@link CompletionException}/{@link ExecutionException} wrappers
+     * added by CompletableFuture.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+    
+    /**
+     * Logs and wraps any failure of the future with a service-level message,
+     * mirroring the try/catch blocks of the blocking service methods.
+     * {@link KbsCircuitOpenException} is passed through unwrapped so callers can
+     * detect it and fall back.
+     */
+    public static <T> CompletableFuture<T> withContext(
+        CompletableFuture<T> future,
+        Logger logger,
+        String message
+    ) {
+        return future.exceptionally(e -> {
+            Throwable cause = unwrap(e);
+            if (cause instanceof CancellationException cancellation) {
+                throw cancellation;
+            }
+            if (cause instanceof KbsCircuitOpenException circuitOpen) {
+                logger.debug("{}: {}", message, circuitOpen.getMessage());
+                throw circuitOpen;
+            }
+            logger.error(message, cause);
+            throw new KbsApiException(message, cause);
+        });
+    }
+    
+    static KbsApiException toKbsApiException(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof KbsApiException kbsException) {
+            return kbsException;
+        }
+        if (cause instanceof CancellationException) {
+            return new KbsApiException("Request cancelled", cause);
+        }
+        return new KbsApiException("Request failed: " + cause.getMessage(), cause);
+    }
+}
@@ -1,33 +1,80 @@
 package com.vnstock.kbs.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vnstock.kbs.config.HedgingConfig;
 import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.config.RetryPolicy;
 import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.exception.KbsCircuitOpenException;
+import com.vnstock.kbs.exception.KbsRateLimitException;
+import com.vnstock.kbs.jfr.HttpExchangeEvent;
+import com.vnstock.kbs.jfr.RequestEvent;
+import com.vnstock.kbs.metrics.AttemptMetrics;
+import com.vnstock.kbs.metrics.KbsMetrics;
+import com.vnstock.kbs.metrics.RequestMetrics;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * HTTP client for KBS API.
+ * 
+ * All requests are executed asynchronously through OkHttp's dispatcher; the
+ * blocking methods simply wait on the corresponding {@code *Async} future.
  */
 public class KbsHttpClient {
     
     private static final Logger logger = LoggerFactory.getLogger(KbsHttpClient.class);
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
     
-    private final OkHttpClient httpClient;
+    private final KbsTransport transport;
+    private final boolean ownsTransport;
     private final ObjectMapper objectMapper;
     private final KbsConfig config;
+    private final ScheduledExecutorService scheduler;
+    private final RateLimiter rateLimiter;
+    private final RequestCoalescer coalescer;
+    private final RetryPolicy retryPolicy;
+    private final RequestBudget retryBudget;
+    private final Map<KbsEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(KbsEndpoint.class);
+    private final Map<KbsEndpoint, LatencyTracker> latencyTrackers = new EnumMap<>(KbsEndpoint.class);
+    private final RequestBudget hedgeBudget;
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final KbsMetrics metrics;
+    private final boolean metered;
     
     public KbsHttpClient() {
         this(new KbsConfig());
@@ -36,52 +83,81 @@ public class KbsHttpClient {
     public KbsHttpClient(KbsConfig config) {
         this.config = Objects.requireNonNull(config, "config cannot be null");
         
-        this.httpClient = new OkHttpClient.Builder()
-            .connectTimeout(config.connectTimeout())
-            .readTimeout(config.readTimeout())
-            .build();
+        this.metrics = Objects.requireNonNull(config.metrics(), "metrics cannot be null");
+        this.metered = metrics != KbsMetrics.noop();
+        
+        this.ownsTransport = config.transport() == null;
+        this.transport = ownsTransport ? new OkHttpTransport(config) : config.transport();
         
         this.objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
             .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
             .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kbs-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.rateLimiter = new RateLimiter(config.rateLimit());
+        this.coalescer = config.coalesceRequests() ? new RequestCoalescer() : null;
+        this.retryPolicy = Objects.requireNonNull(config.retryPolicy(), "retryPolicy cannot be null");
+        this.retryBudget = new RequestBudget(retryPolicy.budgetRatio(), retryPolicy.minRetriesPerSecond());
+        
+        if (config.circuitBreaker().enabled()) {
+            for (KbsEndpoint endpoint : KbsEndpoint.values()) {
+                circuitBreakers.put(endpoint, new CircuitBreaker(endpoint, config.circuitBreaker()));
+            }
+        }
+        
+        HedgingConfig hedging = config.hedging();
+        this.hedgeBudget = new RequestBudget(hedging.budgetRatio(), 0);
+        for (KbsEndpoint endpoint : hedging.endpoints()) {
+            latencyTrackers.put(endpoint, new LatencyTracker(hedging.percentile()));
+        }
     }
     
     /**
      * Executes a GET request.
      */
     public <T> T get(String url, Map<String, String> params, Class<T> responseType) {
-        String fullUrl = buildUrlWithParams(url, params);
-        Request request = buildRequest(fullUrl);
-        return executeRequest(request, responseType);
+        return KbsFutures.join(getAsync(url, params, responseType));
+    }
+    
+    /**
+     * Executes a GET request without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Map<String, String> params, Class<T> responseType) {
+        return getAsync(url, params, databind(objectMapper.constructType(responseType)));
     }
     
     /**
      * Executes a POST request with JSON body.
      */
     public <T> T post(String url, Object body, Class<T> responseType) {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(
-                jsonBody, 
-                MediaType.parse("application/json; charset=utf-8")
-            );
-            
-            Request request = buildRequest(url).newBuilder()
-                .post(requestBody)
-                .build();
-            
-            return executeRequest(request, responseType);
-        } catch (Exception e) {
-            throw new KbsApiException("Failed to serialize request body", e);
-        }
+        return KbsFutures.join(postAsync(url, body, responseType));
+    }
+    
+    /**
+     * Executes a POST request with JSON body without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> responseType) {
+        return postAsync(url, body, databind(objectMapper.constructType(responseType)));
     }
     
     /**
      * Executes a POST request with form data.
      */
     public <T> T postForm(String url, Map<String, String> formData, Class<T> responseType) {
+        return KbsFutures.join(postFormAsync(url, formData, responseType));
+    }
+    
+    /**
+     * Executes a POST request with form data without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> postFormAsync(String url, Map<String, String> formData, Class<T> responseType) {
         FormBody.Builder formBuilder = new FormBody.Builder();
         formData.forEach(formBuilder::add);
         
@@ -89,7 +165,91 @@ public class KbsHttpClient {
             .post(formBuilder.build())
             .build();
         
-        return executeRequest(request, responseType);
+        return executeAsync(request, databind(objectMapper.constructType(responseType)));
+    }
+    
+    /**
+     * Executes a GET request with TypeReference for generic types.
+     */
+    public <T> T get(String url, Map<String, String> params, TypeReference<T> typeReference) {
+        return KbsFutures.join(getAsync(url, params, typeReference));
+    }
+    
+    /**
+     * Executes a GET request with TypeReference without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Map<String, String> params, TypeReference<T> typeReference) {
+        return getAsync(url, params, databind(objectMapper.getTypeFactory().constructType(typeReference)));
+    }
+    
+    /**
+     * Executes a POST request with JSON body and TypeReference.
+     */
+    public <T> T post(String url, Object body, TypeReference<T> typeReference) {
+        return KbsFutures.join(postAsync(url, body, typeReference));
+    }
+    
+    /**
+     * Executes a POST request with JSON body and TypeReference without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Object body, TypeReference<T> typeReference) {
+        return postAsync(url, body, databind(objectMapper.getTypeFactory().constructType(typeReference)));
+    }
+    
+    /**
+     * Executes a GET request and decodes the body with a custom streaming decoder.
+     */
+    public <T> T get(String url, Map<String, String> params, ResponseDecoder<T> decoder) {
+        return KbsFutures.join(getAsync(url, params, decoder));
+    }
+    
+    /**
+     * Executes a GET request with a custom streaming decoder without blocking the calling thread.
+     * 
+     * When coalescing is enabled, concurrent calls with the same URL, headers and
+     * decoder share one upstream request and receive the same decoded instance,
+     * which callers should therefore treat as read-only.
+     */
+    public <T> CompletableFuture<T> getAsync(String url, Map<String, String> params, ResponseDecoder<T> decoder) {
+        String fullUrl = buildUrlWithParams(url, params);
+        Request request = buildRequest(fullUrl);
+        if (coalescer == null) {
+            return executeAsync(request, decoder);
+        }
+        
+        CoalescingKey key = new CoalescingKey(request.url(), request.headers(), decoder);
+        return coalescer.execute(key, () -> executeAsync(request, decoder));
+    }
+    
+    /**
+     * Executes a POST request with JSON body and a custom streaming decoder.
+     */
+    public <T> T post(String url, Object body, ResponseDecoder<T> decoder) {
+        return KbsFutures.join(postAsync(url, body, decoder));
+    }
+    
+    /**
+     * Executes a POST request with JSON body and a custom streaming decoder without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Object body, ResponseDecoder<T> decoder) {
+        String jsonBody;
+        try {
+            jsonBody = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(
+                new KbsApiException("Failed to serialize request body", e)
+            );
+        }
+        
+        Request request = buildRequest(url).newBuilder()
+            .post(RequestBody.create(jsonBody, JSON_MEDIA_TYPE))
+            .build();
+        
+        return executeAsync(request, decoder);
+    }
+    
+    private <T> ResponseDecoder<T> databind(JavaType type) {
+        return new DatabindDecoder<>(objectMapper, type);
     }
     
     private Request buildRequest(String url) {
@@ -102,7 +262,7 @@ public class KbsHttpClient {
             .build();
     }
     
-    private String buildUrlWithParams(String baseUrl, Map<String, String> params) {
+    static String buildUrlWithParams(String baseUrl, Map<String, String> params) {
         if (params == null || params.isEmpty()) {
             return baseUrl;
         }
@@ -127,124 +287,539 @@ public class KbsHttpClient {
         return url.toString();
     }
     
-    private <T> T executeRequest(Request request, Class<T> responseType) {
-        int attempts = 0;
-        Exception lastException = null;
-        
-        while (attempts < config.maxRetries()) {
-            attempts++;
-            
-            try (Response response = httpClient.newCall(request).execute()) {
-                String responseBody = response.body() != null ? response.body().string() : null;
-                
-                if (response.isSuccessful()) {
-                    if (responseBody == null || responseBody.isEmpty()) {
-                        return null;
-                    }
-                    return objectMapper.readValue(responseBody, responseType);
-                } else {
-                    throw new KbsApiException(
-                        "API request failed: " + response.code() + " " + response.message(),
-                        response.code(),
-                        responseBody
-                    );
-                }
-            } catch (IOException e) {
-                lastException = e;
-                logger.warn("Request attempt {} failed: {}", attempts, e.getMessage());
-                
-                if (attempts < config.maxRetries()) {
-                    try {
-                        Thread.sleep(1000 * attempts); // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new KbsApiException("Request interrupted", ie);
-                    }
-                }
-            }
+    private <T> CompletableFuture<T> executeAsync(Request request, ResponseDecoder<T> decoder) {
+        KbsEndpoint endpoint = KbsEndpoint.classify(request.url().toString(), config);
+        if (config.hedging().appliesTo(endpoint)) {
+            return new HedgedExecution<>(request, endpoint, decoder).start();
         }
-        
-        throw new KbsApiException(
-            "Request failed after " + attempts + " attempts", 
-            lastException
-        );
+        return new AsyncExecution<>(request, endpoint, decoder).start();
     }
     
     /**
-     * Executes a GET request with TypeReference for generic types.
+     * Decodes a successful response body by streaming it into a JsonParser,
+     * so the payload is never materialized as a String.
+     * 
+     * @return the decoded value, or null when the body is empty
      */
-    public <T> T get(String url, Map<String, String> params, TypeReference<T> typeReference) {
-        String fullUrl = buildUrlWithParams(url, params);
-        Request request = buildRequest(fullUrl);
-        return executeRequestWithTypeRef(request, typeReference);
+    static <T> T decodeBody(ObjectMapper objectMapper, ResponseBody body, ResponseDecoder<T> decoder)
+            throws IOException {
+        return decodeBody(objectMapper, body, decoder, null);
+    }
+    
+    private static <T> T decodeBody(
+        ObjectMapper objectMapper,
+        ResponseBody body,
+        ResponseDecoder<T> decoder,
+        AttemptTimings timings
+    ) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        InputStream in = timings != null ? timings.meter(body.byteStream()) : body.byteStream();
+        long start = System.nanoTime();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return decoder.decode(parser);
+        } finally {
+            if (timings != null) {
+                timings.decoded(System.nanoTime() - start);
+            }
+        }
     }
     
     /**
-     * Executes a POST request with JSON body and TypeReference.
+     * Parses a {@code Retry-After} header given either as delta-seconds or as an HTTP date.
+     * 
+     * @return the delay (never negative), or null if the header is absent or malformed
      */
-    public <T> T post(String url, Object body, TypeReference<T> typeReference) {
+    static Duration parseRetryAfter(String header, Instant now) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
         try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            RequestBody requestBody = RequestBody.create(
-                jsonBody, 
-                MediaType.parse("application/json; charset=utf-8")
-            );
-            
-            Request request = buildRequest(url).newBuilder()
-                .post(requestBody)
-                .build();
-            
-            return executeRequestWithTypeRef(request, typeReference);
-        } catch (Exception e) {
-            throw new KbsApiException("Failed to serialize request body", e);
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds; try the HTTP-date form
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return at.isAfter(now) ? Duration.between(now, at) : Duration.ZERO;
+        } catch (DateTimeParseException e) {
+            return null;
         }
     }
     
-    private <T> T executeRequestWithTypeRef(Request request, TypeReference<T> typeReference) {
-        int attempts = 0;
-        Exception lastException = null;
+    /**
+     * Returns hit/miss counters of GET request coalescing.
+     */
+    public CoalescingStats coalescingStats() {
+        return coalescer == null
+            ? new CoalescingStats(0, 0)
+            : new CoalescingStats(coalescer.hits(), coalescer.misses());
+    }
+    
+    /**
+     * Returns the circuit breaker state of an endpoint family
+     * ({@link CircuitState#CLOSED} when circuit breaking is disabled).
+     */
+    public CircuitState circuitState(KbsEndpoint endpoint) {
+        CircuitBreaker breaker = circuitBreakers.get(endpoint);
+        return breaker != null ? breaker.state(System.nanoTime()) : CircuitState.CLOSED;
+    }
+    
+    /**
+     * Returns counters of hedged requests.
+     */
+    public HedgingStats hedgingStats() {
+        return new HedgingStats(hedgedRequests.sum(), hedgesSent.sum(), hedgeWins.sum());
+    }
+    
+    /**
+     * Latency percentile a hedged endpoint's hedge delay is based on, or -1 if not yet known.
+     */
+    long latencyPercentileNanos(KbsEndpoint endpoint) {
+        LatencyTracker tracker = latencyTrackers.get(endpoint);
+        return tracker != null ? tracker.percentileNanos() : -1;
+    }
+    
+    /**
+     * Stops the client; a transport passed in through {@link KbsConfig#transport()} is left open.
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+    
+    /**
+     * One logical request: sends attempts through the transport and schedules retries and
+     * rate-limit delays on the client's timer, so no thread is parked while waiting.
+     * Which failures are retried, and after how long, is up to the {@link RetryPolicy};
+     * the shared {@link RequestBudget} has the final say. Every attempt also needs a
+     * permit from the endpoint's {@link CircuitBreaker}, so retries stop as soon as
+     * the circuit opens.
+     */
+    private final class AsyncExecution<T> {
         
-        while (attempts < config.maxRetries()) {
+        private static final long NO_PERMIT = -1;
+        
+        private final Request request;
+        private final KbsEndpoint endpoint;
+        private final ResponseDecoder<T> decoder;
+        private final CancellableFuture<T> future;
+        private final CircuitBreaker circuitBreaker;
+        
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicLong permit = new AtomicLong(NO_PERMIT);
+        private volatile CompletableFuture<Response> currentExchange;
+        private volatile ScheduledFuture<?> pendingTask;
+        private volatile AttemptTimings timings;
+        private volatile HttpExchangeEvent exchangeEvent;
+        private volatile int attempts;
+        
+        AsyncExecution(Request request, KbsEndpoint endpoint, ResponseDecoder<T> decoder) {
+            this.request = request;
+            this.endpoint = endpoint;
+            this.decoder = decoder;
+            this.future = new CancellableFuture<>(this::cancel);
+            this.circuitBreaker = circuitBreakers.get(endpoint);
+        }
+        
+        CompletableFuture<T> start() {
+            retryBudget.recordRequest();
+            RequestEvent event = new RequestEvent();
+            if (metered || event.isEnabled()) {
+                long startedAt = System.nanoTime();
+                event.begin();
+                future.whenComplete((value, error) -> recordRequest(event, error, System.nanoTime() - startedAt));
+            }
+            attempt();
+            return future;
+        }
+        
+        private void attempt() {
+            if (future.isDone()) {
+                return;
+            }
             attempts++;
             
-            try (Response response = httpClient.newCall(request).execute()) {
-                String responseBody = response.body() != null ? response.body().string() : null;
+            if (circuitBreaker != null) {
+                try {
+                    permit.set(circuitBreaker.acquire(System.nanoTime()));
+                } catch (KbsCircuitOpenException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+            }
+            
+            long delayNanos;
+            try {
+                delayNanos = rateLimiter.reserve(endpoint);
+            } catch (KbsRateLimitException e) {
+                releasePermit();
+                future.completeExceptionally(e);
+                return;
+            }
+            
+            if (delayNanos > 0) {
+                schedule(this::send, delayNanos, null);
+            } else {
+                send();
+            }
+        }
+        
+        private void send() {
+            Request attemptRequest = request;
+            HttpExchangeEvent event = new HttpExchangeEvent();
+            AttemptTimings attemptTimings = null;
+            if (metered || event.isEnabled()) {
+                attemptTimings = new AttemptTimings();
+                attemptRequest = request.newBuilder().tag(AttemptTimings.class, attemptTimings).build();
+                event.begin();
+            }
+            timings = attemptTimings;
+            exchangeEvent = attemptTimings != null ? event : null;
+            
+            CompletableFuture<Response> exchange;
+            try {
+                exchange = transport.send(attemptRequest);
+            } catch (RuntimeException e) {
+                releasePermit();
+                future.completeExceptionally(e);
+                return;
+            }
+            currentExchange = exchange;
+            if (future.isDone()) {
+                // Cancelled before the exchange was published, so cancel() could not see it
+                exchange.cancel(true);
+                return;
+            }
+            exchange.whenComplete((response, error) -> {
+                if (error == null) {
+                    onResponse(response);
+                    return;
+                }
+                Throwable cause = KbsFutures.unwrap(error);
+                if (cause instanceof IOException ioException) {
+                    onFailure(ioException);
+                } else if (!(cause instanceof CancellationException)) {
+                    releasePermit();
+                    future.completeExceptionally(cause);
+                }
+            });
+        }
+        
+        private void onResponse(Response response) {
+            AttemptTimings attemptTimings = timings;
+            if (attemptTimings != null) {
+                attemptTimings.statusCode = response.code();
+            }
+            try (response) {
+                ResponseBody body = response.body();
                 
                 if (response.isSuccessful()) {
-                    if (responseBody == null || responseBody.isEmpty()) {
-                        return null;
-                    }
-                    return objectMapper.readValue(responseBody, typeReference);
+                    T value = decodeBody(objectMapper, body, decoder, attemptTimings);
+                    recordOutcome(true);
+                    recordAttempt(null);
+                    future.complete(value);
                 } else {
-                    throw new KbsApiException(
+                    // Only failed responses are buffered, for KbsApiException.getResponseBody()
+                    long readStart = System.nanoTime();
+                    String responseBody = body != null ? body.string() : null;
+                    if (attemptTimings != null && body != null) {
+                        attemptTimings.bodyRead(System.nanoTime() - readStart, Math.max(0, body.contentLength()));
+                    }
+                    recordAttempt(null);
+                    KbsApiException failure = new KbsApiException(
                         "API request failed: " + response.code() + " " + response.message(),
                         response.code(),
                         responseBody
                     );
+                    if (response.code() == 429) {
+                        // Throttled, not broken: neither a success nor a failure for the breaker
+                        releasePermit();
+                    } else {
+                        recordOutcome(response.code() < 500);
+                    }
+                    if (retryPolicy.retryOnStatus(response.code())) {
+                        logger.warn("Request attempt {} failed: {}", attempts, failure.getMessage());
+                        retry(failure, parseRetryAfter(response.header("Retry-After"), Instant.now()));
+                    } else {
+                        future.completeExceptionally(failure);
+                    }
                 }
             } catch (IOException e) {
-                lastException = e;
-                logger.warn("Request attempt {} failed: {}", attempts, e.getMessage());
-                
-                if (attempts < config.maxRetries()) {
-                    try {
-                        Thread.sleep(1000 * attempts);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new KbsApiException("Request interrupted", ie);
+                onFailure(e);
+            } catch (RuntimeException e) {
+                releasePermit();
+                future.completeExceptionally(e);
+            }
+        }
+        
+        private void onFailure(IOException e) {
+            if (future.isDone()) {
+                return;
+            }
+            logger.warn("Request attempt {} failed: {}", attempts, e.getMessage());
+            recordAttempt(e);
+            // A response that arrived but could not be parsed says nothing about the server's health
+            recordOutcome(e instanceof JsonProcessingException);
+            
+            KbsApiException failure = new KbsApiException("Request failed after " + attempts + " attempts", e);
+            if (retryPolicy.retryOnException(e)) {
+                retry(failure, null);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+        
+        /**
+         * Schedules another attempt, or fails with {@code failure} if the policy
+         * or the retry budget does not allow one.
+         */
+        private void retry(KbsApiException failure, Duration retryAfter) {
+            if (future.isDone()) {
+                return;
+            }
+            Duration backoff = attempts < retryPolicy.maxAttempts()
+                ? retryPolicy.backoff(attempts, retryAfter)
+                : null;
+            if (backoff == null) {
+                future.completeExceptionally(failure);
+                return;
+            }
+            if (!retryBudget.tryAcquire()) {
+                logger.warn("Retry budget exhausted, not retrying {}", request.url());
+                future.completeExceptionally(failure);
+                return;
+            }
+            logger.debug("Retrying {} in {} ms", request.url(), backoff.toMillis());
+            schedule(this::attempt, backoff.toNanos(), failure);
+        }
+        
+        private void schedule(Runnable task, long delayNanos, Throwable lastFailure) {
+            try {
+                pendingTask = scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                releasePermit();
+                future.completeExceptionally(new KbsApiException("Client is closed", lastFailure));
+            }
+        }
+        
+        private void recordAttempt(IOException error) {
+            AttemptTimings attemptTimings = timings;
+            if (attemptTimings == null) {
+                return;
+            }
+            AttemptMetrics attempt = attemptTimings.toMetrics(endpoint, attempts);
+            if (attempt == null) {
+                return;
+            }
+            if (metered) {
+                try {
+                    metrics.recordAttempt(attempt);
+                } catch (RuntimeException e) {
+                    logger.debug("Metrics failed to record attempt", e);
+                }
+            }
+            
+            HttpExchangeEvent event = exchangeEvent;
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = endpoint.name();
+                    event.method = request.method();
+                    event.path = request.url().encodedPath();
+                    event.attempt = attempt.attempt();
+                    event.statusCode = attempt.statusCode();
+                    event.payloadBytes = attempt.payloadBytes();
+                    event.queueNanos = attempt.queueNanos();
+                    event.connectNanos = attempt.connectNanos();
+                    event.timeToFirstByteNanos = attempt.timeToFirstByteNanos();
+                    event.bodyReadNanos = attempt.bodyReadNanos();
+                    event.parseNanos = attempt.parseNanos();
+                    event.error = error != null ? error.toString() : null;
+                    event.commit();
+                }
+            }
+        }
+        
+        private void recordRequest(RequestEvent event, Throwable error, long totalNanos) {
+            Throwable cause = KbsFutures.unwrap(error);
+            if (metered && !(cause instanceof CancellationException)) {
+                try {
+                    metrics.recordRequest(new RequestMetrics(endpoint, attempts, error == null, totalNanos));
+                } catch (RuntimeException e) {
+                    logger.debug("Metrics failed to record request", e);
+                }
+            }
+            
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint.name();
+                event.method = request.method();
+                event.path = request.url().encodedPath();
+                event.attempts = attempts;
+                event.success = error == null;
+                event.error = cause != null ? cause.toString() : null;
+                event.commit();
+            }
+        }
+        
+        private void recordOutcome(boolean success) {
+            long held = permit.getAndSet(NO_PERMIT);
+            if (held == NO_PERMIT) {
+                return;
+            }
+            if (success) {
+                circuitBreaker.onSuccess(held, System.nanoTime());
+            } else {
+                circuitBreaker.onFailure(held, System.nanoTime());
+            }
+        }
+        
+        private void releasePermit() {
+            long held = permit.getAndSet(NO_PERMIT);
+            if (held != NO_PERMIT) {
+                circuitBreaker.release(held);
+            }
+        }
+        
+        private void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            // Cancelling a dependent stage must also settle this future so no retry is scheduled
+            future.cancel(false);
+            
+            CompletableFuture<Response> exchange = currentExchange;
+            if (exchange != null) {
+                exchange.cancel(true);
+            }
+            ScheduledFuture<?> task = pendingTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+            releasePermit();
+        }
+    }
+    
+    /**
+     * A request to a hedge-eligible endpoint: runs the primary {@link AsyncExecution}
+     * and, if it has not completed after the endpoint's latency percentile, a
+     * duplicate one. The first success wins and the other execution is cancelled.
+     * The request fails only once every execution that was started has failed.
+     */
+    private final class HedgedExecution<T> {
+        
+        private final Request request;
+        private final KbsEndpoint endpoint;
+        private final ResponseDecoder<T> decoder;
+        private final LatencyTracker latency;
+        private final CancellableFuture<T> future;
+        
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile CompletableFuture<T> primary;
+        private volatile CompletableFuture<T> hedge;
+        private volatile ScheduledFuture<?> hedgeTask;
+        private volatile long primaryStartedAt;
+        
+        HedgedExecution(Request request, KbsEndpoint endpoint, ResponseDecoder<T> decoder) {
+            this.request = request;
+            this.endpoint = endpoint;
+            this.decoder = decoder;
+            this.latency = latencyTrackers.get(endpoint);
+            this.future = new CancellableFuture<>(this::cancelAll);
+        }
+        
+        CompletableFuture<T> start() {
+            hedgedRequests.increment();
+            hedgeBudget.recordRequest();
+            future.whenComplete((value, error) -> cancelAll());
+            
+            primary = launch(false);
+            if (!future.isDone()) {
+                try {
+                    hedgeTask = scheduler.schedule(this::sendHedge, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Client is closing; the primary execution reports that itself
+                }
+            }
+            return future;
+        }
+        
+        private long hedgeDelayNanos() {
+            HedgingConfig hedging = config.hedging();
+            long observed = latency.percentileNanos();
+            long delay = observed >= 0 ? observed : hedging.initialDelay().toNanos();
+            return Math.max(delay, hedging.minDelay().toNanos());
+        }
+        
+        private void sendHedge() {
+            if (future.isDone() || !hedgeBudget.tryAcquire()) {
+                return;
+            }
+            hedgesSent.increment();
+            logger.debug("Hedging {} request to {}", endpoint, request.url());
+            CompletableFuture<T> execution = launch(true);
+            hedge = execution;
+            if (future.isDone()) {
+                execution.cancel(true);
+            }
+        }
+        
+        private CompletableFuture<T> launch(boolean isHedge) {
+            outstanding.incrementAndGet();
+            if (!isHedge) {
+                primaryStartedAt = System.nanoTime();
+            }
+            CompletableFuture<T> execution = new AsyncExecution<>(request, endpoint, decoder).start();
+            execution.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (future.complete(value)) {
+                        // One sample per primary; if the hedge won, the primary's elapsed time (see LatencyTracker)
+                        latency.record(System.nanoTime() - primaryStartedAt);
+                        if (isHedge) {
+                            hedgeWins.increment();
+                        }
                     }
+                } else if (outstanding.decrementAndGet() == 0) {
+                    future.completeExceptionally(error);
                 }
+            });
+            return execution;
+        }
+        
+        private void cancelAll() {
+            ScheduledFuture<?> task = hedgeTask;
+            if (task != null) {
+                task.cancel(false);
             }
+            cancel(primary);
+            cancel(hedge);
         }
         
-        throw new KbsApiException(
-            "Request failed after " + attempts + " attempts", 
-            lastException
-        );
+        private void cancel(CompletableFuture<T> execution) {
+            if (execution != null && !execution.isDone()) {
+                execution.cancel(true);
+            }
+        }
     }
     
-    public void close() {
-        httpClient.dispatcher().executorService().shutdown();
-        httpClient.connectionPool().evictAll();
+    record CoalescingKey(HttpUrl url, Headers headers, ResponseDecoder<?> decoder) {}
+    
+    /**
+     * Jackson databind decoder; a record so identical target types compare equal.
+     */
+    private record DatabindDecoder<T>(ObjectMapper objectMapper, JavaType type) implements ResponseDecoder<T> {
+        
+        @Override
+        public T decode(JsonParser parser) throws IOException {
+            return objectMapper.readValue(parser, type);
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.vnstock.kbs.client;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends HTTP requests on behalf of {@link KbsHttpClient}.
+ * 
+ * The client handles retries, rate limiting, circuit breaking and decoding;
+ * a transport only performs single exchanges. Requests and responses use the
+ * OkHttp model types so transports can be swapped without changing decoding.
+ * 
+ * @see OkHttpTransport
+ * @see ReplayTransport
+ * @see RecordingTransport
+ */
+public interface KbsTransport extends AutoCloseable {
+    
+    /**
+     * Sends a request without blocking.
+     * 
+     * The future completes with the response, whose body the caller must close,
+     * or exceptionally with an {@link java.io.IOException} if the exchange failed.
+     * Cancelling the future aborts the exchange; a response that arrives after
+     * cancellation is closed by the transport.
+     */
+    CompletableFuture<Response> send(Request request);
+    
+    /**
+     * Releases threads and connections held by the transport.
+     */
+    @Override
+    void close();
+}
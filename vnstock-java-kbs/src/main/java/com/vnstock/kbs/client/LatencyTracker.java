@@ -0,0 +1,54 @@
+package com.vnstock.kbs.client;
+
+import java.util.Arrays;
+
+/**
+ * Latency percentile over the most recent primary requests of an endpoint.
+ * 
+ * A primary cancelled because its hedge answered first is recorded with the
+ * time it had been running. That is only a lower bound, but leaving it out
+ * would drop exactly the slow responses and pull the percentile down. Requests
+ * that fail or are cancelled for any other reason are not recorded.
+ * 
+ * Samples go into a fixed ring buffer; the percentile is recomputed (by sorting
+ * a copy) only every {@link #REFRESH_INTERVAL} samples, so reading it is cheap.
+ */
+final class LatencyTracker {
+    
+    static final int CAPACITY = 256;
+    static final int MIN_SAMPLES = 20;
+    static final int REFRESH_INTERVAL = 16;
+    
+    private final double percentile;
+    private final long[] samples = new long[CAPACITY];
+    private int count;
+    private int position;
+    private int sinceRefresh;
+    private volatile long cachedNanos = -1;
+    
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+    
+    synchronized void record(long latencyNanos) {
+        samples[position] = latencyNanos;
+        position = (position + 1) % CAPACITY;
+        if (count < CAPACITY) {
+            count++;
+        }
+        if (count >= MIN_SAMPLES && (cachedNanos < 0 || ++sinceRefresh >= REFRESH_INTERVAL)) {
+            sinceRefresh = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            cachedNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+    
+    /**
+     * @return the latency percentile in nanoseconds, or -1 until enough samples were recorded
+     */
+    long percentileNanos() {
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.KbsConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport sending requests over the network with OkHttp (the default).
+ */
+public class OkHttpTransport implements KbsTransport {
+    
+    private final OkHttpClient httpClient;
+    
+    /**
+     * Creates a transport whose connection limits and timeouts follow the configuration.
+     */
+    public OkHttpTransport(KbsConfig config) {
+        Objects.requireNonNull(config, "config cannot be null");
+        
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.maxConcurrentRequests());
+        dispatcher.setMaxRequestsPerHost(config.maxConcurrentRequests());
+        
+        // Both hooks are no-ops for requests without AttemptTimings, i.e. unless metrics or JFR are on
+        this.httpClient = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectTimeout(config.connectTimeout())
+            .readTimeout(config.readTimeout())
+            .addInterceptor(AttemptTimings.INTERCEPTOR)
+            .eventListenerFactory(AttemptTimings.EVENT_LISTENER_FACTORY)
+            .build();
+    }
+    
+    /**
+     * Creates a transport on a caller-configured OkHttp client. Queue and connect
+     * timings are only reported if the client was built with the same hooks.
+     */
+    public OkHttpTransport(OkHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient cannot be null");
+    }
+    
+    @Override
+    public CompletableFuture<Response> send(Request request) {
+        Call call = httpClient.newCall(request);
+        CancellableFuture<Response> future = new CancellableFuture<>(call::cancel);
+        call.enqueue(new Callback() {
+            
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (!future.complete(response)) {
+                    response.close();
+                }
+            }
+            
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+    
+    @Override
+    public void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,117 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.RateLimitConfig;
+import com.vnstock.kbs.exception.KbsRateLimitException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limiter combining the global bucket with per-server buckets.
+ * 
+ * Permits are reserved rather than blocked on: {@link #reserve} returns how
+ * long the caller must delay the request, so the async path can schedule it
+ * on a timer instead of parking a thread.
+ */
+final class RateLimiter {
+    
+    private final RateLimitConfig config;
+    private final TokenBucket global;
+    private final TokenBucket iis;
+    private final TokenBucket sas;
+    
+    RateLimiter(RateLimitConfig config) {
+        this(config, System.nanoTime());
+    }
+    
+    RateLimiter(RateLimitConfig config, long now) {
+        this.config = config;
+        this.global = TokenBucket.of(config.global(), now);
+        this.iis = TokenBucket.of(config.iis(), now);
+        this.sas = TokenBucket.of(config.sas(), now);
+    }
+    
+    /**
+     * Reserves a permit for the endpoint.
+     * 
+     * @return nanoseconds to wait before sending the request (0 to send now)
+     * @throws KbsRateLimitException if the wait would exceed what {@code onLimit}/{@code maxWait} allow
+     */
+    long reserve(KbsEndpoint endpoint) {
+        return reserve(endpoint, System.nanoTime());
+    }
+    
+    long reserve(KbsEndpoint endpoint, long now) {
+        if (!config.isEnabled()) {
+            return 0;
+        }
+        TokenBucket serverBucket = switch (endpoint.server()) {
+            case IIS -> iis;
+            case SAS -> sas;
+            case OTHER -> null;
+        };
+        
+        long maxWaitNanos = config.onLimit() == RateLimitConfig.OnLimit.FAIL_FAST
+            ? 0
+            : config.maxWait().toNanos();
+        
+        synchronized (this) {
+            long wait = Math.max(waitNanos(global, now), waitNanos(serverBucket, now));
+            if (wait > maxWaitNanos) {
+                throw new KbsRateLimitException(
+                    "Rate limit exceeded for " + endpoint + " (" + config.onLimit() + ")",
+                    Duration.ofNanos(wait)
+                );
+            }
+            take(global);
+            take(serverBucket);
+            return wait;
+        }
+    }
+    
+    private static long waitNanos(TokenBucket bucket, long now) {
+        return bucket != null ? bucket.waitNanos(now) : 0;
+    }
+    
+    private static void take(TokenBucket bucket) {
+        if (bucket != null) {
+            bucket.take();
+        }
+    }
+    
+    /**
+     * Single token bucket; not thread-safe, guarded by the enclosing limiter.
+     * Tokens may go negative, which queues later reservations behind earlier ones.
+     */
+    private static final class TokenBucket {
+        
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+        
+        private TokenBucket(RateLimitConfig.Limit limit, long now) {
+            this.permitsPerNano = limit.permitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = limit.burst();
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+        
+        static TokenBucket of(RateLimitConfig.Limit limit, long now) {
+            return limit.isLimited() ? new TokenBucket(limit, now) : null;
+        }
+        
+        long waitNanos(long now) {
+            // A caller that read the clock before another one entered the lock must not drain the bucket
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+                lastRefill = now;
+            }
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        }
+        
+        void take() {
+            tokens -= 1;
+        }
+    }
+}
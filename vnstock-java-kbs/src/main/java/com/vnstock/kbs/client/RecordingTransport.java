@@ -0,0 +1,55 @@
+package com.vnstock.kbs.client;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Transport that forwards requests to another transport and saves every
+ * response to disk in the format read by {@link ReplayTransport}.
+ */
+public class RecordingTransport implements KbsTransport {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RecordingTransport.class);
+    
+    private final KbsTransport delegate;
+    private final Path directory;
+    
+    public RecordingTransport(KbsTransport delegate, Path directory) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+    }
+    
+    @Override
+    public CompletableFuture<Response> send(Request request) {
+        return delegate.send(request).thenApply(response -> {
+            try (response) {
+                ResponseBody body = response.body();
+                byte[] bytes = body != null ? body.bytes() : new byte[0];
+                MediaType mediaType = body != null ? body.contentType() : null;
+                ReplayTransport.write(directory, request, response.code(), mediaType, bytes);
+                logger.debug("Recorded {} {} ({} bytes)", request.method(), request.url(), bytes.length);
+                
+                return response.newBuilder()
+                    .body(ResponseBody.create(bytes, mediaType))
+                    .build();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+    
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
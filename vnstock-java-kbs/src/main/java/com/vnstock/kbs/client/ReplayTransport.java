@@ -0,0 +1,307 @@
+package com.vnstock.kbs.client;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Throttler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport serving previously recorded responses from disk, for offline
+ * benchmarks and load tests.
+ * 
+ * Responses are keyed by method, URL (with query parameters sorted) and request
+ * body; see {@link RecordingTransport} for capturing them. Each recording is a
+ * {@code <key>.properties} file (status and content type) next to a
+ * {@code <key>.body} file with the raw payload. Requests without a recording
+ * get a 404 response.
+ * 
+ * Every response is delayed by {@code latency} (time to first byte), and bodies
+ * are streamed through a throttle shared by all responses when a
+ * {@code bytesPerSecond} bandwidth is set, so slow links can be simulated
+ * realistically, including for the streaming decoder.
+ */
+public class ReplayTransport implements KbsTransport {
+    
+    static final String BODY_SUFFIX = ".body";
+    static final String META_SUFFIX = ".properties";
+    
+    private static final MediaType DEFAULT_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+    private static final long THROTTLE_CHUNK_BYTES = 8192;
+    
+    private final Path directory;
+    private final Duration latency;
+    private final Throttler throttler;
+    private final boolean cacheInMemory;
+    private final ConcurrentMap<String, Recorded> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    
+    private ReplayTransport(Builder builder) {
+        this.directory = builder.directory;
+        this.latency = builder.latency;
+        this.cacheInMemory = builder.cacheInMemory;
+        if (builder.bytesPerSecond > 0) {
+            // Okio's default lets 256 KiB through per read, which would pass most bodies unthrottled
+            long chunk = Math.min(THROTTLE_CHUNK_BYTES, builder.bytesPerSecond);
+            this.throttler = new Throttler();
+            this.throttler.bytesPerSecond(builder.bytesPerSecond, chunk, chunk);
+        } else {
+            this.throttler = null;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kbs-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Creates a builder for a replay transport.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    @Override
+    public CompletableFuture<Response> send(Request request) {
+        AttemptTimings timings = request.tag(AttemptTimings.class);
+        if (timings != null) {
+            timings.markStarted();
+            timings.markConnectionAcquired();
+        }
+        
+        Recorded recorded;
+        try {
+            recorded = load(key(request));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        if (latency.isZero()) {
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            respond(future, request, recorded, timings);
+            return future;
+        }
+        
+        // Not cancellable on purpose: a cancelled future makes respond() close the response
+        CompletableFuture<Response> delayed = new CompletableFuture<>();
+        try {
+            scheduler.schedule(
+                () -> respond(delayed, request, recorded, timings),
+                latency.toNanos(),
+                TimeUnit.NANOSECONDS
+            );
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IOException("Transport is closed", e));
+        }
+        return delayed;
+    }
+    
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        cache.clear();
+    }
+    
+    private void respond(CompletableFuture<Response> future, Request request, Recorded recorded, AttemptTimings timings) {
+        if (timings != null) {
+            timings.markFirstByte();
+        }
+        Response response = recorded != null
+            ? toResponse(request, recorded)
+            : notRecorded(request);
+        if (!future.complete(response)) {
+            response.close();
+        }
+    }
+    
+    private Response toResponse(Request request, Recorded recorded) {
+        BufferedSource source = new Buffer().write(recorded.body());
+        if (throttler != null) {
+            source = Okio.buffer(throttler.source(source));
+        }
+        return new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(recorded.status())
+            .message("Replayed")
+            .header("Content-Type", recorded.mediaType().toString())
+            .body(ResponseBody.create(source, recorded.mediaType(), recorded.body().length))
+            .build();
+    }
+    
+    private static Response notRecorded(Request request) {
+        return new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(404)
+            .message("Not Recorded")
+            .body(ResponseBody.create("No recording for " + request.method() + " " + request.url(), DEFAULT_MEDIA_TYPE))
+            .build();
+    }
+    
+    private Recorded load(String key) throws IOException {
+        if (!cacheInMemory) {
+            return read(directory, key);
+        }
+        Recorded cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Recorded recorded = read(directory, key);
+        if (recorded != null) {
+            cache.putIfAbsent(key, recorded);
+        }
+        return recorded;
+    }
+    
+    private static Recorded read(Path directory, String key) throws IOException {
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(key + META_SUFFIX))) {
+            meta.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        byte[] body = Files.readAllBytes(directory.resolve(key + BODY_SUFFIX));
+        String contentType = meta.getProperty("contentType");
+        return new Recorded(
+            Integer.parseInt(meta.getProperty("status", "200")),
+            contentType != null ? MediaType.get(contentType) : DEFAULT_MEDIA_TYPE,
+            body
+        );
+    }
+    
+    /**
+     * Writes one recording, as {@link RecordingTransport} does for live responses.
+     * Useful for seeding a directory with hand-made fixtures.
+     */
+    public static void write(Path directory, Request request, int status, MediaType mediaType, byte[] body)
+            throws IOException {
+        String key = key(request);
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(key + BODY_SUFFIX), body);
+        
+        Properties meta = new Properties();
+        meta.setProperty("method", request.method());
+        meta.setProperty("url", request.url().toString());
+        meta.setProperty("status", String.valueOf(status));
+        meta.setProperty("contentType", (mediaType != null ? mediaType : DEFAULT_MEDIA_TYPE).toString());
+        try (OutputStream out = Files.newOutputStream(directory.resolve(key + META_SUFFIX))) {
+            meta.store(out, "Recorded KBS response");
+        }
+    }
+    
+    /**
+     * Recording key: a hash of the method, the URL with sorted query parameters
+     * (so parameter order does not matter) and the request body.
+     */
+    static String key(Request request) {
+        HttpUrl url = request.url();
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < url.querySize(); i++) {
+            params.add(url.queryParameterName(i) + "=" + url.queryParameterValue(i));
+        }
+        params.sort(null);
+        HttpUrl base = url.newBuilder().query(null).build();
+        
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.method() + " " + base + "?" + String.join("&", params)).getBytes(StandardCharsets.UTF_8));
+            RequestBody body = request.body();
+            if (body != null) {
+                Buffer buffer = new Buffer();
+                body.writeTo(buffer);
+                digest.update((byte) '\n');
+                digest.update(buffer.readByteArray());
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request body", e);
+        }
+    }
+    
+    private record Recorded(int status, MediaType mediaType, byte[] body) {}
+    
+    /**
+     * Builder pattern for ReplayTransport.
+     */
+    public static class Builder {
+        private Path directory;
+        private Duration latency = Duration.ZERO;
+        private long bytesPerSecond;
+        private boolean cacheInMemory = true;
+        
+        /**
+         * Directory holding the recordings (required).
+         */
+        public Builder directory(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+            return this;
+        }
+        
+        /**
+         * Delay before each response starts (simulated time to first byte).
+         */
+        public Builder latency(Duration latency) {
+            this.latency = Objects.requireNonNull(latency, "latency cannot be null");
+            return this;
+        }
+        
+        /**
+         * Bandwidth shared by all response bodies, in bytes per second (0 for unlimited).
+         */
+        public Builder bandwidth(long bytesPerSecond) {
+            if (bytesPerSecond < 0) {
+                throw new IllegalArgumentException("bytesPerSecond must be non-negative");
+            }
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+        
+        /**
+         * Whether recordings are kept in memory after the first read (default true),
+         * so replays measure the client rather than the disk.
+         */
+        public Builder cacheInMemory(boolean cacheInMemory) {
+            this.cacheInMemory = cacheInMemory;
+            return this;
+        }
+        
+        public ReplayTransport build() {
+            Objects.requireNonNull(directory, "directory cannot be null");
+            return new ReplayTransport(this);
+        }
+    }
+}
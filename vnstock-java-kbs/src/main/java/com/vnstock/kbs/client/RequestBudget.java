@@ -0,0 +1,81 @@
+package com.vnstock.kbs.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-wide cap on extra requests (retries, hedges), so a struggling server
+ * is not hit with a multiple of the normal traffic.
+ * 
+ * Requests and extra requests are counted over a sliding window of ten
+ * one-second buckets. An extra request is allowed while extras in the window
+ * stay below {@code ratio * requests + minPerSecond * 10}.
+ */
+final class RequestBudget {
+    
+    private static final int BUCKETS = 10;
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final double ratio;
+    private final int minPerSecond;
+    private final long[] requests = new long[BUCKETS];
+    private final long[] extras = new long[BUCKETS];
+    private long currentBucket;
+    
+    RequestBudget(double ratio, int minPerSecond) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.currentBucket = Math.floorDiv(System.nanoTime(), BUCKET_NANOS);
+    }
+    
+    /**
+     * Records a new logical request (not a retry or hedge).
+     */
+    void recordRequest() {
+        recordRequest(System.nanoTime());
+    }
+    
+    synchronized void recordRequest(long now) {
+        requests[advance(now)]++;
+    }
+    
+    /**
+     * Withdraws one extra request from the budget.
+     * 
+     * @return false if the budget is exhausted
+     */
+    boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+    
+    synchronized boolean tryAcquire(long now) {
+        int index = advance(now);
+        long totalRequests = 0;
+        long totalExtras = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            totalRequests += requests[i];
+            totalExtras += extras[i];
+        }
+        if (totalExtras >= ratio * totalRequests + (double) minPerSecond * BUCKETS) {
+            return false;
+        }
+        extras[index]++;
+        return true;
+    }
+    
+    /**
+     * Clears buckets that fell out of the window and returns the current bucket index.
+     */
+    private int advance(long now) {
+        long bucket = Math.floorDiv(now, BUCKET_NANOS);
+        long elapsed = bucket - currentBucket;
+        if (elapsed > 0) {
+            for (long i = 1; i <= Math.min(elapsed, BUCKETS); i++) {
+                int index = (int) Math.floorMod(currentBucket + i, (long) BUCKETS);
+                requests[index] = 0;
+                extras[index] = 0;
+            }
+            currentBucket = bucket;
+        }
+        return (int) Math.floorMod(currentBucket, (long) BUCKETS);
+    }
+}
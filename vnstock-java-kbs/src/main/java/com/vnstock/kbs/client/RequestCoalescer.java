@@ -0,0 +1,138 @@
+package com.vnstock.kbs.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical GET requests.
+ * 
+ * While a request is in flight, identical requests subscribe to it instead
+ * of going upstream, and all of them receive the same decoded result. Each
+ * subscriber can cancel independently; the upstream call is cancelled only
+ * once every subscriber has given up.
+ */
+final class RequestCoalescer {
+    
+    private final ConcurrentMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * Joins the in-flight request for {@code key}, or starts it with {@code call}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> execute(Object key, Supplier<CompletableFuture<T>> call) {
+        while (true) {
+            Flight<T> existing = (Flight<T>) inFlight.get(key);
+            if (existing != null) {
+                CompletableFuture<T> subscription = existing.subscribe();
+                if (subscription != null) {
+                    hits.increment();
+                    return subscription;
+                }
+                // Every subscriber of that flight cancelled; it is being torn down
+                inFlight.remove(key, existing);
+                continue;
+            }
+            
+            Flight<T> flight = new Flight<>(key);
+            if (inFlight.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            misses.increment();
+            CompletableFuture<T> subscription = flight.subscribe();
+            flight.start(call);
+            return subscription;
+        }
+    }
+    
+    long hits() {
+        return hits.sum();
+    }
+    
+    long misses() {
+        return misses.sum();
+    }
+    
+    private final class Flight<T> {
+        
+        private final Object key;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<T> upstream;
+        private int subscribers;
+        private boolean abandoned;
+        
+        Flight(Object key) {
+            this.key = key;
+        }
+        
+        void start(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            upstream = started;
+            started.whenComplete((value, error) -> {
+                inFlight.remove(key, this);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+            synchronized (this) {
+                if (abandoned) {
+                    started.cancel(true);
+                }
+            }
+        }
+        
+        /**
+         * @return a new subscriber future, or null if the flight was abandoned
+         */
+        CompletableFuture<T> subscribe() {
+            synchronized (this) {
+                if (abandoned) {
+                    return null;
+                }
+                subscribers++;
+            }
+            
+            AtomicBoolean released = new AtomicBoolean();
+            CancellableFuture<T> subscription = new CancellableFuture<>(() -> {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    subscription.completeExceptionally(error);
+                } else {
+                    subscription.complete(value);
+                }
+            });
+            return subscription;
+        }
+        
+        private void release() {
+            CompletableFuture<T> call;
+            synchronized (this) {
+                if (--subscribers > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                call = upstream;
+            }
+            inFlight.remove(key, this);
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+    }
+}
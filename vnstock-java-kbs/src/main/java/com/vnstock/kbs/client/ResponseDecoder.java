@@ -0,0 +1,21 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Decodes a successful response body straight from a streaming JSON parser.
+ * 
+ * The parser reads from the network stream and is already positioned on the
+ * first token of the body. Its codec is the client's ObjectMapper, so
+ * decoders may fall back to {@code parser.readValueAs(...)} for sub-trees.
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+    
+    /**
+     * Decodes the value starting at the parser's current token.
+     */
+    T decode(JsonParser parser) throws IOException;
+}
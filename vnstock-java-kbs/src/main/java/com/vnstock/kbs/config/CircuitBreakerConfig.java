@@ -0,0 +1,122 @@
+package com.vnstock.kbs.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Circuit breaker settings, applied separately to each endpoint family.
+ * 
+ * The breaker tracks the outcome of the last {@code windowSize} attempts. Once
+ * at least {@code minimumCalls} were recorded and the share of failures (network
+ * errors and 5xx responses) reaches {@code failureRateThreshold}, the circuit
+ * opens and requests fail fast for {@code openDuration}. Afterwards up to
+ * {@code halfOpenCalls} trial requests are let through: if all succeed the circuit
+ * closes, if one fails it opens again.
+ * 
+ * @param enabled Whether circuit breaking is active
+ * @param windowSize Number of recent attempts considered
+ * @param minimumCalls Attempts required before the failure rate is evaluated
+ * @param failureRateThreshold Failure rate (0-1] at which the circuit opens
+ * @param openDuration How long an open circuit rejects requests
+ * @param halfOpenCalls Trial requests allowed while half-open
+ */
+public record CircuitBreakerConfig(
+    boolean enabled,
+    int windowSize,
+    int minimumCalls,
+    double failureRateThreshold,
+    Duration openDuration,
+    int halfOpenCalls
+) {
+    
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+    
+    public CircuitBreakerConfig {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+        }
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        Objects.requireNonNull(openDuration, "openDuration cannot be null");
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("halfOpenCalls must be positive");
+        }
+    }
+    
+    /**
+     * Default settings: 50% failures over the last 20 attempts open the circuit for 30 seconds.
+     */
+    public static CircuitBreakerConfig defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * No circuit breaking.
+     */
+    public static CircuitBreakerConfig disabled() {
+        return builder().enabled(false).build();
+    }
+    
+    /**
+     * Creates a builder for circuit breaker settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder pattern for CircuitBreakerConfig.
+     */
+    public static class Builder {
+        private boolean enabled = true;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private Duration openDuration = DEFAULT_OPEN_DURATION;
+        private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+        
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+        
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+        
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+        
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration, "openDuration cannot be null");
+            return this;
+        }
+        
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+        
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(
+                enabled, windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls
+            );
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.vnstock.kbs.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy with full-jitter exponential backoff.
+ * 
+ * The n-th retry waits a random delay in {@code [0, min(maxDelay, baseDelay * 2^(n-1))]},
+ * which spreads retries of many clients instead of synchronizing them. A
+ * server-provided {@code Retry-After} is honoured (plus up to {@code baseDelay}
+ * of jitter) unless it exceeds {@code maxRetryAfter}, in which case the request fails.
+ * 
+ * Retries are also capped client-wide. Over a sliding ten-second window, a
+ * retry is allowed while retries stay below {@code budgetRatio} of requests
+ * plus {@code minRetriesPerSecond} per second. The floor lets a quiet client
+ * still retry; under load the ratio dominates. With the defaults, a client
+ * sending 20 requests per second may retry 3 times per second, not 12.
+ * 
+ * @param maxAttempts Maximum attempts per request, including the first
+ * @param baseDelay Backoff cap of the first retry
+ * @param maxDelay Upper bound of the backoff cap
+ * @param retryStatuses HTTP status codes that are retried
+ * @param maxRetryAfter Longest server-requested delay that is still honoured
+ * @param budgetRatio Maximum fraction of requests that may be retries
+ * @param minRetriesPerSecond Retries per second allowed regardless of the ratio
+ */
+public record ExponentialBackoffRetryPolicy(
+    int maxAttempts,
+    Duration baseDelay,
+    Duration maxDelay,
+    Set<Integer> retryStatuses,
+    Duration maxRetryAfter,
+    double budgetRatio,
+    int minRetriesPerSecond
+) implements RetryPolicy {
+    
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(250);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(8);
+    public static final Set<Integer> DEFAULT_RETRY_STATUSES = Set.of(429, 502, 503, 504);
+    public static final Duration DEFAULT_MAX_RETRY_AFTER = Duration.ofSeconds(30);
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+    public static final int DEFAULT_MIN_RETRIES_PER_SECOND = 1;
+    
+    public ExponentialBackoffRetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        Objects.requireNonNull(baseDelay, "baseDelay cannot be null");
+        Objects.requireNonNull(maxDelay, "maxDelay cannot be null");
+        Objects.requireNonNull(maxRetryAfter, "maxRetryAfter cannot be null");
+        retryStatuses = Set.copyOf(Objects.requireNonNull(retryStatuses, "retryStatuses cannot be null"));
+        if (budgetRatio < 0) {
+            throw new IllegalArgumentException("budgetRatio must be non-negative");
+        }
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("minRetriesPerSecond must be non-negative");
+        }
+    }
+    
+    @Override
+    public boolean retryOnStatus(int statusCode) {
+        return retryStatuses.contains(statusCode);
+    }
+    
+    /**
+     * Network failures are retried; malformed JSON is not, since it will not change on retry.
+     */
+    @Override
+    public boolean retryOnException(IOException exception) {
+        return !(exception instanceof JsonProcessingException);
+    }
+    
+    @Override
+    public Duration backoff(int attempt, Duration retryAfter) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (retryAfter != null) {
+            if (retryAfter.compareTo(maxRetryAfter) > 0) {
+                return null;
+            }
+            return retryAfter.plusMillis(random.nextLong(baseDelay.toMillis() + 1));
+        }
+        
+        long capMillis = maxDelay.toMillis();
+        int shift = Math.min(attempt - 1, 30);
+        if (baseDelay.toMillis() <= capMillis >> shift) {
+            capMillis = baseDelay.toMillis() << shift;
+        }
+        return Duration.ofMillis(random.nextLong(capMillis + 1));
+    }
+    
+    /**
+     * Default policy with the given number of attempts (at least one).
+     */
+    public static ExponentialBackoffRetryPolicy withMaxAttempts(int maxAttempts) {
+        return builder().maxAttempts(Math.max(1, maxAttempts)).build();
+    }
+    
+    /**
+     * Creates a builder initialised with the defaults.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder pattern for ExponentialBackoffRetryPolicy.
+     */
+    public static class Builder {
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private Duration baseDelay = DEFAULT_BASE_DELAY;
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+        private Set<Integer> retryStatuses = DEFAULT_RETRY_STATUSES;
+        private Duration maxRetryAfter = DEFAULT_MAX_RETRY_AFTER;
+        private double budgetRatio = DEFAULT_BUDGET_RATIO;
+        private int minRetriesPerSecond = DEFAULT_MIN_RETRIES_PER_SECOND;
+        
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        
+        public Builder baseDelay(Duration baseDelay) {
+            this.baseDelay = Objects.requireNonNull(baseDelay, "baseDelay cannot be null");
+            return this;
+        }
+        
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = Objects.requireNonNull(maxDelay, "maxDelay cannot be null");
+            return this;
+        }
+        
+        public Builder retryStatuses(Set<Integer> retryStatuses) {
+            this.retryStatuses = Objects.requireNonNull(retryStatuses, "retryStatuses cannot be null");
+            return this;
+        }
+        
+        public Builder maxRetryAfter(Duration maxRetryAfter) {
+            this.maxRetryAfter = Objects.requireNonNull(maxRetryAfter, "maxRetryAfter cannot be null");
+            return this;
+        }
+        
+        public Builder budgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+        
+        public Builder minRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+        
+        public ExponentialBackoffRetryPolicy build() {
+            return new ExponentialBackoffRetryPolicy(
+                maxAttempts, baseDelay, maxDelay, retryStatuses,
+                maxRetryAfter, budgetRatio, minRetriesPerSecond
+            );
+        }
+    }
+}
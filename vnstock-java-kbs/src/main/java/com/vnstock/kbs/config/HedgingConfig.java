@@ -0,0 +1,117 @@
+package com.vnstock.kbs.config;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hedged request settings.
+ * 
+ * When a request to one of the {@code endpoints} has not completed after the
+ * observed {@code percentile} latency of that endpoint, a duplicate request is
+ * sent and whichever answers first wins; the other is cancelled. Only list
+ * endpoints that are idempotent and safe to send twice.
+ * 
+ * @param enabled Whether hedging is active
+ * @param endpoints Endpoint families that may be hedged
+ * @param percentile Latency percentile (0-1) after which the hedge is sent
+ * @param minDelay Lower bound of the hedge delay
+ * @param initialDelay Hedge delay used until enough latencies were observed
+ * @param budgetRatio Maximum fraction of requests that may be hedged
+ */
+public record HedgingConfig(
+    boolean enabled,
+    Set<KbsEndpoint> endpoints,
+    double percentile,
+    Duration minDelay,
+    Duration initialDelay,
+    double budgetRatio
+) {
+    
+    public static final Set<KbsEndpoint> DEFAULT_ENDPOINTS = Set.of(KbsEndpoint.PRICE_BOARD);
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(20);
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(500);
+    public static final double DEFAULT_BUDGET_RATIO = 0.05;
+    
+    public HedgingConfig {
+        endpoints = Set.copyOf(Objects.requireNonNull(endpoints, "endpoints cannot be null"));
+        if (!(percentile > 0 && percentile < 1)) {
+            throw new IllegalArgumentException("percentile must be in (0, 1)");
+        }
+        Objects.requireNonNull(minDelay, "minDelay cannot be null");
+        Objects.requireNonNull(initialDelay, "initialDelay cannot be null");
+        if (budgetRatio < 0) {
+            throw new IllegalArgumentException("budgetRatio must be non-negative");
+        }
+    }
+    
+    /**
+     * No hedging (the default).
+     */
+    public static HedgingConfig disabled() {
+        return builder().enabled(false).build();
+    }
+    
+    /**
+     * Whether requests to the endpoint are hedged.
+     */
+    public boolean appliesTo(KbsEndpoint endpoint) {
+        return enabled && endpoints.contains(endpoint);
+    }
+    
+    /**
+     * Creates a builder for hedging settings; building it enables hedging.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder pattern for HedgingConfig.
+     */
+    public static class Builder {
+        private boolean enabled = true;
+        private Set<KbsEndpoint> endpoints = DEFAULT_ENDPOINTS;
+        private double percentile = DEFAULT_PERCENTILE;
+        private Duration minDelay = DEFAULT_MIN_DELAY;
+        private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+        private double budgetRatio = DEFAULT_BUDGET_RATIO;
+        
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        
+        public Builder endpoints(Set<KbsEndpoint> endpoints) {
+            this.endpoints = Objects.requireNonNull(endpoints, "endpoints cannot be null");
+            return this;
+        }
+        
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+        
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = Objects.requireNonNull(minDelay, "minDelay cannot be null");
+            return this;
+        }
+        
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = Objects.requireNonNull(initialDelay, "initialDelay cannot be null");
+            return this;
+        }
+        
+        public Builder budgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+        
+        public HedgingConfig build() {
+            return new HedgingConfig(enabled, endpoints, percentile, minDelay, initialDelay, budgetRatio);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.vnstock.kbs.config;
+
+/**
+ * Splitting of long history date ranges into concurrent requests.
+ * 
+ * A {@code getHistory}/{@code getHistorySeries} call whose range would return
+ * more than {@code maxBarsPerChunk} bars is split into consecutive date windows
+ * of at most that many bars, fetched with up to {@code maxConcurrentChunks}
+ * requests in flight and merged in time order. Each window is a normal request,
+ * so a transient failure only retries that window.
+ * 
+ * @param enabled Whether long ranges are split
+ * @param maxBarsPerChunk Upper bound of bars per request, estimated from the trading session length
+ * @param maxConcurrentChunks Requests of one call that may be in flight at once
+ */
+public record HistoryChunkingConfig(
+    boolean enabled,
+    int maxBarsPerChunk,
+    int maxConcurrentChunks
+) {
+    
+    public static final int DEFAULT_MAX_BARS_PER_CHUNK = 20_000;
+    public static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+    
+    public HistoryChunkingConfig {
+        if (maxBarsPerChunk < 1) {
+            throw new IllegalArgumentException("maxBarsPerChunk must be positive");
+        }
+        if (maxConcurrentChunks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be positive");
+        }
+    }
+    
+    /**
+     * Default settings: about 20,000 bars per request (roughly 74 days of 1-minute bars), 4 at a time.
+     */
+    public static HistoryChunkingConfig defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * Every history call is a single request.
+     */
+    public static HistoryChunkingConfig disabled() {
+        return builder().enabled(false).build();
+    }
+    
+    /**
+     * Creates a builder for history chunking settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder pattern for HistoryChunkingConfig.
+     */
+    public static class Builder {
+        private boolean enabled = true;
+        private int maxBarsPerChunk = DEFAULT_MAX_BARS_PER_CHUNK;
+        private int maxConcurrentChunks = DEFAULT_MAX_CONCURRENT_CHUNKS;
+        
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        
+        public Builder maxBarsPerChunk(int maxBarsPerChunk) {
+            this.maxBarsPerChunk = maxBarsPerChunk;
+            return this;
+        }
+        
+        public Builder maxConcurrentChunks(int maxConcurrentChunks) {
+            this.maxConcurrentChunks = maxConcurrentChunks;
+            return this;
+        }
+        
+        public HistoryChunkingConfig build() {
+            return new HistoryChunkingConfig(enabled, maxBarsPerChunk, maxConcurrentChunks);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.vnstock.kbs.config;
 
+import com.vnstock.kbs.client.KbsTransport;
+import com.vnstock.kbs.metrics.KbsMetrics;
+import com.vnstock.kbs.store.BarStore;
+
 import java.time.Duration;
 import java.util.Objects;
 
@@ -10,9 +14,23 @@ import java.util.Objects;
  * @param baseUrlSas Base URL for SAS server endpoints
  * @param connectTimeout Connection timeout duration
  * @param readTimeout Read timeout duration
- * @param maxRetries Maximum number of retry attempts
+ * @param maxRetries Maximum number of attempts per request; only used to derive the default {@code retryPolicy}
  * @param userAgent User agent string
  * @param language Language code (1 for Vietnamese, 2 for English)
+ * @param maxConcurrentRequests Maximum number of requests executing at once; further requests queue without holding a thread
+ * @param rateLimit Client-side rate limits applied before requests are sent
+ * @param coalesceRequests Whether concurrent identical GET requests share one upstream call
+ * @param retryPolicy Decides which failures are retried and how long to back off
+ * @param circuitBreaker Per-endpoint circuit breaker settings
+ * @param hedging Hedged request settings for idempotent endpoints
+ * @param metrics Receives per-endpoint latency and payload metrics
+ * @param transport Sends the HTTP requests, or null for an OkHttp transport built from this configuration
+ * @param historyChunking Splitting of long history ranges into concurrent requests
+ * @param barStore Local bar store that history requests sync against, or null to always fetch the full range
+ * @param maxConcurrentSymbols Maximum number of symbols a bulk call such as {@code client.quotes(symbols)} fetches at once
+ * @param priceBoardPollInterval Pause between price board polls serving {@code subscribe} listeners
+ * @param priceBoardChunking Splitting of large price board requests into concurrent symbol chunks
+ * @param priceBatchWindow How long {@code getPrice} calls wait to share one price board request, or zero to send each at once
  */
 public record KbsConfig(
     String baseUrlIis,
@@ -21,7 +39,21 @@ public record KbsConfig(
     Duration readTimeout,
     int maxRetries,
     String userAgent,
-    int language
+    int language,
+    int maxConcurrentRequests,
+    RateLimitConfig rateLimit,
+    boolean coalesceRequests,
+    RetryPolicy retryPolicy,
+    CircuitBreakerConfig circuitBreaker,
+    HedgingConfig hedging,
+    KbsMetrics metrics,
+    KbsTransport transport,
+    HistoryChunkingConfig historyChunking,
+    BarStore barStore,
+    int maxConcurrentSymbols,
+    Duration priceBoardPollInterval,
+    PriceBoardChunkingConfig priceBoardChunking,
+    Duration priceBatchWindow
 ) {
     
     // Default values
@@ -32,6 +64,11 @@ public record KbsConfig(
     public static final int DEFAULT_MAX_RETRIES = 3;
     public static final String DEFAULT_USER_AGENT = "VNStock-Java-KBS/1.0.0";
     public static final int DEFAULT_LANGUAGE = 1; // Vietnamese
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+    public static final boolean DEFAULT_COALESCE_REQUESTS = true;
+    public static final int DEFAULT_MAX_CONCURRENT_SYMBOLS = 8;
+    public static final Duration DEFAULT_PRICE_BOARD_POLL_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_PRICE_BATCH_WINDOW = Duration.ZERO; // batching off
     
     /**
      * Creates a default configuration.
@@ -44,7 +81,53 @@ public record KbsConfig(
             DEFAULT_READ_TIMEOUT,
             DEFAULT_MAX_RETRIES,
             DEFAULT_USER_AGENT,
-            DEFAULT_LANGUAGE
+            DEFAULT_LANGUAGE,
+            DEFAULT_MAX_CONCURRENT_REQUESTS,
+            RateLimitConfig.unlimited(),
+            DEFAULT_COALESCE_REQUESTS,
+            ExponentialBackoffRetryPolicy.withMaxAttempts(DEFAULT_MAX_RETRIES),
+            CircuitBreakerConfig.defaults(),
+            HedgingConfig.disabled(),
+            KbsMetrics.noop(),
+            null,
+            HistoryChunkingConfig.defaults(),
+            null,
+            DEFAULT_MAX_CONCURRENT_SYMBOLS,
+            DEFAULT_PRICE_BOARD_POLL_INTERVAL,
+            PriceBoardChunkingConfig.defaults(),
+            DEFAULT_PRICE_BATCH_WINDOW
+        );
+    }
+    
+    /**
+     * Creates a configuration with default concurrency, rate limit, coalescing, retry,
+     * circuit breaker, hedging, metrics, transport, history chunking, bar store, bulk concurrency
+     * and price board polling, chunking and batching settings.
+     */
+    public KbsConfig(
+        String baseUrlIis,
+        String baseUrlSas,
+        Duration connectTimeout,
+        Duration readTimeout,
+        int maxRetries,
+        String userAgent,
+        int language
+    ) {
+        this(
+            baseUrlIis, baseUrlSas, connectTimeout, readTimeout,
+            maxRetries, userAgent, language, DEFAULT_MAX_CONCURRENT_REQUESTS,
+            RateLimitConfig.unlimited(), DEFAULT_COALESCE_REQUESTS,
+            ExponentialBackoffRetryPolicy.withMaxAttempts(maxRetries),
+            CircuitBreakerConfig.defaults(),
+            HedgingConfig.disabled(),
+            KbsMetrics.noop(),
+            null,
+            HistoryChunkingConfig.defaults(),
+            null,
+            DEFAULT_MAX_CONCURRENT_SYMBOLS,
+            DEFAULT_PRICE_BOARD_POLL_INTERVAL,
+            PriceBoardChunkingConfig.defaults(),
+            DEFAULT_PRICE_BATCH_WINDOW
         );
     }
     
@@ -66,6 +149,20 @@ public record KbsConfig(
         private int maxRetries = DEFAULT_MAX_RETRIES;
         private String userAgent = DEFAULT_USER_AGENT;
         private int language = DEFAULT_LANGUAGE;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        private RateLimitConfig rateLimit = RateLimitConfig.unlimited();
+        private boolean coalesceRequests = DEFAULT_COALESCE_REQUESTS;
+        private RetryPolicy retryPolicy;
+        private CircuitBreakerConfig circuitBreaker = CircuitBreakerConfig.defaults();
+        private HedgingConfig hedging = HedgingConfig.disabled();
+        private KbsMetrics metrics = KbsMetrics.noop();
+        private KbsTransport transport;
+        private HistoryChunkingConfig historyChunking = HistoryChunkingConfig.defaults();
+        private BarStore barStore;
+        private int maxConcurrentSymbols = DEFAULT_MAX_CONCURRENT_SYMBOLS;
+        private Duration priceBoardPollInterval = DEFAULT_PRICE_BOARD_POLL_INTERVAL;
+        private PriceBoardChunkingConfig priceBoardChunking = PriceBoardChunkingConfig.defaults();
+        private Duration priceBatchWindow = DEFAULT_PRICE_BATCH_WINDOW;
         
         public Builder baseUrlIis(String baseUrlIis) {
             this.baseUrlIis = Objects.requireNonNull(baseUrlIis, "baseUrlIis cannot be null");
@@ -105,10 +202,123 @@ public record KbsConfig(
             return this;
         }
         
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+        
+        public Builder rateLimit(RateLimitConfig rateLimit) {
+            this.rateLimit = Objects.requireNonNull(rateLimit, "rateLimit cannot be null");
+            return this;
+        }
+        
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+        
+        /**
+         * Sets the retry policy; when unset, an {@link ExponentialBackoffRetryPolicy}
+         * with {@code maxRetries} attempts is used.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy cannot be null");
+            return this;
+        }
+        
+        public Builder circuitBreaker(CircuitBreakerConfig circuitBreaker) {
+            this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "circuitBreaker cannot be null");
+            return this;
+        }
+        
+        public Builder hedging(HedgingConfig hedging) {
+            this.hedging = Objects.requireNonNull(hedging, "hedging cannot be null");
+            return this;
+        }
+        
+        public Builder metrics(KbsMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
+            return this;
+        }
+        
+        /**
+         * Sets the transport, e.g. a {@code ReplayTransport} for offline benchmarks.
+         * The caller keeps ownership and closes it.
+         */
+        public Builder transport(KbsTransport transport) {
+            this.transport = Objects.requireNonNull(transport, "transport cannot be null");
+            return this;
+        }
+        
+        public Builder historyChunking(HistoryChunkingConfig historyChunking) {
+            this.historyChunking = Objects.requireNonNull(historyChunking, "historyChunking cannot be null");
+            return this;
+        }
+        
+        /**
+         * Sets a local bar store; history requests then only fetch bars newer than
+         * the stored ones and serve the rest from disk.
+         */
+        public Builder barStore(BarStore barStore) {
+            this.barStore = Objects.requireNonNull(barStore, "barStore cannot be null");
+            return this;
+        }
+        
+        /**
+         * Sets how many symbols a bulk call fetches at once. Each symbol's
+         * requests still count towards {@code maxConcurrentRequests} and the rate limit.
+         */
+        public Builder maxConcurrentSymbols(int maxConcurrentSymbols) {
+            if (maxConcurrentSymbols < 1) {
+                throw new IllegalArgumentException("maxConcurrentSymbols must be positive");
+            }
+            this.maxConcurrentSymbols = maxConcurrentSymbols;
+            return this;
+        }
+        
+        /**
+         * Sets the pause between price board polls. All subscriptions of a
+         * client share one poll, so this bounds the request rate they cause.
+         */
+        public Builder priceBoardPollInterval(Duration priceBoardPollInterval) {
+            Objects.requireNonNull(priceBoardPollInterval, "priceBoardPollInterval cannot be null");
+            if (priceBoardPollInterval.isNegative() || priceBoardPollInterval.isZero()) {
+                throw new IllegalArgumentException("priceBoardPollInterval must be positive");
+            }
+            this.priceBoardPollInterval = priceBoardPollInterval;
+            return this;
+        }
+        
+        public Builder priceBoardChunking(PriceBoardChunkingConfig priceBoardChunking) {
+            this.priceBoardChunking = Objects.requireNonNull(priceBoardChunking, "priceBoardChunking cannot be null");
+            return this;
+        }
+        
+        /**
+         * Makes concurrent {@code getPrice} calls within this window share one
+         * price board request. A few milliseconds is usually enough; each call
+         * then waits up to that long before its request is sent.
+         */
+        public Builder priceBatchWindow(Duration priceBatchWindow) {
+            Objects.requireNonNull(priceBatchWindow, "priceBatchWindow cannot be null");
+            if (priceBatchWindow.isNegative()) {
+                throw new IllegalArgumentException("priceBatchWindow must be non-negative");
+            }
+            this.priceBatchWindow = priceBatchWindow;
+            return this;
+        }
+        
         public KbsConfig build() {
             return new KbsConfig(
-                baseUrlIis, baseUrlSas, connectTimeout, readTimeout, 
-                maxRetries, userAgent, language
+                baseUrlIis, baseUrlSas, connectTimeout, readTimeout,
+                maxRetries, userAgent, language, maxConcurrentRequests,
+                rateLimit, coalesceRequests,
+                retryPolicy != null ? retryPolicy : ExponentialBackoffRetryPolicy.withMaxAttempts(maxRetries),
+                circuitBreaker, hedging, metrics, transport, historyChunking, barStore, maxConcurrentSymbols,
+                priceBoardPollInterval, priceBoardChunking, priceBatchWindow
             );
         }
     }
@@ -1,5 +1,6 @@
 package com.vnstock.kbs.config;
 
+import java.time.ZoneId;
 import java.util.Map;
 import java.util.Set;
 
@@ -12,6 +13,9 @@ public final class KbsConstants {
         // Prevent instantiation
     }
     
+    // Time zone of the KBS timestamps and trading sessions
+    public static final ZoneId MARKET_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+    
     // Supported intervals for historical data
     public static final Map<String, String> INTERVAL_MAP = Map.ofEntries(
         Map.entry("1m", "1P"),
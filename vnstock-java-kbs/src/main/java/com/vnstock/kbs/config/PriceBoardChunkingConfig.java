@@ -0,0 +1,151 @@
+package com.vnstock.kbs.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Splitting of large price board requests into concurrent symbol chunks.
+ * 
+ * A {@code getPriceBoard} call with more than the current chunk size of symbols
+ * is split into chunks of about equal size, fetched with up to
+ * {@code maxConcurrentChunks} requests in flight and merged in the caller's
+ * symbol order. After each chunk the size moves towards the number of symbols
+ * that would have answered in {@code targetLatency}, bounded by
+ * {@code minChunkSize} and {@code maxChunkSize}; with equal bounds it stays fixed.
+ * 
+ * @param enabled Whether large symbol lists are split
+ * @param chunkSize Symbols per request before any latency has been observed
+ * @param minChunkSize Lower bound of the adapted chunk size
+ * @param maxChunkSize Upper bound of the adapted chunk size
+ * @param maxConcurrentChunks Requests of one call that may be in flight at once
+ * @param targetLatency Response time per chunk the chunk size adapts towards
+ */
+public record PriceBoardChunkingConfig(
+    boolean enabled,
+    int chunkSize,
+    int minChunkSize,
+    int maxChunkSize,
+    int maxConcurrentChunks,
+    Duration targetLatency
+) {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 200;
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 50;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 400;
+    public static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+    public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofMillis(300);
+    
+    public PriceBoardChunkingConfig {
+        if (minChunkSize < 1) {
+            throw new IllegalArgumentException("minChunkSize must be positive");
+        }
+        if (maxChunkSize < minChunkSize) {
+            throw new IllegalArgumentException("maxChunkSize must not be below minChunkSize");
+        }
+        if (chunkSize < minChunkSize || chunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("chunkSize must be between minChunkSize and maxChunkSize");
+        }
+        if (maxConcurrentChunks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be positive");
+        }
+        Objects.requireNonNull(targetLatency, "targetLatency cannot be null");
+        if (targetLatency.isNegative() || targetLatency.isZero()) {
+            throw new IllegalArgumentException("targetLatency must be positive");
+        }
+    }
+    
+    /**
+     * Default settings: 200 symbols per request to start with, adapting between
+     * 50 and 400 towards 300 ms per response, 4 at a time. The whole market of
+     * about 1,600 symbols then takes 8 requests.
+     */
+    public static PriceBoardChunkingConfig defaults() {
+        return builder().build();
+    }
+    
+    /**
+     * Every price board call is a single request.
+     */
+    public static PriceBoardChunkingConfig disabled() {
+        return builder().enabled(false).build();
+    }
+    
+    /**
+     * Whether the chunk size adapts to observed latency.
+     */
+    public boolean adaptive() {
+        return minChunkSize < maxChunkSize;
+    }
+    
+    /**
+     * Creates a builder for price board chunking settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Builder pattern for PriceBoardChunkingConfig.
+     */
+    public static class Builder {
+        private boolean enabled = true;
+        private Integer chunkSize;
+        private int minChunkSize = DEFAULT_MIN_CHUNK_SIZE;
+        private int maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+        private int maxConcurrentChunks = DEFAULT_MAX_CONCURRENT_CHUNKS;
+        private Duration targetLatency = DEFAULT_TARGET_LATENCY;
+        
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+        
+        /**
+         * Sets the starting chunk size; when unset, the default is used, moved
+         * into the {@code minChunkSize}..{@code maxChunkSize} bounds.
+         */
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+        
+        public Builder minChunkSize(int minChunkSize) {
+            this.minChunkSize = minChunkSize;
+            return this;
+        }
+        
+        public Builder maxChunkSize(int maxChunkSize) {
+            this.maxChunkSize = maxChunkSize;
+            return this;
+        }
+        
+        /**
+         * Uses {@code chunkSize} symbols per request without adapting it.
+         */
+        public Builder fixedChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.minChunkSize = chunkSize;
+            this.maxChunkSize = chunkSize;
+            return this;
+        }
+        
+        public Builder maxConcurrentChunks(int maxConcurrentChunks) {
+            this.maxConcurrentChunks = maxConcurrentChunks;
+            return this;
+        }
+        
+        public Builder targetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+            return this;
+        }
+        
+        public PriceBoardChunkingConfig build() {
+            int start = chunkSize != null
+                ? chunkSize
+                : Math.max(minChunkSize, Math.min(maxChunkSize, DEFAULT_CHUNK_SIZE));
+            return new PriceBoardChunkingConfig(
+                enabled, start, minChunkSize, maxChunkSize, maxConcurrentChunks, targetLatency
+            );
+        }
+    }
+}
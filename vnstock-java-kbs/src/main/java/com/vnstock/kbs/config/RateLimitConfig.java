@@ -0,0 +1,143 @@
+package com.vnstock.kbs.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Client-side rate limiting settings.
+ * 
+ * Every limit is a token bucket: {@code permitsPerSecond} is the sustained
+ * request rate and {@code burst} the number of requests that may go out
+ * back-to-back after an idle period. A request needs a permit from the
+ * global bucket and from the bucket of the server it targets.
+ * 
+ * @param global Limit shared by all requests
+ * @param iis Limit for iis-server endpoints (listing, quotes, price board, company info)
+ * @param sas Limit for sas endpoints (financial reports)
+ * @param onLimit Whether to wait for a permit or fail immediately
+ * @param maxWait Longest a request may wait for a permit before failing
+ */
+public record RateLimitConfig(
+    Limit global,
+    Limit iis,
+    Limit sas,
+    OnLimit onLimit,
+    Duration maxWait
+) {
+    
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+    
+    public RateLimitConfig {
+        Objects.requireNonNull(global, "global cannot be null");
+        Objects.requireNonNull(iis, "iis cannot be null");
+        Objects.requireNonNull(sas, "sas cannot be null");
+        Objects.requireNonNull(onLimit, "onLimit cannot be null");
+        Objects.requireNonNull(maxWait, "maxWait cannot be null");
+    }
+    
+    /**
+     * No client-side limiting (the default).
+     */
+    public static RateLimitConfig unlimited() {
+        return new RateLimitConfig(Limit.UNLIMITED, Limit.UNLIMITED, Limit.UNLIMITED, OnLimit.WAIT, DEFAULT_MAX_WAIT);
+    }
+    
+    /**
+     * Whether any bucket actually limits requests.
+     */
+    public boolean isEnabled() {
+        return global.isLimited() || iis.isLimited() || sas.isLimited();
+    }
+    
+    /**
+     * Creates a builder for rate limit settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * What to do when no permit is available.
+     */
+    public enum OnLimit {
+        /** Delay the request until a permit is available (up to {@code maxWait}). */
+        WAIT,
+        /** Fail the request immediately with {@code KbsRateLimitException}. */
+        FAIL_FAST
+    }
+    
+    /**
+     * Token bucket parameters.
+     * 
+     * @param permitsPerSecond Sustained request rate
+     * @param burst Bucket capacity
+     */
+    public record Limit(double permitsPerSecond, int burst) {
+        
+        public static final Limit UNLIMITED = new Limit(Double.POSITIVE_INFINITY, Integer.MAX_VALUE);
+        
+        public Limit {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive");
+            }
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be at least 1");
+            }
+        }
+        
+        public static Limit of(double permitsPerSecond, int burst) {
+            return new Limit(permitsPerSecond, burst);
+        }
+        
+        /**
+         * A limit allowing one second worth of requests as burst.
+         */
+        public static Limit perSecond(double permitsPerSecond) {
+            return new Limit(permitsPerSecond, (int) Math.max(1, Math.ceil(permitsPerSecond)));
+        }
+        
+        public boolean isLimited() {
+            return !Double.isInfinite(permitsPerSecond);
+        }
+    }
+    
+    /**
+     * Builder pattern for RateLimitConfig.
+     */
+    public static class Builder {
+        private Limit global = Limit.UNLIMITED;
+        private Limit iis = Limit.UNLIMITED;
+        private Limit sas = Limit.UNLIMITED;
+        private OnLimit onLimit = OnLimit.WAIT;
+        private Duration maxWait = DEFAULT_MAX_WAIT;
+        
+        public Builder global(Limit global) {
+            this.global = Objects.requireNonNull(global, "global cannot be null");
+            return this;
+        }
+        
+        public Builder iis(Limit iis) {
+            this.iis = Objects.requireNonNull(iis, "iis cannot be null");
+            return this;
+        }
+        
+        public Builder sas(Limit sas) {
+            this.sas = Objects.requireNonNull(sas, "sas cannot be null");
+            return this;
+        }
+        
+        public Builder onLimit(OnLimit onLimit) {
+            this.onLimit = Objects.requireNonNull(onLimit, "onLimit cannot be null");
+            return this;
+        }
+        
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = Objects.requireNonNull(maxWait, "maxWait cannot be null");
+            return this;
+        }
+        
+        public RateLimitConfig build() {
+            return new RateLimitConfig(global, iis, sas, onLimit, maxWait);
+        }
+    }
+}
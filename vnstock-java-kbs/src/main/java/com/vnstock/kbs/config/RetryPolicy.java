@@ -0,0 +1,51 @@
+package com.vnstock.kbs.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Decides whether and when a failed request attempt is retried.
+ * 
+ * The client schedules retries on a timer using {@link #backoff}, so
+ * implementations only compute delays and never sleep.
+ * 
+ * @see ExponentialBackoffRetryPolicy
+ */
+public interface RetryPolicy {
+    
+    /**
+     * Maximum number of attempts per request, including the first one.
+     */
+    int maxAttempts();
+    
+    /**
+     * Whether a response with this HTTP status should be retried.
+     */
+    boolean retryOnStatus(int statusCode);
+    
+    /**
+     * Whether a transport or read failure should be retried.
+     */
+    boolean retryOnException(IOException exception);
+    
+    /**
+     * Delay before the next attempt.
+     * 
+     * @param attempt Number of attempts made so far (1 after the first failure)
+     * @param retryAfter Delay requested by the server's {@code Retry-After} header, or null
+     * @return the delay, or null to give up instead of retrying
+     */
+    Duration backoff(int attempt, Duration retryAfter);
+    
+    /**
+     * Client-wide retry budget: retries may make up at most this fraction of requests.
+     */
+    double budgetRatio();
+    
+    /**
+     * Retries per second always allowed regardless of the budget ratio,
+     * so low-traffic clients can still retry. This floor adds to the ratio,
+     * so keep it small next to the expected request rate.
+     */
+    int minRetriesPerSecond();
+}
@@ -0,0 +1,33 @@
+package com.vnstock.kbs.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown without contacting the server because the circuit breaker
+ * of the endpoint is open. Callers can use it to fall back to cached data.
+ */
+public class KbsCircuitOpenException extends KbsApiException {
+    
+    private final String endpoint;
+    private final Duration retryAfter;
+    
+    public KbsCircuitOpenException(String message, String endpoint, Duration retryAfter) {
+        super(message);
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+    }
+    
+    /**
+     * Name of the endpoint family whose circuit is open, e.g. {@code FINANCE_INFO}.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    /**
+     * Time until the circuit lets trial requests through again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,23 @@
+package com.vnstock.kbs.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the client-side rate limiter rejects a request.
+ */
+public class KbsRateLimitException extends KbsApiException {
+    
+    private final Duration retryAfter;
+    
+    public KbsRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    /**
+     * Time until a permit would have been available.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
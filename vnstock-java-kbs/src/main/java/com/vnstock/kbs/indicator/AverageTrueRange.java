@@ -0,0 +1,61 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Wilder's average true range over {@code period} bars, in raw ticks.
+ * 
+ * The true range of a bar is the widest of high to low and the gaps from the
+ * previous close to the high and low; the first bar has no previous close and
+ * uses high to low.
+ */
+public final class AverageTrueRange implements Indicator {
+    
+    private final ExponentialAverage trueRanges;
+    private int bars;
+    /** Close of the bar before the most recent one. */
+    private long previousClose;
+    private long lastClose;
+    
+    public AverageTrueRange(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.trueRanges = new ExponentialAverage(period, 1.0 / period);
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        previousClose = lastClose;
+        lastClose = close;
+        trueRanges.add(trueRange(high, low, bars++ > 0));
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        if (bars == 0) {
+            add(open, high, low, close, volume);
+            return;
+        }
+        lastClose = close;
+        trueRanges.update(trueRange(high, low, bars > 1));
+    }
+    
+    @Override
+    public double value() {
+        return trueRanges.value();
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return List.of("atr");
+    }
+    
+    private long trueRange(long high, long low, boolean hasPreviousClose) {
+        long range = high - low;
+        if (!hasPreviousClose) {
+            return range;
+        }
+        return Math.max(range, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+    }
+}
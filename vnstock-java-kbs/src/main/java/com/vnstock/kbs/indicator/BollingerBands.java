@@ -0,0 +1,60 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Bollinger bands of the close: the simple moving average over {@code period}
+ * bars with bands {@code multiplier} population standard deviations above and below.
+ * 
+ * Outputs: {@code middle} (the main value), {@code upper}, {@code lower}.
+ */
+public final class BollingerBands implements Indicator {
+    
+    private static final List<String> OUTPUTS = List.of("middle", "upper", "lower");
+    
+    private final PriceWindow window;
+    private final double multiplier;
+    
+    public BollingerBands(int period, double multiplier) {
+        this.window = new PriceWindow(period);
+        this.multiplier = multiplier;
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        window.add(close);
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        window.update(close);
+    }
+    
+    @Override
+    public double value() {
+        return window.isFull() ? window.mean() : Double.NaN;
+    }
+    
+    public double upper() {
+        return window.isFull() ? window.mean() + multiplier * window.standardDeviation() : Double.NaN;
+    }
+    
+    public double lower() {
+        return window.isFull() ? window.mean() - multiplier * window.standardDeviation() : Double.NaN;
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return OUTPUTS;
+    }
+    
+    @Override
+    public double value(int output) {
+        return switch (output) {
+            case 0 -> value();
+            case 1 -> upper();
+            case 2 -> lower();
+            default -> throw new IndexOutOfBoundsException("Output " + output + " out of bounds for length 3");
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.vnstock.kbs.indicator;
+
+/**
+ * Exponential average seeded with the simple average of the first
+ * {@code period} values, the usual start for EMA and Wilder smoothing.
+ * Keeps the state before the latest value so it can be replaced.
+ */
+final class ExponentialAverage {
+    
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double seedSum;
+    private double lastInput;
+    private double previous = Double.NaN;
+    private double current = Double.NaN;
+    
+    ExponentialAverage(int period, double alpha) {
+        this.period = period;
+        this.alpha = alpha;
+    }
+    
+    void add(double value) {
+        count++;
+        lastInput = value;
+        if (count <= period) {
+            seedSum += value;
+            if (count == period) {
+                current = seedSum / period;
+            }
+            return;
+        }
+        previous = current;
+        current = previous + alpha * (value - previous);
+    }
+    
+    void update(double value) {
+        if (count == 0) {
+            add(value);
+            return;
+        }
+        if (count <= period) {
+            seedSum += value - lastInput;
+            lastInput = value;
+            if (count == period) {
+                current = seedSum / period;
+            }
+            return;
+        }
+        lastInput = value;
+        current = previous + alpha * (value - previous);
+    }
+    
+    double value() {
+        return current;
+    }
+    
+    int count() {
+        return count;
+    }
+}
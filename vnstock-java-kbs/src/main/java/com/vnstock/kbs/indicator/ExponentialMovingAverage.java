@@ -0,0 +1,39 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Exponential moving average of the close with smoothing {@code 2 / (period + 1)},
+ * seeded with the simple average of the first {@code period} closes.
+ */
+public final class ExponentialMovingAverage implements Indicator {
+    
+    private final ExponentialAverage average;
+    
+    public ExponentialMovingAverage(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.average = new ExponentialAverage(period, 2.0 / (period + 1));
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        average.add(close);
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        average.update(close);
+    }
+    
+    @Override
+    public double value() {
+        return average.value();
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return List.of("ema");
+    }
+}
@@ -0,0 +1,70 @@
+package com.vnstock.kbs.indicator;
+
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.util.List;
+
+/**
+ * Stateful technical indicator fed one bar at a time.
+ * 
+ * Prices are raw KBS ticks, as stored in {@link PriceSeries}, and so are the
+ * price-valued outputs. Every update is O(1) however long the window: the
+ * indicator keeps running sums or smoothed averages instead of the bars.
+ * 
+ * {@link #add} appends a closed bar. {@link #update} replaces the most recent
+ * bar, so a live bar can be refreshed on every trade until it closes without
+ * recomputing the window. Outputs are {@link Double#NaN} until enough bars
+ * have been added.
+ * 
+ * Implementations are not thread-safe.
+ */
+public interface Indicator {
+    
+    /**
+     * Appends a bar.
+     */
+    void add(long open, long high, long low, long close, long volume);
+    
+    /**
+     * Replaces the most recent bar; the same as {@link #add} before the first bar.
+     */
+    void update(long open, long high, long low, long close, long volume);
+    
+    /**
+     * The main output after the most recent bar, or NaN while warming up.
+     */
+    double value();
+    
+    /**
+     * Whether enough bars have been added for {@link #value()} to be defined.
+     */
+    default boolean isReady() {
+        return !Double.isNaN(value());
+    }
+    
+    /**
+     * Names of the outputs, the first being {@link #value()}.
+     */
+    default List<String> outputNames() {
+        return List.of("value");
+    }
+    
+    /**
+     * One output after the most recent bar, indexed as {@link #outputNames()}.
+     */
+    default double value(int output) {
+        if (output != 0) {
+            throw new IndexOutOfBoundsException("Output " + output + " out of bounds for length 1");
+        }
+        return value();
+    }
+    
+    /**
+     * Appends every bar of {@code series} in order.
+     */
+    default void addAll(PriceSeries series) {
+        for (int i = 0; i < series.size(); i++) {
+            add(series.open(i), series.high(i), series.low(i), series.close(i), series.volume(i));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.vnstock.kbs.indicator;
+
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Computes a fixed set of indicators over whole series, one pass per series.
+ * 
+ * Each bar is read once and fed to every indicator, and every output is
+ * recorded per bar in a primitive column. An indicator with one output gives
+ * one column named after it; one with several gives a column per output,
+ * e.g. {@code macd.signal} or {@code bb.upper}.
+ * 
+ * <pre>
+ * IndicatorBatch batch = IndicatorBatch.builder()
+ *     .add("sma20", () -&gt; new SimpleMovingAverage(20))
+ *     .add("rsi14", () -&gt; new RelativeStrengthIndex(14))
+ *     .add("macd", Macd::new)
+ *     .build();
+ * Map&lt;String, IndicatorValues&gt; values = batch.computeAll(seriesBySymbol.values());
+ * </pre>
+ * 
+ * A batch is immutable and can be shared between threads; every computation
+ * uses fresh indicator instances.
+ */
+public final class IndicatorBatch {
+    
+    private final List<Supplier<? extends Indicator>> factories;
+    private final List<String> columnNames;
+    
+    private IndicatorBatch(List<String> names, List<Supplier<? extends Indicator>> factories) {
+        this.factories = List.copyOf(factories);
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            List<String> outputs = factories.get(i).get().outputNames();
+            if (outputs.size() == 1) {
+                columnNames.add(names.get(i));
+            } else {
+                for (String output : outputs) {
+                    columnNames.add(names.get(i) + "." + output);
+                }
+            }
+        }
+        this.columnNames = List.copyOf(columnNames);
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Names of the output columns, in the order the indicators were added.
+     */
+    public List<String> columnNames() {
+        return columnNames;
+    }
+    
+    /**
+     * Computes every indicator over {@code series}.
+     */
+    public IndicatorValues compute(PriceSeries series) {
+        Indicator[] indicators = new Indicator[factories.size()];
+        int[] outputs = new int[indicators.length];
+        for (int i = 0; i < indicators.length; i++) {
+            indicators[i] = factories.get(i).get();
+            outputs[i] = indicators[i].outputNames().size();
+        }
+        
+        int size = series.size();
+        double[][] columns = new double[columnNames.size()][size];
+        for (int bar = 0; bar < size; bar++) {
+            long open = series.open(bar);
+            long high = series.high(bar);
+            long low = series.low(bar);
+            long close = series.close(bar);
+            long volume = series.volume(bar);
+            int column = 0;
+            for (int i = 0; i < indicators.length; i++) {
+                Indicator indicator = indicators[i];
+                indicator.add(open, high, low, close, volume);
+                if (outputs[i] == 1) {
+                    columns[column++][bar] = indicator.value();
+                } else {
+                    for (int output = 0; output < outputs[i]; output++) {
+                        columns[column++][bar] = indicator.value(output);
+                    }
+                }
+            }
+        }
+        return new IndicatorValues(series, columnNames, columns);
+    }
+    
+    /**
+     * Computes every indicator over each series.
+     * 
+     * @return Values keyed by symbol, in iteration order of {@code series}
+     */
+    public Map<String, IndicatorValues> computeAll(Collection<PriceSeries> series) {
+        Map<String, IndicatorValues> values = new LinkedHashMap<>();
+        for (PriceSeries symbolSeries : series) {
+            values.put(symbolSeries.symbol(), compute(symbolSeries));
+        }
+        return values;
+    }
+    
+    /**
+     * Builder for IndicatorBatch.
+     */
+    public static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<Supplier<? extends Indicator>> factories = new ArrayList<>();
+        
+        /**
+         * Adds an indicator.
+         * 
+         * @param name Column name, or prefix of the column names for indicators with several outputs
+         * @param factory Creates a fresh indicator for each series
+         */
+        public Builder add(String name, Supplier<? extends Indicator> factory) {
+            Objects.requireNonNull(name, "name cannot be null");
+            Objects.requireNonNull(factory, "factory cannot be null");
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Duplicate indicator name: " + name);
+            }
+            names.add(name);
+            factories.add(factory);
+            return this;
+        }
+        
+        public IndicatorBatch build() {
+            return new IndicatorBatch(names, factories);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.vnstock.kbs.indicator;
+
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Indicator outputs of one series, one column per output and one value per bar,
+ * computed by an {@link IndicatorBatch}. Values are NaN while an indicator warms up.
+ */
+public final class IndicatorValues {
+    
+    private final PriceSeries series;
+    private final List<String> names;
+    private final double[][] columns;
+    
+    IndicatorValues(PriceSeries series, List<String> names, double[][] columns) {
+        this.series = series;
+        this.names = names;
+        this.columns = columns;
+    }
+    
+    /**
+     * The bars the values were computed from, e.g. for their times.
+     */
+    public PriceSeries series() {
+        return series;
+    }
+    
+    public String symbol() {
+        return series.symbol();
+    }
+    
+    public int size() {
+        return series.size();
+    }
+    
+    /**
+     * Names of the columns.
+     */
+    public List<String> names() {
+        return names;
+    }
+    
+    /**
+     * One column's value at bar {@code index}.
+     */
+    public double get(String name, int index) {
+        double[] column = columnOf(name);
+        return column[Objects.checkIndex(index, column.length)];
+    }
+    
+    /**
+     * One column's value at the last bar, or NaN for an empty series.
+     */
+    public double last(String name) {
+        double[] column = columnOf(name);
+        return column.length == 0 ? Double.NaN : column[column.length - 1];
+    }
+    
+    /**
+     * A copy of one column.
+     */
+    public double[] column(String name) {
+        double[] column = columnOf(name);
+        return Arrays.copyOf(column, column.length);
+    }
+    
+    private double[] columnOf(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown indicator column: " + name);
+        }
+        return columns[index];
+    }
+    
+    @Override
+    public String toString() {
+        return "IndicatorValues[symbol=" + series.symbol() + ", size=" + series.size() + ", columns=" + names + "]";
+    }
+}
@@ -0,0 +1,90 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Moving average convergence divergence of the close, in raw ticks.
+ * 
+ * The MACD line is the fast EMA minus the slow EMA; the signal line is an EMA
+ * of the MACD line, which starts once the slow EMA is ready.
+ * Outputs: {@code macd} (the main value), {@code signal}, {@code histogram}.
+ */
+public final class Macd implements Indicator {
+    
+    private static final List<String> OUTPUTS = List.of("macd", "signal", "histogram");
+    
+    private final ExponentialAverage fast;
+    private final ExponentialAverage slow;
+    private final ExponentialAverage signal;
+    /** Whether the most recent bar fed the signal line, so an update must replace that value. */
+    private boolean lastFedSignal;
+    
+    /**
+     * The common 12/26/9 configuration.
+     */
+    public Macd() {
+        this(12, 26, 9);
+    }
+    
+    public Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+        if (fastPeriod < 1 || signalPeriod < 1 || slowPeriod <= fastPeriod) {
+            throw new IllegalArgumentException(
+                "Invalid MACD periods " + fastPeriod + "/" + slowPeriod + "/" + signalPeriod);
+        }
+        this.fast = new ExponentialAverage(fastPeriod, 2.0 / (fastPeriod + 1));
+        this.slow = new ExponentialAverage(slowPeriod, 2.0 / (slowPeriod + 1));
+        this.signal = new ExponentialAverage(signalPeriod, 2.0 / (signalPeriod + 1));
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        fast.add(close);
+        slow.add(close);
+        double macd = value();
+        lastFedSignal = !Double.isNaN(macd);
+        if (lastFedSignal) {
+            signal.add(macd);
+        }
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        if (fast.count() == 0) {
+            add(open, high, low, close, volume);
+            return;
+        }
+        fast.update(close);
+        slow.update(close);
+        if (lastFedSignal) {
+            signal.update(value());
+        }
+    }
+    
+    @Override
+    public double value() {
+        return fast.value() - slow.value();
+    }
+    
+    public double signal() {
+        return signal.value();
+    }
+    
+    public double histogram() {
+        return value() - signal.value();
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return OUTPUTS;
+    }
+    
+    @Override
+    public double value(int output) {
+        return switch (output) {
+            case 0 -> value();
+            case 1 -> signal();
+            case 2 -> histogram();
+            default -> throw new IndexOutOfBoundsException("Output " + output + " out of bounds for length 3");
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.vnstock.kbs.indicator;
+
+/**
+ * Ring buffer of the last {@code period} prices with exact running sums of
+ * the prices and their squares.
+ */
+final class PriceWindow {
+    
+    private final long[] prices;
+    private int next;
+    private int count;
+    private long sum;
+    private long sumOfSquares;
+    
+    PriceWindow(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.prices = new long[period];
+    }
+    
+    void add(long price) {
+        if (count == prices.length) {
+            long evicted = prices[next];
+            sum -= evicted;
+            sumOfSquares -= evicted * evicted;
+        } else {
+            count++;
+        }
+        prices[next] = price;
+        sum += price;
+        sumOfSquares += price * price;
+        next = next + 1 == prices.length ? 0 : next + 1;
+    }
+    
+    void update(long price) {
+        if (count == 0) {
+            add(price);
+            return;
+        }
+        int last = next == 0 ? prices.length - 1 : next - 1;
+        long replaced = prices[last];
+        prices[last] = price;
+        sum += price - replaced;
+        sumOfSquares += price * price - replaced * replaced;
+    }
+    
+    boolean isFull() {
+        return count == prices.length;
+    }
+    
+    double mean() {
+        return (double) sum / count;
+    }
+    
+    /**
+     * Population standard deviation of the window.
+     */
+    double standardDeviation() {
+        double mean = mean();
+        // Rounding can make a constant window's variance slightly negative
+        return Math.sqrt(Math.max(0, (double) sumOfSquares / count - mean * mean));
+    }
+}
@@ -0,0 +1,71 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Wilder's relative strength index of the close, from 0 to 100.
+ * 
+ * Gains and losses are averaged with Wilder smoothing ({@code 1 / period}),
+ * seeded with the simple average of the first {@code period} changes, so the
+ * first value comes after {@code period + 1} bars.
+ */
+public final class RelativeStrengthIndex implements Indicator {
+    
+    private final ExponentialAverage gains;
+    private final ExponentialAverage losses;
+    private int bars;
+    /** Close of the bar before the most recent one, which a replaced bar's change is measured from. */
+    private long previousClose;
+    private long lastClose;
+    
+    public RelativeStrengthIndex(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.gains = new ExponentialAverage(period, 1.0 / period);
+        this.losses = new ExponentialAverage(period, 1.0 / period);
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        previousClose = lastClose;
+        lastClose = close;
+        if (bars++ > 0) {
+            long change = close - previousClose;
+            gains.add(Math.max(change, 0));
+            losses.add(Math.max(-change, 0));
+        }
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        if (bars == 0) {
+            add(open, high, low, close, volume);
+            return;
+        }
+        lastClose = close;
+        if (bars > 1) {
+            long change = close - previousClose;
+            gains.update(Math.max(change, 0));
+            losses.update(Math.max(-change, 0));
+        }
+    }
+    
+    @Override
+    public double value() {
+        double averageGain = gains.value();
+        double averageLoss = losses.value();
+        if (Double.isNaN(averageGain)) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return List.of("rsi");
+    }
+}
@@ -0,0 +1,38 @@
+package com.vnstock.kbs.indicator;
+
+import java.util.List;
+
+/**
+ * Simple moving average of the close over {@code period} bars.
+ * 
+ * The window sum is kept exactly in raw ticks, so it does not drift however
+ * many bars pass through.
+ */
+public final class SimpleMovingAverage implements Indicator {
+    
+    private final PriceWindow window;
+    
+    public SimpleMovingAverage(int period) {
+        this.window = new PriceWindow(period);
+    }
+    
+    @Override
+    public void add(long open, long high, long low, long close, long volume) {
+        window.add(close);
+    }
+    
+    @Override
+    public void update(long open, long high, long low, long close, long volume) {
+        window.update(close);
+    }
+    
+    @Override
+    public double value() {
+        return window.isFull() ? window.mean() : Double.NaN;
+    }
+    
+    @Override
+    public List<String> outputNames() {
+        return List.of("sma");
+    }
+}
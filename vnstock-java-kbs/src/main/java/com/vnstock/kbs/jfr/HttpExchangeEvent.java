@@ -0,0 +1,65 @@
+package com.vnstock.kbs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One HTTP exchange with the KBS API, from enqueueing the call until the
+ * response body was decoded or the attempt failed.
+ */
+@Name("com.vnstock.kbs.HttpExchange")
+@Label("KBS HTTP Exchange")
+@Category({"VNStock KBS", "HTTP"})
+@Description("One HTTP attempt against the KBS API, including queueing, network and JSON decoding")
+@StackTrace(false)
+public class HttpExchangeEvent extends Event {
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Attempt")
+    public int attempt;
+    
+    @Label("Status Code")
+    @Description("HTTP status, or -1 if no response was received")
+    public int statusCode;
+    
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+    
+    @Label("Queue Time")
+    @Timespan
+    public long queueNanos;
+    
+    @Label("Connect Time")
+    @Timespan
+    public long connectNanos;
+    
+    @Label("Time To First Byte")
+    @Timespan
+    public long timeToFirstByteNanos;
+    
+    @Label("Body Read Time")
+    @Timespan
+    public long bodyReadNanos;
+    
+    @Label("Parse Time")
+    @Timespan
+    public long parseNanos;
+    
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,44 @@
+package com.vnstock.kbs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A service-level parse or conversion step, such as turning raw history bars
+ * into model objects.
+ */
+@Name("com.vnstock.kbs.Parse")
+@Label("KBS Parse")
+@Category({"VNStock KBS", "Parsing"})
+@Description("Deserialization or conversion of a KBS API response into model objects")
+@StackTrace(false)
+public class ParseEvent extends Event {
+    
+    @Label("Stage")
+    @Description("Service method performing the step, e.g. QuoteService.convertToHistoricalPrice")
+    public String stage;
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Symbol")
+    @Description("Symbol of the step, or null if it covers several")
+    public String symbol;
+    
+    @Label("Symbol Count")
+    @Description("Symbols covered by the step, e.g. the symbols of one price board request")
+    public int symbolCount = 1;
+    
+    @Label("Record Count")
+    public int records;
+    
+    @Label("Payload Size")
+    @Description("Bytes parsed, or -1 if the step works on already decoded data")
+    @DataAmount
+    public long payloadBytes = -1;
+}
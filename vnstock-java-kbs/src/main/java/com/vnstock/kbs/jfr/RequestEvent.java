@@ -0,0 +1,38 @@
+package com.vnstock.kbs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One logical request to the KBS API, spanning all attempts, retry backoff
+ * and rate limit delays.
+ */
+@Name("com.vnstock.kbs.Request")
+@Label("KBS Request")
+@Category({"VNStock KBS", "HTTP"})
+@Description("A logical KBS API request including retries")
+@StackTrace(false)
+public class RequestEvent extends Event {
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Attempts")
+    public int attempts;
+    
+    @Label("Success")
+    public boolean success;
+    
+    @Label("Error")
+    public String error;
+}
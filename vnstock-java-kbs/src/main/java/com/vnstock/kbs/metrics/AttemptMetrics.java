@@ -0,0 +1,31 @@
+package com.vnstock.kbs.metrics;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+
+/**
+ * Stage timings of one HTTP exchange. Durations are in nanoseconds; a stage
+ * that did not happen (e.g. connecting on a pooled connection, or reading the
+ * body of a failed call) is 0.
+ * 
+ * @param endpoint Endpoint family of the request
+ * @param attempt Attempt number, starting at 1
+ * @param statusCode HTTP status, or -1 if no response was received
+ * @param queueNanos Time waiting for a dispatcher slot
+ * @param connectNanos Time to acquire a connection (DNS, TCP and TLS, or pool lookup)
+ * @param timeToFirstByteNanos Time from acquiring the connection to the first response byte
+ * @param bodyReadNanos Time spent reading the response body from the network
+ * @param parseNanos Time spent decoding JSON, excluding body reads
+ * @param payloadBytes Response body bytes read
+ */
+public record AttemptMetrics(
+    KbsEndpoint endpoint,
+    int attempt,
+    int statusCode,
+    long queueNanos,
+    long connectNanos,
+    long timeToFirstByteNanos,
+    long bodyReadNanos,
+    long parseNanos,
+    long payloadBytes
+) {
+}
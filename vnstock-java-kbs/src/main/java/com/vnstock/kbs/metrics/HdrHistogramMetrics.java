@@ -0,0 +1,127 @@
+package com.vnstock.kbs.metrics;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process metrics backed by HdrHistogram.
+ * 
+ * Each endpoint family gets its own set of {@link ConcurrentHistogram}s, whose
+ * recording path is wait-free, so the cost per request is a handful of array
+ * increments. Use {@link #snapshot()} to read percentiles, e.g.
+ * {@code snapshot().get(KbsEndpoint.PRICE_BOARD).timeToFirstByte().getValueAtPercentile(99)}.
+ */
+public class HdrHistogramMetrics implements KbsMetrics {
+    
+    private static final int SIGNIFICANT_DIGITS = 2;
+    
+    private final Map<KbsEndpoint, EndpointHistograms> endpoints = new EnumMap<>(KbsEndpoint.class);
+    
+    public HdrHistogramMetrics() {
+        for (KbsEndpoint endpoint : KbsEndpoint.values()) {
+            endpoints.put(endpoint, new EndpointHistograms());
+        }
+    }
+    
+    @Override
+    public void recordAttempt(AttemptMetrics attempt) {
+        EndpointHistograms histograms = endpoints.get(attempt.endpoint());
+        histograms.queue.recordValue(attempt.queueNanos());
+        histograms.connect.recordValue(attempt.connectNanos());
+        histograms.timeToFirstByte.recordValue(attempt.timeToFirstByteNanos());
+        histograms.bodyRead.recordValue(attempt.bodyReadNanos());
+        histograms.parse.recordValue(attempt.parseNanos());
+        histograms.payloadBytes.recordValue(attempt.payloadBytes());
+        histograms.statusCodes.computeIfAbsent(attempt.statusCode(), code -> new LongAdder()).increment();
+    }
+    
+    @Override
+    public void recordRequest(RequestMetrics request) {
+        EndpointHistograms histograms = endpoints.get(request.endpoint());
+        histograms.total.recordValue(request.totalNanos());
+        histograms.retries.recordValue(request.retries());
+        (request.success() ? histograms.successes : histograms.failures).increment();
+    }
+    
+    /**
+     * Copies the current histograms of every endpoint family that has seen traffic.
+     */
+    public Map<KbsEndpoint, EndpointSnapshot> snapshot() {
+        Map<KbsEndpoint, EndpointSnapshot> snapshot = new EnumMap<>(KbsEndpoint.class);
+        endpoints.forEach((endpoint, histograms) -> {
+            if (histograms.total.getTotalCount() > 0 || histograms.queue.getTotalCount() > 0) {
+                snapshot.put(endpoint, histograms.snapshot());
+            }
+        });
+        return Collections.unmodifiableMap(snapshot);
+    }
+    
+    /**
+     * Point-in-time copy of one endpoint family's metrics. Durations are in nanoseconds.
+     * 
+     * @param queue Time waiting for a dispatcher slot, per attempt
+     * @param connect Connection acquisition time, per attempt
+     * @param timeToFirstByte Time to first response byte, per attempt
+     * @param bodyRead Body read time, per attempt
+     * @param parse JSON parse time, per attempt
+     * @param payloadBytes Response body size, per attempt
+     * @param total End-to-end time, per request
+     * @param retries Retries per request
+     * @param successes Successful requests
+     * @param failures Failed requests
+     * @param statusCodes Attempts per HTTP status (-1 for network failures)
+     */
+    public record EndpointSnapshot(
+        Histogram queue,
+        Histogram connect,
+        Histogram timeToFirstByte,
+        Histogram bodyRead,
+        Histogram parse,
+        Histogram payloadBytes,
+        Histogram total,
+        Histogram retries,
+        long successes,
+        long failures,
+        Map<Integer, Long> statusCodes
+    ) {
+    }
+    
+    private static final class EndpointHistograms {
+        
+        final Histogram queue = histogram();
+        final Histogram connect = histogram();
+        final Histogram timeToFirstByte = histogram();
+        final Histogram bodyRead = histogram();
+        final Histogram parse = histogram();
+        final Histogram payloadBytes = histogram();
+        final Histogram total = histogram();
+        final Histogram retries = histogram();
+        final LongAdder successes = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        
+        EndpointSnapshot snapshot() {
+            Map<Integer, Long> codes = new TreeMap<>();
+            statusCodes.forEach((code, count) -> codes.put(code, count.sum()));
+            return new EndpointSnapshot(
+                queue.copy(), connect.copy(), timeToFirstByte.copy(), bodyRead.copy(),
+                parse.copy(), payloadBytes.copy(), total.copy(), retries.copy(),
+                successes.sum(), failures.sum(), Collections.unmodifiableMap(codes)
+            );
+        }
+        
+        private static Histogram histogram() {
+            // Auto-resizing, so no upper bound has to be guessed for durations or payload sizes
+            return new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        }
+    }
+}
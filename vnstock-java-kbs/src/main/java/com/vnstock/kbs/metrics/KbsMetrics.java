@@ -0,0 +1,35 @@
+package com.vnstock.kbs.metrics;
+
+/**
+ * Metrics SPI of the KBS client.
+ * 
+ * The client reports one {@link AttemptMetrics} per HTTP exchange and one
+ * {@link RequestMetrics} per logical request (after retries). Callbacks run on
+ * OkHttp's dispatcher threads, so implementations must be thread-safe and
+ * cheap; they should never throw.
+ * 
+ * @see HdrHistogramMetrics
+ * @see MicrometerMetrics
+ */
+public interface KbsMetrics {
+    
+    /**
+     * Records the stage timings of one HTTP exchange.
+     */
+    default void recordAttempt(AttemptMetrics attempt) {
+    }
+    
+    /**
+     * Records the outcome of one logical request.
+     */
+    default void recordRequest(RequestMetrics request) {
+    }
+    
+    /**
+     * Metrics that discard everything (the default). With this instance the
+     * client skips timing instrumentation unless JFR events are recorded.
+     */
+    static KbsMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,118 @@
+package com.vnstock.kbs.metrics;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds client metrics to a Micrometer {@link MeterRegistry}.
+ * 
+ * Requires {@code io.micrometer:micrometer-core} on the classpath (an optional
+ * dependency of this library). Meters are tagged with {@code endpoint} (the
+ * endpoint family) and {@code uri} (its path template), never with raw URLs:
+ * <ul>
+ *   <li>{@code kbs.client.stage} timer, tagged {@code stage} = queue, connect, ttfb, body, parse</li>
+ *   <li>{@code kbs.client.payload} distribution summary in bytes</li>
+ *   <li>{@code kbs.client.responses} counter, tagged {@code status}</li>
+ *   <li>{@code kbs.client.requests} timer, tagged {@code outcome}</li>
+ *   <li>{@code kbs.client.retries} distribution summary</li>
+ * </ul>
+ */
+public class MicrometerMetrics implements KbsMetrics {
+    
+    private final MeterRegistry registry;
+    private final Map<KbsEndpoint, EndpointMeters> meters = new ConcurrentHashMap<>();
+    
+    public MicrometerMetrics(MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "registry cannot be null");
+    }
+    
+    @Override
+    public void recordAttempt(AttemptMetrics attempt) {
+        EndpointMeters endpoint = meters(attempt.endpoint());
+        endpoint.queue.record(attempt.queueNanos(), TimeUnit.NANOSECONDS);
+        endpoint.connect.record(attempt.connectNanos(), TimeUnit.NANOSECONDS);
+        endpoint.timeToFirstByte.record(attempt.timeToFirstByteNanos(), TimeUnit.NANOSECONDS);
+        endpoint.bodyRead.record(attempt.bodyReadNanos(), TimeUnit.NANOSECONDS);
+        endpoint.parse.record(attempt.parseNanos(), TimeUnit.NANOSECONDS);
+        endpoint.payload.record(attempt.payloadBytes());
+        endpoint.responses(attempt.statusCode()).increment();
+    }
+    
+    @Override
+    public void recordRequest(RequestMetrics request) {
+        EndpointMeters endpoint = meters(request.endpoint());
+        (request.success() ? endpoint.successes : endpoint.failures)
+            .record(request.totalNanos(), TimeUnit.NANOSECONDS);
+        endpoint.retries.record(request.retries());
+    }
+    
+    private EndpointMeters meters(KbsEndpoint endpoint) {
+        return meters.computeIfAbsent(endpoint, EndpointMeters::new);
+    }
+    
+    /**
+     * Meters of one endpoint family, registered once so recording skips the registry lookup.
+     */
+    private final class EndpointMeters {
+        
+        final Tags tags;
+        final Timer queue;
+        final Timer connect;
+        final Timer timeToFirstByte;
+        final Timer bodyRead;
+        final Timer parse;
+        final DistributionSummary payload;
+        final Timer successes;
+        final Timer failures;
+        final DistributionSummary retries;
+        final Map<Integer, Counter> responses = new ConcurrentHashMap<>();
+        
+        EndpointMeters(KbsEndpoint endpoint) {
+            this.tags = Tags.of("endpoint", endpoint.name(), "uri", endpoint.template());
+            this.queue = stage("queue");
+            this.connect = stage("connect");
+            this.timeToFirstByte = stage("ttfb");
+            this.bodyRead = stage("body");
+            this.parse = stage("parse");
+            this.payload = DistributionSummary.builder("kbs.client.payload")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+            this.successes = request("success");
+            this.failures = request("failure");
+            this.retries = DistributionSummary.builder("kbs.client.retries")
+                .tags(tags)
+                .register(registry);
+        }
+        
+        Counter responses(int statusCode) {
+            return responses.computeIfAbsent(statusCode, code -> Counter.builder("kbs.client.responses")
+                .tags(tags)
+                .tag("status", String.valueOf(code))
+                .register(registry));
+        }
+        
+        private Timer stage(String stage) {
+            return Timer.builder("kbs.client.stage")
+                .tags(tags)
+                .tag("stage", stage)
+                .register(registry);
+        }
+        
+        private Timer request(String outcome) {
+            return Timer.builder("kbs.client.requests")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+        }
+    }
+}
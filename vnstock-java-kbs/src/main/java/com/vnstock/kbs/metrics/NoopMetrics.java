@@ -0,0 +1,12 @@
+package com.vnstock.kbs.metrics;
+
+/**
+ * {@link KbsMetrics} that records nothing.
+ */
+final class NoopMetrics implements KbsMetrics {
+    
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+    
+    private NoopMetrics() {
+    }
+}
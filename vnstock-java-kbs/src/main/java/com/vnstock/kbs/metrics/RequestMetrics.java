@@ -0,0 +1,26 @@
+package com.vnstock.kbs.metrics;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+
+/**
+ * Outcome of one logical request.
+ * 
+ * @param endpoint Endpoint family of the request
+ * @param attempts Number of HTTP exchanges made (1 when no retry was needed)
+ * @param success Whether the request completed successfully
+ * @param totalNanos Time from submission to completion, including retries and backoff
+ */
+public record RequestMetrics(
+    KbsEndpoint endpoint,
+    int attempts,
+    boolean success,
+    long totalNanos
+) {
+    
+    /**
+     * Number of retries, i.e. attempts beyond the first.
+     */
+    public int retries() {
+        return Math.max(0, attempts - 1);
+    }
+}
@@ -0,0 +1,297 @@
+package com.vnstock.kbs.model;
+
+import com.vnstock.kbs.config.KbsConstants;
+
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Derives coarser bars from finer ones, e.g. 15-minute or daily bars from
+ * 1-minute history, so one download can serve every interval.
+ * 
+ * Intraday buckets follow the HOSE/HNX trading day instead of the clock:
+ * <ul>
+ *   <li>buckets start at the morning (09:00) and afternoon (13:00) session
+ *       opens, so none spans the lunch break</li>
+ *   <li>bars stamped before 09:00, such as an early opening auction (ATO) print,
+ *       count towards the first bucket of the day</li>
+ *   <li>bars stamped during the lunch break count towards the last morning bucket</li>
+ *   <li>the closing auction (ATC) print at 14:45 and later put-through bars count
+ *       towards the last afternoon bucket, e.g. 14:30 for 30-minute bars</li>
+ * </ul>
+ * Daily, weekly (Monday to Sunday) and monthly bars are stamped
+ * {@code 07:00} on their first trading day, like the KBS daily history.
+ * 
+ * Bars are aggregated in a single pass over fixed-point values with no
+ * per-bar allocation. For live data, {@link #add} accepts bars as they
+ * arrive; a bar with the same time as the previous one replaces it, so the
+ * last minute can be refreshed until it closes.
+ */
+public final class BarResampler {
+    
+    /** Minute of day KBS stamps daily and coarser bars with. */
+    static final int DAILY_BAR_MINUTE = 7 * 60;
+    
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MORNING_OPEN = 9 * 60;
+    private static final int LUNCH_BREAK = 11 * 60 + 30;
+    private static final int AFTERNOON_OPEN = 13 * 60;
+    private static final int CLOSING_AUCTION = 14 * 60 + 45;
+    
+    private static final int DAY = -1;
+    private static final int WEEK = -2;
+    private static final int MONTH = -3;
+    
+    private final String symbol;
+    private final String interval;
+    /** Bucket length in minutes, or one of DAY, WEEK, MONTH. */
+    private final int bucket;
+    
+    /** Closed bars, {@link PriceSeries#ROW_LONGS} longs per bar. */
+    private long[] rows = new long[16 * PriceSeries.ROW_LONGS];
+    private int closed;
+    
+    // Open bucket: aggregate of its bars except the latest, which may still be replaced
+    private boolean open;
+    private long bucketKey;
+    private long bucketTime;
+    private boolean hasPrefix;
+    private long prefixOpen;
+    private long prefixHigh;
+    private long prefixLow;
+    private long prefixVolume;
+    private long lastTime;
+    private long lastOpen;
+    private long lastHigh;
+    private long lastLow;
+    private long lastClose;
+    private long lastVolume;
+    
+    // Month bucket of the previous bar's day, to avoid a date conversion per intraday bar
+    private long cachedDay = Long.MIN_VALUE;
+    private long cachedMonth;
+    
+    private BarResampler(String symbol, String interval, int bucket) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.bucket = bucket;
+    }
+    
+    /**
+     * Creates a resampler from {@code sourceInterval} bars to {@code targetInterval} bars.
+     * 
+     * @param sourceInterval Interval of the input (1m, 5m, 15m, 30m, 1h, 1d)
+     * @param targetInterval Coarser interval to produce (5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @throws IllegalArgumentException if the target cannot be built from the source
+     */
+    public static BarResampler create(String symbol, String sourceInterval, String targetInterval) {
+        Objects.requireNonNull(symbol, "symbol cannot be null");
+        int source = bucketOf(sourceInterval);
+        int target = bucketOf(targetInterval);
+        boolean valid = target > 0
+            ? source > 0 && target > source && target % source == 0
+            : source > 0 || (source == DAY && target != DAY);
+        if (!valid) {
+            throw new IllegalArgumentException("Cannot resample " + sourceInterval + " bars to " + targetInterval);
+        }
+        return new BarResampler(symbol, targetInterval, target);
+    }
+    
+    /**
+     * Resamples a whole series in one pass.
+     * 
+     * @throws IllegalArgumentException if the target cannot be built from {@code source.interval()}
+     */
+    public static PriceSeries resample(PriceSeries source, String targetInterval) {
+        BarResampler resampler = create(source.symbol(), source.interval(), targetInterval);
+        resampler.addAll(source);
+        resampler.closeBucket();
+        return resampler.completed();
+    }
+    
+    private static int bucketOf(String interval) {
+        String suffix = KbsConstants.INTERVAL_MAP.get(interval);
+        if (suffix == null) {
+            throw new IllegalArgumentException("Invalid interval: " + interval);
+        }
+        return switch (suffix) {
+            case "day" -> DAY;
+            case "week" -> WEEK;
+            case "month" -> MONTH;
+            // Intraday suffixes are the length in minutes followed by P, e.g. 15P
+            default -> Integer.parseInt(suffix, 0, suffix.length() - 1, 10);
+        };
+    }
+    
+    /**
+     * Adds one source bar, prices in raw KBS ticks.
+     * 
+     * @throws IllegalArgumentException if the bar is older than the previous one
+     */
+    public BarResampler add(long epochMinute, long open, long high, long low, long close, long volume) {
+        if (this.open && epochMinute == lastTime) {
+            setLast(epochMinute, open, high, low, close, volume);
+            return this;
+        }
+        if (this.open && epochMinute < lastTime) {
+            throw new IllegalArgumentException("Bars must be added in time order: "
+                + PriceSeries.fromEpochMinute(epochMinute) + " after " + PriceSeries.fromEpochMinute(lastTime));
+        }
+        
+        long key = bucketKey(epochMinute);
+        if (this.open && key == bucketKey) {
+            foldLast();
+        } else {
+            closeBucket();
+            this.open = true;
+            bucketKey = key;
+            bucketTime = bucket > 0 ? key : Math.floorDiv(epochMinute, MINUTES_PER_DAY) * MINUTES_PER_DAY + DAILY_BAR_MINUTE;
+            hasPrefix = false;
+        }
+        setLast(epochMinute, open, high, low, close, volume);
+        return this;
+    }
+    
+    /**
+     * Adds every bar of {@code source} in order.
+     */
+    public BarResampler addAll(PriceSeries source) {
+        for (int i = 0; i < source.size(); i++) {
+            add(source.epochMinute(i), source.open(i), source.high(i), source.low(i), source.close(i), source.volume(i));
+        }
+        return this;
+    }
+    
+    /**
+     * Bars whose bucket has closed, i.e. a later bucket has started. The series
+     * is a view that later additions do not change.
+     */
+    public PriceSeries completed() {
+        if (closed == 0) {
+            return PriceSeries.empty(symbol, interval);
+        }
+        return PriceSeries.wrap(symbol, interval, LongBuffer.wrap(rows, 0, closed * PriceSeries.ROW_LONGS));
+    }
+    
+    /**
+     * The bar of the open bucket so far, or an empty series before the first bar.
+     */
+    public PriceSeries current() {
+        if (!open) {
+            return PriceSeries.empty(symbol, interval);
+        }
+        return PriceSeries.builder(symbol, interval, 1)
+            .add(bucketTime, currentOpen(), currentHigh(), currentLow(), lastClose, currentVolume())
+            .build();
+    }
+    
+    /**
+     * Completed bars followed by the open one.
+     */
+    public PriceSeries bars() {
+        if (!open) {
+            return completed();
+        }
+        long[] copy = Arrays.copyOf(rows, (closed + 1) * PriceSeries.ROW_LONGS);
+        writeRow(copy, closed);
+        return PriceSeries.wrap(symbol, interval, LongBuffer.wrap(copy));
+    }
+    
+    /**
+     * Identifies the bucket of a bar; for intraday buckets it is also the bucket's start.
+     */
+    private long bucketKey(long epochMinute) {
+        long day = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        switch (bucket) {
+            case DAY:
+                return day;
+            case WEEK:
+                // 1970-01-01 was a Thursday
+                return Math.floorDiv(day + 3, 7);
+            case MONTH:
+                if (day != cachedDay) {
+                    LocalDate date = LocalDate.ofEpochDay(day);
+                    cachedDay = day;
+                    cachedMonth = date.getYear() * 12L + date.getMonthValue();
+                }
+                return cachedMonth;
+            default:
+                int minute = (int) (epochMinute - day * MINUTES_PER_DAY);
+                if (minute < MORNING_OPEN) {
+                    minute = MORNING_OPEN;
+                } else if (minute >= LUNCH_BREAK && minute < AFTERNOON_OPEN) {
+                    minute = LUNCH_BREAK - 1;
+                } else if (minute >= CLOSING_AUCTION) {
+                    minute = CLOSING_AUCTION - 1;
+                }
+                int sessionOpen = minute < AFTERNOON_OPEN ? MORNING_OPEN : AFTERNOON_OPEN;
+                int start = sessionOpen + (minute - sessionOpen) / bucket * bucket;
+                return day * MINUTES_PER_DAY + start;
+        }
+    }
+    
+    private void setLast(long epochMinute, long open, long high, long low, long close, long volume) {
+        lastTime = epochMinute;
+        lastOpen = open;
+        lastHigh = high;
+        lastLow = low;
+        lastClose = close;
+        lastVolume = volume;
+    }
+    
+    private void foldLast() {
+        prefixOpen = currentOpen();
+        prefixHigh = currentHigh();
+        prefixLow = currentLow();
+        prefixVolume = currentVolume();
+        hasPrefix = true;
+    }
+    
+    private long currentOpen() {
+        return hasPrefix ? prefixOpen : lastOpen;
+    }
+    
+    private long currentHigh() {
+        return hasPrefix ? Math.max(prefixHigh, lastHigh) : lastHigh;
+    }
+    
+    private long currentLow() {
+        return hasPrefix ? Math.min(prefixLow, lastLow) : lastLow;
+    }
+    
+    private long currentVolume() {
+        return hasPrefix ? prefixVolume + lastVolume : lastVolume;
+    }
+    
+    private void closeBucket() {
+        if (!open) {
+            return;
+        }
+        ensureCapacity(closed + 1);
+        writeRow(rows, closed);
+        closed++;
+        open = false;
+    }
+    
+    private void writeRow(long[] target, int index) {
+        int row = index * PriceSeries.ROW_LONGS;
+        target[row] = bucketTime;
+        target[row + 1] = currentOpen();
+        target[row + 2] = currentHigh();
+        target[row + 3] = currentLow();
+        target[row + 4] = lastClose;
+        target[row + 5] = currentVolume();
+    }
+    
+    /**
+     * Grows by copying, so series returned by {@link #completed()} keep their rows.
+     */
+    private void ensureCapacity(int bars) {
+        int needed = bars * PriceSeries.ROW_LONGS;
+        if (needed > rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(needed, rows.length + (rows.length >> 1)));
+        }
+    }
+}
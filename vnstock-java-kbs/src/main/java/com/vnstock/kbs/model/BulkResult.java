@@ -0,0 +1,70 @@
+package com.vnstock.kbs.model;
+
+import com.vnstock.kbs.exception.KbsApiException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-symbol outcomes of a bulk call, in the order the symbols were requested.
+ * A failed symbol does not fail the others.
+ * 
+ * @param results One result per requested symbol
+ */
+public record BulkResult<T>(
+    List<SymbolResult<T>> results
+) {
+    
+    public BulkResult {
+        results = List.copyOf(results);
+    }
+    
+    /**
+     * Values of the symbols that succeeded, keyed by symbol in request order.
+     */
+    public Map<String, T> values() {
+        Map<String, T> values = new LinkedHashMap<>();
+        for (SymbolResult<T> result : results) {
+            if (result.isSuccess()) {
+                values.put(result.symbol(), result.value());
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+    
+    /**
+     * Failures of the symbols that did not succeed, keyed by symbol in request order.
+     */
+    public Map<String, KbsApiException> failures() {
+        Map<String, KbsApiException> failures = new LinkedHashMap<>();
+        for (SymbolResult<T> result : results) {
+            if (!result.isSuccess()) {
+                failures.put(result.symbol(), result.error());
+            }
+        }
+        return Collections.unmodifiableMap(failures);
+    }
+    
+    public boolean hasFailures() {
+        for (SymbolResult<T> result : results) {
+            if (!result.isSuccess()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The value of one symbol, or null if it failed or was not requested.
+     */
+    public T get(String symbol) {
+        for (SymbolResult<T> result : results) {
+            if (result.symbol().equalsIgnoreCase(symbol)) {
+                return result.value();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vnstock.kbs.model;
+
+/**
+ * Vietnamese stock exchanges and their price steps for stocks.
+ * 
+ * Prices and steps are raw KBS values, see {@link Prices}: a step of 10 is
+ * 0.01 displayed, i.e. 10 VND.
+ */
+public enum Exchange {
+    
+    /** Ho Chi Minh Stock Exchange: steps of 10 below 10,000, 50 below 50,000 and 100 from there. */
+    HOSE,
+    /** Hanoi Stock Exchange: steps of 100. */
+    HNX,
+    /** Unlisted Public Company Market: steps of 100. */
+    UPCOM;
+    
+    private static final long HOSE_SMALL_BAND = 10_000;
+    private static final long HOSE_MIDDLE_BAND = 50_000;
+    
+    /**
+     * Parses an exchange code as sent by KBS, case-insensitively, accepting
+     * {@code HSX} for HOSE and {@code UPCOM}/{@code UPC} for UPCOM.
+     * 
+     * @return The exchange, or null for a null or unknown code
+     */
+    public static Exchange of(String code) {
+        if (code == null) {
+            return null;
+        }
+        return switch (code.trim().toUpperCase()) {
+            case "HOSE", "HSX" -> HOSE;
+            case "HNX" -> HNX;
+            case "UPCOM", "UPC" -> UPCOM;
+            default -> null;
+        };
+    }
+    
+    /**
+     * Price step of a stock trading at {@code rawPrice}.
+     * 
+     * ETFs and covered warrants on HOSE trade in steps of 10 at any price,
+     * which this does not model.
+     */
+    public long tickSize(long rawPrice) {
+        if (this != HOSE) {
+            return 100;
+        }
+        if (rawPrice < HOSE_SMALL_BAND) {
+            return 10;
+        }
+        return rawPrice < HOSE_MIDDLE_BAND ? 50 : 100;
+    }
+}
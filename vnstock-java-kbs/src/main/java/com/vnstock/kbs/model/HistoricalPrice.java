@@ -37,10 +37,10 @@ public record HistoricalPrice(
     ) {
         return new HistoricalPrice(
             time,
-            BigDecimal.valueOf(openRaw).divide(BigDecimal.valueOf(1000)),
-            BigDecimal.valueOf(highRaw).divide(BigDecimal.valueOf(1000)),
-            BigDecimal.valueOf(lowRaw).divide(BigDecimal.valueOf(1000)),
-            BigDecimal.valueOf(closeRaw).divide(BigDecimal.valueOf(1000)),
+            Prices.toBigDecimal(openRaw),
+            Prices.toBigDecimal(highRaw),
+            Prices.toBigDecimal(lowRaw),
+            Prices.toBigDecimal(closeRaw),
             volume
         );
     }
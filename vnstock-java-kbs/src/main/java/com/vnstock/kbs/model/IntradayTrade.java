@@ -2,6 +2,7 @@ package com.vnstock.kbs.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -54,6 +55,66 @@ public record IntradayTrade(
         return LocalDateTime.parse(ts, TIMESTAMP_FORMATTER);
     }
     
+    /**
+     * The timestamp as milliseconds since 1970-01-01T00:00 of the KBS local time,
+     * i.e. taken as UTC with no zone conversion, like {@link PriceSeries} times.
+     * 
+     * Reads the {@code yyyy-MM-dd HH:mm:ss:MS} layout by character arithmetic, with
+     * no intermediate strings, so it is cheap enough to call for every trade.
+     * 
+     * @return Epoch milliseconds, or {@link Long#MIN_VALUE} if there is no timestamp
+     * @throws IllegalArgumentException if the timestamp does not have that layout
+     */
+    public long epochMillis() {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        String ts = timestamp;
+        int length = ts.length();
+        if (length < 21 || length > 23
+                || ts.charAt(4) != '-' || ts.charAt(7) != '-' || ts.charAt(10) != ' '
+                || ts.charAt(13) != ':' || ts.charAt(16) != ':' || ts.charAt(19) != ':') {
+            throw invalidTimestamp();
+        }
+        int year = digits(ts, 0, 4);
+        int month = digits(ts, 5, 7);
+        int day = digits(ts, 8, 10);
+        int hour = digits(ts, 11, 13);
+        int minute = digits(ts, 14, 16);
+        int second = digits(ts, 17, 19);
+        int millis = digits(ts, 20, length);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) {
+            throw invalidTimestamp();
+        }
+        long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            throw invalidTimestamp();
+        }
+        return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1_000L + millis;
+    }
+    
+    /**
+     * @return the decimal value of the digits in {@code [from, to)}, or -1 if any is not a digit
+     */
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    private IllegalArgumentException invalidTimestamp() {
+        return new IllegalArgumentException("Invalid trade timestamp '" + timestamp + "', expected yyyy-MM-dd HH:mm:ss:MS");
+    }
+    
     /**
      * Parses the trading date.
      */
@@ -92,6 +153,21 @@ public record IntradayTrade(
      * Returns normalized price (divided by 1000).
      */
     public BigDecimal normalizedPrice() {
-        return price != null ? price.divide(BigDecimal.valueOf(1000)) : null;
+        if (price == null) {
+            return null;
+        }
+        // KBS sends whole raw prices, which convert without a BigDecimal division
+        return price.scale() == 0 && price.precision() <= 18
+            ? Prices.toBigDecimal(price.longValue())
+            : price.divide(BigDecimal.valueOf(1000));
+    }
+    
+    /**
+     * Match price as a raw fixed-point value, see {@link Prices}.
+     * 
+     * @return The raw price, e.g. 68500 for 68.5, or {@link Prices#NONE} if missing
+     */
+    public long rawPrice() {
+        return price != null ? price.longValue() : Prices.NONE;
     }
 }
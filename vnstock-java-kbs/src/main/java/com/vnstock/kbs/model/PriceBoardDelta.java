@@ -0,0 +1,65 @@
+package com.vnstock.kbs.model;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Change of one symbol's price board entry between two polls.
+ * 
+ * The first delta a subscriber receives for a symbol is a snapshot: it has no
+ * previous entry and marks every present field as changed.
+ * 
+ * @param previous Entry of the previous poll, or null for a snapshot
+ * @param current Entry of the latest poll
+ * @param changes Bits of the changed fields, see {@link PriceBoardField#mask()}
+ */
+public record PriceBoardDelta(
+    PriceBoardEntry previous,
+    PriceBoardEntry current,
+    long changes
+) {
+    
+    public PriceBoardDelta {
+        Objects.requireNonNull(current, "current cannot be null");
+    }
+    
+    public String symbol() {
+        return current.symbol();
+    }
+    
+    /**
+     * Whether this is the first delta of the symbol for its subscriber.
+     */
+    public boolean isSnapshot() {
+        return previous == null;
+    }
+    
+    public boolean changed(PriceBoardField field) {
+        return (changes & field.mask()) != 0;
+    }
+    
+    public Set<PriceBoardField> changedFields() {
+        Set<PriceBoardField> fields = EnumSet.noneOf(PriceBoardField.class);
+        for (PriceBoardField field : PriceBoardField.values()) {
+            if (changed(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+    
+    /**
+     * The field's latest value.
+     */
+    public Object value(PriceBoardField field) {
+        return field.get(current);
+    }
+    
+    /**
+     * The field's value before this change, or null for a snapshot.
+     */
+    public Object previousValue(PriceBoardField field) {
+        return previous != null ? field.get(previous) : null;
+    }
+}
@@ -99,19 +99,28 @@ public record PriceBoardEntry(
     }
     
     /**
-     * Normalizes price (divides by 1000 to get actual VND value).
+     * The exchange the symbol is listed on, or null if the code is unknown.
+     */
+    public Exchange listingExchange() {
+        return Exchange.of(exchange);
+    }
+    
+    /**
+     * Normalizes price (divides by 1000 to get the price in thousands of VND).
      */
     private static BigDecimal normalize(Long price) {
-        if (price == null) {
-            return null;
-        }
-        return BigDecimal.valueOf(price).divide(BigDecimal.valueOf(1000));
+        return price != null ? Prices.toBigDecimal(price) : null;
     }
     
     private static BigDecimal normalizeString(String price) {
         if (price == null || price.isEmpty()) {
             return null;
         }
+        long raw = Prices.parse(price);
+        if (raw != Prices.NONE) {
+            return Prices.toBigDecimal(raw);
+        }
+        // Fractional or out-of-range text; placeholders such as ATO end up as null
         try {
             return new BigDecimal(price).divide(BigDecimal.valueOf(1000));
         } catch (NumberFormatException e) {
@@ -133,4 +142,12 @@ public record PriceBoardEntry(
     public BigDecimal normalizedAskPrice1() { return normalizeString(askPrice1); }
     public BigDecimal normalizedAskPrice2() { return normalizeString(askPrice2); }
     public BigDecimal normalizedAskPrice3() { return normalizeString(askPrice3); }
+    
+    // Raw bid and ask levels, Prices.NONE when empty or a placeholder such as ATO
+    public long rawBidPrice1() { return Prices.parse(bidPrice1); }
+    public long rawBidPrice2() { return Prices.parse(bidPrice2); }
+    public long rawBidPrice3() { return Prices.parse(bidPrice3); }
+    public long rawAskPrice1() { return Prices.parse(askPrice1); }
+    public long rawAskPrice2() { return Prices.parse(askPrice2); }
+    public long rawAskPrice3() { return Prices.parse(askPrice3); }
 }
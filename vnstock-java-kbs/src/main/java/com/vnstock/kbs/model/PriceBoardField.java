@@ -0,0 +1,123 @@
+package com.vnstock.kbs.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Fields of a {@link PriceBoardEntry} that can change between two polls, named
+ * by their KBS codes.
+ * 
+ * The symbol and the update timestamp are not fields: they identify a snapshot
+ * rather than describe it. Each field owns one bit of a {@link PriceBoardDelta}'s
+ * change mask.
+ */
+public enum PriceBoardField {
+    
+    EX(PriceBoardEntry::exchange),
+    CL(PriceBoardEntry::ceilingPrice),
+    FL(PriceBoardEntry::floorPrice),
+    RE(PriceBoardEntry::referencePrice),
+    OP(PriceBoardEntry::openPrice),
+    HI(PriceBoardEntry::highPrice),
+    LO(PriceBoardEntry::lowPrice),
+    CP(PriceBoardEntry::closePrice),
+    AP(PriceBoardEntry::averagePrice),
+    TT(PriceBoardEntry::totalTrades),
+    TV(PriceBoardEntry::totalValue),
+    CH(PriceBoardEntry::priceChange),
+    CHP(PriceBoardEntry::percentChange),
+    B1(PriceBoardEntry::bidPrice1),
+    V1(PriceBoardEntry::bidVol1),
+    B2(PriceBoardEntry::bidPrice2),
+    V2(PriceBoardEntry::bidVol2),
+    B3(PriceBoardEntry::bidPrice3),
+    V3(PriceBoardEntry::bidVol3),
+    S1(PriceBoardEntry::askPrice1),
+    U1(PriceBoardEntry::askVol1),
+    S2(PriceBoardEntry::askPrice2),
+    U2(PriceBoardEntry::askVol2),
+    S3(PriceBoardEntry::askPrice3),
+    U3(PriceBoardEntry::askVol3),
+    FB(PriceBoardEntry::foreignBuyVolume),
+    FR(PriceBoardEntry::foreignSellVolume),
+    FC(PriceBoardEntry::foreignBuyCount),
+    FS(PriceBoardEntry::foreignSellCount),
+    PTQ(PriceBoardEntry::putThroughQty),
+    PTV(PriceBoardEntry::putThroughValue),
+    TLQ(PriceBoardEntry::totalListedQty),
+    LS(PriceBoardEntry::listedShares),
+    FO(PriceBoardEntry::foreignOwnershipRatio);
+    
+    /** {@link #values()} without the copy made on every call. */
+    private static final PriceBoardField[] FIELDS = values();
+    
+    private final Function<PriceBoardEntry, Object> accessor;
+    
+    PriceBoardField(Function<PriceBoardEntry, Object> accessor) {
+        this.accessor = accessor;
+    }
+    
+    /**
+     * The field's value in an entry: a {@code Long}, {@code BigDecimal} or {@code String}, or null if absent.
+     */
+    public Object get(PriceBoardEntry entry) {
+        return accessor.apply(entry);
+    }
+    
+    /**
+     * This field's bit in a change mask.
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+    
+    /**
+     * Parses a KBS field code, case-sensitively.
+     * 
+     * @return The field, or null for a null or unknown code
+     */
+    public static PriceBoardField of(String code) {
+        for (PriceBoardField field : FIELDS) {
+            if (field.name().equals(code)) {
+                return field;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Mask of the fields whose values differ between two entries of the same
+     * symbol. Decimals are compared by value, so {@code 1.0} equals {@code 1.00}.
+     * Allocates nothing.
+     */
+    public static long diff(PriceBoardEntry previous, PriceBoardEntry current) {
+        long changes = 0;
+        for (PriceBoardField field : FIELDS) {
+            if (!sameValue(field.get(previous), field.get(current))) {
+                changes |= field.mask();
+            }
+        }
+        return changes;
+    }
+    
+    /**
+     * Mask of the fields present in an entry, i.e. the change mask of a first snapshot.
+     */
+    public static long present(PriceBoardEntry entry) {
+        long present = 0;
+        for (PriceBoardField field : FIELDS) {
+            if (field.get(entry) != null) {
+                present |= field.mask();
+            }
+        }
+        return present;
+    }
+    
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -0,0 +1,443 @@
+package com.vnstock.kbs.model;
+
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Columnar OHLCV series in fixed point, ordered by time.
+ * 
+ * Bars are stored as parallel {@code long} columns, about 48 bytes per bar
+ * against several hundred for a {@link HistoricalPrice}:
+ * <ul>
+ *   <li>timestamps as epoch minutes of the KBS local time, i.e. the
+ *       {@code yyyy-MM-dd HH:mm} value taken as UTC with no zone conversion</li>
+ *   <li>open, high, low and close as raw KBS ticks (VND x {@value #PRICE_SCALE})</li>
+ *   <li>volume</li>
+ * </ul>
+ * 
+ * A series is immutable. {@link #slice} and {@link #between} return views
+ * sharing the same columns, and {@link #asList()} decodes
+ * {@link HistoricalPrice} instances lazily for code written against the list API.
+ * A series can also be a view over rows of an existing buffer, such as a
+ * memory-mapped file, see {@link #wrap}.
+ */
+public final class PriceSeries {
+    
+    /** Raw KBS prices are VND multiplied by this factor, see {@link Prices}. */
+    public static final long PRICE_SCALE = Prices.UNIT;
+    
+    /** Longs per row of a {@link #wrap wrapped} buffer: time, open, high, low, close and volume. */
+    public static final int ROW_LONGS = 6;
+    
+    private static final int OPEN = 1;
+    private static final int HIGH = 2;
+    private static final int LOW = 3;
+    private static final int CLOSE = 4;
+    private static final int VOLUME = 5;
+    
+    private static final long[] EMPTY = new long[0];
+    
+    private final String symbol;
+    private final String interval;
+    private final long[] time;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+    private final LongBuffer rows;
+    private final int offset;
+    private final int size;
+    
+    private PriceSeries(
+        String symbol,
+        String interval,
+        long[] time,
+        long[] open,
+        long[] high,
+        long[] low,
+        long[] close,
+        long[] volume,
+        LongBuffer rows,
+        int offset,
+        int size
+    ) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.rows = rows;
+        this.offset = offset;
+        this.size = size;
+    }
+    
+    /**
+     * An empty series.
+     */
+    public static PriceSeries empty(String symbol, String interval) {
+        return new PriceSeries(symbol, interval, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, null, 0, 0);
+    }
+    
+    /**
+     * Zero-copy series over the remaining longs of {@code rows}, {@value #ROW_LONGS}
+     * per bar in the order time, open, high, low, close, volume.
+     * 
+     * The rows must be ordered by time and must not change while the series is in use.
+     * 
+     * @throws IllegalArgumentException if the remaining longs are not whole rows
+     */
+    public static PriceSeries wrap(String symbol, String interval, LongBuffer rows) {
+        if (rows.remaining() % ROW_LONGS != 0) {
+            throw new IllegalArgumentException(
+                "Expected whole rows of " + ROW_LONGS + " longs but got " + rows.remaining());
+        }
+        int size = rows.remaining() / ROW_LONGS;
+        return new PriceSeries(symbol, interval, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, rows.slice(), 0, size);
+    }
+    
+    /**
+     * Creates a builder sized for {@code expectedSize} bars.
+     */
+    public static Builder builder(String symbol, String interval, int expectedSize) {
+        return new Builder(symbol, interval, expectedSize);
+    }
+    
+    /**
+     * Converts a KBS local timestamp to the epoch-minute representation used by the series.
+     */
+    public static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+    
+    /**
+     * Converts an epoch minute back to the KBS local timestamp.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+    
+    public String symbol() {
+        return symbol;
+    }
+    
+    /**
+     * The interval key the series was requested with, e.g. {@code "1m"} or {@code "1d"}.
+     */
+    public String interval() {
+        return interval;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long epochMinute(int index) {
+        return epochMinuteAt(at(index));
+    }
+    
+    public LocalDateTime time(int index) {
+        return fromEpochMinute(epochMinute(index));
+    }
+    
+    /** Open price in raw KBS ticks. */
+    public long open(int index) {
+        int i = at(index);
+        return rows == null ? open[i] : rows.get(i * ROW_LONGS + OPEN);
+    }
+    
+    /** High price in raw KBS ticks. */
+    public long high(int index) {
+        int i = at(index);
+        return rows == null ? high[i] : rows.get(i * ROW_LONGS + HIGH);
+    }
+    
+    /** Low price in raw KBS ticks. */
+    public long low(int index) {
+        int i = at(index);
+        return rows == null ? low[i] : rows.get(i * ROW_LONGS + LOW);
+    }
+    
+    /** Close price in raw KBS ticks. */
+    public long close(int index) {
+        int i = at(index);
+        return rows == null ? close[i] : rows.get(i * ROW_LONGS + CLOSE);
+    }
+    
+    public long volume(int index) {
+        int i = at(index);
+        return rows == null ? volume[i] : rows.get(i * ROW_LONGS + VOLUME);
+    }
+    
+    /**
+     * Decodes one bar, normalized like {@link HistoricalPrice#fromRaw}.
+     */
+    public HistoricalPrice get(int index) {
+        return HistoricalPrice.fromRaw(
+            time(index), open(index), high(index), low(index), close(index), volume(index)
+        );
+    }
+    
+    /**
+     * Read-only list view that decodes each {@link HistoricalPrice} on access.
+     */
+    public List<HistoricalPrice> asList() {
+        return new HistoricalPriceView();
+    }
+    
+    /**
+     * Zero-copy view of bars {@code [fromIndex, toIndex)}.
+     */
+    public PriceSeries slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        return new PriceSeries(
+            symbol, interval, time, open, high, low, close, volume, rows,
+            offset + fromIndex, toIndex - fromIndex
+        );
+    }
+    
+    /**
+     * Zero-copy view of the bars with {@code from <= time <= to}, found by binary search.
+     */
+    public PriceSeries between(LocalDateTime from, LocalDateTime to) {
+        int fromIndex = ceilingIndex(toEpochMinute(from));
+        int toIndex = ceilingIndex(toEpochMinute(to) + 1);
+        return slice(fromIndex, Math.max(fromIndex, toIndex));
+    }
+    
+    /**
+     * Aggregates the bars into a coarser interval, e.g. 1-minute bars into
+     * {@code "15m"} or {@code "1d"}; see {@link BarResampler} for the session rules.
+     * 
+     * @throws IllegalArgumentException if the interval cannot be built from {@link #interval()}
+     */
+    public PriceSeries resample(String interval) {
+        return BarResampler.resample(this, interval);
+    }
+    
+    /**
+     * Index of the bar at exactly {@code time}, or -1 if there is none.
+     */
+    public int indexOf(LocalDateTime time) {
+        long minute = toEpochMinute(time);
+        int index = ceilingIndex(minute);
+        return index < size && epochMinute(index) == minute ? index : -1;
+    }
+    
+    /**
+     * Index of the first bar at or after {@code time}; {@link #size()} if every bar is earlier.
+     */
+    public int ceilingIndex(LocalDateTime time) {
+        return ceilingIndex(toEpochMinute(time));
+    }
+    
+    /**
+     * Index of the last bar at or before {@code time}; -1 if every bar is later.
+     */
+    public int floorIndex(LocalDateTime time) {
+        return ceilingIndex(toEpochMinute(time) + 1) - 1;
+    }
+    
+    private int ceilingIndex(long minute) {
+        int low = offset;
+        int high = offset + size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochMinuteAt(mid) < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - offset;
+    }
+    
+    private int at(int index) {
+        return offset + Objects.checkIndex(index, size);
+    }
+    
+    private long epochMinuteAt(int i) {
+        return rows == null ? time[i] : rows.get(i * ROW_LONGS);
+    }
+    
+    @Override
+    public String toString() {
+        return "PriceSeries[symbol=" + symbol + ", interval=" + interval + ", size=" + size
+            + (size > 0 ? ", from=" + time(0) + ", to=" + time(size - 1) : "") + "]";
+    }
+    
+    private final class HistoricalPriceView extends AbstractList<HistoricalPrice> implements RandomAccess {
+        
+        @Override
+        public HistoricalPrice get(int index) {
+            return PriceSeries.this.get(index);
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+    
+    /**
+     * Appends bars column by column. Bars may arrive in any order;
+     * {@link #build()} sorts them by time when needed.
+     * 
+     * A builder is single-use: {@link #build()} hands its columns to the series
+     * without copying, so the builder cannot be used afterwards.
+     */
+    public static final class Builder {
+        
+        private final String symbol;
+        private final String interval;
+        private long[] time;
+        private long[] open;
+        private long[] high;
+        private long[] low;
+        private long[] close;
+        private long[] volume;
+        private int size;
+        private boolean built;
+        
+        private Builder(String symbol, String interval, int expectedSize) {
+            this.symbol = symbol;
+            this.interval = interval;
+            int capacity = Math.max(expectedSize, 16);
+            this.time = new long[capacity];
+            this.open = new long[capacity];
+            this.high = new long[capacity];
+            this.low = new long[capacity];
+            this.close = new long[capacity];
+            this.volume = new long[capacity];
+        }
+        
+        /**
+         * Appends one bar with prices in raw KBS ticks.
+         */
+        public Builder add(long epochMinute, long open, long high, long low, long close, long volume) {
+            checkNotBuilt();
+            if (size == time.length) {
+                grow();
+            }
+            this.time[size] = epochMinute;
+            this.open[size] = open;
+            this.high[size] = high;
+            this.low[size] = low;
+            this.close[size] = close;
+            this.volume[size] = volume;
+            size++;
+            return this;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * Builds the series; the builder cannot be used afterwards.
+         * 
+         * @throws IllegalStateException if the series was already built
+         */
+        public PriceSeries build() {
+            checkNotBuilt();
+            built = true;
+            if (size == 0) {
+                return empty(symbol, interval);
+            }
+            if (!isSorted()) {
+                sort();
+            }
+            if (size < time.length) {
+                time = Arrays.copyOf(time, size);
+                open = Arrays.copyOf(open, size);
+                high = Arrays.copyOf(high, size);
+                low = Arrays.copyOf(low, size);
+                close = Arrays.copyOf(close, size);
+                volume = Arrays.copyOf(volume, size);
+            }
+            return new PriceSeries(symbol, interval, time, open, high, low, close, volume, null, 0, size);
+        }
+        
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("PriceSeries.Builder cannot be reused after build()");
+            }
+        }
+        
+        private void grow() {
+            int capacity = time.length + (time.length >> 1);
+            time = Arrays.copyOf(time, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+        
+        private boolean isSorted() {
+            for (int i = 1; i < size; i++) {
+                if (time[i - 1] > time[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         * Reorders the columns by time; newest-first responses are simply reversed.
+         */
+        private void sort() {
+            boolean descending = true;
+            for (int i = 1; i < size && descending; i++) {
+                descending = time[i - 1] >= time[i];
+            }
+            if (descending) {
+                for (long[] column : new long[][] {time, open, high, low, close, volume}) {
+                    for (int i = 0, j = size - 1; i < j; i++, j--) {
+                        long swap = column[i];
+                        column[i] = column[j];
+                        column[j] = swap;
+                    }
+                }
+                return;
+            }
+            
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            long[] keys = time;
+            Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+            time = permute(time, order);
+            open = permute(open, order);
+            high = permute(high, order);
+            low = permute(low, order);
+            close = permute(close, order);
+            volume = permute(volume, order);
+        }
+        
+        private long[] permute(long[] column, Integer[] order) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = column[order[i]];
+            }
+            return sorted;
+        }
+    }
+}
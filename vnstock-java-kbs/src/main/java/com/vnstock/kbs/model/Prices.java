@@ -0,0 +1,188 @@
+package com.vnstock.kbs.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point prices as used throughout the library.
+ * 
+ * KBS sends every price as a whole number, the displayed price multiplied by
+ * 1000, so raw 68500 is 68.5 thousand VND. {@link PriceSeries}, {@link TradeTape},
+ * the indicators and the raw accessors of the models keep that value in a
+ * {@code long}, so comparing and adding prices needs no allocation. These
+ * helpers convert at the API edge and step prices by the exchange's tick size.
+ * Missing prices are {@link #NONE}.
+ */
+public final class Prices {
+    
+    /** Decimal places of a displayed price: raw 68500 is 68.5. */
+    public static final int SCALE = 3;
+    
+    /** Raw units per displayed unit. */
+    public static final long UNIT = 1000;
+    
+    /** Raw value of a missing price. */
+    public static final long NONE = Long.MIN_VALUE;
+    
+    private Prices() {
+        // Prevent instantiation
+    }
+    
+    /**
+     * The displayed price, with the same value and scale as
+     * {@code BigDecimal.valueOf(raw).divide(BigDecimal.valueOf(1000))}: trailing
+     * zeros are dropped down to scale 0. Costs one small allocation instead of a
+     * BigDecimal division.
+     * 
+     * @return The displayed price, or null for {@link #NONE}
+     */
+    public static BigDecimal toBigDecimal(long raw) {
+        if (raw == NONE) {
+            return null;
+        }
+        int scale = SCALE;
+        while (scale > 0 && raw % 10 == 0) {
+            raw /= 10;
+            scale--;
+        }
+        return BigDecimal.valueOf(raw, scale);
+    }
+    
+    /**
+     * The displayed price as a double, NaN for {@link #NONE}.
+     */
+    public static double toDouble(long raw) {
+        return raw == NONE ? Double.NaN : raw / (double) UNIT;
+    }
+    
+    /**
+     * The raw value of a displayed price, e.g. 68.5 to 68500.
+     * 
+     * @throws ArithmeticException if the price has more than three decimals or does not fit a long
+     */
+    public static long fromBigDecimal(BigDecimal price) {
+        return price.movePointRight(SCALE).longValueExact();
+    }
+    
+    /**
+     * Parses a raw price sent as a string, such as the price board's bid and
+     * ask levels, without creating a BigDecimal.
+     * 
+     * Accepts an optional sign and digits, optionally followed by a fraction
+     * of zeros (e.g. {@code 68500.0}).
+     * 
+     * @return The raw price, or {@link #NONE} for null, empty or non-numeric
+     *         text such as the {@code ATO}/{@code ATC} placeholders
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            return NONE;
+        }
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        int digitsStart = i;
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            // 18 digits cannot overflow
+            if (i - digitsStart >= 18) {
+                return NONE;
+            }
+            value = value * 10 + digit;
+        }
+        if (i == digitsStart) {
+            return NONE;
+        }
+        if (i < length) {
+            if (text.charAt(i) != '.') {
+                return NONE;
+            }
+            for (i++; i < length; i++) {
+                if (text.charAt(i) != '0') {
+                    return NONE;
+                }
+            }
+        }
+        return negative ? -value : value;
+    }
+    
+    /**
+     * Formats a raw price as displayed, e.g. 68500 as {@code 68.5} and 9000 as {@code 9}.
+     */
+    public static String format(long raw) {
+        if (raw == NONE) {
+            return "";
+        }
+        return toBigDecimal(raw).toPlainString();
+    }
+    
+    /**
+     * Whether {@code raw} is a valid price step on {@code exchange}.
+     */
+    public static boolean isOnTick(long raw, Exchange exchange) {
+        return raw % exchange.tickSize(raw) == 0;
+    }
+    
+    /**
+     * The highest valid price at or below {@code raw}.
+     */
+    public static long floorToTick(long raw, Exchange exchange) {
+        return raw - Math.floorMod(raw, exchange.tickSize(raw));
+    }
+    
+    /**
+     * The lowest valid price at or above {@code raw}.
+     */
+    public static long ceilToTick(long raw, Exchange exchange) {
+        // Band limits are multiples of the next band's tick, so rounding up stays valid across them
+        long tick = exchange.tickSize(raw);
+        long remainder = Math.floorMod(raw, tick);
+        return remainder == 0 ? raw : raw + tick - remainder;
+    }
+    
+    /**
+     * The valid price nearest {@code raw}, halves rounding up.
+     */
+    public static long roundToTick(long raw, Exchange exchange) {
+        long floor = floorToTick(raw, exchange);
+        long ceiling = ceilToTick(raw, exchange);
+        return raw - floor < ceiling - raw ? floor : ceiling;
+    }
+    
+    /**
+     * Moves a valid price by {@code ticks} price steps, crossing HOSE tick bands
+     * step by step, e.g. one tick below 10,000 on HOSE is 9,990.
+     */
+    public static long addTicks(long raw, int ticks, Exchange exchange) {
+        long price = raw;
+        for (int i = 0; i < ticks; i++) {
+            price += exchange.tickSize(price);
+        }
+        for (int i = 0; i > ticks; i--) {
+            price -= exchange.tickSize(price - 1);
+        }
+        return price;
+    }
+    
+    /**
+     * Number of price steps from {@code from} up to {@code to}; negative if {@code to} is lower.
+     * Both prices must be valid steps.
+     */
+    public static int ticksBetween(long from, long to, Exchange exchange) {
+        if (to < from) {
+            return -ticksBetween(to, from, exchange);
+        }
+        int ticks = 0;
+        for (long price = from; price < to; price += exchange.tickSize(price)) {
+            ticks++;
+        }
+        return ticks;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vnstock.kbs.model;
+
+import com.vnstock.kbs.exception.KbsApiException;
+
+import java.util.Objects;
+
+/**
+ * Outcome of one symbol's request within a bulk call: either a value or the failure.
+ * 
+ * @param symbol Stock symbol, upper case
+ * @param value Result of the request, or null if it failed
+ * @param error Why the request failed, or null if it succeeded
+ */
+public record SymbolResult<T>(
+    String symbol,
+    T value,
+    KbsApiException error
+) {
+    
+    public SymbolResult {
+        Objects.requireNonNull(symbol, "symbol cannot be null");
+        if ((value == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of value and error must be set");
+        }
+    }
+    
+    public static <T> SymbolResult<T> success(String symbol, T value) {
+        return new SymbolResult<>(symbol, value, null);
+    }
+    
+    public static <T> SymbolResult<T> failure(String symbol, KbsApiException error) {
+        return new SymbolResult<>(symbol, null, error);
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    /**
+     * The value, or the failure rethrown.
+     */
+    public T getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+}
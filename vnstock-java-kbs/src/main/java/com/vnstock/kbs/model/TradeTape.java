@@ -0,0 +1,489 @@
+package com.vnstock.kbs.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Columnar intraday tape of one symbol and trading day, ordered by time.
+ * 
+ * Each trade takes about 32 bytes against several hundred for an
+ * {@link IntradayTrade}:
+ * <ul>
+ *   <li>match time as {@code int} milliseconds of the day (KBS local time)</li>
+ *   <li>price and price change as {@code int} raw KBS ticks, volume as {@code int}</li>
+ *   <li>buy and sell side as one bit each; a trade with neither has no side</li>
+ *   <li>accumulated volume and value of the day as {@code long}</li>
+ * </ul>
+ * 
+ * A tape is immutable. {@link #slice} and {@link #between} return views sharing
+ * the same columns, {@link #replay} visits trades without creating objects, and
+ * {@link #asList()} decodes {@link IntradayTrade} instances lazily for code
+ * written against the list API.
+ */
+public final class TradeTape {
+    
+    /** Side of a buyer-initiated match. */
+    public static final char BUY = 'B';
+    /** Side of a seller-initiated match. */
+    public static final char SELL = 'S';
+    /** Side of a match with no side, e.g. an auction print. */
+    public static final char NO_SIDE = 0;
+    
+    private static final int MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final long[] EMPTY_LONGS = new long[0];
+    
+    private final String symbol;
+    private final LocalDate tradingDate;
+    private final int[] time;
+    private final int[] price;
+    private final int[] priceChange;
+    private final int[] volume;
+    private final long[] buy;
+    private final long[] sell;
+    private final long[] accumulatedVolume;
+    private final long[] accumulatedValue;
+    private final int offset;
+    private final int size;
+    /** Trading date in the dd/MM/yyyy layout of {@link IntradayTrade#tradingDate()}. */
+    private final String tradingDateText;
+    
+    private TradeTape(TradeTape columns, int offset, int size) {
+        this(
+            columns.symbol, columns.tradingDate, columns.time, columns.price, columns.priceChange, columns.volume,
+            columns.buy, columns.sell, columns.accumulatedVolume, columns.accumulatedValue, offset, size
+        );
+    }
+    
+    private TradeTape(
+        String symbol,
+        LocalDate tradingDate,
+        int[] time,
+        int[] price,
+        int[] priceChange,
+        int[] volume,
+        long[] buy,
+        long[] sell,
+        long[] accumulatedVolume,
+        long[] accumulatedValue,
+        int offset,
+        int size
+    ) {
+        this.symbol = symbol;
+        this.tradingDate = tradingDate;
+        this.time = time;
+        this.price = price;
+        this.priceChange = priceChange;
+        this.volume = volume;
+        this.buy = buy;
+        this.sell = sell;
+        this.accumulatedVolume = accumulatedVolume;
+        this.accumulatedValue = accumulatedValue;
+        this.offset = offset;
+        this.size = size;
+        this.tradingDateText = String.format("%02d/%02d/%04d",
+            tradingDate.getDayOfMonth(), tradingDate.getMonthValue(), tradingDate.getYear());
+    }
+    
+    /**
+     * An empty tape.
+     */
+    public static TradeTape empty(String symbol, LocalDate tradingDate) {
+        return new TradeTape(
+            symbol, tradingDate, EMPTY_INTS, EMPTY_INTS, EMPTY_INTS, EMPTY_INTS,
+            EMPTY_LONGS, EMPTY_LONGS, EMPTY_LONGS, EMPTY_LONGS, 0, 0
+        );
+    }
+    
+    /**
+     * Creates a builder sized for {@code expectedSize} trades.
+     */
+    public static Builder builder(String symbol, LocalDate tradingDate, int expectedSize) {
+        return new Builder(symbol, tradingDate, expectedSize);
+    }
+    
+    /**
+     * Receives the trades of {@link #replay}, prices in raw KBS ticks.
+     */
+    @FunctionalInterface
+    public interface TradeVisitor {
+        void accept(
+            int millisOfDay,
+            int price,
+            int priceChange,
+            int volume,
+            char side,
+            long accumulatedVolume,
+            long accumulatedValue
+        );
+    }
+    
+    public String symbol() {
+        return symbol;
+    }
+    
+    public LocalDate tradingDate() {
+        return tradingDate;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /** Match time in milliseconds of the day. */
+    public int millisOfDay(int index) {
+        return time[at(index)];
+    }
+    
+    public LocalTime time(int index) {
+        return LocalTime.ofNanoOfDay(millisOfDay(index) * 1_000_000L);
+    }
+    
+    /** Match price in raw KBS ticks. */
+    public int price(int index) {
+        return price[at(index)];
+    }
+    
+    /** Price change in raw KBS ticks. */
+    public int priceChange(int index) {
+        return priceChange[at(index)];
+    }
+    
+    public int volume(int index) {
+        return volume[at(index)];
+    }
+    
+    /**
+     * {@link #BUY}, {@link #SELL} or {@link #NO_SIDE}.
+     */
+    public char side(int index) {
+        int i = at(index);
+        return isSet(buy, i) ? BUY : isSet(sell, i) ? SELL : NO_SIDE;
+    }
+    
+    public long accumulatedVolume(int index) {
+        return accumulatedVolume[at(index)];
+    }
+    
+    public long accumulatedValue(int index) {
+        return accumulatedValue[at(index)];
+    }
+    
+    /**
+     * Decodes one trade into the API model.
+     */
+    public IntradayTrade get(int index) {
+        int i = at(index);
+        char side = side(index);
+        return new IntradayTrade(
+            formatTimestamp(time[i]),
+            tradingDateText,
+            symbol,
+            formatTime(time[i]),
+            side == NO_SIDE ? null : String.valueOf(side),
+            BigDecimal.valueOf(price[i]),
+            BigDecimal.valueOf(priceChange[i]),
+            (long) volume[i],
+            accumulatedVolume[i],
+            BigDecimal.valueOf(accumulatedValue[i])
+        );
+    }
+    
+    /**
+     * Read-only list view that decodes each {@link IntradayTrade} on access.
+     */
+    public List<IntradayTrade> asList() {
+        return new IntradayTradeView();
+    }
+    
+    /**
+     * Visits the trades in time order.
+     */
+    public void replay(TradeVisitor visitor) {
+        for (int i = offset; i < offset + size; i++) {
+            visitor.accept(
+                time[i], price[i], priceChange[i], volume[i],
+                isSet(buy, i) ? BUY : isSet(sell, i) ? SELL : NO_SIDE,
+                accumulatedVolume[i], accumulatedValue[i]
+            );
+        }
+    }
+    
+    /**
+     * Zero-copy view of trades {@code [fromIndex, toIndex)}.
+     */
+    public TradeTape slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        return new TradeTape(this, offset + fromIndex, toIndex - fromIndex);
+    }
+    
+    /**
+     * Zero-copy view of the trades with {@code from <= time <= to}, found by binary search.
+     */
+    public TradeTape between(LocalTime from, LocalTime to) {
+        int fromIndex = ceilingIndex(toMillisOfDay(from));
+        int toIndex = ceilingIndex(toMillisOfDay(to) + 1);
+        return slice(fromIndex, Math.max(fromIndex, toIndex));
+    }
+    
+    /**
+     * Index of the first trade at or after {@code millisOfDay}; {@link #size()} if every trade is earlier.
+     */
+    public int ceilingIndex(int millisOfDay) {
+        int low = offset;
+        int high = offset + size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] < millisOfDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - offset;
+    }
+    
+    private static int toMillisOfDay(LocalTime time) {
+        return (int) (time.toNanoOfDay() / 1_000_000);
+    }
+    
+    private int at(int index) {
+        return offset + Objects.checkIndex(index, size);
+    }
+    
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+    
+    /**
+     * {@code yyyy-MM-dd HH:mm:ss:MS}, the layout of {@link IntradayTrade#timestamp()}.
+     */
+    private String formatTimestamp(int millisOfDay) {
+        int millis = millisOfDay % 1000;
+        return tradingDate + " " + formatTime(millisOfDay) + (millis < 10 ? ":0" : ":") + millis;
+    }
+    
+    private static String formatTime(int millisOfDay) {
+        int seconds = millisOfDay / 1000;
+        char[] chars = {
+            digit(seconds / 36_000), digit(seconds / 3_600 % 10), ':',
+            digit(seconds / 600 % 6), digit(seconds / 60 % 10), ':',
+            digit(seconds % 60 / 10), digit(seconds % 10)
+        };
+        return new String(chars);
+    }
+    
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+    
+    @Override
+    public String toString() {
+        return "TradeTape[symbol=" + symbol + ", tradingDate=" + tradingDate + ", size=" + size
+            + (size > 0 ? ", from=" + time(0) + ", to=" + time(size - 1) : "") + "]";
+    }
+    
+    private final class IntradayTradeView extends AbstractList<IntradayTrade> implements RandomAccess {
+        
+        @Override
+        public IntradayTrade get(int index) {
+            return TradeTape.this.get(index);
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+    
+    /**
+     * Appends trades column by column. Trades may arrive in any order, e.g. newest
+     * first as the API pages them; {@link #build()} sorts them by time and
+     * accumulated volume when needed.
+     */
+    public static final class Builder {
+        
+        private final String symbol;
+        private final LocalDate tradingDate;
+        private final long epochDay;
+        private int[] time;
+        private int[] price;
+        private int[] priceChange;
+        private int[] volume;
+        private char[] side;
+        private long[] accumulatedVolume;
+        private long[] accumulatedValue;
+        private int size;
+        
+        private Builder(String symbol, LocalDate tradingDate, int expectedSize) {
+            this.symbol = Objects.requireNonNull(symbol, "symbol cannot be null");
+            this.tradingDate = Objects.requireNonNull(tradingDate, "tradingDate cannot be null");
+            this.epochDay = tradingDate.toEpochDay();
+            int capacity = Math.max(expectedSize, 16);
+            this.time = new int[capacity];
+            this.price = new int[capacity];
+            this.priceChange = new int[capacity];
+            this.volume = new int[capacity];
+            this.side = new char[capacity];
+            this.accumulatedVolume = new long[capacity];
+            this.accumulatedValue = new long[capacity];
+        }
+        
+        /**
+         * Appends one trade with prices in raw KBS ticks.
+         * 
+         * @param side {@link #BUY}, {@link #SELL} or {@link #NO_SIDE}
+         */
+        public Builder add(
+            int millisOfDay,
+            int price,
+            int priceChange,
+            int volume,
+            char side,
+            long accumulatedVolume,
+            long accumulatedValue
+        ) {
+            if (millisOfDay < 0 || millisOfDay >= MILLIS_PER_DAY) {
+                throw new IllegalArgumentException("millisOfDay out of range: " + millisOfDay);
+            }
+            if (size == time.length) {
+                grow();
+            }
+            this.time[size] = millisOfDay;
+            this.price[size] = price;
+            this.priceChange[size] = priceChange;
+            this.volume[size] = volume;
+            this.side[size] = side;
+            this.accumulatedVolume[size] = accumulatedVolume;
+            this.accumulatedValue[size] = accumulatedValue;
+            size++;
+            return this;
+        }
+        
+        /**
+         * Appends a trade from the API model; missing numbers are stored as 0.
+         * 
+         * @throws IllegalArgumentException if the trade has no timestamp or belongs to another day
+         */
+        public Builder add(IntradayTrade trade) {
+            long epochMillis = trade.epochMillis();
+            if (epochMillis == Long.MIN_VALUE || Math.floorDiv(epochMillis, MILLIS_PER_DAY) != epochDay) {
+                throw new IllegalArgumentException(
+                    "Trade at '" + trade.timestamp() + "' is not on " + tradingDate);
+            }
+            return add(
+                Math.floorMod(epochMillis, MILLIS_PER_DAY),
+                trade.price() != null ? trade.price().intValue() : 0,
+                trade.priceChange() != null ? trade.priceChange().intValue() : 0,
+                trade.matchVolume() != null ? trade.matchVolume().intValue() : 0,
+                trade.isBuy() ? BUY : trade.isSell() ? SELL : NO_SIDE,
+                trade.accumulatedVolume() != null ? trade.accumulatedVolume() : 0,
+                trade.accumulatedValue() != null ? trade.accumulatedValue().longValue() : 0
+            );
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public TradeTape build() {
+            if (size == 0) {
+                return empty(symbol, tradingDate);
+            }
+            int[] order = order();
+            long[] buy = new long[(size + 63) >>> 6];
+            long[] sell = new long[buy.length];
+            for (int i = 0; i < size; i++) {
+                char s = side[order == null ? i : order[i]];
+                if (s == BUY) {
+                    buy[i >>> 6] |= 1L << i;
+                } else if (s == SELL) {
+                    sell[i >>> 6] |= 1L << i;
+                }
+            }
+            return new TradeTape(
+                symbol, tradingDate,
+                permute(time, order), permute(price, order), permute(priceChange, order), permute(volume, order),
+                buy, sell, permute(accumulatedVolume, order), permute(accumulatedValue, order),
+                0, size
+            );
+        }
+        
+        /**
+         * Sorting order by time then accumulated volume, or null if already in order.
+         */
+        private int[] order() {
+            boolean ascending = true;
+            boolean descending = true;
+            for (int i = 1; i < size && (ascending || descending); i++) {
+                int compare = compare(i - 1, i);
+                ascending &= compare <= 0;
+                descending &= compare >= 0;
+            }
+            if (ascending) {
+                return null;
+            }
+            int[] order = new int[size];
+            if (descending) {
+                for (int i = 0; i < size; i++) {
+                    order[i] = size - 1 - i;
+                }
+                return order;
+            }
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, this::compare);
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
+            return order;
+        }
+        
+        private int compare(int a, int b) {
+            int compare = Integer.compare(time[a], time[b]);
+            return compare != 0 ? compare : Long.compare(accumulatedVolume[a], accumulatedVolume[b]);
+        }
+        
+        private int[] permute(int[] column, int[] order) {
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = column[order == null ? i : order[i]];
+            }
+            return sorted;
+        }
+        
+        private long[] permute(long[] column, int[] order) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = column[order == null ? i : order[i]];
+            }
+            return sorted;
+        }
+        
+        private void grow() {
+            int capacity = time.length + (time.length >> 1);
+            time = Arrays.copyOf(time, capacity);
+            price = Arrays.copyOf(price, capacity);
+            priceChange = Arrays.copyOf(priceChange, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            side = Arrays.copyOf(side, capacity);
+            accumulatedVolume = Arrays.copyOf(accumulatedVolume, capacity);
+            accumulatedValue = Arrays.copyOf(accumulatedValue, capacity);
+        }
+    }
+}
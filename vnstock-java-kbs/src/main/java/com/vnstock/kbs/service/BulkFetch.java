@@ -0,0 +1,152 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.CancellableFuture;
+import com.vnstock.kbs.client.KbsFutures;
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.BulkResult;
+import com.vnstock.kbs.model.SymbolResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs one request per symbol with at most {@code maxConcurrent} in flight,
+ * collecting each symbol's value or failure.
+ * 
+ * Unlike {@link HistoryRangePlanner#fetchAll}, a failure only fails its own
+ * symbol; the next symbol is started as soon as any request completes. The
+ * result never completes exceptionally. Cancelling it cancels the requests in
+ * flight and starts no more.
+ */
+final class BulkFetch<T> {
+    
+    private final List<String> symbols;
+    private final Function<String, CompletableFuture<T>> fetch;
+    private final Consumer<SymbolResult<T>> listener;
+    private final AtomicReferenceArray<CompletableFuture<T>> requests;
+    private final AtomicReferenceArray<SymbolResult<T>> results;
+    private final AtomicInteger next = new AtomicInteger();
+    /** Launches requested but not yet run; the caller that raises it from 0 runs them all. */
+    private final AtomicInteger pendingLaunches = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CancellableFuture<BulkResult<T>> result = new CancellableFuture<>(this::cancelAll);
+    
+    private BulkFetch(
+        List<String> symbols,
+        Function<String, CompletableFuture<T>> fetch,
+        Consumer<SymbolResult<T>> listener
+    ) {
+        this.symbols = symbols;
+        this.fetch = fetch;
+        this.listener = listener;
+        this.requests = new AtomicReferenceArray<>(symbols.size());
+        this.results = new AtomicReferenceArray<>(symbols.size());
+        this.remaining = new AtomicInteger(symbols.size());
+    }
+    
+    /**
+     * Starts the requests.
+     * 
+     * @param listener Receives each symbol's result as it completes, on the completing thread
+     * @return Future completing with the results in the order of {@code symbols}
+     */
+    static <T> CompletableFuture<BulkResult<T>> fetchAll(
+        List<String> symbols,
+        int maxConcurrent,
+        Function<String, CompletableFuture<T>> fetch,
+        Consumer<SymbolResult<T>> listener
+    ) {
+        BulkFetch<T> bulk = new BulkFetch<>(symbols, fetch, listener);
+        if (symbols.isEmpty()) {
+            bulk.result.complete(new BulkResult<>(List.of()));
+        }
+        for (int i = 0; i < Math.min(maxConcurrent, symbols.size()); i++) {
+            bulk.launchNext();
+        }
+        return bulk.result;
+    }
+    
+    /**
+     * Starts the next symbol, or leaves it to the loop already starting symbols.
+     * 
+     * Requests that complete at once, such as symbols served from a bar store,
+     * call back into this method from {@code whenComplete}; the loop keeps the
+     * stack flat however many symbols complete that way.
+     */
+    private void launchNext() {
+        if (pendingLaunches.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            launch();
+        } while (pendingLaunches.decrementAndGet() != 0);
+    }
+    
+    private void launch() {
+        int index = next.getAndIncrement();
+        if (index >= symbols.size() || result.isDone()) {
+            return;
+        }
+        
+        String symbol = symbols.get(index);
+        CompletableFuture<T> request;
+        try {
+            request = fetch.apply(symbol);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        requests.set(index, request);
+        if (result.isDone()) {
+            // Cancelled while this request was being created
+            request.cancel(true);
+            return;
+        }
+        
+        request.whenComplete((value, error) -> {
+            SymbolResult<T> outcome = error == null
+                ? SymbolResult.success(symbol, value)
+                : SymbolResult.failure(symbol, toKbsApiException(symbol, error));
+            results.set(index, outcome);
+            listener.accept(outcome);
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            } else {
+                launchNext();
+            }
+        });
+    }
+    
+    private void complete() {
+        List<SymbolResult<T>> ordered = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); i++) {
+            ordered.add(results.get(i));
+        }
+        result.complete(new BulkResult<>(ordered));
+    }
+    
+    private void cancelAll() {
+        for (int i = 0; i < requests.length(); i++) {
+            CompletableFuture<T> request = requests.get(i);
+            if (request != null) {
+                request.cancel(true);
+            }
+        }
+    }
+    
+    private static KbsApiException toKbsApiException(String symbol, Throwable error) {
+        Throwable cause = KbsFutures.unwrap(error);
+        if (cause instanceof KbsApiException kbsException) {
+            return kbsException;
+        }
+        if (cause instanceof CancellationException) {
+            return new KbsApiException("Request cancelled for " + symbol, cause);
+        }
+        return new KbsApiException("Request failed for " + symbol + ": " + cause.getMessage(), cause);
+    }
+}
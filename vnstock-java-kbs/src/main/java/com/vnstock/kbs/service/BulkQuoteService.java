@@ -0,0 +1,205 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.KbsFutures;
+import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.BulkResult;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.PriceSeries;
+import com.vnstock.kbs.model.SymbolResult;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Service for quote operations over many symbols at once, e.g. the VN100 basket.
+ * 
+ * Each symbol is a normal {@link QuoteService} call on the shared HTTP client,
+ * so retries, rate limits, chunking and the bar store apply per symbol. At most
+ * {@link KbsConfig#maxConcurrentSymbols()} symbols are fetched at a time. A
+ * failed symbol is reported in the result and does not fail the others.
+ */
+public class BulkQuoteService {
+    
+    private final KbsHttpClient httpClient;
+    private final KbsConfig config;
+    private final List<String> symbols;
+    
+    public BulkQuoteService(List<String> symbols, KbsHttpClient httpClient, KbsConfig config) {
+        Objects.requireNonNull(symbols, "symbols cannot be null");
+        // Upper case and without duplicates, keeping the requested order
+        Set<String> unique = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            unique.add(Objects.requireNonNull(symbol, "symbol cannot be null").toUpperCase());
+        }
+        this.symbols = List.copyOf(unique);
+        this.httpClient = httpClient;
+        this.config = config;
+    }
+    
+    /**
+     * The requested symbols, upper case and without duplicates.
+     */
+    public List<String> symbols() {
+        return symbols;
+    }
+    
+    /**
+     * Get historical price data for every symbol.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Bars or failure per symbol, in request order
+     */
+    public BulkResult<List<HistoricalPrice>> getHistory(LocalDate start, LocalDate end, String interval) {
+        return KbsFutures.join(getHistoryAsync(start, end, interval));
+    }
+    
+    /**
+     * Get historical price data for every symbol without blocking the calling thread.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Future completing once every symbol has succeeded or failed; cancelling it cancels the requests in flight
+     */
+    public CompletableFuture<BulkResult<List<HistoricalPrice>>> getHistoryAsync(
+        LocalDate start,
+        LocalDate end,
+        String interval
+    ) {
+        return fetchAll(symbol -> quote(symbol).getHistoryAsync(start, end, interval), result -> { });
+    }
+    
+    /**
+     * Get historical price data for every symbol as columnar, fixed-point series.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Bars or failure per symbol, in request order
+     */
+    public BulkResult<PriceSeries> getHistorySeries(LocalDate start, LocalDate end, String interval) {
+        return KbsFutures.join(getHistorySeriesAsync(start, end, interval));
+    }
+    
+    /**
+     * Get historical price data for every symbol as columnar series without blocking the calling thread.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Future completing once every symbol has succeeded or failed; cancelling it cancels the requests in flight
+     */
+    public CompletableFuture<BulkResult<PriceSeries>> getHistorySeriesAsync(
+        LocalDate start,
+        LocalDate end,
+        String interval
+    ) {
+        return fetchAll(symbol -> quote(symbol).getHistorySeriesAsync(start, end, interval), result -> { });
+    }
+    
+    /**
+     * Stream the historical price data of each symbol as soon as it completes.
+     * 
+     * Nothing is requested until the stream is consumed. Results arrive in
+     * completion order, so a slow symbol does not hold back the others.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return One result per symbol; close the stream to cancel the remaining requests
+     */
+    public Stream<SymbolResult<List<HistoricalPrice>>> streamHistory(LocalDate start, LocalDate end, String interval) {
+        return stream(symbol -> quote(symbol).getHistoryAsync(start, end, interval));
+    }
+    
+    /**
+     * Stream the columnar historical price data of each symbol as soon as it completes.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return One result per symbol; close the stream to cancel the remaining requests
+     * @see #streamHistory
+     */
+    public Stream<SymbolResult<PriceSeries>> streamHistorySeries(LocalDate start, LocalDate end, String interval) {
+        return stream(symbol -> quote(symbol).getHistorySeriesAsync(start, end, interval));
+    }
+    
+    private QuoteService quote(String symbol) {
+        return new QuoteService(symbol, httpClient, config);
+    }
+    
+    private <T> CompletableFuture<BulkResult<T>> fetchAll(
+        Function<String, CompletableFuture<T>> fetch,
+        Consumer<SymbolResult<T>> listener
+    ) {
+        return BulkFetch.fetchAll(symbols, config.maxConcurrentSymbols(), fetch, listener);
+    }
+    
+    private <T> Stream<SymbolResult<T>> stream(Function<String, CompletableFuture<T>> fetch) {
+        CompletionIterator<T> results = new CompletionIterator<>(fetch);
+        return StreamSupport.stream(
+                Spliterators.spliterator(results, symbols.size(), Spliterator.NONNULL),
+                false
+            )
+            .onClose(results::close);
+    }
+    
+    /**
+     * Hands out results as they complete, starting the requests on the first {@link #hasNext()}.
+     */
+    private final class CompletionIterator<T> implements Iterator<SymbolResult<T>> {
+        
+        private final Function<String, CompletableFuture<T>> fetch;
+        private final BlockingQueue<SymbolResult<T>> completed = new LinkedBlockingQueue<>();
+        private CompletableFuture<BulkResult<T>> all;
+        private int taken;
+        private boolean closed;
+        
+        CompletionIterator(Function<String, CompletableFuture<T>> fetch) {
+            this.fetch = fetch;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (all == null && !closed) {
+                all = fetchAll(fetch, completed::add);
+            }
+            return !closed && taken < symbols.size();
+        }
+        
+        @Override
+        public SymbolResult<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                SymbolResult<T> result = completed.take();
+                taken++;
+                return result;
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new KbsApiException("Request interrupted", e);
+            }
+        }
+        
+        void close() {
+            closed = true;
+            if (all != null) {
+                all.cancel(true);
+            }
+        }
+    }
+}
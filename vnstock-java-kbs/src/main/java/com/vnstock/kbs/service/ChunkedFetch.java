@@ -0,0 +1,103 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.CancellableFuture;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Fetches the chunks of one call, such as history date windows or price board
+ * symbol groups, with bounded concurrency.
+ * 
+ * The results keep the order of the chunks. The first failure fails the whole
+ * call and cancels the other requests, as does cancelling the returned future.
+ */
+final class ChunkedFetch<C, T> {
+    
+    private final List<C> chunks;
+    private final Function<C, CompletableFuture<T>> fetch;
+    private final AtomicReferenceArray<CompletableFuture<T>> requests;
+    private final Object[] results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CancellableFuture<List<T>> result = new CancellableFuture<>(this::cancelAll);
+    
+    private ChunkedFetch(List<C> chunks, Function<C, CompletableFuture<T>> fetch) {
+        this.chunks = chunks;
+        this.fetch = fetch;
+        this.requests = new AtomicReferenceArray<>(chunks.size());
+        this.results = new Object[chunks.size()];
+        this.remaining = new AtomicInteger(chunks.size());
+        if (chunks.isEmpty()) {
+            result.complete(List.of());
+        }
+    }
+    
+    /**
+     * Fetches every chunk with at most {@code maxConcurrent} requests in flight.
+     */
+    static <C, T> CompletableFuture<List<T>> fetchAll(
+        List<C> chunks,
+        int maxConcurrent,
+        Function<C, CompletableFuture<T>> fetch
+    ) {
+        ChunkedFetch<C, T> chunked = new ChunkedFetch<>(chunks, fetch);
+        for (int i = 0; i < Math.min(maxConcurrent, chunks.size()); i++) {
+            chunked.launchNext();
+        }
+        return chunked.result;
+    }
+    
+    private void launchNext() {
+        int index = next.getAndIncrement();
+        if (index >= chunks.size() || result.isDone()) {
+            return;
+        }
+        
+        CompletableFuture<T> request;
+        try {
+            request = fetch.apply(chunks.get(index));
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        requests.set(index, request);
+        if (result.isDone()) {
+            // Failed or cancelled while this request was being created
+            request.cancel(true);
+            return;
+        }
+        
+        request.whenComplete((value, error) -> {
+            if (error != null) {
+                if (result.completeExceptionally(error)) {
+                    cancelAll();
+                }
+                return;
+            }
+            results[index] = value;
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            } else {
+                launchNext();
+            }
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void complete() {
+        result.complete((List<T>) Arrays.asList(results));
+    }
+    
+    private void cancelAll() {
+        for (int i = 0; i < requests.length(); i++) {
+            CompletableFuture<T> request = requests.get(i);
+            if (request != null) {
+                request.cancel(true);
+            }
+        }
+    }
+}
@@ -2,16 +2,17 @@ package com.vnstock.kbs.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.client.KbsFutures;
 import com.vnstock.kbs.client.KbsHttpClient;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.config.KbsConstants;
-import com.vnstock.kbs.exception.KbsApiException;
 import com.vnstock.kbs.model.CompanyProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for company information operations.
@@ -44,15 +45,21 @@ public class CompanyService {
      * Get company overview/profile.
      */
     public CompanyProfile getOverview() {
+        return KbsFutures.join(getOverviewAsync());
+    }
+    
+    /**
+     * Get company overview/profile without blocking the calling thread.
+     */
+    public CompletableFuture<CompanyProfile> getOverviewAsync() {
         String url = config.baseUrlIis() + "/stockinfo/profile/" + symbol;
         Map<String, String> params = Map.of("l", String.valueOf(config.language()));
         
-        try {
-            return httpClient.get(url, params, CompanyProfile.class);
-        } catch (Exception e) {
-            logger.error("Failed to get company profile for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve company profile for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, CompanyProfile.class),
+            logger,
+            "Failed to retrieve company profile for " + symbol
+        );
     }
     
     /**
@@ -100,6 +107,13 @@ public class CompanyService {
      * Get company events.
      */
     public List<Event> getEvents(Integer eventType, int page, int pageSize) {
+        return KbsFutures.join(getEventsAsync(eventType, page, pageSize));
+    }
+    
+    /**
+     * Get company events without blocking the calling thread.
+     */
+    public CompletableFuture<List<Event>> getEventsAsync(Integer eventType, int page, int pageSize) {
         String url = config.baseUrlIis() + "/stockinfo/event/" + symbol;
         Map<String, String> params = new java.util.HashMap<>(Map.of(
             "l", String.valueOf(config.language()),
@@ -111,18 +125,24 @@ public class CompanyService {
             params.put("eID", String.valueOf(eventType));
         }
         
-        try {
-            return httpClient.get(url, params, new TypeReference<List<Event>>() {});
-        } catch (Exception e) {
-            logger.error("Failed to get events for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve events for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, new TypeReference<List<Event>>() {}),
+            logger,
+            "Failed to retrieve events for " + symbol
+        );
     }
     
     /**
      * Get company news.
      */
     public List<NewsItem> getNews(int page, int pageSize) {
+        return KbsFutures.join(getNewsAsync(page, pageSize));
+    }
+    
+    /**
+     * Get company news without blocking the calling thread.
+     */
+    public CompletableFuture<List<NewsItem>> getNewsAsync(int page, int pageSize) {
         String url = config.baseUrlIis() + "/stockinfo/news/" + symbol;
         Map<String, String> params = Map.of(
             "l", String.valueOf(config.language()),
@@ -130,18 +150,24 @@ public class CompanyService {
             "s", String.valueOf(pageSize)
         );
         
-        try {
-            return httpClient.get(url, params, new TypeReference<List<NewsItem>>() {});
-        } catch (Exception e) {
-            logger.error("Failed to get news for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve news for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, new TypeReference<List<NewsItem>>() {}),
+            logger,
+            "Failed to retrieve news for " + symbol
+        );
     }
     
     /**
      * Get insider trading reports.
      */
     public List<InsiderTrade> getInsiderTrading(int page, int pageSize) {
+        return KbsFutures.join(getInsiderTradingAsync(page, pageSize));
+    }
+    
+    /**
+     * Get insider trading reports without blocking the calling thread.
+     */
+    public CompletableFuture<List<InsiderTrade>> getInsiderTradingAsync(int page, int pageSize) {
         String url = config.baseUrlIis() + "/stockinfo/news/internal-trading/" + symbol;
         Map<String, String> params = Map.of(
             "l", String.valueOf(config.language()),
@@ -149,12 +175,11 @@ public class CompanyService {
             "s", String.valueOf(pageSize)
         );
         
-        try {
-            return httpClient.get(url, params, new TypeReference<List<InsiderTrade>>() {});
-        } catch (Exception e) {
-            logger.error("Failed to get insider trading for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve insider trading for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, new TypeReference<List<InsiderTrade>>() {}),
+            logger,
+            "Failed to retrieve insider trading for " + symbol
+        );
     }
     
     // Record classes for responses
@@ -1,15 +1,19 @@
 package com.vnstock.kbs.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.vnstock.kbs.client.KbsFutures;
 import com.vnstock.kbs.client.KbsHttpClient;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.config.KbsConstants;
+import com.vnstock.kbs.client.KbsEndpoint;
 import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.jfr.ParseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for financial data operations.
@@ -47,6 +51,15 @@ public class FinanceService {
         return fetchFinancialData("KQKD", period);
     }
     
+    /**
+     * Get income statement without blocking the calling thread.
+     * 
+     * @param period "year" or "quarter"
+     */
+    public CompletableFuture<FinancialReport> getIncomeStatementAsync(String period) {
+        return fetchFinancialDataAsync("KQKD", period);
+    }
+    
     /**
      * Get balance sheet.
      * 
@@ -56,6 +69,15 @@ public class FinanceService {
         return fetchFinancialData("CDKT", period);
     }
     
+    /**
+     * Get balance sheet without blocking the calling thread.
+     * 
+     * @param period "year" or "quarter"
+     */
+    public CompletableFuture<FinancialReport> getBalanceSheetAsync(String period) {
+        return fetchFinancialDataAsync("CDKT", period);
+    }
+    
     /**
      * Get cash flow statement.
      * 
@@ -65,6 +87,15 @@ public class FinanceService {
         return fetchFinancialData("LCTT", period);
     }
     
+    /**
+     * Get cash flow statement without blocking the calling thread.
+     * 
+     * @param period "year" or "quarter"
+     */
+    public CompletableFuture<FinancialReport> getCashFlowAsync(String period) {
+        return fetchFinancialDataAsync("LCTT", period);
+    }
+    
     /**
      * Get financial ratios.
      * 
@@ -74,7 +105,20 @@ public class FinanceService {
         return fetchFinancialData("CSTC", period);
     }
     
+    /**
+     * Get financial ratios without blocking the calling thread.
+     * 
+     * @param period "year" or "quarter"
+     */
+    public CompletableFuture<FinancialReport> getRatiosAsync(String period) {
+        return fetchFinancialDataAsync("CSTC", period);
+    }
+    
     private FinancialReport fetchFinancialData(String reportType, String period) {
+        return KbsFutures.join(fetchFinancialDataAsync(reportType, period));
+    }
+    
+    private CompletableFuture<FinancialReport> fetchFinancialDataAsync(String reportType, String period) {
         int termType = "year".equalsIgnoreCase(period) ? 1 : 2;
         String url = config.baseUrlSas() + "/kbsv-stock-data-store/stock/finance-info/" + symbol;
         
@@ -93,22 +137,23 @@ public class FinanceService {
             params.put("languageid", String.valueOf(config.language()));
         }
         
-        try {
-            FinancialResponse response = httpClient.get(url, params, FinancialResponse.class);
-            
-            if (response == null) {
-                throw new KbsApiException("Empty response for financial data");
-            }
-            
-            return parseFinancialResponse(response, reportType);
-            
-        } catch (Exception e) {
-            logger.error("Failed to get financial data for {}: {}", symbol, reportType, e);
-            throw new KbsApiException("Failed to retrieve financial data for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, FinancialResponse.class)
+                .thenApply(response -> {
+                    if (response == null) {
+                        throw new KbsApiException("Empty response for financial data");
+                    }
+                    return parseFinancialResponse(response, reportType);
+                }),
+            logger,
+            "Failed to retrieve financial data for " + symbol
+        );
     }
     
     private FinancialReport parseFinancialResponse(FinancialResponse response, String reportType) {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        
         List<String> periods = new ArrayList<>();
         if (response.head != null) {
             for (HeadInfo head : response.head) {
@@ -135,6 +180,15 @@ public class FinanceService {
             items = List.of();
         }
         
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "FinanceService.parseFinancialResponse";
+            event.endpoint = KbsEndpoint.FINANCE_INFO.name();
+            event.symbol = symbol;
+            event.records = items.size();
+            event.commit();
+        }
+        
         return new FinancialReport(
             symbol,
             reportType,
@@ -0,0 +1,214 @@
+package com.vnstock.kbs.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vnstock.kbs.client.KbsEndpoint;
+import com.vnstock.kbs.client.ResponseDecoder;
+import com.vnstock.kbs.jfr.ParseEvent;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Token-streaming decoder for the history endpoints.
+ * 
+ * Reads only the {@code data_<suffix>} array of the requested interval and
+ * skips every other field. Bars go straight from the parser into a sink:
+ * timestamps are parsed from the fixed {@code yyyy-MM-dd HH:mm} layout by
+ * character arithmetic, and prices are read as primitive longs, so no
+ * per-bar DTOs, strings or formatters are involved.
+ */
+final class HistoryDecoder {
+    
+    private static final int TIME_LENGTH = "yyyy-MM-dd HH:mm".length();
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    
+    private HistoryDecoder() {
+        // Prevent instantiation
+    }
+    
+    /**
+     * Receives decoded bars in response order, prices in raw KBS ticks.
+     */
+    @FunctionalInterface
+    interface BarSink {
+        void add(long epochMinute, long open, long high, long low, long close, long volume);
+    }
+    
+    /**
+     * Decodes into a {@link PriceSeries}. A record, so identical requests still coalesce.
+     */
+    record Series(String field, KbsEndpoint endpoint, String symbol, String interval)
+            implements ResponseDecoder<PriceSeries> {
+        
+        @Override
+        public PriceSeries decode(JsonParser parser) throws IOException {
+            ParseEvent event = new ParseEvent();
+            event.begin();
+            PriceSeries.Builder series = PriceSeries.builder(symbol, interval, 256);
+            readBars(parser, field, series::add);
+            PriceSeries prices = series.build();
+            commit(event, parser, endpoint, symbol, prices.size());
+            return prices;
+        }
+    }
+    
+    /**
+     * Decodes into {@link HistoricalPrice} records ordered by time, like {@link Series}.
+     */
+    record Bars(String field, KbsEndpoint endpoint, String symbol)
+            implements ResponseDecoder<List<HistoricalPrice>> {
+        
+        @Override
+        public List<HistoricalPrice> decode(JsonParser parser) throws IOException {
+            ParseEvent event = new ParseEvent();
+            event.begin();
+            List<HistoricalPrice> prices = new ArrayList<>(256);
+            readBars(parser, field, (epochMinute, open, high, low, close, volume) -> prices.add(
+                HistoricalPrice.fromRaw(PriceSeries.fromEpochMinute(epochMinute), open, high, low, close, volume)
+            ));
+            // Linear for input that is already sorted or newest-first, as KBS sends it
+            prices.sort(Comparator.comparing(HistoricalPrice::time));
+            commit(event, parser, endpoint, symbol, prices.size());
+            return Collections.unmodifiableList(prices);
+        }
+    }
+    
+    /**
+     * Streams the bars of {@code field} into {@code sink}; a missing field or null body yields nothing.
+     */
+    static void readBars(JsonParser parser, String field, BarSink sink) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a history object but found " + token);
+        }
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY && field.equals(name)) {
+                readArray(parser, sink);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+    
+    private static void readArray(JsonParser parser, BarSink sink) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                readBar(parser, sink);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+    
+    private static void readBar(JsonParser parser, BarSink sink) throws IOException {
+        long epochMinute = Long.MIN_VALUE;
+        long open = 0;
+        long high = 0;
+        long low = 0;
+        long close = 0;
+        long volume = 0;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "t" -> epochMinute = parseEpochMinute(parser);
+                case "o" -> open = parser.getValueAsLong();
+                case "h" -> high = parser.getValueAsLong();
+                case "l" -> low = parser.getValueAsLong();
+                case "c" -> close = parser.getValueAsLong();
+                case "v" -> volume = parser.getValueAsLong();
+                default -> parser.skipChildren();
+            }
+        }
+        
+        if (epochMinute == Long.MIN_VALUE) {
+            throw new JsonParseException(parser, "History bar without a time");
+        }
+        sink.add(epochMinute, open, high, low, close, volume);
+    }
+    
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm} from the parser's character buffer without creating a String.
+     */
+    static long parseEpochMinute(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Expected a bar time string but found " + parser.currentToken());
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (parser.getTextLength() != TIME_LENGTH
+                || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || chars[offset + 10] != ' ' || chars[offset + 13] != ':') {
+            throw invalidTime(parser);
+        }
+        
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw invalidTime(parser);
+        }
+        return epochDay(year, month, day) * MINUTES_PER_DAY + hour * 60L + minute;
+    }
+    
+    /**
+     * @return the decimal value of {@code count} digits, or -1 if any is not a digit
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date (H. Hinnant's days_from_civil).
+     */
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+    
+    private static JsonParseException invalidTime(JsonParser parser) throws IOException {
+        return new JsonParseException(parser, "Invalid bar time '" + parser.getText() + "', expected yyyy-MM-dd HH:mm");
+    }
+    
+    private static void commit(ParseEvent event, JsonParser parser, KbsEndpoint endpoint, String symbol, int records) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "QuoteService.decodeHistory";
+            event.endpoint = endpoint.name();
+            event.symbol = symbol;
+            event.records = records;
+            event.payloadBytes = parser.currentLocation().getByteOffset();
+            event.commit();
+        }
+    }
+}
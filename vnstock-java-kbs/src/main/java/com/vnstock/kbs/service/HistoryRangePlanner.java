@@ -0,0 +1,101 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.config.HistoryChunkingConfig;
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Splits long history ranges into consecutive date windows, fetches them with
+ * bounded concurrency and merges the results in time order.
+ */
+final class HistoryRangePlanner {
+    
+    private HistoryRangePlanner() {
+        // Prevent instantiation
+    }
+    
+    /**
+     * An inclusive {@code sdate}/{@code edate} window.
+     */
+    record DateRange(LocalDate start, LocalDate end) {}
+    
+    /**
+     * Upper bound of bars per trading day for an interval suffix, taking the
+     * 09:00-11:30 and 13:00-15:00 sessions; 0 for intervals that are never split.
+     */
+    static int barsPerTradingDay(String intervalSuffix) {
+        return switch (intervalSuffix) {
+            case "1P" -> 270;
+            case "5P" -> 54;
+            case "15P" -> 18;
+            case "30P" -> 9;
+            case "60P" -> 5;
+            case "day" -> 1;
+            default -> 0;
+        };
+    }
+    
+    /**
+     * Splits {@code [start, end]} into windows of at most {@code maxBarsPerChunk} bars.
+     * Windows are sized in calendar days, which over-counts weekends and holidays,
+     * so the bound holds. Returns a single window when no split is needed.
+     */
+    static List<DateRange> plan(LocalDate start, LocalDate end, String intervalSuffix, HistoryChunkingConfig config) {
+        int barsPerDay = barsPerTradingDay(intervalSuffix);
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (!config.enabled() || barsPerDay == 0 || days * barsPerDay <= config.maxBarsPerChunk()) {
+            return List.of(new DateRange(start, end));
+        }
+        
+        int chunkDays = Math.max(1, config.maxBarsPerChunk() / barsPerDay);
+        List<DateRange> ranges = new ArrayList<>((int) (days / chunkDays) + 1);
+        for (LocalDate from = start; !from.isAfter(end); from = from.plusDays(chunkDays)) {
+            LocalDate to = from.plusDays(chunkDays - 1);
+            ranges.add(new DateRange(from, to.isAfter(end) ? end : to));
+        }
+        return ranges;
+    }
+    
+    /**
+     * Fetches every range with at most {@code maxConcurrent} requests in flight.
+     * 
+     * The results keep the order of {@code ranges}. The first failure fails the
+     * whole call and cancels the other requests, as does cancelling the returned future.
+     */
+    static <T> CompletableFuture<List<T>> fetchAll(
+        List<DateRange> ranges,
+        int maxConcurrent,
+        Function<DateRange, CompletableFuture<T>> fetch
+    ) {
+        return ChunkedFetch.fetchAll(ranges, maxConcurrent, fetch);
+    }
+    
+    /**
+     * Concatenates consecutive chunks, dropping bars at or before the last merged
+     * bar, which happens when adjacent windows both return the boundary bar.
+     */
+    static PriceSeries merge(List<PriceSeries> chunks, String symbol, String interval) {
+        int total = 0;
+        for (PriceSeries chunk : chunks) {
+            total += chunk.size();
+        }
+        PriceSeries.Builder merged = PriceSeries.builder(symbol, interval, total);
+        long last = Long.MIN_VALUE;
+        for (PriceSeries chunk : chunks) {
+            for (int i = 0; i < chunk.size(); i++) {
+                long minute = chunk.epochMinute(i);
+                if (minute > last) {
+                    merged.add(minute, chunk.open(i), chunk.high(i), chunk.low(i), chunk.close(i), chunk.volume(i));
+                    last = minute;
+                }
+            }
+        }
+        return merged.build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.model.IntradayTrade;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Cursor over the intraday trades of one symbol that returns only the
+ * matches that arrived since the previous {@link #poll()}.
+ * 
+ * The cursor remembers the timestamp and accumulated volume ({@code AVO}) of
+ * the newest trade it has returned. A poll pages from the newest trades back
+ * until it reaches one at or before that position, so a quiet second costs a
+ * single page request. The first poll returns the whole session so far, with
+ * pages read ahead. Accumulated volume grows with every match of a session, so
+ * it tells apart trades stamped in the same millisecond. A trade that is not
+ * older than the one before it, such as one repeated because new matches
+ * shifted the pages during the poll, is skipped. A later trading day starts
+ * afresh.
+ * 
+ * Obtain a cursor from {@link QuoteService#tailIntraday()}. Polls of one cursor
+ * are serialized.
+ */
+public class IntradayTail {
+    
+    private final IntFunction<CompletableFuture<List<IntradayTrade>>> fetchPage;
+    private final int pageSize;
+    private final int readAhead;
+    private boolean started;
+    private long lastMillis = Long.MIN_VALUE;
+    private long lastVolume = Long.MIN_VALUE;
+    
+    IntradayTail(IntFunction<CompletableFuture<List<IntradayTrade>>> fetchPage, int pageSize, int readAhead) {
+        this.fetchPage = fetchPage;
+        this.pageSize = pageSize;
+        this.readAhead = readAhead;
+    }
+    
+    /**
+     * Fetches the trades that are newer than every trade returned so far.
+     * 
+     * @return New trades, oldest first; empty if nothing has matched since the last poll
+     */
+    public synchronized List<IntradayTrade> poll() {
+        List<IntradayTrade> fresh = new ArrayList<>();
+        // Each timestamp is parsed once; the API lists the newest trades first
+        long previousMillis = Long.MAX_VALUE;
+        long previousVolume = Long.MAX_VALUE;
+        long newestMillis = lastMillis;
+        long newestVolume = lastVolume;
+        
+        // Once caught up, new trades rarely fill more than the first page, so nothing is read ahead
+        try (PrefetchingPageIterator<IntradayTrade> trades =
+                new PrefetchingPageIterator<>(fetchPage, pageSize, started ? 0 : readAhead)) {
+            while (trades.hasNext()) {
+                IntradayTrade trade = trades.next();
+                long millis = trade.epochMillis();
+                long volume = accumulatedVolume(trade);
+                if (!isAfter(millis, volume, lastMillis, lastVolume)) {
+                    break;
+                }
+                // Matches arriving mid-poll shift the pages, so the end of one page comes back on the next
+                if (!isAfter(previousMillis, previousVolume, millis, volume)) {
+                    continue;
+                }
+                if (fresh.isEmpty()) {
+                    newestMillis = millis;
+                    newestVolume = volume;
+                }
+                fresh.add(trade);
+                previousMillis = millis;
+                previousVolume = volume;
+            }
+        }
+        started = true;
+        if (fresh.isEmpty()) {
+            return List.of();
+        }
+        Collections.reverse(fresh);
+        lastMillis = newestMillis;
+        lastVolume = newestVolume;
+        return fresh;
+    }
+    
+    /**
+     * Whether the trade at {@code (millis, volume)} came after the one at {@code (otherMillis, otherVolume)}.
+     */
+    private static boolean isAfter(long millis, long volume, long otherMillis, long otherVolume) {
+        return millis > otherMillis || (millis == otherMillis && volume > otherVolume);
+    }
+    
+    private static long accumulatedVolume(IntradayTrade trade) {
+        return trade.accumulatedVolume() != null ? trade.accumulatedVolume() : Long.MIN_VALUE;
+    }
+}
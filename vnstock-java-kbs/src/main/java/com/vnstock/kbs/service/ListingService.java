@@ -1,6 +1,7 @@
 package com.vnstock.kbs.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.client.KbsFutures;
 import com.vnstock.kbs.client.KbsHttpClient;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.config.KbsConstants;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -42,28 +44,32 @@ public class ListingService {
      * @return List of all stock symbols
      */
     public List<StockSymbol> getAllSymbols() {
+        return KbsFutures.join(getAllSymbolsAsync());
+    }
+    
+    /**
+     * Get all stock symbols without blocking the calling thread.
+     * 
+     * @return Future completing with all stock symbols
+     */
+    public CompletableFuture<List<StockSymbol>> getAllSymbolsAsync() {
         String url = config.baseUrlIis() + "/stock/search/data";
         
-        try {
-            List<StockSymbol> symbols = httpClient.get(
-                url, 
-                Map.of(),
-                new TypeReference<List<StockSymbol>>() {}
-            );
-            
-            if (symbols == null) {
-                return List.of();
-            }
-            
-            // Filter only stocks
-            return symbols.stream()
-                .filter(s -> "stock".equalsIgnoreCase(s.type()))
-                .collect(Collectors.toList());
-                
-        } catch (Exception e) {
-            logger.error("Failed to get all symbols", e);
-            throw new KbsApiException("Failed to retrieve stock symbols", e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, Map.of(), new TypeReference<List<StockSymbol>>() {})
+                .thenApply(symbols -> {
+                    if (symbols == null) {
+                        return List.<StockSymbol>of();
+                    }
+                    
+                    // Filter only stocks
+                    return symbols.stream()
+                        .filter(s -> "stock".equalsIgnoreCase(s.type()))
+                        .collect(Collectors.toList());
+                }),
+            logger,
+            "Failed to retrieve stock symbols"
+        );
     }
     
     /**
@@ -83,6 +89,16 @@ public class ListingService {
      * @return List of symbols in the group
      */
     public List<String> getSymbolsByGroup(String group) {
+        return KbsFutures.join(getSymbolsByGroupAsync(group));
+    }
+    
+    /**
+     * Get symbols by group/index without blocking the calling thread.
+     * 
+     * @param group Group name (e.g., "VN30", "HOSE", "ETF")
+     * @return Future completing with the symbols in the group
+     */
+    public CompletableFuture<List<String>> getSymbolsByGroupAsync(String group) {
         String groupCode = KbsConstants.GROUP_CODES.get(group);
         if (groupCode == null) {
             throw new KbsApiException("Invalid group: " + group + 
@@ -91,19 +107,14 @@ public class ListingService {
         
         String url = config.baseUrlIis() + "/index/" + groupCode + "/stocks";
         
-        try {
-            GroupResponse response = httpClient.get(url, Map.of(), GroupResponse.class);
-            
-            if (response == null || response.data == null) {
-                return List.of();
-            }
-            
-            return response.data;
-            
-        } catch (Exception e) {
-            logger.error("Failed to get symbols for group: {}", group, e);
-            throw new KbsApiException("Failed to retrieve symbols for group: " + group, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, Map.of(), GroupResponse.class)
+                .thenApply(response -> response == null || response.data == null
+                    ? List.<String>of()
+                    : response.data),
+            logger,
+            "Failed to retrieve symbols for group: " + group
+        );
     }
     
     /**
@@ -138,21 +149,23 @@ public class ListingService {
      * @return List of industries with codes and names
      */
     public List<IndustryInfo> getAllIndustries() {
+        return KbsFutures.join(getAllIndustriesAsync());
+    }
+    
+    /**
+     * Get all industries without blocking the calling thread.
+     * 
+     * @return Future completing with the industries
+     */
+    public CompletableFuture<List<IndustryInfo>> getAllIndustriesAsync() {
         String url = config.baseUrlIis() + "/sector/all";
         
-        try {
-            List<IndustryInfo> industries = httpClient.get(
-                url, 
-                Map.of(),
-                new TypeReference<List<IndustryInfo>>() {}
-            );
-            
-            return industries != null ? industries : List.of();
-            
-        } catch (Exception e) {
-            logger.error("Failed to get industries", e);
-            throw new KbsApiException("Failed to retrieve industries", e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, Map.of(), new TypeReference<List<IndustryInfo>>() {})
+                .thenApply(industries -> industries != null ? industries : List.<IndustryInfo>of()),
+            logger,
+            "Failed to retrieve industries"
+        );
     }
     
     /**
@@ -162,25 +175,30 @@ public class ListingService {
      * @return List of symbols in the industry
      */
     public List<IndustryStock> getSymbolsByIndustry(int industryCode) {
+        return KbsFutures.join(getSymbolsByIndustryAsync(industryCode));
+    }
+    
+    /**
+     * Get symbols by industry code without blocking the calling thread.
+     * 
+     * @param industryCode Industry code
+     * @return Future completing with the symbols in the industry
+     */
+    public CompletableFuture<List<IndustryStock>> getSymbolsByIndustryAsync(int industryCode) {
         String url = config.baseUrlIis() + "/sector/stock";
         Map<String, String> params = Map.of(
             "code", String.valueOf(industryCode),
             "l", String.valueOf(config.language())
         );
         
-        try {
-            IndustryResponse response = httpClient.get(url, params, IndustryResponse.class);
-            
-            if (response == null || response.stocks == null) {
-                return List.of();
-            }
-            
-            return response.stocks;
-            
-        } catch (Exception e) {
-            logger.error("Failed to get symbols for industry: {}", industryCode, e);
-            throw new KbsApiException("Failed to retrieve symbols for industry: " + industryCode, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, IndustryResponse.class)
+                .thenApply(response -> response == null || response.stocks == null
+                    ? List.<IndustryStock>of()
+                    : response.stocks),
+            logger,
+            "Failed to retrieve symbols for industry: " + industryCode
+        );
     }
     
     /**
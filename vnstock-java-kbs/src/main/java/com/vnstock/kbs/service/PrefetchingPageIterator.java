@@ -0,0 +1,103 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.KbsFutures;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Iterates the items of numbered pages, keeping up to {@code readAhead} page
+ * requests in flight ahead of the consumer.
+ * 
+ * Pages are requested from 1 on, and iteration ends at the first page with fewer
+ * than {@code pageSize} items. At most {@code readAhead} pages plus the one
+ * being consumed are held at once, however many pages there are; with a
+ * {@code readAhead} of 0 each page is only requested once the previous one is
+ * used up. Nothing is requested before the first {@link #hasNext()}. Not thread-safe.
+ */
+final class PrefetchingPageIterator<T> implements Iterator<T>, AutoCloseable {
+    
+    private final IntFunction<CompletableFuture<List<T>>> fetchPage;
+    private final int pageSize;
+    private final int readAhead;
+    private final ArrayDeque<CompletableFuture<List<T>>> pending;
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextPage = 1;
+    private boolean exhausted;
+    
+    PrefetchingPageIterator(IntFunction<CompletableFuture<List<T>>> fetchPage, int pageSize, int readAhead) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (readAhead < 0) {
+            throw new IllegalArgumentException("readAhead must not be negative");
+        }
+        this.fetchPage = fetchPage;
+        this.pageSize = pageSize;
+        this.readAhead = readAhead;
+        this.pending = new ArrayDeque<>(Math.max(readAhead, 1));
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            fill(Math.max(readAhead, 1));
+            List<T> page;
+            try {
+                page = KbsFutures.join(pending.poll());
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (page.size() < pageSize) {
+                close();
+            } else {
+                // Keep the window full while the consumer works through this page
+                fill(readAhead);
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Stops iterating after the current page and cancels the requests still in flight.
+     */
+    @Override
+    public void close() {
+        exhausted = true;
+        CompletableFuture<List<T>> request;
+        while ((request = pending.poll()) != null) {
+            request.cancel(true);
+        }
+    }
+    
+    private void fill(int inFlight) {
+        while (pending.size() < inFlight) {
+            int page = nextPage++;
+            CompletableFuture<List<T>> request;
+            try {
+                request = fetchPage.apply(page);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            pending.add(request);
+        }
+    }
+}
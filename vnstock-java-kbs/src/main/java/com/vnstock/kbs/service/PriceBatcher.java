@@ -0,0 +1,93 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.model.PriceBoardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Merges single-symbol price requests made within a short window into one
+ * price board request and hands each caller its symbol's entry.
+ * 
+ * The first request of a window schedules the flush; requests arriving until
+ * then join the batch, and callers asking for the same symbol share its entry.
+ * A failed board request fails every caller of the batch.
+ */
+final class PriceBatcher {
+    
+    private final Function<List<String>, CompletableFuture<List<PriceBoardEntry>>> fetch;
+    private final Executor delayed;
+    
+    // Guarded by this; null while no window is open
+    private Map<String, List<CompletableFuture<PriceBoardEntry>>> pending;
+    
+    /**
+     * @param delayed Runs the flush once the window has passed
+     */
+    PriceBatcher(Function<List<String>, CompletableFuture<List<PriceBoardEntry>>> fetch, Executor delayed) {
+        this.fetch = fetch;
+        this.delayed = delayed;
+    }
+    
+    CompletableFuture<PriceBoardEntry> get(String symbol) {
+        String key = Objects.requireNonNull(symbol, "symbol cannot be null").toUpperCase();
+        CompletableFuture<PriceBoardEntry> result = new CompletableFuture<>();
+        boolean opened;
+        synchronized (this) {
+            opened = pending == null;
+            if (opened) {
+                pending = new LinkedHashMap<>();
+            }
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(result);
+        }
+        if (opened) {
+            delayed.execute(this::flush);
+        }
+        return result;
+    }
+    
+    private void flush() {
+        Map<String, List<CompletableFuture<PriceBoardEntry>>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = null;
+        }
+        if (batch == null) {
+            return;
+        }
+        
+        CompletableFuture<List<PriceBoardEntry>> request;
+        try {
+            request = fetch.apply(List.copyOf(batch.keySet()));
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        request.whenComplete((entries, error) -> {
+            if (error != null) {
+                for (List<CompletableFuture<PriceBoardEntry>> waiters : batch.values()) {
+                    waiters.forEach(waiter -> waiter.completeExceptionally(error));
+                }
+                return;
+            }
+            Map<String, PriceBoardEntry> bySymbol = new HashMap<>(batch.size() * 2);
+            if (entries != null) {
+                for (PriceBoardEntry entry : entries) {
+                    if (entry.symbol() != null) {
+                        bySymbol.putIfAbsent(entry.symbol().toUpperCase(), entry);
+                    }
+                }
+            }
+            batch.forEach((symbol, waiters) -> {
+                PriceBoardEntry entry = bySymbol.get(symbol);
+                waiters.forEach(waiter -> waiter.complete(entry));
+            });
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.config.PriceBoardChunkingConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits price board symbol lists into chunks and adapts the chunk size to the
+ * observed response latency.
+ * 
+ * After each response the size moves halfway towards the number of symbols the
+ * response would have held at {@code targetLatency}, at the observed time per
+ * symbol. A fixed per-request overhead only shifts that estimate, so the size
+ * settles where responses take about {@code targetLatency}.
+ */
+final class PriceBoardChunker {
+    
+    private final PriceBoardChunkingConfig config;
+    private final double targetNanos;
+    private final AtomicInteger chunkSize;
+    
+    PriceBoardChunker(PriceBoardChunkingConfig config) {
+        this.config = config;
+        this.targetNanos = config.targetLatency().toNanos();
+        this.chunkSize = new AtomicInteger(config.chunkSize());
+    }
+    
+    int chunkSize() {
+        return chunkSize.get();
+    }
+    
+    int maxConcurrentChunks() {
+        return config.maxConcurrentChunks();
+    }
+    
+    /**
+     * Splits {@code symbols} into consecutive chunks of about equal size, none
+     * above the current chunk size. Returns a single chunk when chunking is
+     * disabled or no split is needed.
+     */
+    List<List<String>> split(List<String> symbols) {
+        int size = chunkSize.get();
+        int n = symbols.size();
+        if (!config.enabled() || n <= size) {
+            return List.of(symbols);
+        }
+        
+        int count = (n + size - 1) / size;
+        List<List<String>> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            chunks.add(symbols.subList((int) ((long) i * n / count), (int) ((long) (i + 1) * n / count)));
+        }
+        return chunks;
+    }
+    
+    /**
+     * Records the latency of a successful response for {@code symbols} symbols.
+     */
+    void record(int symbols, long latencyNanos) {
+        // A request far below the minimum says more about the fixed overhead than the per-symbol cost
+        if (!config.enabled() || !config.adaptive() || latencyNanos <= 0 || symbols < config.minChunkSize()) {
+            return;
+        }
+        double ideal = symbols * targetNanos / latencyNanos;
+        chunkSize.updateAndGet(size -> clamp(Math.round((size + ideal) / 2)));
+    }
+    
+    private int clamp(long size) {
+        return (int) Math.max(config.minChunkSize(), Math.min(config.maxChunkSize(), size));
+    }
+}
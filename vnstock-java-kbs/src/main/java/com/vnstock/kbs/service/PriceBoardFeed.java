@@ -0,0 +1,224 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.KbsFutures;
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.PriceBoardDelta;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import com.vnstock.kbs.model.PriceBoardField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Polls the price board for the union of all subscribed symbols and fans the
+ * changes out to the subscribers.
+ * 
+ * One request per interval serves any number of subscriptions. The next poll
+ * is scheduled when the previous one completes, so slow responses never
+ * overlap. Each entry is compared field by field with the symbol's previous
+ * entry; an unchanged symbol costs no allocation and notifies nobody, and a
+ * changed one allocates a single {@link PriceBoardDelta} shared by its
+ * subscribers. The polling thread only runs while there are subscriptions.
+ */
+final class PriceBoardFeed {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PriceBoardFeed.class);
+    
+    private final Function<List<String>, CompletableFuture<List<PriceBoardEntry>>> fetch;
+    private final long intervalNanos;
+    private final List<PriceBoardSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    
+    // Guarded by this
+    private ScheduledExecutorService scheduler;
+    private CompletableFuture<List<PriceBoardEntry>> inFlight;
+    
+    PriceBoardFeed(Function<List<String>, CompletableFuture<List<PriceBoardEntry>>> fetch, Duration interval) {
+        this.fetch = Objects.requireNonNull(fetch, "fetch cannot be null");
+        this.intervalNanos = Objects.requireNonNull(interval, "interval cannot be null").toNanos();
+    }
+    
+    PriceBoardSubscription subscribe(List<String> symbols, PriceBoardListener listener) {
+        Objects.requireNonNull(symbols, "symbols cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        Set<String> unique = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            unique.add(Objects.requireNonNull(symbol, "symbol cannot be null").toUpperCase());
+        }
+        if (unique.isEmpty()) {
+            throw new KbsApiException("Symbols list cannot be empty");
+        }
+        
+        PriceBoardSubscription subscription =
+            new PriceBoardSubscription(this, Collections.unmodifiableSet(unique), listener);
+        synchronized (this) {
+            subscriptions.add(subscription);
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "kbs-price-board");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                ScheduledExecutorService owner = scheduler;
+                // Previous entry per symbol, owned by this chain so a stopped chain's last poll cannot race a new one
+                Map<String, PriceBoardEntry> latest = new HashMap<>();
+                owner.execute(() -> poll(owner, latest));
+            }
+        }
+        return subscription;
+    }
+    
+    synchronized void remove(PriceBoardSubscription subscription) {
+        subscriptions.remove(subscription);
+        if (subscriptions.isEmpty()) {
+            stop();
+        }
+    }
+    
+    /**
+     * Closes every subscription and stops polling.
+     */
+    synchronized void close() {
+        for (PriceBoardSubscription subscription : subscriptions) {
+            subscription.close();
+        }
+        stop();
+    }
+    
+    private synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+    
+    /**
+     * Runs one poll of the chain driven by {@code owner}; a stopped chain ends here.
+     */
+    private void poll(ScheduledExecutorService owner, Map<String, PriceBoardEntry> latest) {
+        List<PriceBoardSubscription> current = List.copyOf(subscriptions);
+        Set<String> symbols = new LinkedHashSet<>();
+        for (PriceBoardSubscription subscription : current) {
+            symbols.addAll(subscription.symbols());
+        }
+        if (symbols.isEmpty()) {
+            return;
+        }
+        
+        CompletableFuture<List<PriceBoardEntry>> request = fetchSafely(List.copyOf(symbols));
+        synchronized (this) {
+            if (scheduler != owner) {
+                // Stopped while the request was being created
+                request.cancel(true);
+                return;
+            }
+            inFlight = request;
+        }
+        
+        request.whenComplete((entries, error) -> {
+            synchronized (this) {
+                if (inFlight != request) {
+                    return;
+                }
+                inFlight = null;
+            }
+            if (error != null) {
+                notifyError(current, error);
+            } else {
+                dispatch(latest, current, symbols, entries != null ? entries : List.of());
+            }
+            scheduleNext(owner, latest);
+        });
+    }
+    
+    private CompletableFuture<List<PriceBoardEntry>> fetchSafely(List<String> symbols) {
+        try {
+            return fetch.apply(symbols);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private synchronized void scheduleNext(ScheduledExecutorService owner, Map<String, PriceBoardEntry> latest) {
+        if (scheduler == owner) {
+            owner.schedule(() -> poll(owner, latest), intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Diffs the entries of one poll against {@code latest} and notifies the subscribers
+     * that existed when it started.
+     */
+    static void dispatch(Map<String, PriceBoardEntry> latest, List<PriceBoardSubscription> current,
+            Set<String> polled, List<PriceBoardEntry> entries) {
+        for (PriceBoardEntry entry : entries) {
+            String symbol = entry.symbol();
+            if (symbol == null) {
+                continue;
+            }
+            PriceBoardEntry previous = latest.put(symbol, entry);
+            long changes = previous == null ? 0 : PriceBoardField.diff(previous, entry);
+            PriceBoardDelta delta = null;
+            PriceBoardDelta snapshot = null;
+            for (int i = 0; i < current.size(); i++) {
+                PriceBoardSubscription subscription = current.get(i);
+                if (subscription.isClosed() || !subscription.symbols().contains(symbol)) {
+                    continue;
+                }
+                if (!subscription.primed || previous == null) {
+                    if (snapshot == null) {
+                        snapshot = new PriceBoardDelta(null, entry, PriceBoardField.present(entry));
+                    }
+                    deliver(subscription, snapshot);
+                } else if (changes != 0) {
+                    if (delta == null) {
+                        delta = new PriceBoardDelta(previous, entry, changes);
+                    }
+                    deliver(subscription, delta);
+                }
+            }
+        }
+        for (PriceBoardSubscription subscription : current) {
+            subscription.primed = true;
+        }
+        // Forget symbols nobody subscribes to any more
+        latest.keySet().retainAll(polled);
+    }
+    
+    private static void deliver(PriceBoardSubscription subscription, PriceBoardDelta delta) {
+        try {
+            subscription.listener().onDelta(delta);
+        } catch (RuntimeException e) {
+            logger.warn("Price board listener failed on {}", delta.symbol(), e);
+        }
+    }
+    
+    private static void notifyError(List<PriceBoardSubscription> current, Throwable error) {
+        Throwable cause = KbsFutures.unwrap(error);
+        KbsApiException exception = cause instanceof KbsApiException kbsException
+            ? kbsException
+            : new KbsApiException("Price board poll failed: " + cause.getMessage(), cause);
+        logger.debug("Price board poll failed", exception);
+        for (PriceBoardSubscription subscription : current) {
+            if (subscription.isClosed()) {
+                continue;
+            }
+            try {
+                subscription.listener().onError(exception);
+            } catch (RuntimeException e) {
+                logger.warn("Price board listener failed on error", e);
+            }
+        }
+    }
+}
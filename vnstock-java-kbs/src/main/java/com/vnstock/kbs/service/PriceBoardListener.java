@@ -0,0 +1,26 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.PriceBoardDelta;
+
+/**
+ * Receives price board changes of subscribed symbols.
+ * 
+ * Callbacks run on the thread that completed the poll, one at a time, so they
+ * should hand heavy work off rather than block.
+ */
+@FunctionalInterface
+public interface PriceBoardListener {
+    
+    /**
+     * Called for each subscribed symbol whose entry changed since the previous
+     * poll, and once with a snapshot when the symbol is first seen.
+     */
+    void onDelta(PriceBoardDelta delta);
+    
+    /**
+     * Called when a poll fails. Polling continues on the next interval.
+     */
+    default void onError(KbsApiException error) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.vnstock.kbs.service;
+
+import java.util.Set;
+
+/**
+ * A listener's subscription to the price board of some symbols.
+ * 
+ * Closing it stops the deltas; the shared poll stops once no subscription is left.
+ */
+public final class PriceBoardSubscription implements AutoCloseable {
+    
+    private final PriceBoardFeed feed;
+    private final Set<String> symbols;
+    private final PriceBoardListener listener;
+    /** Whether the subscriber has had its snapshots; only touched by the polling chain. */
+    boolean primed;
+    private volatile boolean closed;
+    
+    PriceBoardSubscription(PriceBoardFeed feed, Set<String> symbols, PriceBoardListener listener) {
+        this.feed = feed;
+        this.symbols = symbols;
+        this.listener = listener;
+    }
+    
+    /**
+     * The subscribed symbols, upper case.
+     */
+    public Set<String> symbols() {
+        return symbols;
+    }
+    
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    PriceBoardListener listener() {
+        return listener;
+    }
+    
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            feed.remove(this);
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package com.vnstock.kbs.service;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.client.KbsFutures;
+import com.vnstock.kbs.client.KbsEndpoint;
 import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.client.ResponseDecoder;
+import com.vnstock.kbs.config.HistoryChunkingConfig;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.config.KbsConstants;
 import com.vnstock.kbs.exception.KbsApiException;
 import com.vnstock.kbs.model.HistoricalPrice;
 import com.vnstock.kbs.model.IntradayTrade;
+import com.vnstock.kbs.model.PriceSeries;
+import com.vnstock.kbs.model.TradeTape;
+import com.vnstock.kbs.service.HistoryRangePlanner.DateRange;
+import com.vnstock.kbs.store.BarStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Service for quote and price data operations.
@@ -23,6 +37,8 @@ public class QuoteService {
     
     private static final Logger logger = LoggerFactory.getLogger(QuoteService.class);
     private static final DateTimeFormatter API_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final int DEFAULT_INTRADAY_PAGE_SIZE = 100;
+    private static final int DEFAULT_INTRADAY_READ_AHEAD = 4;
     
     private final KbsHttpClient httpClient;
     private final KbsConfig config;
@@ -47,43 +63,280 @@ public class QuoteService {
     /**
      * Get historical price data.
      * 
+     * Ranges longer than {@link HistoryChunkingConfig#maxBarsPerChunk()} bars are
+     * fetched as concurrent date windows. With a {@link KbsConfig#barStore()}
+     * configured, only bars missing from the store are fetched, see
+     * {@link #getHistorySeries}.
+     * 
      * @param start Start date
      * @param end End date
      * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
-     * @return List of historical price data
+     * @return Historical price data ordered by time, oldest first
      */
     public List<HistoricalPrice> getHistory(LocalDate start, LocalDate end, String interval) {
+        return KbsFutures.join(getHistoryAsync(start, end, interval));
+    }
+    
+    /**
+     * Get historical price data without blocking the calling thread.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Future completing with the historical price data ordered by time, oldest first
+     */
+    public CompletableFuture<List<HistoricalPrice>> getHistoryAsync(LocalDate start, LocalDate end, String interval) {
+        String intervalSuffix = toIntervalSuffix(interval);
+        List<DateRange> chunks = HistoryRangePlanner.plan(start, end, intervalSuffix, config.historyChunking());
+        CompletableFuture<List<HistoricalPrice>> prices = config.barStore() != null || chunks.size() > 1
+            ? historySeries(start, end, interval, intervalSuffix).thenApply(series -> List.copyOf(series.asList()))
+            : fetchHistory(start, end, intervalSuffix,
+                new HistoryDecoder.Bars(historyField(intervalSuffix), historyEndpoint(), symbol));
+        return KbsFutures.withContext(
+            prices,
+            logger,
+            "Failed to retrieve historical data for " + symbol
+        );
+    }
+    
+    /**
+     * Get historical price data as a columnar, fixed-point series.
+     * 
+     * Needs a fraction of the memory of {@link #getHistory}, which makes it the
+     * better fit for long intraday ranges and many symbols.
+     * 
+     * With a {@link KbsConfig#barStore()} configured the call syncs the store:
+     * it fetches only the days after the last stored bar, plus any days before
+     * the stored range, and returns a memory-mapped view of the store. Bars of
+     * the current, possibly incomplete session (week or month for weekly and
+     * monthly bars) are never stored; they are fetched on each call and appended
+     * to a copy of the requested range instead.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Bars ordered by time
+     */
+    public PriceSeries getHistorySeries(LocalDate start, LocalDate end, String interval) {
+        return KbsFutures.join(getHistorySeriesAsync(start, end, interval));
+    }
+    
+    /**
+     * Get historical price data as a columnar, fixed-point series without blocking the calling thread.
+     * 
+     * @param start Start date
+     * @param end End date
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     * @return Future completing with the bars ordered by time
+     */
+    public CompletableFuture<PriceSeries> getHistorySeriesAsync(LocalDate start, LocalDate end, String interval) {
+        return KbsFutures.withContext(
+            historySeries(start, end, interval, toIntervalSuffix(interval)),
+            logger,
+            "Failed to retrieve historical data for " + symbol
+        );
+    }
+    
+    private CompletableFuture<PriceSeries> historySeries(
+        LocalDate start,
+        LocalDate end,
+        String interval,
+        String intervalSuffix
+    ) {
+        BarStore store = config.barStore();
+        if (store == null) {
+            return fetchHistorySeries(start, end, interval, intervalSuffix);
+        }
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = end.atTime(LocalTime.MAX);
+        LocalDate today = LocalDate.now(KbsConstants.MARKET_ZONE);
+        LocalDateTime currentFrom = periodStart(intervalSuffix, today).atStartOfDay();
+        return syncHistorySeries(store, start, end, interval, intervalSuffix, currentFrom)
+            .thenApply(current -> append(
+                store.read(symbol, interval).between(from, to),
+                current.between(from, to)
+            ));
+    }
+    
+    /**
+     * Brings the store up to date for {@code [start, end]}: days before the synced
+     * range are backfilled, and days after the last stored bar are fetched.
+     * 
+     * Only bars before {@code currentFrom}, the start of the current session period,
+     * are stored, so a forward sync appends to the store and never rewrites it.
+     * Bars of the current period may still change; they are returned instead.
+     * 
+     * @return Fetched bars from {@code currentFrom} on
+     */
+    private CompletableFuture<PriceSeries> syncHistorySeries(
+        BarStore store,
+        LocalDate start,
+        LocalDate end,
+        String interval,
+        String intervalSuffix,
+        LocalDateTime currentFrom
+    ) {
+        LocalDate syncedFrom;
+        PriceSeries stored;
+        try {
+            syncedFrom = store.syncedFrom(symbol, interval);
+            stored = store.read(symbol, interval);
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (syncedFrom == null) {
+            return fetchHistorySeries(start, end, interval, intervalSuffix)
+                .thenApply(bars -> {
+                    store.update(symbol, interval, start, until(bars, currentFrom));
+                    return bars.slice(bars.ceilingIndex(currentFrom), bars.size());
+                });
+        }
+        
+        LocalDate resume = stored.isEmpty()
+            ? syncedFrom
+            : nextPeriod(intervalSuffix, stored.time(stored.size() - 1).toLocalDate());
+        boolean backfill = start.isBefore(syncedFrom);
+        boolean forward = !end.isBefore(resume);
+        PriceSeries none = PriceSeries.empty(symbol, interval);
+        if (!backfill && !forward) {
+            return CompletableFuture.completedFuture(none);
+        }
+        
+        CompletableFuture<PriceSeries> before = backfill
+            ? fetchHistorySeries(start, syncedFrom.minusDays(1), interval, intervalSuffix)
+                .thenApply(bars -> store.update(symbol, interval, start, until(bars, currentFrom)))
+            : CompletableFuture.completedFuture(stored);
+        CompletableFuture<PriceSeries> after = forward
+            ? fetchHistorySeries(resume, end, interval, intervalSuffix)
+                .thenApply(bars -> {
+                    // Bars after the last stored one, so the update appends
+                    int first = stored.isEmpty() ? 0 : bars.ceilingIndex(
+                        PriceSeries.fromEpochMinute(stored.epochMinute(stored.size() - 1) + 1));
+                    int current = Math.max(first, bars.ceilingIndex(currentFrom));
+                    store.update(symbol, interval, resume, bars.slice(first, current));
+                    return bars.slice(current, bars.size());
+                })
+            : CompletableFuture.completedFuture(none);
+        return before.thenCombine(after, (backfilled, current) -> current);
+    }
+    
+    /**
+     * Bars stamped before {@code time}.
+     */
+    private static PriceSeries until(PriceSeries bars, LocalDateTime time) {
+        return bars.slice(0, bars.ceilingIndex(time));
+    }
+    
+    /**
+     * {@code stored} followed by the bars of {@code current} that are later than its last bar.
+     */
+    private static PriceSeries append(PriceSeries stored, PriceSeries current) {
+        int first = stored.isEmpty() ? 0 : current.ceilingIndex(
+            PriceSeries.fromEpochMinute(stored.epochMinute(stored.size() - 1) + 1));
+        if (first == current.size()) {
+            return stored;
+        }
+        PriceSeries.Builder builder =
+            PriceSeries.builder(stored.symbol(), stored.interval(), stored.size() + current.size() - first);
+        copy(stored, 0, builder);
+        copy(current, first, builder);
+        return builder.build();
+    }
+    
+    private static void copy(PriceSeries bars, int from, PriceSeries.Builder builder) {
+        for (int i = from; i < bars.size(); i++) {
+            builder.add(bars.epochMinute(i), bars.open(i), bars.high(i), bars.low(i), bars.close(i), bars.volume(i));
+        }
+    }
+    
+    /**
+     * First day of the session period containing {@code day}: its week or month for
+     * weekly and monthly bars, the day itself otherwise.
+     */
+    private static LocalDate periodStart(String intervalSuffix, LocalDate day) {
+        return switch (intervalSuffix) {
+            case "week" -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> day.withDayOfMonth(1);
+            default -> day;
+        };
+    }
+    
+    /**
+     * First day of the session period after the one containing {@code day}.
+     */
+    private static LocalDate nextPeriod(String intervalSuffix, LocalDate day) {
+        return switch (intervalSuffix) {
+            case "week" -> periodStart(intervalSuffix, day).plusWeeks(1);
+            case "month" -> periodStart(intervalSuffix, day).plusMonths(1);
+            default -> day.plusDays(1);
+        };
+    }
+    
+    /**
+     * Fetches {@code [start, end]} from the API, split into concurrent windows when the range is long.
+     */
+    private CompletableFuture<PriceSeries> fetchHistorySeries(
+        LocalDate start,
+        LocalDate end,
+        String interval,
+        String intervalSuffix
+    ) {
+        List<DateRange> chunks = HistoryRangePlanner.plan(start, end, intervalSuffix, config.historyChunking());
+        return chunks.size() > 1
+            ? fetchHistoryChunks(chunks, interval, intervalSuffix)
+            : fetchHistory(start, end, intervalSuffix,
+                new HistoryDecoder.Series(historyField(intervalSuffix), historyEndpoint(), symbol, interval));
+    }
+    
+    private static String toIntervalSuffix(String interval) {
         String intervalSuffix = KbsConstants.INTERVAL_MAP.get(interval);
         if (intervalSuffix == null) {
             throw new KbsApiException("Invalid interval: " + interval);
         }
-        
+        return intervalSuffix;
+    }
+    
+    private <T> CompletableFuture<T> fetchHistory(
+        LocalDate start,
+        LocalDate end,
+        String intervalSuffix,
+        ResponseDecoder<T> decoder
+    ) {
         String url = buildHistoricalUrl(intervalSuffix);
         Map<String, String> params = Map.of(
             "sdate", start.format(API_DATE_FORMATTER),
             "edate", end.format(API_DATE_FORMATTER)
         );
-        
-        try {
-            HistoricalResponse response = httpClient.get(url, params, HistoricalResponse.class);
-            
-            if (response == null) {
-                return List.of();
-            }
-            
-            List<RawHistoricalData> rawData = response.getData(intervalSuffix);
-            if (rawData == null) {
-                return List.of();
-            }
-            
-            return rawData.stream()
-                .map(this::convertToHistoricalPrice)
-                .toList();
-                
-        } catch (Exception e) {
-            logger.error("Failed to get historical data for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve historical data for " + symbol, e);
-        }
+        return httpClient.getAsync(url, params, decoder);
+    }
+    
+    /**
+     * Fetches the windows of a long range concurrently and merges them in time order.
+     */
+    private CompletableFuture<PriceSeries> fetchHistoryChunks(
+        List<DateRange> chunks,
+        String interval,
+        String intervalSuffix
+    ) {
+        HistoryDecoder.Series decoder =
+            new HistoryDecoder.Series(historyField(intervalSuffix), historyEndpoint(), symbol, interval);
+        return HistoryRangePlanner.fetchAll(
+                chunks,
+                config.historyChunking().maxConcurrentChunks(),
+                range -> fetchHistory(range.start(), range.end(), intervalSuffix, decoder)
+            )
+            .thenApply(series -> HistoryRangePlanner.merge(series, symbol, interval));
+    }
+    
+    /**
+     * The response carries one array per interval, e.g. {@code data_1P} or {@code data_day}.
+     */
+    private static String historyField(String intervalSuffix) {
+        return "data_" + intervalSuffix;
+    }
+    
+    private KbsEndpoint historyEndpoint() {
+        return isIndexSymbol() ? KbsEndpoint.INDEX_HISTORY : KbsEndpoint.STOCK_HISTORY;
     }
     
     /**
@@ -94,85 +347,128 @@ public class QuoteService {
      * @return List of intraday trades
      */
     public List<IntradayTrade> getIntraday(int page, int pageSize) {
+        return KbsFutures.join(getIntradayAsync(page, pageSize));
+    }
+    
+    /**
+     * Get intraday trade history without blocking the calling thread.
+     * 
+     * @param page Page number (default: 1)
+     * @param pageSize Records per page (default: 100)
+     * @return Future completing with the intraday trades
+     */
+    public CompletableFuture<List<IntradayTrade>> getIntradayAsync(int page, int pageSize) {
         String url = config.baseUrlIis() + "/trade/history/" + symbol;
         Map<String, String> params = Map.of(
             "page", String.valueOf(page),
             "limit", String.valueOf(pageSize)
         );
         
-        try {
-            IntradayResponse response = httpClient.get(url, params, IntradayResponse.class);
-            
-            if (response == null || response.data == null) {
-                return List.of();
-            }
-            
-            return response.data;
-            
-        } catch (Exception e) {
-            logger.error("Failed to get intraday data for {}", symbol, e);
-            throw new KbsApiException("Failed to retrieve intraday data for " + symbol, e);
-        }
+        return KbsFutures.withContext(
+            httpClient.getAsync(url, params, IntradayResponse.class)
+                .thenApply(response -> response == null || response.data == null
+                    ? List.<IntradayTrade>of()
+                    : response.data),
+            logger,
+            "Failed to retrieve intraday data for " + symbol
+        );
     }
     
-    private String buildHistoricalUrl(String intervalSuffix) {
-        String endpoint = isIndexSymbol() ? "index" : "stocks";
-        return config.baseUrlIis() + "/" + endpoint + "/" + symbol + "/data_" + intervalSuffix;
+    /**
+     * Stream every intraday trade of the current session, page by page.
+     * 
+     * Uses pages of 100 trades with 4 pages requested ahead of the consumer.
+     * 
+     * @return Lazily fetched trades in API order; close the stream to stop early
+     * @see #streamIntraday(int, int)
+     */
+    public Stream<IntradayTrade> streamIntraday() {
+        return streamIntraday(DEFAULT_INTRADAY_PAGE_SIZE, DEFAULT_INTRADAY_READ_AHEAD);
     }
     
-    private boolean isIndexSymbol() {
-        return KbsConstants.SUPPORTED_INDICES.contains(symbol);
+    /**
+     * Stream every intraday trade of the current session, page by page.
+     * 
+     * Nothing is requested until the stream is consumed. Up to {@code readAhead}
+     * pages are then fetched concurrently ahead of the consumer, and the stream ends
+     * at the first page with fewer than {@code pageSize} trades. Memory stays bounded
+     * by {@code readAhead + 1} pages however long the session is. A failed page
+     * request surfaces as a {@link KbsApiException} from the stream operation.
+     * 
+     * @param pageSize Records per page request
+     * @param readAhead Page requests kept in flight ahead of the consumer; 0 fetches one page at a time
+     * @return Lazily fetched trades in API order; close the stream to stop early
+     */
+    public Stream<IntradayTrade> streamIntraday(int pageSize, int readAhead) {
+        PrefetchingPageIterator<IntradayTrade> trades =
+            new PrefetchingPageIterator<>(page -> getIntradayAsync(page, pageSize), pageSize, readAhead);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(trades, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+            )
+            .onClose(trades::close);
     }
     
-    private static final DateTimeFormatter KBS_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    /**
+     * Fetch every intraday trade of the current session into a compact columnar tape.
+     * 
+     * Trades are copied into the tape as pages arrive, so only the pages in flight
+     * are held as {@link IntradayTrade} objects. Trades without a timestamp are
+     * skipped. The tape is dated by its first trade, or today if the session has
+     * no trades yet.
+     * 
+     * @return Trades of the session in time order
+     * @see TradeTape
+     */
+    public TradeTape getIntradayTape() {
+        try (Stream<IntradayTrade> trades = streamIntraday()) {
+            Iterator<IntradayTrade> iterator = trades
+                .filter(trade -> trade.epochMillis() != Long.MIN_VALUE)
+                .iterator();
+            if (!iterator.hasNext()) {
+                return TradeTape.empty(symbol, LocalDate.now());
+            }
+            IntradayTrade first = iterator.next();
+            LocalDate tradingDate = LocalDate.ofEpochDay(Math.floorDiv(first.epochMillis(), 86_400_000L));
+            TradeTape.Builder tape = TradeTape.builder(symbol, tradingDate, DEFAULT_INTRADAY_PAGE_SIZE).add(first);
+            iterator.forEachRemaining(tape::add);
+            return tape.build();
+        }
+    }
     
-    private HistoricalPrice convertToHistoricalPrice(RawHistoricalData raw) {
-        LocalDateTime dateTime = LocalDateTime.parse(raw.t, KBS_DATE_FORMATTER);
-        return HistoricalPrice.fromRaw(
-            dateTime,
-            raw.o,
-            raw.h,
-            raw.l,
-            raw.c,
-            raw.v
-        );
+    /**
+     * Create a cursor that returns only the intraday trades matched since its previous poll.
+     * 
+     * @return Cursor polling pages of 100 trades
+     * @see IntradayTail
+     */
+    public IntradayTail tailIntraday() {
+        return tailIntraday(DEFAULT_INTRADAY_PAGE_SIZE);
     }
     
-    // Response classes
-    private static class HistoricalResponse {
-        public String symbol;
-        @JsonProperty("data_1P") public List<RawHistoricalData> data1P;
-        @JsonProperty("data_5P") public List<RawHistoricalData> data5P;
-        @JsonProperty("data_15P") public List<RawHistoricalData> data15P;
-        @JsonProperty("data_30P") public List<RawHistoricalData> data30P;
-        @JsonProperty("data_60P") public List<RawHistoricalData> data60P;
-        @JsonProperty("data_day") public List<RawHistoricalData> dataDay;
-        @JsonProperty("data_week") public List<RawHistoricalData> dataWeek;
-        @JsonProperty("data_month") public List<RawHistoricalData> dataMonth;
-        
-        public List<RawHistoricalData> getData(String interval) {
-            return switch (interval) {
-                case "1P" -> data1P;
-                case "5P" -> data5P;
-                case "15P" -> data15P;
-                case "30P" -> data30P;
-                case "60P" -> data60P;
-                case "day" -> dataDay;
-                case "week" -> dataWeek;
-                case "month" -> dataMonth;
-                default -> null;
-            };
+    /**
+     * Create a cursor that returns only the intraday trades matched since its previous poll.
+     * 
+     * @param pageSize Records per page request
+     * @return Cursor over this symbol's trades
+     * @see IntradayTail
+     */
+    public IntradayTail tailIntraday(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
         }
+        return new IntradayTail(page -> getIntradayAsync(page, pageSize), pageSize, DEFAULT_INTRADAY_READ_AHEAD);
     }
     
-    private static class RawHistoricalData {
-        public String t;  // Format: "2024-01-31 07:00" (no seconds)
-        public long o;
-        public long h;
-        public long l;
-        public long c;
-        public long v;
+    private String buildHistoricalUrl(String intervalSuffix) {
+        String endpoint = isIndexSymbol() ? "index" : "stocks";
+        return config.baseUrlIis() + "/" + endpoint + "/" + symbol + "/data_" + intervalSuffix;
+    }
+    
+    private boolean isIndexSymbol() {
+        return KbsConstants.SUPPORTED_INDICES.contains(symbol);
     }
     
+    // Response classes
     private record IntradayResponse(List<IntradayTrade> data) {}
 }
@@ -1,16 +1,26 @@
 package com.vnstock.kbs.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.client.KbsEndpoint;
+import com.vnstock.kbs.client.KbsFutures;
 import com.vnstock.kbs.client.KbsHttpClient;
 import com.vnstock.kbs.config.KbsConfig;
 import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.jfr.ParseEvent;
 import com.vnstock.kbs.model.PriceBoardEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -19,22 +29,26 @@ import java.util.stream.Collectors;
 public class TradingService {
     
     private static final Logger logger = LoggerFactory.getLogger(TradingService.class);
+    private static final TypeReference<List<PriceBoardEntry>> PRICE_BOARD_TYPE = new TypeReference<>() {};
     
     private final KbsHttpClient httpClient;
     private final KbsConfig config;
+    private final PriceBoardChunker priceBoardChunker;
+    private volatile PriceBatcher priceBatcher;
+    private volatile PriceBoardFeed priceBoardFeed;
     
     public TradingService() {
         this(new KbsConfig());
     }
     
     public TradingService(KbsConfig config) {
-        this.config = config;
-        this.httpClient = new KbsHttpClient(config);
+        this(new KbsHttpClient(config), config);
     }
     
     public TradingService(KbsHttpClient httpClient, KbsConfig config) {
         this.httpClient = httpClient;
         this.config = config;
+        this.priceBoardChunker = new PriceBoardChunker(config.priceBoardChunking());
     }
     
     /**
@@ -46,10 +60,48 @@ public class TradingService {
      * @return List of price board entries
      */
     public List<PriceBoardEntry> getPriceBoard(List<String> symbols, String exchange, boolean getAll) {
+        return KbsFutures.join(getPriceBoardAsync(symbols, exchange, getAll));
+    }
+    
+    /**
+     * Get real-time price board for multiple symbols without blocking the calling thread.
+     * 
+     * Lists larger than the current chunk size, see {@link KbsConfig#priceBoardChunking()},
+     * are fetched as concurrent chunks and merged in the order of {@code symbols},
+     * without duplicates.
+     * 
+     * @param symbols List of stock symbols
+     * @param exchange Exchange filter (default: HOSE)
+     * @param getAll If true, return all available fields
+     * @return Future completing with the price board entries
+     */
+    public CompletableFuture<List<PriceBoardEntry>> getPriceBoardAsync(
+        List<String> symbols,
+        String exchange,
+        boolean getAll
+    ) {
         if (symbols == null || symbols.isEmpty()) {
             throw new KbsApiException("Symbols list cannot be empty");
         }
         
+        List<String> requested = symbols.stream().map(String::toUpperCase).distinct().toList();
+        List<List<String>> chunks = priceBoardChunker.split(requested);
+        if (chunks.size() == 1) {
+            return KbsFutures.withContext(fetchPriceBoard(requested), logger, "Failed to retrieve price board");
+        }
+        
+        return KbsFutures.withContext(
+            ChunkedFetch.fetchAll(chunks, priceBoardChunker.maxConcurrentChunks(), this::fetchPriceBoard)
+                .thenApply(parts -> mergePriceBoard(requested, parts)),
+            logger,
+            "Failed to retrieve price board"
+        );
+    }
+    
+    /**
+     * Requests the price board of one chunk of symbols, feeding its latency to the chunker.
+     */
+    private CompletableFuture<List<PriceBoardEntry>> fetchPriceBoard(List<String> symbols) {
         String url = config.baseUrlIis() + "/stock/iss";
         String symbolsStr = symbols.stream()
             .map(String::toUpperCase)
@@ -57,12 +109,59 @@ public class TradingService {
         
         Map<String, String> body = Map.of("code", symbolsStr);
         
-        try {
-            return httpClient.post(url, body, new TypeReference<List<PriceBoardEntry>>() {});
-        } catch (Exception e) {
-            logger.error("Failed to get price board for symbols: {}", symbolsStr, e);
-            throw new KbsApiException("Failed to retrieve price board", e);
+        long started = System.nanoTime();
+        return httpClient.postAsync(url, body, parser -> readPriceBoard(parser, symbols))
+            .whenComplete((entries, error) -> {
+                if (error == null) {
+                    priceBoardChunker.record(symbols.size(), System.nanoTime() - started);
+                }
+            });
+    }
+    
+    /**
+     * Concatenates the chunks' entries in the requested symbol order; symbols
+     * KBS did not return are left out.
+     */
+    static List<PriceBoardEntry> mergePriceBoard(List<String> symbols, List<List<PriceBoardEntry>> parts) {
+        Map<String, PriceBoardEntry> bySymbol = new HashMap<>(symbols.size() * 2);
+        for (List<PriceBoardEntry> part : parts) {
+            if (part == null) {
+                continue;
+            }
+            for (PriceBoardEntry entry : part) {
+                if (entry.symbol() != null) {
+                    bySymbol.putIfAbsent(entry.symbol().toUpperCase(), entry);
+                }
+            }
         }
+        List<PriceBoardEntry> merged = new ArrayList<>(bySymbol.size());
+        for (String symbol : symbols) {
+            PriceBoardEntry entry = bySymbol.get(symbol);
+            if (entry != null) {
+                merged.add(entry);
+            }
+        }
+        return merged;
+    }
+    
+    /**
+     * Deserializes the price board, emitting a {@link ParseEvent} for JFR.
+     */
+    private static List<PriceBoardEntry> readPriceBoard(JsonParser parser, List<String> symbols) throws IOException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        List<PriceBoardEntry> entries = parser.readValueAs(PRICE_BOARD_TYPE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "TradingService.getPriceBoard";
+            event.endpoint = KbsEndpoint.PRICE_BOARD.name();
+            event.symbol = symbols.size() == 1 ? symbols.get(0).toUpperCase() : null;
+            event.symbolCount = symbols.size();
+            event.records = entries != null ? entries.size() : 0;
+            event.payloadBytes = parser.currentLocation().getByteOffset();
+            event.commit();
+        }
+        return entries;
     }
     
     /**
@@ -75,6 +174,16 @@ public class TradingService {
         return getPriceBoard(symbols, "HOSE", false);
     }
     
+    /**
+     * Get real-time price board for multiple symbols (standard columns) without blocking.
+     * 
+     * @param symbols List of stock symbols
+     * @return Future completing with the price board entries
+     */
+    public CompletableFuture<List<PriceBoardEntry>> getPriceBoardAsync(List<String> symbols) {
+        return getPriceBoardAsync(symbols, "HOSE", false);
+    }
+    
     /**
      * Get real-time price for a single symbol.
      * 
@@ -82,7 +191,82 @@ public class TradingService {
      * @return Price board entry or null if not found
      */
     public PriceBoardEntry getPrice(String symbol) {
-        List<PriceBoardEntry> entries = getPriceBoard(List.of(symbol));
-        return entries.isEmpty() ? null : entries.get(0);
+        return KbsFutures.join(getPriceAsync(symbol));
+    }
+    
+    /**
+     * Get real-time price for a single symbol without blocking the calling thread.
+     * 
+     * With a {@link KbsConfig#priceBatchWindow()} set, calls made within the
+     * window share one price board request for all their symbols.
+     * 
+     * @param symbol Stock symbol
+     * @return Future completing with the price board entry, or null if not found
+     */
+    public CompletableFuture<PriceBoardEntry> getPriceAsync(String symbol) {
+        PriceBatcher batcher = priceBatcher();
+        if (batcher != null) {
+            return batcher.get(symbol);
+        }
+        return getPriceBoardAsync(List.of(symbol))
+            .thenApply(entries -> entries == null || entries.isEmpty() ? null : entries.get(0));
+    }
+    
+    /**
+     * Subscribe to price board changes of some symbols.
+     * 
+     * The price board is polled every {@link KbsConfig#priceBoardPollInterval()}
+     * for the symbols of all subscriptions of this service at once, so adding
+     * subscribers adds no requests. The listener first receives a snapshot of
+     * each symbol, then a delta whenever one of its fields changes.
+     * 
+     * @param symbols List of stock symbols
+     * @param listener Receives the deltas and poll failures
+     * @return Subscription to close when no longer interested
+     */
+    public PriceBoardSubscription subscribe(List<String> symbols, PriceBoardListener listener) {
+        return priceBoardFeed().subscribe(symbols, listener);
+    }
+    
+    /**
+     * Closes all price board subscriptions and stops polling.
+     */
+    public void closeSubscriptions() {
+        PriceBoardFeed feed = priceBoardFeed;
+        if (feed != null) {
+            feed.close();
+        }
+    }
+    
+    /**
+     * The batcher for {@link #getPriceAsync}, or null if batching is disabled.
+     */
+    private PriceBatcher priceBatcher() {
+        Duration window = config.priceBatchWindow();
+        if (window == null || window.isZero()) {
+            return null;
+        }
+        if (priceBatcher == null) {
+            synchronized (this) {
+                if (priceBatcher == null) {
+                    priceBatcher = new PriceBatcher(
+                        this::getPriceBoardAsync,
+                        CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS)
+                    );
+                }
+            }
+        }
+        return priceBatcher;
+    }
+    
+    private PriceBoardFeed priceBoardFeed() {
+        if (priceBoardFeed == null) {
+            synchronized (this) {
+                if (priceBoardFeed == null) {
+                    priceBoardFeed = new PriceBoardFeed(this::getPriceBoardAsync, config.priceBoardPollInterval());
+                }
+            }
+        }
+        return priceBoardFeed;
     }
 }
@@ -0,0 +1,258 @@
+package com.vnstock.kbs.store;
+
+import com.vnstock.kbs.config.KbsConstants;
+import com.vnstock.kbs.model.PriceSeries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Local OHLCV store, one append-only file per symbol and interval.
+ * 
+ * Files live at {@code <directory>/<SYMBOL>/<suffix>.bars}, where the suffix is the
+ * KBS interval name, so {@code "1h"} and {@code "60m"} share a file. A file is a
+ * 64-byte header followed by rows of {@value PriceSeries#ROW_LONGS} little-endian
+ * longs in {@link PriceSeries#wrap} layout, ordered by time:
+ * <pre>
+ *   0  int   magic "KBSB"
+ *   4  int   format version
+ *   8  long  committed row count
+ *   16 long  first synced day (epoch day); the store covers every bar from that day on
+ *   24 ...   reserved
+ * </pre>
+ * 
+ * {@link #read} maps the committed rows read-only and wraps them without
+ * copying; the mapping stays valid after the file is updated or replaced.
+ * Committed rows are never written again: later bars are appended after them,
+ * and any other change, including refetching the last bar, rewrites the file to
+ * a temporary file that is moved into place, so a series read earlier never
+ * changes. {@link #update} writes new rows before committing the header, so a
+ * crash leaves the previous contents readable. Updates of one file are serialized
+ * within the store instance; use one instance per directory.
+ */
+public class BarStore {
+    
+    static final int HEADER_BYTES = 64;
+    static final int ROW_BYTES = PriceSeries.ROW_LONGS * Long.BYTES;
+    
+    private static final int MAGIC = 0x4B425342;
+    private static final int VERSION = 1;
+    private static final String FILE_SUFFIX = ".bars";
+    private static final Pattern SAFE_SYMBOL = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+    
+    private final Path directory;
+    private final ConcurrentMap<Path, Object> locks = new ConcurrentHashMap<>();
+    
+    public BarStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+    }
+    
+    public Path directory() {
+        return directory;
+    }
+    
+    /**
+     * Memory-mapped view of every stored bar, or an empty series if nothing is stored.
+     * 
+     * @param symbol Stock or index symbol
+     * @param interval Interval (1m, 5m, 15m, 30m, 1h, 1d, 1w, 1M)
+     */
+    public PriceSeries read(String symbol, String interval) {
+        Path file = file(symbol, interval);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return map(channel, readHeader(channel, file).rows(), symbol, interval);
+        } catch (NoSuchFileException e) {
+            return PriceSeries.empty(symbol.toUpperCase(), interval);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+    
+    /**
+     * First day the store holds every bar from, or null if nothing has been synced.
+     */
+    public LocalDate syncedFrom(String symbol, String interval) {
+        Path file = file(symbol, interval);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return LocalDate.ofEpochDay(readHeader(channel, file).syncedFrom());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+    
+    /**
+     * Stores the bars fetched for a range starting at {@code from}.
+     * 
+     * Stored bars within the time span of {@code bars} are replaced, so refetching
+     * the last, possibly incomplete bar replaces it. Bars that all follow the stored
+     * ones are appended; otherwise the file is rewritten.
+     * 
+     * @param from First day of the fetched range; extends {@link #syncedFrom} when earlier
+     * @param bars Fetched bars, ordered by time
+     * @return Memory-mapped view of every stored bar after the update
+     */
+    public PriceSeries update(String symbol, String interval, LocalDate from, PriceSeries bars) {
+        Path file = file(symbol, interval);
+        synchronized (locks.computeIfAbsent(file, key -> new Object())) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+                    Header header = channel.size() == 0
+                        ? new Header(0, from.toEpochDay())
+                        : readHeader(channel, file);
+                    PriceSeries stored = map(channel, header.rows(), symbol, interval);
+                    long syncedFrom = Math.min(header.syncedFrom(), from.toEpochDay());
+                    if (bars.isEmpty() && syncedFrom == header.syncedFrom() && channel.size() > 0) {
+                        return stored;
+                    }
+                    
+                    int head = bars.isEmpty() ? stored.size() : ceilingIndex(stored, bars.epochMinute(0));
+                    int tail = bars.isEmpty() ? stored.size() : ceilingIndex(stored, bars.epochMinute(bars.size() - 1) + 1);
+                    if (head == stored.size()) {
+                        long rows = head + (long) bars.size();
+                        // Only rows past the committed count are written; existing mappings never cover them
+                        writeRows(channel, HEADER_BYTES + (long) head * ROW_BYTES, bars, 0, bars.size());
+                        channel.force(false);
+                        writeHeader(channel, new Header(rows, syncedFrom));
+                        channel.force(false);
+                        return map(channel, rows, symbol, interval);
+                    }
+                    rewrite(file, stored, head, tail, bars, syncedFrom);
+                }
+                return read(symbol, interval);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to update " + file, e);
+            }
+        }
+    }
+    
+    /**
+     * Writes {@code stored[0, head) + bars + stored[tail, size)} to a new file and moves it into place.
+     */
+    private static void rewrite(Path file, PriceSeries stored, int head, int tail, PriceSeries bars, long syncedFrom)
+            throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long rows = head + (long) bars.size() + (stored.size() - tail);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = HEADER_BYTES;
+            position = writeRows(channel, position, stored, 0, head);
+            position = writeRows(channel, position, bars, 0, bars.size());
+            writeRows(channel, position, stored, tail, stored.size());
+            writeHeader(channel, new Header(rows, syncedFrom));
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private static long writeRows(FileChannel channel, long position, PriceSeries bars, int from, int to)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024 * ROW_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = from; i < to; i++) {
+            buffer.putLong(bars.epochMinute(i))
+                .putLong(bars.open(i))
+                .putLong(bars.high(i))
+                .putLong(bars.low(i))
+                .putLong(bars.close(i))
+                .putLong(bars.volume(i));
+            if (!buffer.hasRemaining()) {
+                position = flush(channel, position, buffer);
+            }
+        }
+        return flush(channel, position, buffer);
+    }
+    
+    private static long flush(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+    
+    private PriceSeries map(FileChannel channel, long rows, String symbol, String interval) throws IOException {
+        if (rows == 0) {
+            return PriceSeries.empty(symbol.toUpperCase(), interval);
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, rows * ROW_BYTES);
+        return PriceSeries.wrap(symbol.toUpperCase(), interval, mapped.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+    }
+    
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        if (buffer.position() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a bar store file: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported bar store version " + buffer.getInt(4) + ": " + file);
+        }
+        Header header = new Header(buffer.getLong(8), buffer.getLong(16));
+        if (header.rows() < 0 || header.rows() > (Integer.MAX_VALUE / PriceSeries.ROW_LONGS)
+                || channel.size() < HEADER_BYTES + header.rows() * ROW_BYTES) {
+            throw new IOException("Corrupt bar store file: " + file);
+        }
+        return header;
+    }
+    
+    private static void writeHeader(FileChannel channel, Header header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(header.rows())
+            .putLong(header.syncedFrom());
+        buffer.position(HEADER_BYTES);
+        flush(channel, 0, buffer);
+    }
+    
+    /**
+     * Index of the first stored bar at or after {@code epochMinute}.
+     */
+    private static int ceilingIndex(PriceSeries series, long epochMinute) {
+        return series.ceilingIndex(PriceSeries.fromEpochMinute(epochMinute));
+    }
+    
+    private Path file(String symbol, String interval) {
+        Path symbolDirectory = symbolDirectory(directory, symbol);
+        String suffix = KbsConstants.INTERVAL_MAP.get(interval);
+        if (suffix == null) {
+            throw new IllegalArgumentException("Invalid interval: " + interval);
+        }
+        return symbolDirectory.resolve(suffix + FILE_SUFFIX);
+    }
+    
+    /**
+     * {@code <directory>/<SYMBOL>}, rejecting symbols that are not plain file names.
+     */
+    static Path symbolDirectory(Path directory, String symbol) {
+        Objects.requireNonNull(symbol, "symbol cannot be null");
+        if (!SAFE_SYMBOL.matcher(symbol).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        return directory.resolve(symbol.toUpperCase());
+    }
+    
+    private record Header(long rows, long syncedFrom) {}
+}
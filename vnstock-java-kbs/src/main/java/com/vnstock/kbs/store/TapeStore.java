@@ -0,0 +1,202 @@
+package com.vnstock.kbs.store;
+
+import com.vnstock.kbs.model.TradeTape;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binary files of {@link TradeTape}s, one per symbol and trading day.
+ * 
+ * Files live at {@code <directory>/<SYMBOL>/<yyyy-MM-dd>.tape} and are written
+ * whole, through a temporary file and an atomic move. A file is a 16-byte header
+ * followed by the columns in little-endian order:
+ * <pre>
+ *   0  int     magic "KBST"
+ *   4  int     format version
+ *   8  int     trade count n
+ *   12 int     reserved
+ *   16 int[n]  milliseconds of day, price, price change, volume
+ *      long[]  buy and sell bits, (n + 63) / 64 longs each
+ *      long[n] accumulated volume, accumulated value
+ * </pre>
+ */
+public class TapeStore {
+    
+    private static final int HEADER_BYTES = 16;
+    
+    private static final int MAGIC = 0x4B425354;
+    private static final int VERSION = 1;
+    private static final String FILE_SUFFIX = ".tape";
+    
+    private final Path directory;
+    
+    public TapeStore(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null");
+    }
+    
+    public Path directory() {
+        return directory;
+    }
+    
+    /**
+     * Stores a tape, replacing any stored tape of the same symbol and day.
+     */
+    public void write(TradeTape tape) {
+        Path file = file(tape.symbol(), tape.tradingDate());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int n = tape.size();
+        int bitWords = (n + 63) >>> 6;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + n * 4 * Integer.BYTES + (bitWords * 2 + n * 2) * Long.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(n)
+            .putInt(0);
+        for (int i = 0; i < n; i++) {
+            buffer.putInt(tape.millisOfDay(i));
+        }
+        for (int i = 0; i < n; i++) {
+            buffer.putInt(tape.price(i));
+        }
+        for (int i = 0; i < n; i++) {
+            buffer.putInt(tape.priceChange(i));
+        }
+        for (int i = 0; i < n; i++) {
+            buffer.putInt(tape.volume(i));
+        }
+        putSideBits(buffer, tape, TradeTape.BUY, bitWords);
+        putSideBits(buffer, tape, TradeTape.SELL, bitWords);
+        for (int i = 0; i < n; i++) {
+            buffer.putLong(tape.accumulatedVolume(i));
+        }
+        for (int i = 0; i < n; i++) {
+            buffer.putLong(tape.accumulatedValue(i));
+        }
+        buffer.flip();
+        
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+    
+    /**
+     * The stored tape of a symbol and day, or an empty tape if none is stored.
+     */
+    public TradeTape read(String symbol, LocalDate tradingDate) {
+        Path file = file(symbol, tradingDate);
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        } catch (NoSuchFileException e) {
+            return TradeTape.empty(symbol.toUpperCase(), tradingDate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new UncheckedIOException(new IOException("Not a tape file: " + file));
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new UncheckedIOException(new IOException("Unsupported tape version " + buffer.getInt(4) + ": " + file));
+        }
+        int n = buffer.getInt(8);
+        int bitWords = (n + 63) >>> 6;
+        if (n < 0 || buffer.remaining() != HEADER_BYTES + (long) n * 4 * Integer.BYTES + (bitWords * 2L + n * 2L) * Long.BYTES) {
+            throw new UncheckedIOException(new IOException("Corrupt tape file: " + file));
+        }
+        
+        int time = HEADER_BYTES;
+        int price = time + n * Integer.BYTES;
+        int change = price + n * Integer.BYTES;
+        int volume = change + n * Integer.BYTES;
+        int buy = volume + n * Integer.BYTES;
+        int sell = buy + bitWords * Long.BYTES;
+        int accumulatedVolume = sell + bitWords * Long.BYTES;
+        int accumulatedValue = accumulatedVolume + n * Long.BYTES;
+        TradeTape.Builder tape = TradeTape.builder(symbol.toUpperCase(), tradingDate, n);
+        for (int i = 0; i < n; i++) {
+            int bitWord = (i >>> 6) * Long.BYTES;
+            long bit = 1L << i;
+            char side = (buffer.getLong(buy + bitWord) & bit) != 0 ? TradeTape.BUY
+                : (buffer.getLong(sell + bitWord) & bit) != 0 ? TradeTape.SELL
+                : TradeTape.NO_SIDE;
+            tape.add(
+                buffer.getInt(time + i * Integer.BYTES),
+                buffer.getInt(price + i * Integer.BYTES),
+                buffer.getInt(change + i * Integer.BYTES),
+                buffer.getInt(volume + i * Integer.BYTES),
+                side,
+                buffer.getLong(accumulatedVolume + i * Long.BYTES),
+                buffer.getLong(accumulatedValue + i * Long.BYTES)
+            );
+        }
+        return tape.build();
+    }
+    
+    /**
+     * Trading days stored for a symbol, oldest first.
+     */
+    public List<LocalDate> tradingDates(String symbol) {
+        List<LocalDate> dates = new ArrayList<>();
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(BarStore.symbolDirectory(directory, symbol), "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    dates.add(LocalDate.parse(name.substring(0, name.length() - FILE_SUFFIX.length())));
+                } catch (DateTimeParseException e) {
+                    // Not a tape written by this store
+                }
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list tapes of " + symbol, e);
+        }
+        dates.sort(null);
+        return dates;
+    }
+    
+    private static void putSideBits(ByteBuffer buffer, TradeTape tape, char side, int bitWords) {
+        for (int word = 0; word < bitWords; word++) {
+            long bits = 0;
+            for (int i = word << 6; i < Math.min(tape.size(), (word + 1) << 6); i++) {
+                if (tape.side(i) == side) {
+                    bits |= 1L << i;
+                }
+            }
+            buffer.putLong(bits);
+        }
+    }
+    
+    private Path file(String symbol, LocalDate tradingDate) {
+        Objects.requireNonNull(tradingDate, "tradingDate cannot be null");
+        return BarStore.symbolDirectory(directory, symbol).resolve(tradingDate + FILE_SUFFIX);
+    }
+}
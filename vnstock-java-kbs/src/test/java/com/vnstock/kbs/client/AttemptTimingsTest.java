@@ -0,0 +1,174 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.config.ExponentialBackoffRetryPolicy;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.metrics.AttemptMetrics;
+import com.vnstock.kbs.metrics.KbsMetrics;
+import com.vnstock.kbs.metrics.RequestMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for per-attempt timings and the metrics the client reports for each request.
+ */
+public class AttemptTimingsTest {
+    
+    private static final String URL = "https://example.test/data";
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+    
+    private final List<AttemptMetrics> attempts = new CopyOnWriteArrayList<>();
+    private final List<RequestMetrics> requests = new CopyOnWriteArrayList<>();
+    private final KbsMetrics metrics = new KbsMetrics() {
+        
+        @Override
+        public void recordAttempt(AttemptMetrics attempt) {
+            attempts.add(attempt);
+        }
+        
+        @Override
+        public void recordRequest(RequestMetrics request) {
+            requests.add(request);
+        }
+    };
+    
+    @Test
+    @DisplayName("A retried request reports every attempt and one request with its retry count")
+    void testRetriedRequest() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        KbsHttpClient client = client(new FakeTransport(request -> {
+            AttemptTimings timings = request.tag(AttemptTimings.class);
+            timings.markStarted();
+            timings.markConnectionAcquired();
+            timings.markFirstByte();
+            return calls.getAndIncrement() == 0
+                ? FakeTransport.response(request, 503, "busy")
+                : FakeTransport.response(request, 200, "{\"a\": [1, 2, 3]}");
+        }));
+        try {
+            assertThat(client.get(URL, null, OBJECT)).containsKey("a");
+        } finally {
+            client.close();
+        }
+        
+        awaitRequest();
+        assertThat(requests).singleElement().satisfies(request -> {
+            assertThat(request.endpoint()).isEqualTo(KbsEndpoint.OTHER);
+            assertThat(request.attempts()).isEqualTo(2);
+            assertThat(request.retries()).isEqualTo(1);
+            assertThat(request.success()).isTrue();
+            assertThat(request.totalNanos()).isPositive();
+        });
+        assertThat(attempts).extracting(AttemptMetrics::attempt).containsExactly(1, 2);
+        assertThat(attempts).extracting(AttemptMetrics::statusCode).containsExactly(503, 200);
+        assertThat(attempts.get(0).payloadBytes()).isEqualTo(4);
+        assertThat(attempts.get(1).payloadBytes()).isEqualTo(16);
+        assertThat(attempts).allSatisfy(AttemptTimingsTest::assertNonNegative);
+    }
+    
+    @Test
+    @DisplayName("A failed request reports one unsuccessful request with the response status")
+    void testFailedRequest() throws Exception {
+        KbsHttpClient client = client(new FakeTransport(request -> FakeTransport.response(request, 404, "{}")));
+        try {
+            assertThatThrownBy(() -> client.get(URL, null, OBJECT)).isInstanceOf(KbsApiException.class);
+        } finally {
+            client.close();
+        }
+        
+        awaitRequest();
+        assertThat(requests).singleElement().satisfies(request -> {
+            assertThat(request.attempts()).isEqualTo(1);
+            assertThat(request.retries()).isZero();
+            assertThat(request.success()).isFalse();
+        });
+        assertThat(attempts).singleElement().satisfies(attempt -> {
+            assertThat(attempt.statusCode()).isEqualTo(404);
+            assertNonNegative(attempt);
+        });
+    }
+    
+    @Test
+    @DisplayName("Cancelled requests are not reported")
+    void testCancelledRequest() {
+        FakeTransport transport = new FakeTransport();
+        KbsHttpClient client = client(transport);
+        try {
+            client.getAsync(URL, null, OBJECT).cancel(true);
+        } finally {
+            client.close();
+        }
+        
+        assertThat(requests).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Stages never go negative and unmarked stages are zero")
+    void testToMetrics() throws Exception {
+        AttemptTimings timings = new AttemptTimings();
+        timings.statusCode = 200;
+        timings.markStarted();
+        timings.markConnectionAcquired();
+        timings.markFirstByte();
+        
+        InputStream in = timings.meter(new ByteArrayInputStream("{\"x\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertThat(in.readAllBytes()).hasSize(7);
+        timings.decoded(0);
+        
+        AttemptMetrics metrics = timings.toMetrics(KbsEndpoint.PRICE_BOARD, 1);
+        assertThat(metrics.payloadBytes()).isEqualTo(7);
+        assertThat(metrics.statusCode()).isEqualTo(200);
+        assertThat(metrics.parseNanos()).isZero();
+        assertNonNegative(metrics);
+        assertThat(timings.toMetrics(KbsEndpoint.PRICE_BOARD, 1)).isNull();
+        
+        AttemptMetrics unmarked = new AttemptTimings().toMetrics(KbsEndpoint.PRICE_BOARD, 1);
+        assertThat(unmarked.statusCode()).isEqualTo(-1);
+        assertThat(unmarked.queueNanos()).isZero();
+        assertThat(unmarked.connectNanos()).isZero();
+        assertThat(unmarked.timeToFirstByteNanos()).isZero();
+    }
+    
+    private KbsHttpClient client(FakeTransport transport) {
+        return new KbsHttpClient(KbsConfig.builder()
+            .transport(transport)
+            .metrics(metrics)
+            .retryPolicy(ExponentialBackoffRetryPolicy.builder()
+                .maxAttempts(3)
+                .baseDelay(Duration.ofMillis(1))
+                .build())
+            .build());
+    }
+    
+    /**
+     * The request is reported from a completion callback, which may run after the caller has resumed.
+     */
+    private void awaitRequest() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+    
+    private static void assertNonNegative(AttemptMetrics attempt) {
+        assertThat(attempt.queueNanos()).isNotNegative();
+        assertThat(attempt.connectNanos()).isNotNegative();
+        assertThat(attempt.timeToFirstByteNanos()).isNotNegative();
+        assertThat(attempt.bodyReadNanos()).isNotNegative();
+        assertThat(attempt.parseNanos()).isNotNegative();
+        assertThat(attempt.payloadBytes()).isNotNegative();
+    }
+}
@@ -0,0 +1,121 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.CircuitBreakerConfig;
+import com.vnstock.kbs.exception.KbsCircuitOpenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the per-endpoint circuit breaker state machine.
+ */
+public class CircuitBreakerTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    private final CircuitBreaker breaker = new CircuitBreaker(KbsEndpoint.FINANCE_INFO, CircuitBreakerConfig.builder()
+        .windowSize(10)
+        .minimumCalls(4)
+        .failureRateThreshold(0.5)
+        .openDuration(Duration.ofSeconds(5))
+        .halfOpenCalls(2)
+        .build());
+    
+    @Test
+    @DisplayName("Circuit stays closed below the minimum number of calls")
+    void testMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(breaker.acquire(0), 0);
+        }
+        assertThat(breaker.state(0)).isEqualTo(CircuitState.CLOSED);
+        
+        breaker.onFailure(breaker.acquire(0), 0);
+        assertThat(breaker.state(0)).isEqualTo(CircuitState.OPEN);
+    }
+    
+    @Test
+    @DisplayName("Failure rate is evaluated over the sliding window")
+    void testSlidingWindow() {
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(breaker.acquire(0), 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.acquire(0), 0);
+        }
+        // 4 failures out of the last 10 attempts
+        assertThat(breaker.state(0)).isEqualTo(CircuitState.CLOSED);
+        
+        breaker.onFailure(breaker.acquire(0), 0);
+        assertThat(breaker.state(0)).isEqualTo(CircuitState.OPEN);
+    }
+    
+    @Test
+    @DisplayName("Open circuit fails fast until the open duration elapses")
+    void testOpenFailsFast() {
+        open();
+        
+        assertThatThrownBy(() -> breaker.acquire(2 * SECOND))
+            .isInstanceOf(KbsCircuitOpenException.class)
+            .satisfies(e -> {
+                KbsCircuitOpenException open = (KbsCircuitOpenException) e;
+                assertThat(open.getEndpoint()).isEqualTo("FINANCE_INFO");
+                assertThat(open.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+            });
+        
+        assertThat(breaker.state(5 * SECOND)).isEqualTo(CircuitState.HALF_OPEN);
+    }
+    
+    @Test
+    @DisplayName("Successful trial calls close the circuit")
+    void testHalfOpenCloses() {
+        open();
+        long now = 6 * SECOND;
+        
+        long first = breaker.acquire(now);
+        long second = breaker.acquire(now);
+        assertThatThrownBy(() -> breaker.acquire(now)).isInstanceOf(KbsCircuitOpenException.class);
+        
+        breaker.onSuccess(first, now);
+        breaker.onSuccess(second, now);
+        assertThat(breaker.state(now)).isEqualTo(CircuitState.CLOSED);
+    }
+    
+    @Test
+    @DisplayName("A failed trial call reopens the circuit")
+    void testHalfOpenReopens() {
+        open();
+        long now = 6 * SECOND;
+        
+        breaker.onFailure(breaker.acquire(now), now);
+        assertThat(breaker.state(now)).isEqualTo(CircuitState.OPEN);
+        assertThatThrownBy(() -> breaker.acquire(now + SECOND)).isInstanceOf(KbsCircuitOpenException.class);
+    }
+    
+    @Test
+    @DisplayName("Released and stale permits do not affect the new state")
+    void testReleaseAndStalePermits() {
+        long stale = breaker.acquire(0);
+        open();
+        long now = 6 * SECOND;
+        
+        long trial = breaker.acquire(now);
+        breaker.onFailure(stale, now);
+        assertThat(breaker.state(now)).isEqualTo(CircuitState.HALF_OPEN);
+        
+        breaker.release(trial);
+        breaker.onSuccess(breaker.acquire(now), now);
+        breaker.onSuccess(breaker.acquire(now), now);
+        assertThat(breaker.state(now)).isEqualTo(CircuitState.CLOSED);
+    }
+    
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.acquire(0), 0);
+        }
+        assertThat(breaker.state(0)).isEqualTo(CircuitState.OPEN);
+    }
+}
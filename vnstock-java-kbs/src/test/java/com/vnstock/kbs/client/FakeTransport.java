@@ -0,0 +1,70 @@
+package com.vnstock.kbs.client;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Test transport that records requests and lets the test settle each exchange,
+ * or answers every request at once through a responder.
+ */
+final class FakeTransport implements KbsTransport {
+    
+    private static final MediaType JSON = MediaType.parse("application/json");
+    
+    final List<Request> requests = new CopyOnWriteArrayList<>();
+    final List<CompletableFuture<Response>> exchanges = new CopyOnWriteArrayList<>();
+    private final Function<Request, Response> responder;
+    
+    /**
+     * Leaves every exchange pending until the test completes it.
+     */
+    FakeTransport() {
+        this(null);
+    }
+    
+    FakeTransport(Function<Request, Response> responder) {
+        this.responder = responder;
+    }
+    
+    @Override
+    public CompletableFuture<Response> send(Request request) {
+        requests.add(request);
+        CompletableFuture<Response> exchange = new CompletableFuture<>();
+        exchanges.add(exchange);
+        if (responder != null) {
+            exchange.complete(responder.apply(request));
+        }
+        return exchange;
+    }
+    
+    CompletableFuture<Response> exchange(int index) {
+        return exchanges.get(index);
+    }
+    
+    void respond(int index, int code, String body) {
+        exchange(index).complete(response(requests.get(index), code, body));
+    }
+    
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+    
+    static Response response(Request request, int code, String body) {
+        return new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message(code < 400 ? "OK" : "Error")
+            .body(ResponseBody.create(body, JSON))
+            .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.config.HedgingConfig;
+import com.vnstock.kbs.config.KbsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for hedged requests: the hedge budget, cancelling the losing
+ * request and the latency samples the hedge delay is based on.
+ */
+public class HedgingTest {
+    
+    private static final String URL = KbsConfig.DEFAULT_BASE_URL_IIS + "/stock/iss";
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+    private static final long HEDGE_DELAY_MILLIS = 20;
+    
+    private final FakeTransport transport = new FakeTransport();
+    private final List<KbsHttpClient> clients = new ArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        clients.forEach(KbsHttpClient::close);
+    }
+    
+    @Test
+    @DisplayName("A hedge that answers first wins and the primary exchange is cancelled")
+    void testHedgeWinsAndPrimaryCancelled() throws Exception {
+        KbsHttpClient client = client(1.0);
+        
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        awaitExchanges(2);
+        transport.respond(1, 200, "{\"from\": \"hedge\"}");
+        
+        assertThat(future.get(5, TimeUnit.SECONDS)).containsEntry("from", "hedge");
+        assertThat(transport.exchange(0)).isCancelled();
+        assertThat(client.hedgingStats()).isEqualTo(new HedgingStats(1, 1, 1));
+    }
+    
+    @Test
+    @DisplayName("A primary that answers first cancels the hedge")
+    void testPrimaryWinsAndHedgeCancelled() throws Exception {
+        KbsHttpClient client = client(1.0);
+        
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        awaitExchanges(2);
+        transport.respond(0, 200, "{\"from\": \"primary\"}");
+        
+        assertThat(future.get(5, TimeUnit.SECONDS)).containsEntry("from", "primary");
+        assertThat(transport.exchange(1)).isCancelled();
+        assertThat(client.hedgingStats()).isEqualTo(new HedgingStats(1, 1, 0));
+    }
+    
+    @Test
+    @DisplayName("Hedges stop once the budget ratio of requests is used up")
+    void testHedgeBudget() throws Exception {
+        KbsHttpClient client = client(0.5);
+        
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(client.getAsync(URL, Map.of("page", String.valueOf(i)), OBJECT));
+        }
+        Thread.sleep(HEDGE_DELAY_MILLIS * 10);
+        
+        assertThat(transport.requests).hasSize(6);
+        assertThat(client.hedgingStats().hedges()).isEqualTo(2);
+        futures.forEach(future -> future.cancel(true));
+        
+        KbsHttpClient unbudgeted = client(0.0);
+        unbudgeted.getAsync(URL, null, OBJECT);
+        Thread.sleep(HEDGE_DELAY_MILLIS * 5);
+        assertThat(unbudgeted.hedgingStats()).isEqualTo(new HedgingStats(1, 0, 0));
+    }
+    
+    @Test
+    @DisplayName("Primaries that lose to their hedge still count towards the latency percentile")
+    void testLosingPrimaryLatencyRecorded() throws Exception {
+        KbsHttpClient client = client(1.0);
+        
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            int first = transport.exchanges.size();
+            CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+            awaitExchanges(first + 2);
+            transport.respond(first + 1, 200, "{}");
+            future.get(5, TimeUnit.SECONDS);
+            assertThat(transport.exchange(first)).isCancelled();
+        }
+        
+        // Every sample is a primary that had run at least the hedge delay
+        assertThat(client.latencyPercentileNanos(KbsEndpoint.PRICE_BOARD))
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(HEDGE_DELAY_MILLIS));
+    }
+    
+    @Test
+    @DisplayName("Primaries cancelled by the caller are not recorded as latency samples")
+    void testCancelledPrimaryNotRecorded() throws Exception {
+        KbsHttpClient client = client(1.0);
+        
+        for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+            int first = transport.exchanges.size();
+            CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+            awaitExchanges(first + 1);
+            future.cancel(true);
+            assertThat(transport.exchange(first)).isCancelled();
+        }
+        
+        assertThat(client.latencyPercentileNanos(KbsEndpoint.PRICE_BOARD)).isEqualTo(-1);
+    }
+    
+    @Test
+    @DisplayName("Latency percentile is computed once enough samples were recorded")
+    void testLatencyTracker() {
+        LatencyTracker tracker = new LatencyTracker(0.9);
+        for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.percentileNanos()).isEqualTo(-1);
+        
+        tracker.record(LatencyTracker.MIN_SAMPLES);
+        assertThat(tracker.percentileNanos()).isEqualTo(18);
+    }
+    
+    private KbsHttpClient client(double budgetRatio) {
+        KbsHttpClient client = new KbsHttpClient(KbsConfig.builder()
+            .transport(transport)
+            .coalesceRequests(false)
+            .hedging(HedgingConfig.builder()
+                .minDelay(Duration.ofMillis(HEDGE_DELAY_MILLIS))
+                .initialDelay(Duration.ofMillis(HEDGE_DELAY_MILLIS))
+                .budgetRatio(budgetRatio)
+                .build())
+            .build());
+        clients.add(client);
+        return client;
+    }
+    
+    private void awaitExchanges(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (transport.exchanges.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(transport.exchanges).hasSizeGreaterThanOrEqualTo(count);
+    }
+}
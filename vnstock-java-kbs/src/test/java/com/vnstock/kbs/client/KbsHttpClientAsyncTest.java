@@ -0,0 +1,256 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.config.ExponentialBackoffRetryPolicy;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.exception.KbsCircuitOpenException;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the async request path: cancellation, failure unwrapping and the blocking wrappers.
+ */
+public class KbsHttpClientAsyncTest {
+    
+    private static final String URL = "https://example.test/data";
+    private static final Logger logger = LoggerFactory.getLogger(KbsHttpClientAsyncTest.class);
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+    
+    private final FakeTransport transport = new FakeTransport();
+    private final KbsHttpClient client = new KbsHttpClient(KbsConfig.builder()
+        .transport(transport)
+        .maxRetries(0)
+        .build());
+    
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+    
+    @Test
+    @DisplayName("Cancelling the returned future cancels the exchange")
+    void testCancel() {
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        
+        assertThat(future.cancel(true)).isTrue();
+        
+        assertThat(transport.exchange(0)).isCancelled();
+    }
+    
+    @Test
+    @DisplayName("Cancelling a dependent stage cancels the request and the exchange")
+    void testCancelDependentStage() {
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        CompletableFuture<Integer> size = future.thenApply(Map::size).thenApply(n -> n + 1);
+        CompletableFuture<Map<String, Object>> wrapped = KbsFutures.withContext(client.getAsync(URL, Map.of("page", "2"), OBJECT), logger, "Failed");
+        
+        size.cancel(true);
+        wrapped.cancel(true);
+        
+        assertThat(future).isCancelled();
+        assertThat(transport.exchange(0)).isCancelled();
+        assertThat(transport.exchange(1)).isCancelled();
+    }
+    
+    @Test
+    @DisplayName("Cancelling while a retry is scheduled sends no further attempt")
+    void testCancelPendingRetry() throws Exception {
+        FakeTransport retrying = new FakeTransport();
+        KbsHttpClient retryClient = new KbsHttpClient(KbsConfig.builder()
+            .transport(retrying)
+            .retryPolicy(ExponentialBackoffRetryPolicy.builder()
+                .maxAttempts(3)
+                .baseDelay(Duration.ofSeconds(5))
+                .build())
+            .build());
+        try {
+            CompletableFuture<Map<String, Object>> future = retryClient.getAsync(URL, null, OBJECT);
+            retrying.respond(0, 503, "");
+            
+            future.cancel(true);
+            Thread.sleep(50);
+            
+            assertThat(future).isCancelled();
+            assertThat(retrying.requests).hasSize(1);
+        } finally {
+            retryClient.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("A retried request completes with the later successful response")
+    void testRetry() throws Exception {
+        FakeTransport retrying = new FakeTransport();
+        KbsHttpClient retryClient = new KbsHttpClient(KbsConfig.builder()
+            .transport(retrying)
+            .retryPolicy(ExponentialBackoffRetryPolicy.builder()
+                .maxAttempts(2)
+                .baseDelay(Duration.ofMillis(1))
+                .build())
+            .build());
+        try {
+            CompletableFuture<Map<String, Object>> future = retryClient.getAsync(URL, null, OBJECT);
+            retrying.respond(0, 503, "");
+            
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (retrying.requests.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            retrying.respond(1, 200, "{\"a\":1}");
+            
+            assertThat(future.get(5, TimeUnit.SECONDS)).containsEntry("a", 1);
+        } finally {
+            retryClient.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Blocking get decodes the response and rethrows failures unwrapped")
+    void testBlockingWrappers() {
+        FakeTransport answering = new FakeTransport(request -> request.url().encodedPath().equals("/data")
+            ? FakeTransport.response(request, 200, "{\"a\":1}")
+            : FakeTransport.response(request, 404, "{\"error\":\"missing\"}"));
+        KbsHttpClient blockingClient = new KbsHttpClient(KbsConfig.builder().transport(answering).build());
+        try {
+            assertThat(blockingClient.get(URL, Map.of("q", "x"), OBJECT)).containsEntry("a", 1);
+            assertThat(answering.requests.get(0).url().queryParameter("q")).isEqualTo("x");
+            
+            assertThatThrownBy(() -> blockingClient.get("https://example.test/missing", null, OBJECT))
+                .isExactlyInstanceOf(KbsApiException.class)
+                .satisfies(e -> {
+                    KbsApiException failure = (KbsApiException) e;
+                    assertThat(failure.getStatusCode()).isEqualTo(404);
+                    assertThat(failure.getResponseBody()).isEqualTo("{\"error\":\"missing\"}");
+                });
+        } finally {
+            blockingClient.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Transport failures surface as KbsApiException with the IOException as cause")
+    void testTransportFailure() {
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        transport.exchange(0).completeExceptionally(new IOException("connection reset"));
+        
+        assertThatThrownBy(() -> KbsFutures.join(future))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Request failed after 1 attempts")
+            .hasCauseInstanceOf(IOException.class);
+    }
+    
+    @Test
+    @DisplayName("join cancels the request when the waiting thread is interrupted")
+    void testJoinInterrupted() {
+        CompletableFuture<Map<String, Object>> future = client.getAsync(URL, null, OBJECT);
+        
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> KbsFutures.join(future))
+                .isInstanceOf(KbsApiException.class)
+                .hasMessage("Request interrupted");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(future).isCancelled();
+        assertThat(transport.exchange(0)).isCancelled();
+    }
+    
+    @Test
+    @DisplayName("join unwraps CompletionException and maps cancellation and foreign failures")
+    void testJoinUnwrapping() {
+        KbsApiException failure = new KbsApiException("boom");
+        CompletableFuture<String> failed = CompletableFuture.<String>failedFuture(failure).thenApply(s -> s);
+        assertThatThrownBy(() -> KbsFutures.join(failed)).isSameAs(failure);
+        
+        CompletableFuture<String> cancelled = new CompletableFuture<>();
+        cancelled.cancel(true);
+        assertThatThrownBy(() -> KbsFutures.join(cancelled))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Request cancelled")
+            .hasCauseInstanceOf(CancellationException.class);
+        
+        IllegalStateException foreign = new IllegalStateException("bad state");
+        assertThatThrownBy(() -> KbsFutures.join(CompletableFuture.failedFuture(foreign)))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Request failed: bad state")
+            .hasCause(foreign);
+    }
+    
+    @Test
+    @DisplayName("withContext wraps failures but passes cancellation and open circuits through")
+    void testWithContext() {
+        KbsApiException failure = new KbsApiException("API request failed: 500", 500, "");
+        CompletableFuture<String> wrapped = KbsFutures.withContext(CompletableFuture.failedFuture(failure), logger, "Failed to load");
+        assertThatThrownBy(() -> KbsFutures.join(wrapped))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Failed to load")
+            .hasCause(failure);
+        
+        KbsCircuitOpenException open = new KbsCircuitOpenException("Circuit open", "PRICE_BOARD", Duration.ofSeconds(1));
+        CompletableFuture<String> circuit = KbsFutures.withContext(CompletableFuture.failedFuture(open), logger, "Failed to load");
+        assertThatThrownBy(() -> KbsFutures.join(circuit)).isSameAs(open);
+        
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> cancelled = KbsFutures.withContext(source, logger, "Failed to load");
+        source.cancel(true);
+        assertThatThrownBy(() -> KbsFutures.join(cancelled))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Request cancelled");
+        
+        assertThat(KbsFutures.withContext(CompletableFuture.completedFuture("ok"), logger, "Failed to load").join())
+            .isEqualTo("ok");
+    }
+    
+    @Test
+    @DisplayName("OkHttpTransport cancels the OkHttp call when its future is cancelled")
+    void testOkHttpTransportCancel() throws Exception {
+        AtomicReference<Call> call = new AtomicReference<>();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OkHttpClient okHttp = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                call.set(chain.call());
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Canceled");
+            })
+            .build();
+        OkHttpTransport okHttpTransport = new OkHttpTransport(okHttp);
+        try {
+            CompletableFuture<Response> exchange = okHttpTransport.send(new Request.Builder().url(URL).build());
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            
+            exchange.cancel(true);
+            
+            assertThat(call.get().isCanceled()).isTrue();
+        } finally {
+            release.countDown();
+            okHttpTransport.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.vnstock.kbs.client;
+
+import com.vnstock.kbs.config.RateLimitConfig;
+import com.vnstock.kbs.config.RateLimitConfig.Limit;
+import com.vnstock.kbs.config.RateLimitConfig.OnLimit;
+import com.vnstock.kbs.exception.KbsRateLimitException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the token-bucket rate limiter, driven by explicit timestamps.
+ */
+public class RateLimiterTest {
+    
+    private static final long T0 = 1_000_000_000L;
+    private static final long MILLIS = 1_000_000L;
+    
+    @Test
+    @DisplayName("Burst goes out at once, then reservations queue up on a negative balance")
+    void testNegativeBalance() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder().global(Limit.of(10, 2)));
+        
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isEqualTo(100 * MILLIS);
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isEqualTo(200 * MILLIS);
+        
+        // Half the queue has drained after 100 ms
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0 + 100 * MILLIS)).isEqualTo(200 * MILLIS);
+    }
+    
+    @Test
+    @DisplayName("Reservations beyond maxWait are rejected without taking a permit")
+    void testMaxWait() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder()
+            .global(Limit.of(10, 1))
+            .maxWait(Duration.ofMillis(150)));
+        
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isEqualTo(100 * MILLIS);
+        assertThatThrownBy(() -> limiter.reserve(KbsEndpoint.PRICE_BOARD, T0))
+            .isInstanceOfSatisfying(KbsRateLimitException.class,
+                e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(200)));
+        
+        // The rejected call did not deepen the queue
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0 + 100 * MILLIS)).isEqualTo(100 * MILLIS);
+    }
+    
+    @Test
+    @DisplayName("FAIL_FAST throws as soon as a request would have to wait")
+    void testFailFast() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder()
+            .global(Limit.of(10, 2))
+            .onLimit(OnLimit.FAIL_FAST));
+        
+        assertThat(limiter.reserve(KbsEndpoint.STOCK_HISTORY, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.STOCK_HISTORY, T0)).isZero();
+        assertThatThrownBy(() -> limiter.reserve(KbsEndpoint.STOCK_HISTORY, T0))
+            .isInstanceOfSatisfying(KbsRateLimitException.class, e -> {
+                assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(100));
+                assertThat(e.getMessage()).contains("STOCK_HISTORY").contains("FAIL_FAST");
+            });
+        
+        assertThat(limiter.reserve(KbsEndpoint.STOCK_HISTORY, T0 + 100 * MILLIS)).isZero();
+    }
+    
+    @Test
+    @DisplayName("An idle bucket refills up to its burst and no further")
+    void testRefillAfterIdle() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder().global(Limit.of(10, 2)));
+        for (int i = 0; i < 5; i++) {
+            limiter.reserve(KbsEndpoint.PRICE_BOARD, T0);
+        }
+        
+        long later = T0 + 10_000 * MILLIS;
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, later)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, later)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, later)).isEqualTo(100 * MILLIS);
+    }
+    
+    @Test
+    @DisplayName("A timestamp older than the last refill does not drain the bucket")
+    void testStaleTimestamp() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder().global(Limit.of(10, 1)));
+        
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0 + 100 * MILLIS)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isEqualTo(100 * MILLIS);
+    }
+    
+    @Test
+    @DisplayName("Server buckets apply only to their own server's endpoints")
+    void testServerBuckets() {
+        RateLimiter limiter = limiter(RateLimitConfig.builder()
+            .iis(Limit.of(10, 1))
+            .sas(Limit.of(1, 1)));
+        
+        assertThat(limiter.reserve(KbsEndpoint.PRICE_BOARD, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.STOCK_HISTORY, T0)).isEqualTo(100 * MILLIS);
+        assertThat(limiter.reserve(KbsEndpoint.FINANCE_INFO, T0)).isZero();
+        assertThat(limiter.reserve(KbsEndpoint.FINANCE_INFO, T0)).isEqualTo(1_000 * MILLIS);
+        assertThat(limiter.reserve(KbsEndpoint.OTHER, T0)).isZero();
+        
+        assertThat(new RateLimiter(RateLimitConfig.unlimited(), T0).reserve(KbsEndpoint.PRICE_BOARD, T0)).isZero();
+    }
+    
+    private static RateLimiter limiter(RateLimitConfig.Builder builder) {
+        return new RateLimiter(builder.build(), T0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.config.KbsConfig;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for recording responses and replaying them offline.
+ */
+public class ReplayTransportTest {
+    
+    private static final String URL = "https://example.test/stock/iss";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    @DisplayName("A recorded response is replayed under the same key, whatever the parameter order")
+    void testRecordReplayRoundTrip() throws Exception {
+        FakeTransport live = new FakeTransport(request -> FakeTransport.response(request, 200, "{\"price\": 64500}"));
+        try (RecordingTransport recording = new RecordingTransport(live, directory)) {
+            Response response = recording.send(get(URL + "?symbol=VNM&page=1")).get(5, TimeUnit.SECONDS);
+            // The caller still gets the full body after it was saved
+            assertThat(response.body().string()).isEqualTo("{\"price\": 64500}");
+        }
+        
+        try (ReplayTransport replay = ReplayTransport.builder().directory(directory).build()) {
+            Response response = replay.send(get(URL + "?page=1&symbol=VNM")).get(5, TimeUnit.SECONDS);
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().contentType()).isEqualTo(JSON);
+            assertThat(response.body().string()).isEqualTo("{\"price\": 64500}");
+        }
+    }
+    
+    @Test
+    @DisplayName("Replayed responses decode through the client like live ones")
+    void testReplayThroughClient() throws Exception {
+        ReplayTransport.write(directory, get(URL + "?symbol=VNM"), 200, JSON,
+            "{\"symbol\": \"VNM\"}".getBytes(StandardCharsets.UTF_8));
+        Request post = new Request.Builder()
+            .url(URL)
+            .post(RequestBody.create("{\"symbols\":[\"VNM\"]}", JSON))
+            .build();
+        
+        ReplayTransport replay = ReplayTransport.builder().directory(directory).build();
+        KbsHttpClient client = new KbsHttpClient(KbsConfig.builder().transport(replay).build());
+        try {
+            Map<String, Object> quote = client.get(URL, Map.of("symbol", "VNM"), new TypeReference<Map<String, Object>>() {});
+            assertThat(quote).containsEntry("symbol", "VNM");
+            
+            // The body is part of the key, so a POST with another body has no recording
+            assertThat(ReplayTransport.key(post)).isNotEqualTo(ReplayTransport.key(
+                post.newBuilder().post(RequestBody.create("{\"symbols\":[\"FPT\"]}", JSON)).build()));
+            assertThat(ReplayTransport.key(post)).isNotEqualTo(ReplayTransport.key(get(URL)));
+        } finally {
+            client.close();
+            replay.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Requests without a recording get a 404")
+    void testNoRecording() throws Exception {
+        try (ReplayTransport replay = ReplayTransport.builder().directory(directory).build()) {
+            Response response = replay.send(get(URL + "?symbol=XYZ")).get(5, TimeUnit.SECONDS);
+            
+            assertThat(response.code()).isEqualTo(404);
+            assertThat(response.body().string()).isEqualTo("No recording for GET " + URL + "?symbol=XYZ");
+        }
+    }
+    
+    @Test
+    @DisplayName("Latency delays the response and bandwidth throttles the body")
+    void testThrottling() throws Exception {
+        byte[] body = new byte[20_000];
+        Arrays.fill(body, (byte) ' ');
+        ReplayTransport.write(directory, get(URL), 200, JSON, body);
+        
+        try (ReplayTransport replay = ReplayTransport.builder()
+                .directory(directory)
+                .latency(Duration.ofMillis(100))
+                .bandwidth(40_000)
+                .build()) {
+            long start = System.nanoTime();
+            Response response = replay.send(get(URL)).get(5, TimeUnit.SECONDS);
+            long firstByte = System.nanoTime() - start;
+            byte[] read = response.body().bytes();
+            long total = System.nanoTime() - start;
+            
+            assertThat(read).hasSize(20_000);
+            assertThat(firstByte).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+            // Half a second at 40 kB/s, less the first chunk the throttle lets through at once
+            assertThat(total - firstByte).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+        }
+    }
+    
+    private static Request get(String url) {
+        return new Request.Builder().url(url).build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vnstock.kbs.client.KbsHttpClient.CoalescingKey;
+import com.vnstock.kbs.config.KbsConfig;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for single-flight coalescing of identical GET requests.
+ */
+public class RequestCoalescerTest {
+    
+    private static final String URL = "https://example.test/quotes";
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+    
+    private final FakeTransport transport = new FakeTransport();
+    private final KbsHttpClient client = new KbsHttpClient(KbsConfig.builder().transport(transport).build());
+    
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+    
+    @Test
+    @DisplayName("Concurrent identical requests share one transport call and one result")
+    void testConcurrentRequestsShareOneCall() throws Exception {
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompletableFuture<Map<String, Object>>>> submitted = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return client.getAsync(URL, Map.of("symbol", "VNM"), OBJECT);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<Map<String, Object>>> future : submitted) {
+                futures.add(future.get(5, TimeUnit.SECONDS));
+            }
+            
+            assertThat(transport.requests).hasSize(1);
+            transport.respond(0, 200, "{\"price\": 64500}");
+            
+            Map<String, Object> first = futures.get(0).get(5, TimeUnit.SECONDS);
+            assertThat(first).containsEntry("price", 64500);
+            for (CompletableFuture<Map<String, Object>> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(client.coalescingStats().hits()).isEqualTo(callers - 1);
+            assertThat(client.coalescingStats().misses()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("The upstream call is cancelled only when the last subscriber cancels")
+    void testCancelLastSubscriber() {
+        CompletableFuture<Map<String, Object>> first = client.getAsync(URL, null, OBJECT);
+        CompletableFuture<Map<String, Object>> second = client.getAsync(URL, null, OBJECT);
+        assertThat(transport.requests).hasSize(1);
+        
+        first.cancel(true);
+        assertThat(transport.exchange(0)).isNotDone();
+        assertThat(second).isNotDone();
+        
+        second.cancel(true);
+        assertThat(transport.exchange(0)).isCancelled();
+        
+        // An abandoned flight is not joined by later callers
+        CompletableFuture<Map<String, Object>> third = client.getAsync(URL, null, OBJECT);
+        assertThat(transport.requests).hasSize(2);
+        transport.respond(1, 200, "{}");
+        assertThat(third.join()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("A cancelled subscriber does not affect the others' result")
+    void testCancelOneSubscriber() {
+        CompletableFuture<Map<String, Object>> first = client.getAsync(URL, null, OBJECT);
+        CompletableFuture<Integer> dependent = client.getAsync(URL, null, OBJECT).thenApply(Map::size);
+        
+        first.cancel(true);
+        transport.respond(0, 200, "{\"a\": 1, \"b\": 2}");
+        
+        assertThat(dependent.join()).isEqualTo(2);
+        assertThat(first).isCancelled();
+    }
+    
+    @Test
+    @DisplayName("Requests with different decoders are not merged")
+    void testDifferentDecodersNotMerged() {
+        ResponseDecoder<String> text = parser -> parser.getValueAsString();
+        ResponseDecoder<String> otherText = parser -> parser.getValueAsString();
+        
+        client.getAsync(URL, null, text);
+        client.getAsync(URL, null, otherText);
+        client.getAsync(URL, null, OBJECT);
+        client.getAsync(URL, null, new TypeReference<List<Object>>() {});
+        
+        assertThat(transport.requests).hasSize(4);
+        assertThat(client.coalescingStats().hits()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Keys that differ only by headers are not merged")
+    void testDifferentHeadersNotMerged() {
+        HttpUrl url = HttpUrl.get(URL);
+        ResponseDecoder<String> decoder = parser -> parser.getValueAsString();
+        CoalescingKey vietnamese = new CoalescingKey(url, Headers.of("x-lang", "vi"), decoder);
+        CoalescingKey english = new CoalescingKey(url, Headers.of("x-lang", "en"), decoder);
+        assertThat(vietnamese).isNotEqualTo(english);
+        assertThat(vietnamese).isEqualTo(new CoalescingKey(url, Headers.of("x-lang", "vi"), decoder));
+        
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger calls = new AtomicInteger();
+        coalescer.execute(vietnamese, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<String>();
+        });
+        coalescer.execute(english, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<String>();
+        });
+        
+        assertThat(calls).hasValue(2);
+        assertThat(coalescer.misses()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,161 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.exception.KbsApiException;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for streaming response decoding and the classification of bad or failed bodies.
+ */
+public class ResponseDecoderTest {
+    
+    private static final String URL = "https://example.test/prices";
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+    
+    /**
+     * Sums the numbers of a JSON array token by token.
+     */
+    private static final ResponseDecoder<Long> SUM = parser -> {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array");
+        }
+        long sum = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            sum += parser.getLongValue();
+        }
+        return sum;
+    };
+    
+    private final List<KbsHttpClient> clients = new ArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        clients.forEach(KbsHttpClient::close);
+    }
+    
+    @Test
+    @DisplayName("A streaming decoder reads the body from its first token")
+    void testStreamingDecode() {
+        KbsHttpClient client = client(200, "[1, 2, 3]");
+        
+        assertThat(client.get(URL, null, SUM)).isEqualTo(6L);
+    }
+    
+    @Test
+    @DisplayName("An empty body decodes to null without calling the decoder")
+    void testEmptyBody() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseDecoder<Object> counting = parser -> {
+            calls.incrementAndGet();
+            return parser.readValueAs(Object.class);
+        };
+        
+        assertThat(client(200, "").get(URL, null, counting)).isNull();
+        assertThat(KbsHttpClient.decodeBody(new ObjectMapper(), null, counting)).isNull();
+        assertThat(calls).hasValue(0);
+    }
+    
+    @Test
+    @DisplayName("Truncated JSON fails as a non-retried JsonProcessingException")
+    void testTruncatedJson() {
+        FakeTransport transport = new FakeTransport(request -> FakeTransport.response(request, 200, "[1, 2, "));
+        KbsHttpClient client = client(transport);
+        
+        assertThatThrownBy(() -> client.get(URL, null, SUM))
+            .isInstanceOf(KbsApiException.class)
+            .hasMessage("Request failed after 1 attempts")
+            .hasCauseInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> client.get(URL, null, OBJECT))
+            .isInstanceOf(KbsApiException.class)
+            .cause().isInstanceOf(JsonProcessingException.class);
+        assertThat(transport.requests).hasSize(2);
+    }
+    
+    @Test
+    @DisplayName("Malformed JSON fails with the parser error as cause")
+    void testMalformedJson() {
+        KbsHttpClient client = client(200, "{\"a\": nope}");
+        
+        assertThatThrownBy(() -> client.get(URL, null, OBJECT))
+            .isInstanceOf(KbsApiException.class)
+            .hasCauseInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> client(200, "{\"a\": 1}").get(URL, null, SUM))
+            .isInstanceOf(KbsApiException.class)
+            .cause().isInstanceOf(JsonProcessingException.class).hasMessageContaining("Expected an array");
+    }
+    
+    @Test
+    @DisplayName("Parse failures do not count against the endpoint's circuit breaker")
+    void testParseFailuresKeepCircuitClosed() {
+        KbsHttpClient client = client(200, "{");
+        
+        for (int i = 0; i < 20; i++) {
+            assertThatThrownBy(() -> client.get(URL, null, OBJECT)).isInstanceOf(KbsApiException.class);
+        }
+        
+        assertThat(client.circuitState(KbsEndpoint.OTHER)).isEqualTo(CircuitState.CLOSED);
+    }
+    
+    @Test
+    @DisplayName("Non-2xx responses keep the raw body and never reach the decoder")
+    void testErrorBody() {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseDecoder<Long> counting = parser -> {
+            calls.incrementAndGet();
+            return SUM.decode(parser);
+        };
+        KbsHttpClient client = client(400, "{\"message\": \"invalid symbol\"");
+        
+        assertThatThrownBy(() -> client.get(URL, null, counting))
+            .isInstanceOfSatisfying(KbsApiException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(400);
+                assertThat(e.getResponseBody()).isEqualTo("{\"message\": \"invalid symbol\"");
+                assertThat(e.getMessage()).startsWith("API request failed: 400");
+            });
+        assertThat(calls).hasValue(0);
+    }
+    
+    @Test
+    @DisplayName("decodeBody positions the parser on the first token and closes it afterwards")
+    void testDecodeBody() throws Exception {
+        List<JsonParser> parsers = new ArrayList<>();
+        ResponseDecoder<Long> recording = parser -> {
+            parsers.add(parser);
+            return SUM.decode(parser);
+        };
+        ResponseBody body = ResponseBody.create("[40, 2]", MediaType.parse("application/json"));
+        
+        assertThat(KbsHttpClient.decodeBody(new ObjectMapper(), body, recording)).isEqualTo(42L);
+        assertThat(parsers.get(0).isClosed()).isTrue();
+    }
+    
+    private KbsHttpClient client(int code, String body) {
+        return client(new FakeTransport(request -> FakeTransport.response(request, code, body)));
+    }
+    
+    private KbsHttpClient client(FakeTransport transport) {
+        KbsHttpClient client = new KbsHttpClient(KbsConfig.builder()
+            .transport(transport)
+            .coalesceRequests(false)
+            .build());
+        clients.add(client);
+        return client;
+    }
+}
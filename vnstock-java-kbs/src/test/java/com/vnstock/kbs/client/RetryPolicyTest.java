@@ -0,0 +1,145 @@
+package com.vnstock.kbs.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.vnstock.kbs.config.ExponentialBackoffRetryPolicy;
+import com.vnstock.kbs.config.KbsConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the retry policy, Retry-After parsing and the retry budget.
+ */
+public class RetryPolicyTest {
+    
+    private final ExponentialBackoffRetryPolicy policy = ExponentialBackoffRetryPolicy.builder()
+        .maxAttempts(5)
+        .baseDelay(Duration.ofMillis(100))
+        .maxDelay(Duration.ofMillis(1000))
+        .build();
+    
+    @Test
+    @DisplayName("Backoff uses full jitter under an exponentially growing cap")
+    void testBackoffBounds() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(policy.backoff(1, null)).isBetween(Duration.ZERO, Duration.ofMillis(100));
+            assertThat(policy.backoff(3, null)).isBetween(Duration.ZERO, Duration.ofMillis(400));
+            assertThat(policy.backoff(40, null)).isBetween(Duration.ZERO, Duration.ofMillis(1000));
+        }
+    }
+    
+    @Test
+    @DisplayName("Retry-After is honoured up to maxRetryAfter")
+    void testRetryAfter() {
+        Duration delay = policy.backoff(1, Duration.ofSeconds(2));
+        assertThat(delay).isBetween(Duration.ofSeconds(2), Duration.ofMillis(2100));
+        
+        assertThat(policy.backoff(1, Duration.ofMinutes(5))).isNull();
+    }
+    
+    @Test
+    @DisplayName("Only configured statuses and network failures are retried")
+    void testRetryableFailures() {
+        assertThat(policy.retryOnStatus(503)).isTrue();
+        assertThat(policy.retryOnStatus(429)).isTrue();
+        assertThat(policy.retryOnStatus(404)).isFalse();
+        assertThat(policy.retryOnStatus(500)).isFalse();
+        
+        assertThat(policy.retryOnException(new SocketTimeoutException())).isTrue();
+        assertThat(policy.retryOnException(new IOException("reset"))).isTrue();
+        assertThat(policy.retryOnException(new JsonParseException(null, "bad"))).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Default policy follows maxRetries unless a policy is set")
+    void testConfigDefaults() {
+        assertThat(KbsConfig.builder().maxRetries(5).build().retryPolicy().maxAttempts()).isEqualTo(5);
+        assertThat(KbsConfig.builder().maxRetries(0).build().retryPolicy().maxAttempts()).isEqualTo(1);
+        assertThat(KbsConfig.builder().maxRetries(5).retryPolicy(policy).build().retryPolicy()).isSameAs(policy);
+    }
+    
+    @Test
+    @DisplayName("Parse Retry-After as seconds or HTTP date")
+    void testParseRetryAfter() {
+        Instant now = Instant.parse("2024-01-15T08:00:00Z");
+        
+        assertThat(KbsHttpClient.parseRetryAfter("120", now)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(KbsHttpClient.parseRetryAfter("Mon, 15 Jan 2024 08:00:30 GMT", now)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(KbsHttpClient.parseRetryAfter("Mon, 15 Jan 2024 07:00:00 GMT", now)).isEqualTo(Duration.ZERO);
+        assertThat(KbsHttpClient.parseRetryAfter("soon", now)).isNull();
+        assertThat(KbsHttpClient.parseRetryAfter(null, now)).isNull();
+    }
+    
+    @Test
+    @DisplayName("Retry budget caps retries at a fraction of requests")
+    void testRequestBudget() {
+        RequestBudget budget = new RequestBudget(0.1, 0);
+        long now = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest(now);
+        }
+        
+        int allowed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (budget.tryAcquire(now)) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(10);
+        
+        // Once the window has slid past, the budget is earned back by new requests only
+        long later = now + TimeUnit.SECONDS.toNanos(11);
+        assertThat(budget.tryAcquire(later)).isFalse();
+        for (int i = 0; i < 10; i++) {
+            budget.recordRequest(later);
+        }
+        assertThat(budget.tryAcquire(later)).isTrue();
+        assertThat(budget.tryAcquire(later)).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Retry budget always allows the minimum retry rate")
+    void testRequestBudgetMinimum() {
+        RequestBudget budget = new RequestBudget(0.1, 1);
+        long now = System.nanoTime();
+        
+        int allowed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (budget.tryAcquire(now)) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(10);
+    }
+    
+    @Test
+    @DisplayName("Default budget floor stays small next to the ratio under load")
+    void testDefaultBudget() {
+        ExponentialBackoffRetryPolicy defaults = ExponentialBackoffRetryPolicy.builder().build();
+        assertThat(defaults.minRetriesPerSecond()).isEqualTo(1);
+        
+        RequestBudget budget = new RequestBudget(defaults.budgetRatio(), defaults.minRetriesPerSecond());
+        long now = System.nanoTime();
+        // 20 requests per second over the whole ten-second window
+        for (int second = 0; second < 10; second++) {
+            for (int i = 0; i < 20; i++) {
+                budget.recordRequest(now + TimeUnit.SECONDS.toNanos(second));
+            }
+        }
+        
+        long end = now + TimeUnit.SECONDS.toNanos(9);
+        int allowed = 0;
+        while (budget.tryAcquire(end)) {
+            allowed++;
+        }
+        // 10% of 200 requests plus 1 per second
+        assertThat(allowed).isEqualTo(30);
+    }
+}
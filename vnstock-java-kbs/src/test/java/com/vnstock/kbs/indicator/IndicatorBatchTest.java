@@ -0,0 +1,60 @@
+package com.vnstock.kbs.indicator;
+
+import com.vnstock.kbs.model.PriceSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for computing indicator sets over whole series.
+ */
+public class IndicatorBatchTest {
+    
+    private static PriceSeries series(String symbol, long... closes) {
+        PriceSeries.Builder builder = PriceSeries.builder(symbol, "1d", closes.length);
+        LocalDateTime first = LocalDateTime.of(2024, 6, 3, 7, 0);
+        for (int i = 0; i < closes.length; i++) {
+            long close = closes[i];
+            builder.add(PriceSeries.toEpochMinute(first.plusDays(i)), close, close, close, close, 100);
+        }
+        return builder.build();
+    }
+    
+    @Test
+    @DisplayName("Every indicator output becomes a column with one value per bar")
+    void testCompute() {
+        IndicatorBatch batch = IndicatorBatch.builder()
+            .add("sma2", () -> new SimpleMovingAverage(2))
+            .add("bb", () -> new BollingerBands(2, 1))
+            .build();
+        
+        IndicatorValues values = batch.compute(series("VNM", 100, 200, 400));
+        
+        assertThat(batch.columnNames()).containsExactly("sma2", "bb.middle", "bb.upper", "bb.lower");
+        assertThat(values.column("sma2")).containsExactly(Double.NaN, 150.0, 300.0);
+        assertThat(values.last("bb.upper")).isEqualTo(400.0);
+        assertThat(values.get("bb.lower", 1)).isEqualTo(100.0);
+        assertThatThrownBy(() -> values.get("rsi", 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Each series gets fresh indicators")
+    void testComputeAll() {
+        IndicatorBatch batch = IndicatorBatch.builder()
+            .add("ema2", () -> new ExponentialMovingAverage(2))
+            .build();
+        
+        Map<String, IndicatorValues> values = batch.computeAll(List.of(series("VNM", 100, 300), series("ACB", 10, 30)));
+        
+        assertThat(values).containsOnlyKeys("VNM", "ACB");
+        assertThat(values.get("VNM").last("ema2")).isEqualTo(200.0);
+        assertThat(values.get("ACB").last("ema2")).isEqualTo(20.0);
+        assertThatThrownBy(() -> IndicatorBatch.builder().add("x", Macd::new).add("x", Macd::new))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.vnstock.kbs.indicator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming indicators against textbook computations.
+ */
+public class IndicatorTest {
+    
+    private static final long[] CLOSES = {
+        68_500, 68_700, 68_600, 69_000, 69_400, 69_100, 68_800, 68_900, 69_300, 69_800,
+        70_100, 69_900, 69_600, 69_700, 70_200, 70_500, 70_300, 70_000, 70_400, 70_900
+    };
+    
+    private static void addCloses(Indicator indicator, long... closes) {
+        for (long close : closes) {
+            indicator.add(close, close + 200, close - 300, close, 1_000);
+        }
+    }
+    
+    @Test
+    @DisplayName("SMA averages the last period closes")
+    void testSimpleMovingAverage() {
+        SimpleMovingAverage sma = new SimpleMovingAverage(3);
+        addCloses(sma, 100, 200);
+        assertThat(sma.isReady()).isFalse();
+        
+        addCloses(sma, 300, 700);
+        
+        assertThat(sma.value()).isEqualTo(400.0);
+    }
+    
+    @Test
+    @DisplayName("EMA is seeded with the SMA and then smoothed with 2 / (period + 1)")
+    void testExponentialMovingAverage() {
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(3);
+        addCloses(ema, 100, 200, 300);
+        assertThat(ema.value()).isEqualTo(200.0);
+        
+        addCloses(ema, 400);
+        
+        assertThat(ema.value()).isEqualTo(300.0);
+    }
+    
+    @Test
+    @DisplayName("RSI uses Wilder smoothing of gains and losses")
+    void testRelativeStrengthIndex() {
+        RelativeStrengthIndex rsi = new RelativeStrengthIndex(2);
+        addCloses(rsi, 100, 110);
+        assertThat(rsi.isReady()).isFalse();
+        addCloses(rsi, 105);
+        // Gains 10, 0 and losses 0, 5
+        assertThat(rsi.value()).isCloseTo(100 - 100 / (1 + 5.0 / 2.5), within(1e-9));
+        
+        addCloses(rsi, 125);
+        
+        // Gain (5 + 20) / 2, loss (2.5 + 0) / 2
+        assertThat(rsi.value()).isCloseTo(100 - 100 / (1 + 12.5 / 1.25), within(1e-9));
+    }
+    
+    @Test
+    @DisplayName("ATR averages true ranges including gaps from the previous close")
+    void testAverageTrueRange() {
+        AverageTrueRange atr = new AverageTrueRange(2);
+        atr.add(100, 110, 90, 100, 0);
+        atr.add(130, 140, 125, 135, 0);
+        // True ranges 20 and 40 (gap from 100 to 140)
+        assertThat(atr.value()).isEqualTo(30.0);
+        
+        atr.add(135, 140, 130, 132, 0);
+        
+        assertThat(atr.value()).isEqualTo((30.0 + 10) / 2);
+    }
+    
+    @Test
+    @DisplayName("Bollinger bands are the SMA plus and minus population standard deviations")
+    void testBollingerBands() {
+        BollingerBands bands = new BollingerBands(4, 2);
+        addCloses(bands, 2, 4, 4, 6);
+        
+        // Mean 4, variance (4 + 0 + 0 + 4) / 4
+        assertThat(bands.value()).isEqualTo(4.0);
+        assertThat(bands.upper()).isCloseTo(4 + 2 * Math.sqrt(2), within(1e-9));
+        assertThat(bands.value(2)).isCloseTo(4 - 2 * Math.sqrt(2), within(1e-9));
+    }
+    
+    @Test
+    @DisplayName("MACD is the fast EMA minus the slow EMA with an EMA signal line")
+    void testMacd() {
+        Macd macd = new Macd(2, 3, 2);
+        ExponentialMovingAverage fast = new ExponentialMovingAverage(2);
+        ExponentialMovingAverage slow = new ExponentialMovingAverage(3);
+        double[] lines = new double[CLOSES.length];
+        for (int i = 0; i < CLOSES.length; i++) {
+            addCloses(macd, CLOSES[i]);
+            addCloses(fast, CLOSES[i]);
+            addCloses(slow, CLOSES[i]);
+            lines[i] = fast.value() - slow.value();
+        }
+        
+        // The signal starts at the third bar: SMA of lines 2 and 3, then smoothed with 2 / 3
+        double signal = (lines[2] + lines[3]) / 2;
+        for (int i = 4; i < CLOSES.length; i++) {
+            signal += 2.0 / 3 * (lines[i] - signal);
+        }
+        assertThat(macd.value()).isCloseTo(lines[CLOSES.length - 1], within(1e-9));
+        assertThat(macd.signal()).isCloseTo(signal, within(1e-9));
+        assertThat(macd.histogram()).isCloseTo(macd.value() - signal, within(1e-9));
+        assertThat(macd.outputNames()).containsExactly("macd", "signal", "histogram");
+    }
+    
+    @Test
+    @DisplayName("Updating the live bar gives the same values as adding its final version")
+    void testUpdateMatchesAdd() {
+        List<Supplier<Indicator>> factories = List.of(
+            () -> new SimpleMovingAverage(5),
+            () -> new ExponentialMovingAverage(5),
+            () -> new RelativeStrengthIndex(5),
+            () -> new AverageTrueRange(5),
+            () -> new BollingerBands(5, 2),
+            () -> new Macd(3, 6, 4)
+        );
+        Random random = new Random(42);
+        for (Supplier<Indicator> factory : factories) {
+            Indicator live = factory.get();
+            Indicator closed = factory.get();
+            for (long close : CLOSES) {
+                // Two provisional versions of the bar before the final one
+                live.add(close, close + 100, close - 100, close - 300, 10);
+                live.update(close, close + 500, close - 100, close + random.nextInt(400), 20);
+                live.update(close, close + 200, close - 300, close, 30);
+                closed.add(close, close + 200, close - 300, close, 30);
+                
+                for (int output = 0; output < closed.outputNames().size(); output++) {
+                    assertThat(live.value(output))
+                        .as("%s output %d", closed.getClass().getSimpleName(), output)
+                        .isEqualTo(closed.value(output), within(1e-6));
+                }
+            }
+            assertThat(live.isReady()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.vnstock.kbs.jfr;
+
+import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.client.KbsTransport;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.service.TradingService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the JFR events emitted by a price board request.
+ */
+public class JfrEventsTest {
+    
+    private static final String BOARD = "[{\"SB\": \"VNM\", \"CP\": 65000}, {\"SB\": \"ACB\", \"CP\": 24000}]";
+    
+    /**
+     * Answers every request with {@link #BOARD}.
+     */
+    private final KbsTransport server = new KbsTransport() {
+        
+        @Override
+        public CompletableFuture<Response> send(Request request) {
+            return CompletableFuture.completedFuture(new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(BOARD, MediaType.get("application/json")))
+                .build());
+        }
+        
+        @Override
+        public void close() {
+        }
+    };
+    
+    @Test
+    @DisplayName("A price board request emits request, exchange and parse events with their fields")
+    void testPriceBoardEvents() throws Exception {
+        Map<String, RecordedEvent> events = new ConcurrentHashMap<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            for (String name : List.of("com.vnstock.kbs.Request", "com.vnstock.kbs.HttpExchange", "com.vnstock.kbs.Parse")) {
+                stream.enable(name).withoutThreshold();
+                stream.onEvent(name, event -> events.putIfAbsent(name, event));
+            }
+            stream.startAsync();
+            
+            KbsConfig config = KbsConfig.builder().transport(server).build();
+            KbsHttpClient client = new KbsHttpClient(config);
+            try {
+                assertThat(new TradingService(client, config).getPriceBoard(List.of("VNM", "ACB"))).hasSize(2);
+            } finally {
+                client.close();
+            }
+            
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (events.size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(Duration.ofMillis(50));
+            }
+        }
+        
+        assertThat(events.get("com.vnstock.kbs.Request")).isNotNull().satisfies(event -> {
+            assertThat(event.getString("endpoint")).isEqualTo("PRICE_BOARD");
+            assertThat(event.getString("method")).isEqualTo("POST");
+            assertThat(event.getString("path")).endsWith("/stock/iss");
+            assertThat(event.getInt("attempts")).isEqualTo(1);
+            assertThat(event.getBoolean("success")).isTrue();
+            assertThat(event.getString("error")).isNull();
+        });
+        assertThat(events.get("com.vnstock.kbs.HttpExchange")).isNotNull().satisfies(event -> {
+            assertThat(event.getString("endpoint")).isEqualTo("PRICE_BOARD");
+            assertThat(event.getInt("attempt")).isEqualTo(1);
+            assertThat(event.getInt("statusCode")).isEqualTo(200);
+            assertThat(event.getLong("payloadBytes")).isPositive();
+            assertThat(event.getString("error")).isNull();
+        });
+        assertThat(events.get("com.vnstock.kbs.Parse")).isNotNull().satisfies(event -> {
+            assertThat(event.getString("stage")).isEqualTo("TradingService.getPriceBoard");
+            assertThat(event.getString("endpoint")).isEqualTo("PRICE_BOARD");
+            assertThat(event.getString("symbol")).isNull();
+            assertThat(event.getInt("symbolCount")).isEqualTo(2);
+            assertThat(event.getInt("records")).isEqualTo(2);
+            assertThat(event.getLong("payloadBytes")).isEqualTo(BOARD.length());
+        });
+    }
+}
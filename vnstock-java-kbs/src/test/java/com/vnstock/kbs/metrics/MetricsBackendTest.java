@@ -0,0 +1,77 @@
+package com.vnstock.kbs.metrics;
+
+import com.vnstock.kbs.client.KbsEndpoint;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the HdrHistogram and Micrometer metrics backends.
+ */
+public class MetricsBackendTest {
+    
+    private static final AttemptMetrics FAILED_ATTEMPT =
+        new AttemptMetrics(KbsEndpoint.PRICE_BOARD, 1, 503, 1_000, 0, 2_000_000, 50_000, 0, 12);
+    private static final AttemptMetrics ATTEMPT =
+        new AttemptMetrics(KbsEndpoint.PRICE_BOARD, 2, 200, 1_000, 300_000, 4_000_000, 200_000, 80_000, 2_048);
+    private static final RequestMetrics REQUEST =
+        new RequestMetrics(KbsEndpoint.PRICE_BOARD, 2, true, 9_000_000);
+    
+    @Test
+    @DisplayName("HdrHistogram metrics keep per-endpoint histograms, outcomes and status counts")
+    void testHdrHistogram() {
+        HdrHistogramMetrics metrics = new HdrHistogramMetrics();
+        metrics.recordAttempt(FAILED_ATTEMPT);
+        metrics.recordAttempt(ATTEMPT);
+        metrics.recordRequest(REQUEST);
+        metrics.recordRequest(new RequestMetrics(KbsEndpoint.PRICE_BOARD, 1, false, 1_000_000));
+        
+        Map<KbsEndpoint, HdrHistogramMetrics.EndpointSnapshot> snapshot = metrics.snapshot();
+        assertThat(snapshot).containsOnlyKeys(KbsEndpoint.PRICE_BOARD);
+        
+        HdrHistogramMetrics.EndpointSnapshot board = snapshot.get(KbsEndpoint.PRICE_BOARD);
+        assertThat(board.timeToFirstByte().getTotalCount()).isEqualTo(2);
+        assertThat(board.timeToFirstByte().getMaxValue()).isCloseTo(4_000_000L, withinPercentage(1));
+        assertThat(board.payloadBytes().getMaxValue()).isCloseTo(2_048L, withinPercentage(1));
+        assertThat(board.total().getTotalCount()).isEqualTo(2);
+        assertThat(board.retries().getMaxValue()).isEqualTo(1);
+        assertThat(board.successes()).isEqualTo(1);
+        assertThat(board.failures()).isEqualTo(1);
+        assertThat(board.statusCodes()).containsExactly(entry(200, 1L), entry(503, 1L));
+        
+        // Snapshots are copies
+        metrics.recordRequest(REQUEST);
+        assertThat(board.successes()).isEqualTo(1);
+        assertThat(board.total().getTotalCount()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Micrometer metrics register tagged stage timers, request timers and counters")
+    void testMicrometer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerMetrics metrics = new MicrometerMetrics(registry);
+        metrics.recordAttempt(FAILED_ATTEMPT);
+        metrics.recordAttempt(ATTEMPT);
+        metrics.recordRequest(REQUEST);
+        
+        Timer ttfb = registry.get("kbs.client.stage")
+            .tags("endpoint", "PRICE_BOARD", "uri", "/stock/iss", "stage", "ttfb")
+            .timer();
+        assertThat(ttfb.count()).isEqualTo(2);
+        assertThat(ttfb.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(6_000_000);
+        
+        assertThat(registry.get("kbs.client.responses").tag("status", "503").counter().count()).isEqualTo(1);
+        assertThat(registry.get("kbs.client.responses").tag("status", "200").counter().count()).isEqualTo(1);
+        assertThat(registry.get("kbs.client.payload").summary().totalAmount()).isEqualTo(2_060);
+        
+        assertThat(registry.get("kbs.client.requests").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("kbs.client.requests").tag("outcome", "failure").timer().count()).isZero();
+        assertThat(registry.get("kbs.client.retries").summary().totalAmount()).isEqualTo(1);
+    }
+}
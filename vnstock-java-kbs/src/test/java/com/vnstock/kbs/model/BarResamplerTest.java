@@ -0,0 +1,128 @@
+package com.vnstock.kbs.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for session-aware bar resampling.
+ */
+public class BarResamplerTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 14);
+    
+    /**
+     * Minute bars at the given times of {@link #DAY}; the n-th bar has close and volume n + 1.
+     */
+    private static PriceSeries minutes(String... times) {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1m", times.length);
+        for (int i = 0; i < times.length; i++) {
+            long value = i + 1;
+            builder.add(minute(DAY.atTime(LocalTime.parse(times[i]))), value, value, value, value, value);
+        }
+        return builder.build();
+    }
+    
+    private static long minute(LocalDateTime time) {
+        return PriceSeries.toEpochMinute(time);
+    }
+    
+    @Test
+    @DisplayName("Intraday buckets start at the session opens and absorb ATO, lunch and ATC prints")
+    void testIntraday() {
+        PriceSeries source = minutes("08:59", "09:14", "09:15", "11:29", "11:30", "13:00", "14:29", "14:30", "14:45", "14:59");
+        
+        PriceSeries thirty = source.resample("30m");
+        
+        assertThat(thirty.size()).isEqualTo(5);
+        assertThat(thirty.time(0)).isEqualTo(DAY.atTime(9, 0));
+        assertThat(thirty.time(2)).isEqualTo(DAY.atTime(13, 0));
+        assertThat(thirty.time(4)).isEqualTo(DAY.atTime(14, 30));
+        // 08:59 folds into 09:00, 11:30 into the 11:00 bucket, 14:45 and 14:59 into 14:30
+        assertThat(thirty.volume(0)).isEqualTo(1 + 2 + 3);
+        assertThat(thirty.volume(1)).isEqualTo(4 + 5);
+        assertThat(thirty.volume(4)).isEqualTo(8 + 9 + 10);
+        assertThat(thirty.close(4)).isEqualTo(10);
+        
+        PriceSeries hour = source.resample("1h");
+        assertThat(hour.size()).isEqualTo(4);
+        assertThat(hour.time(1)).isEqualTo(DAY.atTime(11, 0));
+        assertThat(hour.time(3)).isEqualTo(DAY.atTime(14, 0));
+    }
+    
+    @Test
+    @DisplayName("Daily bars aggregate OHLCV and are stamped like KBS daily history")
+    void testDaily() {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1m", 3);
+        builder.add(minute(DAY.atTime(9, 15)), 100, 120, 90, 110, 10);
+        builder.add(minute(DAY.atTime(9, 16)), 110, 130, 105, 125, 20);
+        builder.add(minute(DAY.plusDays(3).atTime(9, 15)), 125, 126, 80, 85, 30);
+        
+        PriceSeries daily = builder.build().resample("1d");
+        
+        assertThat(daily.size()).isEqualTo(2);
+        assertThat(daily.get(0)).isEqualTo(HistoricalPrice.fromRaw(DAY.atTime(7, 0), 100, 130, 90, 125, 30));
+        assertThat(daily.time(1)).isEqualTo(DAY.plusDays(3).atTime(7, 0));
+    }
+    
+    @Test
+    @DisplayName("Weekly and monthly bars are stamped on their first trading day")
+    void testWeeklyMonthly() {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1d", 4);
+        // Thursday 2024-05-30, Friday 05-31, Tuesday 06-04, Wednesday 06-05
+        for (LocalDate date : new LocalDate[] {
+            LocalDate.of(2024, 5, 30), LocalDate.of(2024, 5, 31), LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 5)
+        }) {
+            builder.add(minute(date.atTime(7, 0)), 1, 1, 1, 1, 1);
+        }
+        PriceSeries daily = builder.build();
+        
+        PriceSeries weekly = daily.resample("1w");
+        assertThat(weekly.size()).isEqualTo(2);
+        assertThat(weekly.time(1)).isEqualTo(LocalDate.of(2024, 6, 4).atTime(7, 0));
+        assertThat(weekly.volume(0)).isEqualTo(2);
+        
+        PriceSeries monthly = daily.resample("1M");
+        assertThat(monthly.time(0)).isEqualTo(LocalDate.of(2024, 5, 30).atTime(7, 0));
+        assertThat(monthly.time(1)).isEqualTo(LocalDate.of(2024, 6, 4).atTime(7, 0));
+    }
+    
+    @Test
+    @DisplayName("Incremental updates refresh the last bar and close buckets as time moves on")
+    void testIncremental() {
+        BarResampler resampler = BarResampler.create("VNM", "1m", "5m");
+        long start = minute(DAY.atTime(9, 15));
+        
+        resampler.add(start, 100, 105, 95, 100, 10);
+        resampler.add(start + 1, 100, 110, 100, 108, 5);
+        resampler.add(start + 1, 100, 112, 99, 111, 7);
+        assertThat(resampler.completed().isEmpty()).isTrue();
+        assertThat(resampler.current().get(0))
+            .isEqualTo(HistoricalPrice.fromRaw(DAY.atTime(9, 15), 100, 112, 95, 111, 17));
+        
+        resampler.add(start + 5, 111, 111, 111, 111, 1);
+        PriceSeries completed = resampler.completed();
+        resampler.add(start + 10, 111, 111, 111, 111, 1);
+        
+        assertThat(completed.size()).isEqualTo(1);
+        assertThat(completed.volume(0)).isEqualTo(17);
+        assertThat(resampler.bars().size()).isEqualTo(3);
+        assertThatThrownBy(() -> resampler.add(start, 1, 1, 1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Only coarser intervals that the source divides are accepted")
+    void testInvalid() {
+        assertThatThrownBy(() -> BarResampler.create("VNM", "5m", "1m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarResampler.create("VNM", "1h", "1h")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarResampler.create("VNM", "1d", "15m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarResampler.create("VNM", "1w", "1M")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarResampler.create("VNM", "1m", "2m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> BarResampler.create("VNM", "15m", "1h")).doesNotThrowAnyException();
+    }
+}
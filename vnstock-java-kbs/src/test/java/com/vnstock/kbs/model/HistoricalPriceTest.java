@@ -0,0 +1,30 @@
+package com.vnstock.kbs.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for HistoricalPrice normalization.
+ */
+public class HistoricalPriceTest {
+    
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 31, 9, 15);
+    
+    @Test
+    @DisplayName("fromRaw matches dividing by 1000, including the scale")
+    void testFromRawMatchesDivision() {
+        long[] samples = {0, 1, 5, 10, 50, 100, 999, 1_000, 1_050, 10_000, 68_500, 68_550, 100_000, 1_234_567, -500, -68_000, Long.MAX_VALUE};
+        for (long raw : samples) {
+            BigDecimal expected = BigDecimal.valueOf(raw).divide(BigDecimal.valueOf(1000));
+            HistoricalPrice price = HistoricalPrice.fromRaw(TIME, raw, raw, raw, raw, 0);
+            
+            assertThat(price.close()).as("raw %d", raw).isEqualTo(expected);
+            assertThat(price.close().scale()).as("raw %d", raw).isEqualTo(expected.scale());
+        }
+    }
+}
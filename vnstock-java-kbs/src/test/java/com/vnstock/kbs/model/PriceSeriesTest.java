@@ -0,0 +1,130 @@
+package com.vnstock.kbs.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar price series.
+ */
+public class PriceSeriesTest {
+    
+    private static final LocalDateTime OPEN = LocalDateTime.of(2024, 6, 14, 9, 15);
+    
+    private static PriceSeries minuteBars(int count) {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1m", 4);
+        for (int i = 0; i < count; i++) {
+            long close = 68_500 + i * 100L;
+            builder.add(PriceSeries.toEpochMinute(OPEN.plusMinutes(i)), close - 100, close + 100, close - 200, close, 1_000 + i);
+        }
+        return builder.build();
+    }
+    
+    @Test
+    @DisplayName("Epoch minutes round-trip KBS local timestamps")
+    void testEpochMinute() {
+        long minute = PriceSeries.toEpochMinute(OPEN);
+        
+        assertThat(PriceSeries.fromEpochMinute(minute)).isEqualTo(OPEN);
+        assertThat(PriceSeries.toEpochMinute(LocalDateTime.of(1969, 12, 31, 23, 59))).isEqualTo(-1);
+    }
+    
+    @Test
+    @DisplayName("Bars decode to the same HistoricalPrice as fromRaw")
+    void testGet() {
+        PriceSeries series = minuteBars(3);
+        
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.close(2)).isEqualTo(68_700);
+        assertThat(series.get(2)).isEqualTo(HistoricalPrice.fromRaw(OPEN.plusMinutes(2), 68_600, 68_800, 68_500, 68_700, 1_002));
+        assertThat(series.asList()).hasSize(3);
+        assertThat(series.asList().get(0).close()).isEqualByComparingTo(new BigDecimal("68.5"));
+    }
+    
+    @Test
+    @DisplayName("Slices share columns and re-base indexes")
+    void testSlice() {
+        PriceSeries series = minuteBars(10);
+        PriceSeries slice = series.slice(2, 5).slice(1, 3);
+        
+        assertThat(slice.size()).isEqualTo(2);
+        assertThat(slice.time(0)).isEqualTo(OPEN.plusMinutes(3));
+        assertThat(slice.volume(1)).isEqualTo(1_004);
+        assertThatThrownBy(() -> slice.close(2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> series.slice(5, 11)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+    
+    @Test
+    @DisplayName("Time lookups use binary search within the view")
+    void testTimeLookups() {
+        PriceSeries series = minuteBars(10).slice(2, 8);
+        
+        assertThat(series.indexOf(OPEN.plusMinutes(4))).isEqualTo(2);
+        assertThat(series.indexOf(OPEN.plusMinutes(9))).isEqualTo(-1);
+        assertThat(series.ceilingIndex(OPEN)).isEqualTo(0);
+        assertThat(series.floorIndex(OPEN)).isEqualTo(-1);
+        assertThat(series.floorIndex(OPEN.plusMinutes(30))).isEqualTo(5);
+        
+        PriceSeries window = series.between(OPEN.plusMinutes(3), OPEN.plusMinutes(5).plusSeconds(30));
+        assertThat(window.size()).isEqualTo(3);
+        assertThat(window.time(0)).isEqualTo(OPEN.plusMinutes(3));
+        assertThat(series.between(OPEN.plusHours(1), OPEN.plusHours(2)).isEmpty()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Builder orders newest-first and shuffled input by time")
+    void testBuilderSorts() {
+        PriceSeries.Builder descending = PriceSeries.builder("VNM", "1d", 0);
+        for (int i = 19; i >= 0; i--) {
+            descending.add(i, i, i, i, i, i);
+        }
+        PriceSeries reversed = descending.build();
+        assertThat(reversed.epochMinute(0)).isZero();
+        assertThat(reversed.close(19)).isEqualTo(19);
+        
+        PriceSeries shuffled = PriceSeries.builder("VNM", "1d", 0)
+            .add(5, 50, 50, 50, 50, 500)
+            .add(1, 10, 10, 10, 10, 100)
+            .add(3, 30, 30, 30, 30, 300)
+            .build();
+        assertThat(shuffled.epochMinute(1)).isEqualTo(3);
+        assertThat(shuffled.volume(2)).isEqualTo(500);
+    }
+    
+    @Test
+    @DisplayName("Builder is single-use, so a built series cannot change afterwards")
+    void testBuilderSingleUse() {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1d", 2).add(1, 10, 10, 10, 10, 100).add(2, 20, 20, 20, 20, 200);
+        PriceSeries series = builder.build();
+        
+        assertThatThrownBy(() -> builder.add(0, 0, 0, 0, 0, 0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.close(0)).isEqualTo(10);
+        assertThat(series.close(1)).isEqualTo(20);
+    }
+    
+    @Test
+    @DisplayName("Wrapped rows read like columns, including slices and lookups")
+    void testWrap() {
+        long minute = PriceSeries.toEpochMinute(OPEN);
+        LongBuffer rows = LongBuffer.wrap(new long[] {
+            -1, -1, -1, -1, -1, -1,
+            minute, 68_400, 68_600, 68_300, 68_500, 1_000,
+            minute + 1, 68_500, 68_700, 68_400, 68_600, 1_001
+        }).position(6);
+        PriceSeries series = PriceSeries.wrap("VNM", "1m", rows);
+        
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.get(1)).isEqualTo(HistoricalPrice.fromRaw(OPEN.plusMinutes(1), 68_500, 68_700, 68_400, 68_600, 1_001));
+        assertThat(series.slice(1, 2).close(0)).isEqualTo(68_600);
+        assertThat(series.indexOf(OPEN.plusMinutes(1))).isEqualTo(1);
+        assertThatThrownBy(() -> PriceSeries.wrap("VNM", "1m", LongBuffer.allocate(7)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.vnstock.kbs.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for fixed-point price conversion and price steps.
+ */
+public class PricesTest {
+    
+    @Test
+    @DisplayName("Raw prices parse from text without BigDecimal and reject placeholders")
+    void testParse() {
+        assertThat(Prices.parse("68500")).isEqualTo(68_500);
+        assertThat(Prices.parse("-300")).isEqualTo(-300);
+        assertThat(Prices.parse("68500.00")).isEqualTo(68_500);
+        assertThat(Prices.parse("68500.5")).isEqualTo(Prices.NONE);
+        assertThat(Prices.parse("ATO")).isEqualTo(Prices.NONE);
+        assertThat(Prices.parse("")).isEqualTo(Prices.NONE);
+        assertThat(Prices.parse("-")).isEqualTo(Prices.NONE);
+        assertThat(Prices.parse(null)).isEqualTo(Prices.NONE);
+        assertThat(Prices.parse("12345678901234567890")).isEqualTo(Prices.NONE);
+    }
+    
+    @Test
+    @DisplayName("Conversions at the API edge round-trip")
+    void testConversions() {
+        assertThat(Prices.toBigDecimal(68_500)).isEqualTo(new BigDecimal("68.5"));
+        assertThat(Prices.toBigDecimal(Prices.NONE)).isNull();
+        assertThat(Prices.fromBigDecimal(new BigDecimal("68.55"))).isEqualTo(68_550);
+        assertThat(Prices.toDouble(9_050)).isEqualTo(9.05);
+        assertThat(Prices.format(9_000)).isEqualTo("9");
+        assertThatThrownBy(() -> Prices.fromBigDecimal(new BigDecimal("68.5555")))
+            .isInstanceOf(ArithmeticException.class);
+    }
+    
+    @Test
+    @DisplayName("HOSE price steps depend on the price band, HNX and UPCOM steps do not")
+    void testTickSize() {
+        assertThat(Exchange.HOSE.tickSize(9_990)).isEqualTo(10);
+        assertThat(Exchange.HOSE.tickSize(10_000)).isEqualTo(50);
+        assertThat(Exchange.HOSE.tickSize(49_950)).isEqualTo(50);
+        assertThat(Exchange.HOSE.tickSize(50_000)).isEqualTo(100);
+        assertThat(Exchange.HNX.tickSize(5_000)).isEqualTo(100);
+        assertThat(Exchange.of("hsx")).isEqualTo(Exchange.HOSE);
+        assertThat(Exchange.of("UPCOM")).isEqualTo(Exchange.UPCOM);
+        assertThat(Exchange.of("OTC")).isNull();
+    }
+    
+    @Test
+    @DisplayName("Prices round to valid steps across HOSE bands")
+    void testRounding() {
+        assertThat(Prices.floorToTick(10_020, Exchange.HOSE)).isEqualTo(10_000);
+        assertThat(Prices.ceilToTick(9_995, Exchange.HOSE)).isEqualTo(10_000);
+        assertThat(Prices.ceilToTick(49_960, Exchange.HOSE)).isEqualTo(50_000);
+        assertThat(Prices.roundToTick(68_549, Exchange.HOSE)).isEqualTo(68_500);
+        assertThat(Prices.roundToTick(68_550, Exchange.HOSE)).isEqualTo(68_600);
+        assertThat(Prices.isOnTick(10_050, Exchange.HOSE)).isTrue();
+        assertThat(Prices.isOnTick(10_050, Exchange.HNX)).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Stepping by ticks crosses HOSE bands one step at a time")
+    void testAddTicks() {
+        assertThat(Prices.addTicks(10_000, -1, Exchange.HOSE)).isEqualTo(9_990);
+        assertThat(Prices.addTicks(9_990, 2, Exchange.HOSE)).isEqualTo(10_050);
+        assertThat(Prices.addTicks(49_950, 1, Exchange.HOSE)).isEqualTo(50_000);
+        assertThat(Prices.addTicks(50_000, -1, Exchange.HOSE)).isEqualTo(49_950);
+        assertThat(Prices.ticksBetween(9_990, 10_050, Exchange.HOSE)).isEqualTo(2);
+        assertThat(Prices.ticksBetween(10_050, 9_990, Exchange.HOSE)).isEqualTo(-2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.vnstock.kbs.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar intraday tape.
+ */
+public class TradeTapeTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 14);
+    
+    private static int millis(int hour, int minute, int second) {
+        return (hour * 3600 + minute * 60 + second) * 1000;
+    }
+    
+    /**
+     * Trades at 09:15:00, 09:15:00, 10:00:00 and 14:45:00, added newest first like the API pages them.
+     */
+    private static TradeTape tape() {
+        return TradeTape.builder("VNM", DAY, 4)
+            .add(millis(14, 45, 0), 68_900, 400, 1_000, TradeTape.NO_SIDE, 2_400, 164_000_000)
+            .add(millis(10, 0, 0), 68_700, 200, 500, TradeTape.SELL, 1_400, 95_100_000)
+            .add(millis(9, 15, 0), 68_600, 100, 600, TradeTape.BUY, 900, 60_750_000)
+            .add(millis(9, 15, 0), 68_500, 0, 300, TradeTape.BUY, 300, 20_550_000)
+            .build();
+    }
+    
+    @Test
+    @DisplayName("Trades are ordered by time then accumulated volume")
+    void testOrder() {
+        TradeTape tape = tape();
+        
+        assertThat(tape.size()).isEqualTo(4);
+        assertThat(tape.price(0)).isEqualTo(68_500);
+        assertThat(tape.price(1)).isEqualTo(68_600);
+        assertThat(tape.time(2)).isEqualTo(LocalTime.of(10, 0));
+        assertThat(tape.side(1)).isEqualTo(TradeTape.BUY);
+        assertThat(tape.side(2)).isEqualTo(TradeTape.SELL);
+        assertThat(tape.side(3)).isEqualTo(TradeTape.NO_SIDE);
+        assertThat(tape.accumulatedValue(3)).isEqualTo(164_000_000);
+    }
+    
+    @Test
+    @DisplayName("Unordered trades are sorted")
+    void testUnordered() {
+        TradeTape tape = TradeTape.builder("VNM", DAY, 3)
+            .add(millis(10, 0, 0), 2, 0, 1, TradeTape.SELL, 2, 0)
+            .add(millis(9, 15, 0), 1, 0, 1, TradeTape.BUY, 1, 0)
+            .add(millis(11, 0, 0), 3, 0, 1, TradeTape.NO_SIDE, 3, 0)
+            .build();
+        
+        assertThat(List.of(tape.price(0), tape.price(1), tape.price(2))).containsExactly(1, 2, 3);
+        assertThat(List.of(tape.side(0), tape.side(1), tape.side(2)))
+            .containsExactly(TradeTape.BUY, TradeTape.SELL, TradeTape.NO_SIDE);
+    }
+    
+    @Test
+    @DisplayName("Time ranges are inclusive views")
+    void testBetween() {
+        TradeTape morning = tape().between(LocalTime.of(9, 15), LocalTime.of(10, 0));
+        
+        assertThat(morning.size()).isEqualTo(3);
+        assertThat(morning.price(2)).isEqualTo(68_700);
+        assertThat(morning.side(2)).isEqualTo(TradeTape.SELL);
+        assertThat(tape().between(LocalTime.of(11, 0), LocalTime.of(12, 0)).isEmpty()).isTrue();
+        assertThat(morning.slice(1, 2).accumulatedVolume(0)).isEqualTo(900);
+    }
+    
+    @Test
+    @DisplayName("Trades decode to the API model and round-trip through the builder")
+    void testIntradayTradeView() {
+        IntradayTrade trade = new IntradayTrade(
+            "2024-06-14 09:15:03:07", "14/06/2024", "VNM", "09:15:03", "B",
+            new BigDecimal("68500"), new BigDecimal("-100"), 300L, 300L, new BigDecimal("20550000")
+        );
+        
+        TradeTape tape = TradeTape.builder("VNM", DAY, 1).add(trade).build();
+        
+        assertThat(tape.asList()).containsExactly(trade);
+        assertThat(tape.millisOfDay(0)).isEqualTo(millis(9, 15, 3) + 7);
+        assertThatThrownBy(() -> TradeTape.builder("VNM", DAY.plusDays(1), 1).add(trade))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Replay visits trades in time order")
+    void testReplay() {
+        List<Integer> volumes = new ArrayList<>();
+        StringBuilder sides = new StringBuilder();
+        
+        tape().replay((millisOfDay, price, priceChange, volume, side, accumulatedVolume, accumulatedValue) -> {
+            volumes.add(volume);
+            sides.append(side == TradeTape.NO_SIDE ? '-' : side);
+        });
+        
+        assertThat(volumes).containsExactly(300, 600, 500, 1_000);
+        assertThat(sides.toString()).isEqualTo("BBS-");
+    }
+}
@@ -0,0 +1,105 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.BulkResult;
+import com.vnstock.kbs.model.SymbolResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for per-symbol bulk requests.
+ */
+public class BulkFetchTest {
+    
+    private static final List<String> SYMBOLS = List.of("VNM", "ACB", "FPT", "HPG");
+    
+    @Test
+    @DisplayName("Symbols are fetched with bounded concurrency and results keep the request order")
+    void testBoundedConcurrency() throws Exception {
+        Map<String, CompletableFuture<Integer>> requests = new LinkedHashMap<>();
+        List<String> completed = new ArrayList<>();
+        
+        CompletableFuture<BulkResult<Integer>> result = BulkFetch.fetchAll(SYMBOLS, 2, symbol -> {
+            CompletableFuture<Integer> request = new CompletableFuture<>();
+            requests.put(symbol, request);
+            return request;
+        }, outcome -> completed.add(outcome.symbol()));
+        
+        assertThat(requests).containsOnlyKeys("VNM", "ACB");
+        requests.get("ACB").complete(2);
+        assertThat(requests).containsOnlyKeys("VNM", "ACB", "FPT");
+        requests.get("FPT").complete(3);
+        requests.get("HPG").complete(4);
+        assertThat(result).isNotDone();
+        requests.get("VNM").complete(1);
+        
+        assertThat(completed).containsExactly("ACB", "FPT", "HPG", "VNM");
+        assertThat(result.get().results()).extracting(SymbolResult::symbol).containsExactlyElementsOf(SYMBOLS);
+        assertThat(result.get().values()).containsExactly(
+            entry("VNM", 1), entry("ACB", 2), entry("FPT", 3), entry("HPG", 4));
+    }
+    
+    @Test
+    @DisplayName("Thousands of requests that complete at once do not grow the stack")
+    void testSynchronousCompletion() throws Exception {
+        List<String> market = IntStream.range(0, 20_000).mapToObj(i -> "S" + i).toList();
+        
+        BulkResult<Integer> values = BulkFetch.fetchAll(market, 8,
+            symbol -> CompletableFuture.completedFuture(symbol.length()), outcome -> { })
+            .get(10, TimeUnit.SECONDS);
+        BulkResult<Integer> failures = BulkFetch.<Integer>fetchAll(market, 8, symbol -> {
+            throw new KbsApiException("Invalid interval");
+        }, outcome -> { }).get(10, TimeUnit.SECONDS);
+        
+        assertThat(values.values()).hasSize(market.size());
+        assertThat(failures.results()).hasSize(market.size()).noneMatch(SymbolResult::isSuccess);
+    }
+    
+    @Test
+    @DisplayName("A failed symbol is reported without failing the batch")
+    void testFailureIsolated() throws Exception {
+        BulkResult<Integer> result = BulkFetch.<Integer>fetchAll(SYMBOLS, 4, symbol -> switch (symbol) {
+            case "ACB" -> CompletableFuture.failedFuture(new IllegalStateException("boom"));
+            case "FPT" -> throw new KbsApiException("Invalid interval");
+            default -> CompletableFuture.completedFuture(symbol.length());
+        }, outcome -> { }).get();
+        
+        assertThat(result.hasFailures()).isTrue();
+        assertThat(result.values()).containsOnlyKeys("VNM", "HPG");
+        assertThat(result.failures()).containsOnlyKeys("ACB", "FPT");
+        assertThat(result.failures().get("ACB")).hasMessageContaining("ACB").hasRootCauseMessage("boom");
+        assertThat(result.failures().get("FPT")).hasMessage("Invalid interval");
+        assertThatThrownBy(() -> result.results().get(1).getOrThrow()).isInstanceOf(KbsApiException.class);
+    }
+    
+    @Test
+    @DisplayName("Cancelling the batch cancels requests in flight and starts no more")
+    void testCancel() {
+        List<CompletableFuture<Integer>> requests = new ArrayList<>();
+        
+        CompletableFuture<BulkResult<Integer>> result = BulkFetch.fetchAll(SYMBOLS, 2, symbol -> {
+            CompletableFuture<Integer> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+        }, outcome -> { });
+        result.cancel(true);
+        
+        assertThat(requests).hasSize(2).allMatch(CompletableFuture::isCancelled);
+    }
+    
+    @Test
+    @DisplayName("No symbols completes immediately")
+    void testEmpty() throws Exception {
+        assertThat(BulkFetch.<Integer>fetchAll(List.of(), 2, symbol -> null, outcome -> { }).get().results()).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.vnstock.kbs.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vnstock.kbs.client.KbsEndpoint;
+import com.vnstock.kbs.client.ResponseDecoder;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.PriceSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the token-streaming history decoder.
+ */
+public class HistoryDecoderTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final String BODY = """
+        {
+          "symbol": "VNM",
+          "data_day": [{"t": "2024-01-02 07:00", "o": 1, "h": 1, "l": 1, "c": 1, "v": 1}],
+          "meta": {"nested": [1, 2, {"t": "ignored"}]},
+          "data_1P": [
+            {"t": "2024-01-31 09:16", "o": 68600, "h": 68800, "l": 68500, "c": 68700, "v": 1200, "extra": [1]},
+            null,
+            {"t": "2024-01-31 09:15", "o": 68500, "h": 68700, "l": 68400, "c": 68600.0, "v": 3400}
+          ]
+        }
+        """;
+    
+    private static <T> T decode(String json, ResponseDecoder<T> decoder) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            parser.nextToken();
+            return decoder.decode(parser);
+        }
+    }
+    
+    @Test
+    @DisplayName("Only the requested interval array is decoded, ordered by time")
+    void testBars() throws IOException {
+        List<HistoricalPrice> prices = decode(BODY, new HistoryDecoder.Bars("data_1P", KbsEndpoint.STOCK_HISTORY, "VNM"));
+        
+        assertThat(prices).hasSize(2);
+        assertThat(prices.get(0).close()).isEqualByComparingTo(new BigDecimal("68.6"));
+        assertThat(prices.get(1)).isEqualTo(HistoricalPrice.fromRaw(
+            LocalDateTime.of(2024, 1, 31, 9, 16), 68_600, 68_800, 68_500, 68_700, 1_200));
+    }
+    
+    @Test
+    @DisplayName("Series decoding orders bars by time")
+    void testSeries() throws IOException {
+        PriceSeries series = decode(BODY, new HistoryDecoder.Series("data_1P", KbsEndpoint.STOCK_HISTORY, "VNM", "1m"));
+        
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.time(0)).isEqualTo(LocalDateTime.of(2024, 1, 31, 9, 15));
+        assertThat(series.volume(0)).isEqualTo(3_400);
+        assertThat(series.close(1)).isEqualTo(68_700);
+    }
+    
+    @Test
+    @DisplayName("Missing array or null body decode to nothing")
+    void testEmpty() throws IOException {
+        assertThat(decode(BODY, new HistoryDecoder.Bars("data_week", KbsEndpoint.STOCK_HISTORY, "VNM"))).isEmpty();
+        assertThat(decode("null", new HistoryDecoder.Series("data_1P", KbsEndpoint.STOCK_HISTORY, "VNM", "1m")).isEmpty()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Malformed times are rejected")
+    void testInvalidTime() {
+        for (String time : List.of("2024-01-31 9:15", "2024-13-01 09:15", "2024-01-31T09:15", "2024-01-31 09:15:00")) {
+            String body = "{\"data_1P\":[{\"t\":\"" + time + "\",\"o\":1}]}";
+            assertThatThrownBy(() -> decode(body, new HistoryDecoder.Bars("data_1P", KbsEndpoint.STOCK_HISTORY, "VNM")))
+                .as(time)
+                .isInstanceOf(JsonParseException.class);
+        }
+    }
+    
+    @Test
+    @DisplayName("Epoch day arithmetic matches java.time")
+    void testEpochDay() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(2101, 3, 1)); date = date.plusDays(1)) {
+            assertThat(HistoryDecoder.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                .as(date.toString())
+                .isEqualTo(date.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.config.HistoryChunkingConfig;
+import com.vnstock.kbs.model.PriceSeries;
+import com.vnstock.kbs.service.HistoryRangePlanner.DateRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for splitting, fetching and merging long history ranges.
+ */
+public class HistoryRangePlannerTest {
+    
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final HistoryChunkingConfig CONFIG = HistoryChunkingConfig.builder()
+        .maxBarsPerChunk(2_700)
+        .maxConcurrentChunks(2)
+        .build();
+    
+    @Test
+    @DisplayName("Long intraday ranges split into consecutive windows covering the range")
+    void testPlanSplits() {
+        LocalDate end = LocalDate.of(2020, 1, 25);
+        List<DateRange> ranges = HistoryRangePlanner.plan(START, end, "1P", CONFIG);
+        
+        // 2,700 bars / 270 per day = 10 days per window
+        assertThat(ranges).containsExactly(
+            new DateRange(START, LocalDate.of(2020, 1, 10)),
+            new DateRange(LocalDate.of(2020, 1, 11), LocalDate.of(2020, 1, 20)),
+            new DateRange(LocalDate.of(2020, 1, 21), end)
+        );
+    }
+    
+    @Test
+    @DisplayName("Short ranges, coarse intervals and disabled chunking stay a single request")
+    void testPlanSingle() {
+        LocalDate end = START.plusYears(10);
+        
+        assertThat(HistoryRangePlanner.plan(START, START.plusDays(9), "1P", CONFIG)).hasSize(1);
+        assertThat(HistoryRangePlanner.plan(START, end, "week", CONFIG)).containsExactly(new DateRange(START, end));
+        assertThat(HistoryRangePlanner.plan(START, end, "1P", HistoryChunkingConfig.disabled())).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Chunks are fetched with bounded concurrency and returned in range order")
+    void testFetchAll() throws Exception {
+        List<DateRange> ranges = HistoryRangePlanner.plan(START, START.plusDays(49), "1P", CONFIG);
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+        
+        CompletableFuture<List<String>> result = HistoryRangePlanner.fetchAll(ranges, 2, range -> {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+        });
+        assertThat(requests).hasSize(2);
+        
+        requests.get(1).complete("second");
+        assertThat(requests).hasSize(3);
+        requests.get(0).complete("first");
+        requests.get(2).complete("third");
+        requests.get(3).complete("fourth");
+        requests.get(4).complete("fifth");
+        
+        assertThat(result.get()).containsExactly("first", "second", "third", "fourth", "fifth");
+    }
+    
+    @Test
+    @DisplayName("A failed chunk fails the call and cancels the other chunks")
+    void testFetchAllFailure() {
+        List<DateRange> ranges = HistoryRangePlanner.plan(START, START.plusDays(49), "1P", CONFIG);
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+        
+        CompletableFuture<List<String>> result = HistoryRangePlanner.fetchAll(ranges, 2, range -> {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+        });
+        requests.get(0).completeExceptionally(new IllegalStateException("boom"));
+        
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class).hasRootCauseMessage("boom");
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1)).isCancelled();
+    }
+    
+    @Test
+    @DisplayName("Merging drops bars repeated at window boundaries")
+    void testMerge() {
+        PriceSeries first = PriceSeries.builder("VNM", "1m", 3).add(1, 1, 1, 1, 1, 1).add(2, 2, 2, 2, 2, 2).build();
+        PriceSeries second = PriceSeries.builder("VNM", "1m", 3).add(2, 2, 2, 2, 2, 2).add(3, 3, 3, 3, 3, 3).build();
+        
+        PriceSeries merged = HistoryRangePlanner.merge(List.of(first, PriceSeries.empty("VNM", "1m"), second), "VNM", "1m");
+        
+        assertThat(merged.size()).isEqualTo(3);
+        assertThat(merged.epochMinute(2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,101 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.model.IntradayTrade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the incremental intraday cursor.
+ */
+public class IntradayTailTest {
+    
+    /** The session so far, newest first like the API. */
+    private final List<IntradayTrade> tape = new ArrayList<>();
+    private int requests;
+    /** Runs after the first page was served, to simulate matches arriving mid-poll. */
+    private Runnable afterFirstPage = () -> { };
+    
+    private final IntradayTail tail = new IntradayTail(page -> {
+        requests++;
+        if (page == 2) {
+            afterFirstPage.run();
+        }
+        int from = Math.min((page - 1) * 2, tape.size());
+        return CompletableFuture.completedFuture(List.copyOf(tape.subList(from, Math.min(from + 2, tape.size()))));
+    }, 2, 3);
+    
+    private void match(String timestamp, long accumulatedVolume) {
+        tape.add(0, new IntradayTrade(timestamp, null, "HPG", null, "B", null, null, 100L, accumulatedVolume, null));
+    }
+    
+    private static List<Long> volumes(List<IntradayTrade> trades) {
+        return trades.stream().map(IntradayTrade::accumulatedVolume).toList();
+    }
+    
+    @Test
+    @DisplayName("The first poll returns the session so far, later polls only new matches in order")
+    void testPoll() {
+        match("2024-06-14 09:15:01:10", 100);
+        match("2024-06-14 09:15:01:10", 200);
+        match("2024-06-14 09:15:02:5", 300);
+        
+        assertThat(volumes(tail.poll())).containsExactly(100L, 200L, 300L);
+        
+        requests = 0;
+        assertThat(tail.poll()).isEmpty();
+        assertThat(requests).isEqualTo(1);
+        
+        match("2024-06-14 09:15:02:5", 400);
+        match("2024-06-14 09:15:03:0", 500);
+        match("2024-06-14 09:15:04:0", 600);
+        requests = 0;
+        assertThat(volumes(tail.poll())).containsExactly(400L, 500L, 600L);
+        assertThat(requests).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Trades repeated because new matches shifted the pages are returned once")
+    void testShiftingPages() {
+        match("2024-06-14 09:15:01:0", 100);
+        match("2024-06-14 09:15:02:0", 200);
+        match("2024-06-14 09:15:03:0", 300);
+        match("2024-06-14 09:15:04:0", 400);
+        afterFirstPage = () -> match("2024-06-14 09:15:05:0", 500);
+        
+        assertThat(volumes(tail.poll())).containsExactly(100L, 200L, 300L, 400L);
+        
+        afterFirstPage = () -> { };
+        assertThat(volumes(tail.poll())).containsExactly(500L);
+    }
+    
+    @Test
+    @DisplayName("A new trading day is not mistaken for seen trades")
+    void testNextSession() {
+        match("2024-06-14 14:45:00:0", 9_000);
+        tail.poll();
+        
+        tape.clear();
+        match("2024-06-17 09:15:00:0", 100);
+        
+        assertThat(volumes(tail.poll())).containsExactly(100L);
+    }
+    
+    @Test
+    @DisplayName("Timestamps are parsed to local epoch milliseconds and validated")
+    void testEpochMillis() {
+        IntradayTrade trade = new IntradayTrade("2026-02-27 14:45:29:84", null, null, null, null, null, null, null, null, null);
+        
+        assertThat(trade.epochMillis())
+            .isEqualTo(java.time.LocalDateTime.of(2026, 2, 27, 14, 45, 29).toEpochSecond(java.time.ZoneOffset.UTC) * 1000 + 84);
+        for (String invalid : List.of("2026-02-27 14:45:29", "2026-02-30 14:45:29:84", "2026-02-27T14:45:29:84", "2026-02-27 14:4a:29:84")) {
+            IntradayTrade bad = new IntradayTrade(invalid, null, null, null, null, null, null, null, null, null);
+            assertThatThrownBy(bad::epochMillis).as(invalid).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
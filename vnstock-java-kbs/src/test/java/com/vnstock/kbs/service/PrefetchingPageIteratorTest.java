@@ -0,0 +1,77 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.exception.KbsApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for read-ahead page iteration.
+ */
+public class PrefetchingPageIteratorTest {
+    
+    private final List<CompletableFuture<List<Integer>>> requests = new ArrayList<>();
+    
+    /**
+     * Serves pages of two items out of {@code total}; every request is recorded.
+     */
+    private PrefetchingPageIterator<Integer> pages(int total, int readAhead) {
+        return new PrefetchingPageIterator<>(page -> {
+            List<Integer> items = new ArrayList<>();
+            for (int item = (page - 1) * 2; item < Math.min(page * 2, total); item++) {
+                items.add(item);
+            }
+            CompletableFuture<List<Integer>> request = CompletableFuture.completedFuture(items);
+            requests.add(request);
+            return request;
+        }, 2, readAhead);
+    }
+    
+    @Test
+    @DisplayName("Items of every page are returned in order, ending at the first short page")
+    void testIteration() {
+        PrefetchingPageIterator<Integer> iterator = pages(5, 2);
+        List<Integer> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        
+        assertThat(items).containsExactly(0, 1, 2, 3, 4);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Pages are requested lazily and at most readAhead ahead of the consumer")
+    void testReadAhead() {
+        PrefetchingPageIterator<Integer> iterator = pages(100, 3);
+        assertThat(requests).isEmpty();
+        
+        assertThat(iterator.next()).isZero();
+        // Page 1 is being consumed with pages 2 to 4 in flight
+        assertThat(requests).hasSize(4);
+        
+        iterator.next();
+        iterator.next();
+        assertThat(requests).hasSize(5);
+    }
+    
+    @Test
+    @DisplayName("Closing or a failed page cancels the requests still in flight")
+    void testCancellation() {
+        List<CompletableFuture<List<Integer>>> inFlight = new ArrayList<>();
+        PrefetchingPageIterator<Integer> iterator = new PrefetchingPageIterator<>(page -> {
+            CompletableFuture<List<Integer>> request = page == 1
+                ? CompletableFuture.failedFuture(new IllegalStateException("boom"))
+                : new CompletableFuture<>();
+            inFlight.add(request);
+            return request;
+        }, 2, 3);
+        
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(KbsApiException.class).hasRootCauseMessage("boom");
+        assertThat(inFlight.subList(1, 3)).allMatch(CompletableFuture::isCancelled);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+}
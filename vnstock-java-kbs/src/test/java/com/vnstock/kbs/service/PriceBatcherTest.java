@@ -0,0 +1,76 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.exception.KbsApiException;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.vnstock.kbs.service.PriceBoardEntries.entry;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for merging concurrent single-symbol price requests.
+ */
+public class PriceBatcherTest {
+    
+    private final List<Runnable> flushes = new ArrayList<>();
+    private final List<List<String>> requests = new ArrayList<>();
+    private final List<CompletableFuture<List<PriceBoardEntry>>> responses = new ArrayList<>();
+    
+    private final PriceBatcher batcher = new PriceBatcher(symbols -> {
+        CompletableFuture<List<PriceBoardEntry>> response = new CompletableFuture<>();
+        requests.add(symbols);
+        responses.add(response);
+        return response;
+    }, flushes::add);
+    
+    @Test
+    @DisplayName("Calls within one window share a single board request and get their own entries")
+    void testBatching() throws Exception {
+        CompletableFuture<PriceBoardEntry> vnm = batcher.get("VNM");
+        CompletableFuture<PriceBoardEntry> acb = batcher.get("acb");
+        CompletableFuture<PriceBoardEntry> vnmAgain = batcher.get("VNM");
+        CompletableFuture<PriceBoardEntry> unknown = batcher.get("XYZ");
+        
+        assertThat(flushes).hasSize(1);
+        assertThat(requests).isEmpty();
+        flushes.get(0).run();
+        assertThat(requests).containsExactly(List.of("VNM", "ACB", "XYZ"));
+        
+        responses.get(0).complete(List.of(entry("ACB"), entry("VNM")));
+        assertThat(vnm.get().symbol()).isEqualTo("VNM");
+        assertThat(vnmAgain.get()).isSameAs(vnm.get());
+        assertThat(acb.get().symbol()).isEqualTo("ACB");
+        assertThat(unknown.get()).isNull();
+    }
+    
+    @Test
+    @DisplayName("A call after the flush opens a new window")
+    void testNextWindow() {
+        batcher.get("VNM");
+        flushes.get(0).run();
+        batcher.get("FPT");
+        
+        assertThat(flushes).hasSize(2);
+        flushes.get(1).run();
+        assertThat(requests).containsExactly(List.of("VNM"), List.of("FPT"));
+    }
+    
+    @Test
+    @DisplayName("A failed board request fails every caller of the batch")
+    void testFailure() {
+        CompletableFuture<PriceBoardEntry> vnm = batcher.get("VNM");
+        CompletableFuture<PriceBoardEntry> acb = batcher.get("ACB");
+        flushes.get(0).run();
+        
+        responses.get(0).completeExceptionally(new KbsApiException("Failed to retrieve price board"));
+        
+        assertThatThrownBy(vnm::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(KbsApiException.class);
+        assertThatThrownBy(acb::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(KbsApiException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.config.PriceBoardChunkingConfig;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.vnstock.kbs.service.PriceBoardEntries.entry;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for splitting price board requests and adapting the chunk size.
+ */
+public class PriceBoardChunkerTest {
+    
+    private static final long MILLIS = 1_000_000L;
+    
+    @Test
+    @DisplayName("Large lists are split into balanced chunks no larger than the chunk size")
+    void testSplit() {
+        PriceBoardChunker chunker = new PriceBoardChunker(PriceBoardChunkingConfig.builder().fixedChunkSize(200).build());
+        List<String> symbols = symbols(1_601);
+        
+        List<List<String>> chunks = chunker.split(symbols);
+        
+        assertThat(chunks).hasSize(9);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.size()).isBetween(177, 178));
+        assertThat(chunks.stream().flatMap(List::stream).toList()).isEqualTo(symbols);
+        assertThat(chunker.split(symbols(200))).hasSize(1);
+        assertThat(new PriceBoardChunker(PriceBoardChunkingConfig.disabled()).split(symbols)).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Chunk size shrinks on slow responses, grows on fast ones and stays within bounds")
+    void testAdaptation() {
+        PriceBoardChunker chunker = new PriceBoardChunker(PriceBoardChunkingConfig.builder()
+            .chunkSize(200)
+            .minChunkSize(50)
+            .maxChunkSize(400)
+            .targetLatency(Duration.ofMillis(300))
+            .build());
+        
+        // 200 symbols in 600 ms: 100 would take the target, so move halfway there
+        chunker.record(200, 600 * MILLIS);
+        assertThat(chunker.chunkSize()).isEqualTo(150);
+        
+        // Responses at exactly the target keep the size
+        chunker.record(150, 300 * MILLIS);
+        assertThat(chunker.chunkSize()).isEqualTo(150);
+        
+        for (int i = 0; i < 20; i++) {
+            chunker.record(chunker.chunkSize(), 10 * MILLIS);
+        }
+        assertThat(chunker.chunkSize()).isEqualTo(400);
+        
+        for (int i = 0; i < 20; i++) {
+            chunker.record(chunker.chunkSize(), 10_000 * MILLIS);
+        }
+        assertThat(chunker.chunkSize()).isEqualTo(50);
+        
+        // Tiny requests do not move the size
+        chunker.record(10, 1 * MILLIS);
+        assertThat(chunker.chunkSize()).isEqualTo(50);
+    }
+    
+    @Test
+    @DisplayName("Unset chunk size is moved into custom bounds")
+    void testDefaultChunkSizeWithinBounds() {
+        assertThat(PriceBoardChunkingConfig.builder().maxChunkSize(100).build().chunkSize()).isEqualTo(100);
+        assertThatThrownBy(() -> PriceBoardChunkingConfig.builder().chunkSize(500).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Chunk results are merged in the requested symbol order, skipping missing symbols")
+    void testMerge() {
+        List<PriceBoardEntry> merged = TradingService.mergePriceBoard(
+            List.of("VNM", "ACB", "FPT", "HPG"),
+            List.of(List.of(entry("ACB"), entry("VNM")), List.of(entry("HPG")))
+        );
+        
+        assertThat(merged).extracting(PriceBoardEntry::symbol).containsExactly("VNM", "ACB", "HPG");
+    }
+    
+    private static List<String> symbols(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "S" + i).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.model.PriceBoardEntry;
+
+import java.math.BigDecimal;
+
+/**
+ * Price board entries for tests.
+ */
+final class PriceBoardEntries {
+    
+    private PriceBoardEntries() {
+    }
+    
+    /**
+     * Entry with only the symbol set.
+     */
+    static PriceBoardEntry entry(String symbol) {
+        return new PriceBoardEntry(
+            symbol, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null
+        );
+    }
+    
+    /**
+     * Entry with the given fields on top of fixed reference, ceiling, floor and order book values.
+     */
+    static PriceBoardEntry entry(
+        String symbol,
+        Long timestamp,
+        Long closePrice,
+        Long totalTrades,
+        String bidPrice1,
+        Long foreignBuyVolume,
+        String percentChange
+    ) {
+        return new PriceBoardEntry(
+            symbol, timestamp, "HOSE", 69_500L, 60_500L, 65_000L, 64_800L, 65_200L, 64_700L,
+            closePrice, 64_950L, totalTrades, null, null, new BigDecimal(percentChange),
+            bidPrice1, 1_000L, null, null, null, null,
+            "65100", 2_000L, null, null, null, null,
+            foreignBuyVolume, 0L, null, null, null, null, null, null, null
+        );
+    }
+}
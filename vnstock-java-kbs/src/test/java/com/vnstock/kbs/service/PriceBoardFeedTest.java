@@ -0,0 +1,121 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.model.PriceBoardDelta;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import com.vnstock.kbs.model.PriceBoardField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.vnstock.kbs.service.PriceBoardEntries.entry;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the shared price board poll and its field-level diff.
+ */
+public class PriceBoardFeedTest {
+    
+    @Test
+    @DisplayName("Diff marks exactly the changed fields and compares decimals by value")
+    void testDiff() {
+        PriceBoardEntry before = entry("VNM", 1L, 65_000L, 100L, "64900", 5_000L, "1.5");
+        PriceBoardEntry after = entry("VNM", 2L, 65_100L, 101L, "64900", 5_200L, "1.50");
+        
+        long changes = PriceBoardField.diff(before, after);
+        
+        assertThat(changes).isEqualTo(PriceBoardField.CP.mask() | PriceBoardField.TT.mask() | PriceBoardField.FB.mask());
+        assertThat(PriceBoardField.diff(before, before)).isZero();
+        assertThat(PriceBoardField.of("FR")).isEqualTo(PriceBoardField.FR);
+        assertThat(PriceBoardField.of("SB")).isNull();
+    }
+    
+    @Test
+    @DisplayName("Subscribers get a snapshot first, then one shared delta per changed symbol")
+    void testDispatch() {
+        PriceBoardFeed feed = new PriceBoardFeed(symbols -> new CompletableFuture<>(), Duration.ofHours(1));
+        List<PriceBoardDelta> first = new ArrayList<>();
+        List<PriceBoardDelta> second = new ArrayList<>();
+        PriceBoardSubscription both = new PriceBoardSubscription(feed, Set.of("VNM", "ACB"), first::add);
+        PriceBoardSubscription vnm = new PriceBoardSubscription(feed, Set.of("VNM"), second::add);
+        Set<String> polled = Set.of("VNM", "ACB");
+        Map<String, PriceBoardEntry> latest = new HashMap<>();
+        
+        PriceBoardFeed.dispatch(latest, List.of(both, vnm), polled, List.of(
+            entry("VNM", 1L, 65_000L, 100L, "64900", 5_000L, "1.5"),
+            entry("ACB", 1L, 24_000L, 50L, "23950", 0L, "0")
+        ));
+        assertThat(first).hasSize(2).allMatch(PriceBoardDelta::isSnapshot);
+        assertThat(second).singleElement().satisfies(delta -> {
+            assertThat(delta.symbol()).isEqualTo("VNM");
+            assertThat(delta.changed(PriceBoardField.CP)).isTrue();
+            assertThat(delta.changed(PriceBoardField.S2)).isFalse();
+        });
+        
+        first.clear();
+        second.clear();
+        PriceBoardFeed.dispatch(latest, List.of(both, vnm), polled, List.of(
+            entry("VNM", 2L, 65_100L, 101L, "64900", 5_000L, "1.5"),
+            entry("ACB", 2L, 24_000L, 50L, "23950", 0L, "0")
+        ));
+        assertThat(first).singleElement().satisfies(delta -> {
+            assertThat(delta.isSnapshot()).isFalse();
+            assertThat(delta.changedFields()).containsExactly(PriceBoardField.CP, PriceBoardField.TT);
+            assertThat(delta.previousValue(PriceBoardField.CP)).isEqualTo(65_000L);
+            assertThat(delta.value(PriceBoardField.CP)).isEqualTo(65_100L);
+        });
+        assertThat(second).singleElement().isSameAs(first.get(0));
+    }
+    
+    @Test
+    @DisplayName("A late subscriber gets snapshots while existing ones only get changes")
+    void testLateSubscriberSnapshot() {
+        PriceBoardFeed feed = new PriceBoardFeed(symbols -> new CompletableFuture<>(), Duration.ofHours(1));
+        List<PriceBoardDelta> early = new ArrayList<>();
+        List<PriceBoardDelta> late = new ArrayList<>();
+        PriceBoardSubscription earlySubscription = new PriceBoardSubscription(feed, Set.of("VNM"), early::add);
+        PriceBoardEntry vnm = entry("VNM", 1L, 65_000L, 100L, "64900", 5_000L, "1.5");
+        Map<String, PriceBoardEntry> latest = new HashMap<>();
+        
+        PriceBoardFeed.dispatch(latest, List.of(earlySubscription), Set.of("VNM"), List.of(vnm));
+        early.clear();
+        PriceBoardSubscription lateSubscription = new PriceBoardSubscription(feed, Set.of("VNM"), late::add);
+        PriceBoardFeed.dispatch(latest, List.of(earlySubscription, lateSubscription), Set.of("VNM"), List.of(vnm));
+        
+        assertThat(early).isEmpty();
+        assertThat(late).singleElement().matches(PriceBoardDelta::isSnapshot);
+    }
+    
+    @Test
+    @DisplayName("One poll covers the symbols of every subscription and stops with the last one")
+    void testSharedPoll() throws Exception {
+        BlockingQueue<List<String>> requests = new LinkedBlockingQueue<>();
+        PriceBoardFeed feed = new PriceBoardFeed(symbols -> {
+            requests.add(symbols);
+            return CompletableFuture.completedFuture(List.of());
+        }, Duration.ofMillis(10));
+        
+        PriceBoardSubscription first = feed.subscribe(List.of("vnm", "ACB"), delta -> { });
+        PriceBoardSubscription second = feed.subscribe(List.of("ACB", "FPT"), delta -> { });
+        List<String> symbols;
+        do {
+            symbols = requests.poll(5, TimeUnit.SECONDS);
+            assertThat(symbols).isNotNull();
+        } while (symbols.size() < 3);
+        assertThat(symbols).containsExactly("VNM", "ACB", "FPT");
+        
+        first.close();
+        second.close();
+        requests.clear();
+        assertThat(requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+}
@@ -0,0 +1,196 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.client.KbsTransport;
+import com.vnstock.kbs.config.HistoryChunkingConfig;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.config.KbsConstants;
+import com.vnstock.kbs.model.HistoricalPrice;
+import com.vnstock.kbs.model.PriceSeries;
+import com.vnstock.kbs.model.TradeTape;
+import com.vnstock.kbs.store.BarStore;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for QuoteService requests against a fake KBS server.
+ */
+public class QuoteServiceTest {
+    
+    private static final DateTimeFormatter API_DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 10);
+    
+    private static final String INTRADAY = """
+        {"data": [
+            {"SB": "VNM", "FMP": 68400, "FV": 100, "AVO": 100},
+            {"t": "2024-06-14 09:15:03:07", "SB": "VNM", "LC": "B", "FMP": 68500, "FV": 300, "AVO": 400},
+            {"t": "2024-06-14 09:15:05:00", "SB": "VNM", "LC": "S", "FMP": 68600, "FV": 200, "AVO": 600}
+        ]}""";
+    
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    
+    @TempDir
+    Path directory;
+    
+    /**
+     * Answers history requests with one daily bar per day of the window, newest first as KBS does,
+     * and intraday requests with {@link #INTRADAY} as the only page.
+     */
+    private final KbsTransport server = new KbsTransport() {
+        
+        @Override
+        public CompletableFuture<Response> send(Request request) {
+            requests.add(request);
+            if (request.url().encodedPath().contains("/trade/history/")) {
+                return respond(request, "1".equals(request.url().queryParameter("page")) ? INTRADAY : "{\"data\": []}");
+            }
+            LocalDate from = LocalDate.parse(request.url().queryParameter("sdate"), API_DATE);
+            LocalDate to = LocalDate.parse(request.url().queryParameter("edate"), API_DATE);
+            StringBuilder body = new StringBuilder("{\"data_day\": [");
+            for (LocalDate day = to; !day.isBefore(from); day = day.minusDays(1)) {
+                long close = 60_000 + day.getDayOfMonth() * 100L;
+                body.append(day.equals(to) ? "" : ",")
+                    .append("{\"t\": \"").append(day).append(" 07:00\", \"o\": ").append(close)
+                    .append(", \"h\": ").append(close).append(", \"l\": ").append(close)
+                    .append(", \"c\": ").append(close).append(", \"v\": 1000}");
+            }
+            body.append("]}");
+            return respond(request, body.toString());
+        }
+        
+        private CompletableFuture<Response> respond(Request request, String body) {
+            return CompletableFuture.completedFuture(new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, MediaType.get("application/json")))
+                .build());
+        }
+        
+        @Override
+        public void close() {
+        }
+    };
+    
+    @Test
+    @DisplayName("History is oldest first whether it is fetched in one request or in chunks")
+    void testHistoryOrder() {
+        List<HistoricalPrice> single = history(HistoryChunkingConfig.disabled());
+        assertThat(requests).hasSize(1);
+        
+        requests.clear();
+        List<HistoricalPrice> chunked = history(HistoryChunkingConfig.builder().maxBarsPerChunk(4).build());
+        assertThat(requests).hasSize(3);
+        
+        assertThat(single).hasSize(10);
+        assertThat(single.get(0).time().toLocalDate()).isEqualTo(START);
+        assertThat(single).isSortedAccordingTo((a, b) -> a.time().compareTo(b.time()));
+        assertThat(chunked).isEqualTo(single);
+    }
+    
+    @Test
+    @DisplayName("The intraday tape skips trades without a timestamp and is dated by the first timed trade")
+    void testIntradayTapeSkipsUntimedTrades() {
+        KbsConfig config = KbsConfig.builder().transport(server).build();
+        KbsHttpClient client = new KbsHttpClient(config);
+        try {
+            TradeTape tape = new QuoteService("VNM", client, config).getIntradayTape();
+            
+            assertThat(tape.tradingDate()).isEqualTo(LocalDate.of(2024, 6, 14));
+            assertThat(tape.size()).isEqualTo(2);
+            assertThat(tape.price(0)).isEqualTo(68_500);
+            assertThat(tape.accumulatedVolume(1)).isEqualTo(600);
+        } finally {
+            client.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("A daily sync fetches only the days after the stored bars and appends them to the file")
+    void testDailySyncAppends() throws Exception {
+        BarStore store = new BarStore(directory);
+        Path file = directory.resolve("VNM").resolve("day.bars");
+        
+        assertThat(series(store, START, END)).extracting(PriceSeries::size).isEqualTo(10);
+        Object fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        
+        requests.clear();
+        PriceSeries synced = series(store, START, END.plusDays(4));
+        
+        assertThat(requests).singleElement()
+            .satisfies(request -> assertThat(request.url().queryParameter("sdate")).isEqualTo("11-06-2024"));
+        assertThat(Files.readAttributes(file, BasicFileAttributes.class).fileKey()).isEqualTo(fileKey);
+        assertThat(synced.size()).isEqualTo(14);
+        assertThat(synced.time(13).toLocalDate()).isEqualTo(END.plusDays(4));
+        
+        requests.clear();
+        assertThat(series(store, START, END.plusDays(4)).size()).isEqualTo(14);
+        assertThat(requests).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Bars of the current session are returned but not stored")
+    void testCurrentSessionNotStored() {
+        BarStore store = new BarStore(directory);
+        LocalDate today = LocalDate.now(KbsConstants.MARKET_ZONE);
+        
+        PriceSeries first = series(store, today.minusDays(2), today);
+        
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.time(2).toLocalDate()).isEqualTo(today);
+        assertThat(store.read("VNM", "1d").size()).isEqualTo(2);
+        
+        requests.clear();
+        PriceSeries second = series(store, today.minusDays(2), today);
+        
+        assertThat(requests).singleElement()
+            .satisfies(request -> assertThat(request.url().queryParameter("sdate")).isEqualTo(today.format(API_DATE)));
+        assertThat(second.size()).isEqualTo(3);
+        assertThat(store.read("VNM", "1d").size()).isEqualTo(2);
+    }
+    
+    private PriceSeries series(BarStore store, LocalDate start, LocalDate end) {
+        KbsConfig config = KbsConfig.builder()
+            .transport(server)
+            .barStore(store)
+            .build();
+        KbsHttpClient client = new KbsHttpClient(config);
+        try {
+            return new QuoteService("VNM", client, config).getHistorySeries(start, end, "1d");
+        } finally {
+            client.close();
+        }
+    }
+    
+    private List<HistoricalPrice> history(HistoryChunkingConfig chunking) {
+        KbsConfig config = KbsConfig.builder()
+            .transport(server)
+            .historyChunking(chunking)
+            .build();
+        KbsHttpClient client = new KbsHttpClient(config);
+        try {
+            return new QuoteService("VNM", client, config).getHistory(START, END, "1d");
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.vnstock.kbs.service;
+
+import com.vnstock.kbs.client.KbsHttpClient;
+import com.vnstock.kbs.client.KbsTransport;
+import com.vnstock.kbs.config.KbsConfig;
+import com.vnstock.kbs.model.PriceBoardEntry;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TradingService price board requests against a fake KBS server.
+ */
+public class TradingServiceTest {
+    
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Records each request body and answers with an empty price board.
+     */
+    private final KbsTransport server = new KbsTransport() {
+        
+        @Override
+        public CompletableFuture<Response> send(Request request) {
+            try (Buffer buffer = new Buffer()) {
+                request.body().writeTo(buffer);
+                bodies.add(buffer.readUtf8());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return CompletableFuture.completedFuture(new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create("[]", MediaType.get("application/json")))
+                .build());
+        }
+        
+        @Override
+        public void close() {
+        }
+    };
+    
+    private final KbsConfig config = KbsConfig.builder().transport(server).build();
+    private final KbsHttpClient client = new KbsHttpClient(config);
+    
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+    
+    @Test
+    @DisplayName("A single-chunk price board request sends the symbols upper-cased and without duplicates")
+    void testSingleChunkSymbols() {
+        List<PriceBoardEntry> entries = new TradingService(client, config).getPriceBoard(List.of("vnm", "ACB", "VNM"));
+        
+        assertThat(entries).isEmpty();
+        assertThat(bodies).singleElement().asString().contains("\"VNM,ACB\"");
+    }
+    
+    @Test
+    @DisplayName("getPrice calls within the batch window share one price board request")
+    void testBatchedPrices() {
+        KbsConfig batching = KbsConfig.builder()
+            .transport(server)
+            .priceBatchWindow(Duration.ofMillis(20))
+            .build();
+        TradingService service = new TradingService(client, batching);
+        
+        CompletableFuture<PriceBoardEntry> vnm = service.getPriceAsync("VNM");
+        CompletableFuture<PriceBoardEntry> acb = service.getPriceAsync("ACB");
+        
+        assertThat(vnm.join()).isNull();
+        assertThat(acb.join()).isNull();
+        assertThat(bodies).singleElement().asString().contains("\"VNM,ACB\"");
+    }
+}
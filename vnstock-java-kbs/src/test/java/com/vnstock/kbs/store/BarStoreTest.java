@@ -0,0 +1,115 @@
+package com.vnstock.kbs.store;
+
+import com.vnstock.kbs.model.PriceSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the memory-mapped bar store.
+ */
+public class BarStoreTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 14);
+    
+    @TempDir
+    Path directory;
+    
+    /**
+     * One bar per minute from {@code first}, with the close equal to {@code close}.
+     */
+    private static PriceSeries bars(LocalDateTime first, int count, long close) {
+        PriceSeries.Builder builder = PriceSeries.builder("VNM", "1m", count);
+        for (int i = 0; i < count; i++) {
+            builder.add(PriceSeries.toEpochMinute(first.plusMinutes(i)), close, close, close, close, 100);
+        }
+        return builder.build();
+    }
+    
+    @Test
+    @DisplayName("Nothing stored reads as empty and unsynced")
+    void testEmpty() {
+        BarStore store = new BarStore(directory);
+        
+        assertThat(store.read("VNM", "1m").isEmpty()).isTrue();
+        assertThat(store.syncedFrom("VNM", "1m")).isNull();
+    }
+    
+    @Test
+    @DisplayName("Refetched bars replace the stored tail and later bars are appended")
+    void testAppend() {
+        BarStore store = new BarStore(directory);
+        PriceSeries first = store.update("VNM", "1m", DAY, bars(DAY.atTime(9, 15), 3, 68_500));
+        
+        PriceSeries updated = store.update("vnm", "1m", DAY, bars(DAY.atTime(9, 17), 3, 68_600));
+        
+        assertThat(updated.size()).isEqualTo(5);
+        assertThat(updated.close(1)).isEqualTo(68_500);
+        assertThat(updated.close(2)).isEqualTo(68_600);
+        assertThat(updated.time(4)).isEqualTo(DAY.atTime(9, 19));
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(new BarStore(directory).read("VNM", "1m").volume(4)).isEqualTo(100);
+        assertThat(Files.exists(directory.resolve("VNM").resolve("1P.bars"))).isTrue();
+    }
+    
+    @Test
+    @DisplayName("A series read earlier is unchanged when its last bars are refetched")
+    void testHeldSeriesUnchanged() {
+        BarStore store = new BarStore(directory);
+        store.update("VNM", "1m", DAY, bars(DAY.atTime(9, 15), 3, 68_500));
+        PriceSeries held = store.read("VNM", "1m");
+        
+        store.update("VNM", "1m", DAY, bars(DAY.atTime(9, 17), 1, 68_600));
+        PriceSeries appended = store.update("VNM", "1m", DAY, bars(DAY.atTime(9, 18), 2, 68_700));
+        
+        assertThat(held.size()).isEqualTo(3);
+        assertThat(held.close(2)).isEqualTo(68_500);
+        assertThat(held.time(2)).isEqualTo(DAY.atTime(9, 17));
+        assertThat(appended.size()).isEqualTo(5);
+        assertThat(appended.close(2)).isEqualTo(68_600);
+        assertThat(appended.close(4)).isEqualTo(68_700);
+    }
+    
+    @Test
+    @DisplayName("Backfilled bars are placed before the stored ones and extend the synced range")
+    void testBackfill() {
+        BarStore store = new BarStore(directory);
+        store.update("VNM", "1d", DAY, bars(DAY.atTime(7, 0), 1, 68_500));
+        PriceSeries held = store.read("VNM", "1d");
+        
+        PriceSeries updated = store.update("VNM", "1d", DAY.minusDays(3), bars(DAY.minusDays(1).atTime(7, 0), 1, 68_000));
+        
+        assertThat(updated.size()).isEqualTo(2);
+        assertThat(updated.close(0)).isEqualTo(68_000);
+        assertThat(updated.close(1)).isEqualTo(68_500);
+        assertThat(store.syncedFrom("VNM", "1d")).isEqualTo(DAY.minusDays(3));
+        assertThat(held.close(0)).isEqualTo(68_500);
+    }
+    
+    @Test
+    @DisplayName("An empty fetch still records the synced range")
+    void testEmptyUpdate() {
+        BarStore store = new BarStore(directory);
+        
+        store.update("VNM", "1d", DAY, PriceSeries.empty("VNM", "1d"));
+        
+        assertThat(store.syncedFrom("VNM", "1d")).isEqualTo(DAY);
+        assertThat(store.read("VNM", "1d").isEmpty()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Symbols that are not plain file names are rejected")
+    void testInvalidSymbol() {
+        BarStore store = new BarStore(directory);
+        
+        assertThatThrownBy(() -> store.read("../VNM", "1m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.read("VNM", "2m")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.vnstock.kbs.store;
+
+import com.vnstock.kbs.model.TradeTape;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the binary trade tape store.
+ */
+public class TapeStoreTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 14);
+    
+    @TempDir
+    Path directory;
+    
+    /**
+     * {@code count} trades one second apart from 09:15, sides cycling buy, sell, none.
+     */
+    private static TradeTape tape(LocalDate day, int count) {
+        char[] sides = {TradeTape.BUY, TradeTape.SELL, TradeTape.NO_SIDE};
+        TradeTape.Builder builder = TradeTape.builder("VNM", day, count);
+        for (int i = 0; i < count; i++) {
+            builder.add((9 * 3600 + 15 * 60 + i) * 1000, 68_500 + i, i - 50, 100 + i, sides[i % 3],
+                100L * (i + 1), 6_850_000_000L * (i + 1));
+        }
+        return builder.build();
+    }
+    
+    @Test
+    @DisplayName("Nothing stored reads as an empty tape")
+    void testEmpty() {
+        TapeStore store = new TapeStore(directory);
+        
+        assertThat(store.read("VNM", DAY).isEmpty()).isTrue();
+        assertThat(store.tradingDates("VNM")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("A tape round-trips through its file")
+    void testRoundTrip() {
+        TradeTape tape = tape(DAY, 130);
+        new TapeStore(directory).write(tape);
+        
+        TradeTape read = new TapeStore(directory).read("vnm", DAY);
+        
+        assertThat(read.size()).isEqualTo(130);
+        assertThat(read.asList()).isEqualTo(tape.asList());
+        assertThat(read.side(129)).isEqualTo(TradeTape.BUY);
+        assertThat(read.side(128)).isEqualTo(TradeTape.NO_SIDE);
+        assertThat(read.accumulatedValue(129)).isEqualTo(6_850_000_000L * 130);
+        assertThat(Files.exists(directory.resolve("VNM").resolve("2024-06-14.tape"))).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Stored days are listed oldest first and rewrites replace the day")
+    void testTradingDates() {
+        TapeStore store = new TapeStore(directory);
+        store.write(tape(DAY, 3));
+        store.write(tape(DAY.minusDays(1), 2));
+        store.write(tape(DAY, 5));
+        
+        assertThat(store.tradingDates("VNM")).containsExactly(DAY.minusDays(1), DAY);
+        assertThat(store.read("VNM", DAY).size()).isEqualTo(5);
+    }
+    
+    @Test
+    @DisplayName("Files that are not tapes are rejected")
+    void testCorrupt() throws Exception {
+        Files.createDirectories(directory.resolve("VNM"));
+        Files.write(directory.resolve("VNM").resolve("2024-06-14.tape"), new byte[20]);
+        
+        assertThatThrownBy(() -> new TapeStore(directory).read("VNM", DAY))
+            .hasMessageContaining("Not a tape file");
+    }
+}